@@ -4,6 +4,9 @@ CREATE DATABASE office_management;
 \c office_management;
 
 -- Drop tables if they exist (in correct order due to foreign keys)
+DROP TABLE IF EXISTS presence_events;
+DROP TABLE IF EXISTS occupancy_blocks;
+DROP TABLE IF EXISTS seat_reservations;
 DROP TABLE IF EXISTS seats;
 DROP TABLE IF EXISTS employees;
 DROP TABLE IF EXISTS office_rooms;
@@ -15,12 +18,19 @@ DROP SEQUENCE IF EXISTS employee_seq;
 DROP SEQUENCE IF EXISTS seat_seq;
 DROP SEQUENCE IF EXISTS office_room_seq;
 DROP SEQUENCE IF EXISTS floor_seq;
+DROP SEQUENCE IF EXISTS seat_reservation_seq;
+DROP SEQUENCE IF EXISTS occupancy_block_seq;
+DROP SEQUENCE IF EXISTS presence_event_seq;
 
 -- Create sequences
 CREATE SEQUENCE employee_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seat_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE office_room_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE floor_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE seat_reservation_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE occupancy_block_seq START WITH 1 INCREMENT BY 1;
+-- Matches the allocation size of PresenceEvent, which reserves IDs in blocks for batch inserts
+CREATE SEQUENCE presence_event_seq START WITH 1 INCREMENT BY 500;
 
 -- Create tables in correct order (no forward references)
 CREATE TABLE floors (
@@ -76,6 +86,46 @@ CREATE TABLE employee_seat_assignments (
     PRIMARY KEY (employee_id, seat_id)
 );
 
+-- Time-slotted hot-desk bookings (slot is MORNING, AFTERNOON or FULL_DAY)
+CREATE TABLE seat_reservations (
+    id BIGINT DEFAULT nextval('seat_reservation_seq') PRIMARY KEY,
+    seat_id BIGINT NOT NULL REFERENCES seats(id),
+    employee_id BIGINT NOT NULL REFERENCES employees(id),
+    reservation_date DATE NOT NULL,
+    slot VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_seat_reservations_slot UNIQUE (seat_id, reservation_date, slot)
+);
+CREATE INDEX idx_seat_reservations_date ON seat_reservations (reservation_date);
+CREATE INDEX idx_seat_reservations_employee ON seat_reservations (employee_id);
+
+-- Append-only occupancy history, one compressed block of points per row
+CREATE TABLE occupancy_blocks (
+    id BIGINT DEFAULT nextval('occupancy_block_seq') PRIMARY KEY,
+    scope VARCHAR(8) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    tier VARCHAR(8) NOT NULL,
+    start_millis BIGINT NOT NULL,
+    end_millis BIGINT NOT NULL,
+    point_count INTEGER NOT NULL,
+    open_bucket BOOLEAN NOT NULL DEFAULT FALSE,
+    data BYTEA NOT NULL
+);
+CREATE INDEX idx_occupancy_blocks_series ON occupancy_blocks (scope, entity_id, tier, start_millis);
+
+-- Badge and desk-sensor check-ins, written in batches; seats are referenced without a foreign key
+CREATE TABLE presence_events (
+    id BIGINT DEFAULT nextval('presence_event_seq') PRIMARY KEY,
+    seat_id BIGINT NOT NULL,
+    employee_id BIGINT,
+    event_type VARCHAR(16) NOT NULL,
+    source VARCHAR(16) NOT NULL,
+    event_time TIMESTAMP NOT NULL,
+    received_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_presence_events_seat ON presence_events (seat_id, event_time);
+CREATE INDEX idx_presence_events_time ON presence_events (event_time);
+
 -- Insert sample data in correct order
 -- 1. First, insert floors
 INSERT INTO floors (floor_number, name) VALUES
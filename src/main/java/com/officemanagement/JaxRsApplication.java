@@ -34,6 +34,19 @@ public class JaxRsApplication extends Application {
                                 com.officemanagement.resource.RoomResource.class,
                                 com.officemanagement.resource.SeatResource.class,
                                 com.officemanagement.resource.StatsResource.class,
+                                com.officemanagement.resource.ReservationResource.class,
+                                com.officemanagement.resource.SeatPlanResource.class,
+                                com.officemanagement.resource.ForecastResource.class,
+                                com.officemanagement.resource.OccupancyHistoryResource.class,
+                                com.officemanagement.resource.PresenceResource.class,
+                                com.officemanagement.resource.AnalyticsResource.class,
+                                com.officemanagement.resource.DashboardResource.class,
+                                com.officemanagement.resource.ChangeResource.class,
+                                com.officemanagement.util.RateLimitFilter.class,
+                                com.officemanagement.util.IdempotencyFilter.class,
+                                com.officemanagement.util.CoalescingFilter.class,
+                                com.officemanagement.util.ConcurrencyLimitFilter.class,
+                                com.officemanagement.util.DeadlineFilter.class,
                                 OpenApiResource.class // Add Swagger's JAX-RS resource
                                 )
                         .collect(Collectors.toSet());
@@ -0,0 +1,43 @@
+package com.officemanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.*;
+
+/**
+ * Entities created, updated or deleted since a change token, in their current state, and the
+ * token to ask for the next changes with.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ChangeSetDTO {
+
+    /** An employee assigned to or unassigned from a seat. */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class AssignmentChange {
+        private Long seatId;
+        private Long employeeId;
+        private boolean assigned;
+    }
+
+    private String token;
+    private boolean hasMore; // More changes are waiting, ask again with the token right away
+    private List<FloorDTO> floors = new ArrayList<>();
+    private List<OfficeRoomDTO> rooms = new ArrayList<>();
+    private List<SeatDTO> seats = new ArrayList<>();
+    private List<EmployeeDTO> employees = new ArrayList<>();
+    private List<AssignmentChange> assignments = new ArrayList<>();
+    private List<Long> deletedFloorIds = new ArrayList<>();
+    private List<Long> deletedRoomIds = new ArrayList<>();
+    private List<Long> deletedSeatIds = new ArrayList<>();
+    private List<Long> deletedEmployeeIds = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.officemanagement.dto;
+
+import lombok.*;
+
+/** Seat counts and utilization of one floor, for the building overview. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class FloorSummaryDTO {
+
+    private Long id;
+    private String name;
+    private Integer floorNumber;
+    private long rooms;
+    private long seats;
+    private long occupiedSeats;
+    private double utilization; // Occupied seats as a percentage of seats, 0 without seats
+}
@@ -0,0 +1,28 @@
+package com.officemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * A geometry change sent by a floor layout editor, in the compact form used on the socket: only
+ * the fields that change are set. Echoed to the other editors with the version it got.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LayoutOperationDTO {
+
+    private String op; // "room" or "seat"
+    private Long id;
+    private Float x;
+    private Float y;
+    private Float w; // Width
+    private Float h; // Height
+    private Float r; // Rotation, seats only
+    private Long c; // Sender's reference, echoed in the acknowledgement only
+    private Long v; // Version on the floor, set by the server
+}
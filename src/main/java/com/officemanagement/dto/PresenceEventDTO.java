@@ -0,0 +1,22 @@
+package com.officemanagement.dto;
+
+import com.officemanagement.model.PresenceEventType;
+import com.officemanagement.model.PresenceSource;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/** One check-in or check-out in an ingestion batch. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class PresenceEventDTO {
+
+    private Long seatId;
+    private Long employeeId; // Known for badge events, absent for desk sensors
+    private PresenceEventType type;
+    private PresenceSource source; // Defaults to SENSOR
+    private LocalDateTime timestamp; // Defaults to the time the batch is received
+}
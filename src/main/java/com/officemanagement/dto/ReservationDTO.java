@@ -0,0 +1,34 @@
+package com.officemanagement.dto;
+
+import com.officemanagement.model.SeatReservation;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * Data Transfer Object for seat reservations. Also used as the request body when booking, in which
+ * case only seatId, employeeId, date (ISO yyyy-MM-dd) and slot are read.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ReservationDTO {
+
+    private Long id;
+    private Long seatId;
+    private Long employeeId;
+    private String date; // ISO-8601 date, e.g. 2024-05-14
+    private String slot; // MORNING, AFTERNOON or FULL_DAY
+    private LocalDateTime createdAt;
+
+    public ReservationDTO(SeatReservation reservation) {
+        this.id = reservation.getId();
+        this.seatId = reservation.getSeat().getId();
+        this.employeeId = reservation.getEmployee().getId();
+        this.date = reservation.getReservationDate().toString();
+        this.slot = reservation.getSlot().name();
+        this.createdAt = reservation.getCreatedAt();
+    }
+}
@@ -0,0 +1,20 @@
+package com.officemanagement.dto;
+
+import lombok.*;
+
+/** Seat counts and utilization of one room. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class RoomSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String roomNumber;
+    private long seats;
+    private long occupiedSeats;
+    private double utilization; // Occupied seats as a percentage of seats, 0 without seats
+}
@@ -32,6 +32,10 @@ public class SeatDTO {
     private Set<Long> employeeIds; // IDs of employees assigned to this seat
     private boolean occupied; // Calculated field
 
+    // Tentatively held by a pending booking, set by the resource. Excluded from equality because
+    // it is filled in after the DTO has been added to a set.
+    @EqualsAndHashCode.Exclude private boolean held;
+
     // Default constructor provided by @NoArgsConstructor
 
     // Constructor to map from Seat entity (Keep this custom one)
@@ -0,0 +1,18 @@
+package com.officemanagement.dto;
+
+import lombok.*;
+
+/** One employee-to-seat placement of a seat plan. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SeatPlacementDTO {
+
+    private Long employeeId;
+    private Long seatId;
+    private Long floorId;
+    private String team; // Occupation, or "team-<n>" for explicit teams
+}
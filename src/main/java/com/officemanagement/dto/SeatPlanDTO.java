@@ -0,0 +1,22 @@
+package com.officemanagement.dto;
+
+import java.util.List;
+import lombok.*;
+
+/**
+ * A computed seat plan. Also used as the request body when applying a plan, in which case only the
+ * placements' employeeId and seatId are read.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SeatPlanDTO {
+
+    private List<SeatPlacementDTO> placements;
+    private int teamCount;
+    private double cost; // Sum of squared distances of team members to their team centroid
+    private long computeMillis;
+}
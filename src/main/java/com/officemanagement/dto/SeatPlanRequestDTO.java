@@ -0,0 +1,23 @@
+package com.officemanagement.dto;
+
+import java.util.List;
+import lombok.*;
+
+/**
+ * Request body for computing a seat plan. Employees are either given as explicit teams, or as a
+ * list of employee IDs (default: every employee without a seat) grouped by occupation. Seats are
+ * the free seats on the given floors (default: all floors).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SeatPlanRequestDTO {
+
+    private List<Long> floorIds;
+    private List<Long> employeeIds;
+    private List<List<Long>> teams; // Explicit teams, takes precedence over employeeIds
+    private Long seed; // Makes the plan reproducible, random if absent
+}
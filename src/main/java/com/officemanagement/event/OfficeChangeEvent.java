@@ -0,0 +1,89 @@
+package com.officemanagement.event;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+
+/**
+ * A change to the office, fired synchronously by the resources from within the transaction that
+ * makes it. Observers that must only see committed changes observe with {@code during =
+ * TransactionPhase.AFTER_SUCCESS}.
+ *
+ * @param type what changed
+ * @param floorId floor of the seat or room, or the floor itself; {@code null} if there is none
+ * @param roomId room of the seat, or the room itself; {@code null} for floor and employee changes
+ * @param seatId the seat, {@code null} for other changes
+ * @param employeeId the employee assigned, unassigned, created or deleted, else {@code null}
+ * @param occupants number of employees assigned to the seat after the change, else 0
+ * @param timeMillis when the change was made
+ */
+public record OfficeChangeEvent(
+        Type type,
+        Long floorId,
+        Long roomId,
+        Long seatId,
+        Long employeeId,
+        int occupants,
+        long timeMillis) {
+
+    public enum Type {
+        SEAT_ASSIGNED,
+        SEAT_UNASSIGNED,
+        SEAT_CREATED,
+        SEAT_UPDATED,
+        SEAT_DELETED,
+        ROOM_CREATED,
+        ROOM_UPDATED,
+        ROOM_DELETED,
+        FLOOR_CREATED,
+        FLOOR_UPDATED,
+        FLOOR_DELETED,
+        EMPLOYEE_CREATED,
+        EMPLOYEE_DELETED
+    }
+
+    /** Describes an assignment change of the seat, after it has been applied to the entity. */
+    public static OfficeChangeEvent of(Type type, Seat seat, Long employeeId) {
+        OfficeRoom room = seat.getRoom();
+        Floor floor = room.getFloor();
+        return new OfficeChangeEvent(
+                type,
+                floor == null ? null : floor.getId(),
+                room.getId(),
+                seat.getId(),
+                employeeId,
+                seat.getEmployees().size(),
+                System.currentTimeMillis());
+    }
+
+    /** Describes a change to the seat itself, such as its creation or a move to another room. */
+    public static OfficeChangeEvent of(Type type, Seat seat) {
+        return of(type, seat, null);
+    }
+
+    /** Describes a change to the room itself, such as a new floor or new dimensions. */
+    public static OfficeChangeEvent of(Type type, OfficeRoom room) {
+        Floor floor = room.getFloor();
+        return new OfficeChangeEvent(
+                type,
+                floor == null ? null : floor.getId(),
+                room.getId(),
+                null,
+                null,
+                0,
+                System.currentTimeMillis());
+    }
+
+    /** Describes a change to the floor itself. */
+    public static OfficeChangeEvent of(Type type, Floor floor) {
+        return new OfficeChangeEvent(
+                type, floor.getId(), null, null, null, 0, System.currentTimeMillis());
+    }
+
+    /** Describes the creation or deletion of the employee. */
+    public static OfficeChangeEvent of(Type type, Employee employee) {
+        return new OfficeChangeEvent(
+                type, null, null, null, employee.getId(), 0, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,19 @@
+package com.officemanagement.event;
+
+import java.util.Set;
+
+/**
+ * Floors published to {@link com.officemanagement.service.OfficeReadModel}, fired synchronously
+ * once the new snapshot is visible to readers. Caches derived from the read model drop what it
+ * names here rather than on {@link OfficeChangeEvent}, which fires before the snapshot changes.
+ *
+ * @param floorIds the floors that changed, were added or were removed
+ * @param rebuilt whether the whole model was reloaded, in which case every floor may have changed
+ */
+public record ReadModelChangeEvent(Set<Long> floorIds, boolean rebuilt) {
+
+    /** Whether the floor may have changed. */
+    public boolean affects(Long floorId) {
+        return rebuilt || floorIds.contains(floorId);
+    }
+}
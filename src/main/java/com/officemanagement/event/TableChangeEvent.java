@@ -0,0 +1,44 @@
+package com.officemanagement.event;
+
+import com.officemanagement.util.PgOutputDecoder.Change;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rows changed in the database by a transaction that did not go through the resources, such as
+ * the {@code .devcontainer} loaders, {@code update_floor_plan()} or manual SQL. Fired by {@link
+ * com.officemanagement.service.DatabaseChangeCapture} after the transaction committed, outside of
+ * any transaction, so that in-process caches can drop or update what it changed. Changes made by
+ * the resources come as {@link OfficeChangeEvent}s instead.
+ *
+ * @param changes the row changes of one transaction, in order; empty for a resync
+ * @param resync whether changes may have been missed, such as when the capture (re)connects;
+ *     caches should then reload everything
+ */
+public record TableChangeEvent(List<Change> changes, boolean resync) {
+
+    public static final String FLOORS = "floors";
+    public static final String ROOMS = "office_rooms";
+    public static final String SEATS = "seats";
+    public static final String EMPLOYEES = "employees";
+    public static final String ASSIGNMENTS = "employee_seat_assignments";
+    public static final String PLANIMETRY = "floor_planimetry";
+
+    /** Every table that is captured. */
+    public static final List<String> TABLES =
+            List.of(FLOORS, ROOMS, SEATS, EMPLOYEES, ASSIGNMENTS, PLANIMETRY);
+
+    /** Whether everything should be reloaded or any of the tables changed. */
+    public boolean affects(String... tables) {
+        if (resync) {
+            return true;
+        }
+        Set<String> names = Set.of(tables);
+        for (Change change : changes) {
+            if (names.contains(change.table())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
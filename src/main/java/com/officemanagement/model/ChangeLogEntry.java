@@ -0,0 +1,58 @@
+package com.officemanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A floor, room, seat, employee or assignment that was created, updated or deleted, written in
+ * the transaction that changed it. The ID is the change sequence: IDs are allocated one at a time
+ * so that they increase in the order the changes were made.
+ */
+@Entity
+@Table(
+        name = "change_log",
+        indexes = {
+            @Index(name = "idx_change_log_floor", columnList = "floor_id, id"),
+            @Index(name = "idx_change_log_time", columnList = "changed_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_seq")
+    @SequenceGenerator(name = "change_seq", sequenceName = "change_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private ChangedEntity entityType;
+
+    /** The changed entity; the seat of an assignment. */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /** The employee of an assignment, else {@code null}. */
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    /** Floor of the changed entity, {@code null} for employees and rooms without a floor. */
+    @Column(name = "floor_id")
+    private Long floorId;
+
+    /** Whether the entity was deleted, or the assignment removed. */
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,10 @@
+package com.officemanagement.model;
+
+/** What a change log entry is about; an assignment is a row of the employee-seat join table. */
+public enum ChangedEntity {
+    FLOOR,
+    ROOM,
+    SEAT,
+    EMPLOYEE,
+    ASSIGNMENT
+}
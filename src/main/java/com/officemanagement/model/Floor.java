@@ -10,10 +10,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
 @Table(name = "floors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "office.floor")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +46,7 @@ public class Floor {
     private LocalDateTime createdAt;
 
     @OneToMany(mappedBy = "floor", fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "office.floor.rooms")
     @JsonIgnoreProperties("floor")
     private Set<OfficeRoom> rooms = new HashSet<>();
 
@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing floor planimetry (SVG floor plans) Separated into a dedicated table for
@@ -14,6 +16,8 @@ import lombok.ToString;
  */
 @Entity
 @Table(name = "floor_planimetry")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "office.planimetry")
 @Getter
 @Setter
 @NoArgsConstructor
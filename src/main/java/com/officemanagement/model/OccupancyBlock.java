@@ -0,0 +1,70 @@
+package com.officemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Compressed block of one occupancy history series at one tier. Blocks are only ever appended,
+ * except for open buckets written on shutdown, which are replaced once the bucket is written again;
+ * the points are encoded with {@link com.officemanagement.util.DeltaBlockCodec}.
+ */
+@Entity
+@Table(
+        name = "occupancy_blocks",
+        indexes = {
+            @Index(
+                    name = "idx_occupancy_blocks_series",
+                    columnList = "scope, entity_id, tier, start_millis")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = "data")
+public class OccupancyBlock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "occupancy_block_seq")
+    @SequenceGenerator(
+            name = "occupancy_block_seq",
+            sequenceName = "occupancy_block_seq",
+            allocationSize = 1)
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 8)
+    private OccupancyScope scope;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier", nullable = false, length = 8)
+    private OccupancyTier tier;
+
+    /** Time of the first point, or start of the first bucket. */
+    @Column(name = "start_millis", nullable = false)
+    private Long startMillis;
+
+    /** Time of the last point, or end of the last bucket. */
+    @Column(name = "end_millis", nullable = false)
+    private Long endMillis;
+
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    /**
+     * Whether the block holds the bucket that was still open on shutdown, with the time its first
+     * value was recorded as extra column; its end is the time the bucket was averaged up to.
+     */
+    @Column(name = "open_bucket", nullable = false)
+    private boolean openBucket;
+
+    @Column(name = "data", nullable = false, length = 1_048_576)
+    private byte[] data;
+}
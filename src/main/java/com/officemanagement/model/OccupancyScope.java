@@ -0,0 +1,8 @@
+package com.officemanagement.model;
+
+/** What an occupancy history series measures: occupants of a seat, or occupied seats. */
+public enum OccupancyScope {
+    SEAT,
+    ROOM,
+    FLOOR
+}
@@ -0,0 +1,35 @@
+package com.officemanagement.model;
+
+/**
+ * Resolution of an occupancy history series: raw change points, or time-weighted rollups over UTC
+ * hours, days and weeks (starting on Monday).
+ */
+public enum OccupancyTier {
+    RAW(0),
+    HOUR(3_600_000L),
+    DAY(86_400_000L),
+    WEEK(7 * 86_400_000L);
+
+    /** 1970-01-05, the first Monday after the epoch. */
+    private static final long FIRST_MONDAY_MILLIS = 4 * 86_400_000L;
+
+    private final long bucketMillis;
+
+    OccupancyTier(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    /** Length of a bucket in milliseconds, 0 for {@link #RAW}. */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /** Start of the bucket containing the given time. */
+    public long bucketStart(long millis) {
+        if (this == RAW) {
+            return millis;
+        }
+        long origin = this == WEEK ? FIRST_MONDAY_MILLIS : 0;
+        return Math.floorDiv(millis - origin, bucketMillis) * bucketMillis + origin;
+    }
+}
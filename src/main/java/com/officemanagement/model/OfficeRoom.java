@@ -10,9 +10,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "office_rooms")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "office.room")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -56,6 +60,7 @@ public class OfficeRoom {
     private LocalDateTime createdAt;
 
     @OneToMany(mappedBy = "room", fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "office.room.seats")
     @JsonIgnoreProperties("room")
     private Set<Seat> seats = new HashSet<>();
 }
@@ -0,0 +1,57 @@
+package com.officemanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Check-in or check-out at a seat reported by a badge reader or desk sensor. Events are written in
+ * large batches, so the seat is referenced by ID only and IDs are allocated in blocks.
+ */
+@Entity
+@Table(
+        name = "presence_events",
+        indexes = {
+            @Index(name = "idx_presence_events_seat", columnList = "seat_id, event_time"),
+            @Index(name = "idx_presence_events_time", columnList = "event_time")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class PresenceEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "presence_event_seq")
+    @SequenceGenerator(
+            name = "presence_event_seq",
+            sequenceName = "presence_event_seq",
+            allocationSize = 500)
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "seat_id", nullable = false)
+    private Long seatId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private PresenceEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 16)
+    private PresenceSource source;
+
+    @Column(name = "event_time", nullable = false)
+    private LocalDateTime eventTime;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,7 @@
+package com.officemanagement.model;
+
+/** Whether a presence event marks someone arriving at or leaving a seat. */
+public enum PresenceEventType {
+    CHECK_IN,
+    CHECK_OUT
+}
@@ -0,0 +1,7 @@
+package com.officemanagement.model;
+
+/** Device that reported a presence event. */
+public enum PresenceSource {
+    BADGE,
+    SENSOR
+}
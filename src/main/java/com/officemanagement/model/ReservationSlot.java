@@ -0,0 +1,28 @@
+package com.officemanagement.model;
+
+import com.officemanagement.util.SlotCalendar;
+import java.util.Arrays;
+import java.util.List;
+
+/** Part of the day covered by a seat reservation. */
+public enum ReservationSlot {
+    MORNING(SlotCalendar.MORNING),
+    AFTERNOON(SlotCalendar.AFTERNOON),
+    FULL_DAY(SlotCalendar.MORNING | SlotCalendar.AFTERNOON);
+
+    private final int mask;
+
+    ReservationSlot(int mask) {
+        this.mask = mask;
+    }
+
+    /** Bit mask of the half-days covered by this slot, as used by {@link SlotCalendar}. */
+    public int getMask() {
+        return mask;
+    }
+
+    /** The slots sharing at least one half-day with this one, this one included. */
+    public List<ReservationSlot> overlapping() {
+        return Arrays.stream(values()).filter(slot -> (slot.mask & mask) != 0).toList();
+    }
+}
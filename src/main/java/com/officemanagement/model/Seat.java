@@ -11,10 +11,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
 @Table(name = "seats")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "office.seat")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,6 +59,7 @@ public class Seat {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Not cached: employees are not, so a cached collection would load each of them by itself
     @ManyToMany(mappedBy = "seats")
     @JsonIgnoreProperties("seats")
     private Set<Employee> employees = new HashSet<>();
@@ -0,0 +1,62 @@
+package com.officemanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/** Time-slotted booking of a seat by an employee for a single day or half-day. */
+@Entity
+@Table(
+        name = "seat_reservations",
+        uniqueConstraints =
+                @UniqueConstraint(
+                        name = "uk_seat_reservations_slot",
+                        columnNames = {"seat_id", "reservation_date", "slot"}),
+        indexes = {
+            @Index(name = "idx_seat_reservations_date", columnList = "reservation_date"),
+            @Index(name = "idx_seat_reservations_employee", columnList = "employee_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = {"seat", "employee"})
+public class SeatReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_reservation_seq")
+    @SequenceGenerator(
+            name = "seat_reservation_seq",
+            sequenceName = "seat_reservation_seq",
+            allocationSize = 1)
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_id", nullable = false)
+    private Seat seat;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDate reservationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "slot", nullable = false, length = 16)
+    private ReservationSlot slot;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
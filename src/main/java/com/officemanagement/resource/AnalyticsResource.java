@@ -0,0 +1,91 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.service.OccupancyAnalytics;
+import com.officemanagement.util.OccupancyCube.Cell;
+import com.officemanagement.util.OccupancyCube.Dimension;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Path("/analytics")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Analytics", description = "Aggregated occupancy across floors, rooms and occupations")
+public class AnalyticsResource {
+
+    @Inject OccupancyAnalytics analytics;
+
+    @GET
+    @Path("/occupancy")
+    @Operation(
+            summary = "Query the occupancy cube",
+            description =
+                    "Rolls seats, occupied seats, floor area and seat assignments up to the"
+                            + " comma-separated 'groupBy' dimensions (floor, room, occupation;"
+                            + " none for a grand total), optionally sliced by floor, room and"
+                            + " occupation. Seat measures and utilization are omitted when"
+                            + " grouping or filtering by occupation. Served from memory.")
+    public Response getOccupancy(
+            @QueryParam("groupBy") @DefaultValue("") String groupBy,
+            @QueryParam("floorId") Long floorId,
+            @QueryParam("roomId") Long roomId,
+            @QueryParam("occupation") String occupation) {
+        Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        for (String name : groupBy.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            try {
+                dimensions.add(Dimension.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("groupBy must list floor, room or occupation")
+                        .build();
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Cell> cells = analytics.query(dimensions, floorId, roomId, occupation);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        List<Map<String, Object>> rows = new ArrayList<>(cells.size());
+        for (Cell cell : cells) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            if (dimensions.contains(Dimension.FLOOR)) {
+                row.put("floorId", cell.floorId());
+            }
+            if (dimensions.contains(Dimension.ROOM)) {
+                row.put("roomId", cell.roomId());
+            }
+            if (dimensions.contains(Dimension.OCCUPATION)) {
+                row.put("occupation", cell.occupation());
+            }
+            row.put("assignments", cell.assignments());
+            if (cell.seats() != null) {
+                row.put("seats", cell.seats());
+                row.put("occupiedSeats", cell.occupiedSeats());
+                row.put("area", cell.area());
+                row.put(
+                        "utilization",
+                        cell.seats() == 0 ? 0.0 : 100.0 * cell.occupiedSeats() / cell.seats());
+            }
+            rows.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("groupBy", dimensions.stream().map(d -> d.name().toLowerCase()).toList());
+        response.put("cells", rows);
+        response.put("elapsedMicros", elapsedMicros);
+        return Response.ok(response).build();
+    }
+}
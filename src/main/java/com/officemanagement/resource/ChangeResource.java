@@ -0,0 +1,57 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.service.ChangeLog;
+import com.officemanagement.service.ReadExecutor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+
+@Path("/changes")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Changes", description = "Incremental sync for mobile and offline clients")
+public class ChangeResource {
+
+    @Inject ChangeLog changeLog;
+
+    @Inject ReadExecutor reads;
+
+    @GET
+    @Operation(
+            summary = "Get changes since a token",
+            description =
+                    "Returns the floors, rooms, seats and employees created or updated since the"
+                            + " token in their current state, the IDs of those deleted, the seat"
+                            + " assignments made or removed, and the token to ask with next time."
+                            + " With 'floor', only that floor's changes and employee changes are"
+                            + " returned. Without 'since', returns just a token to start from;"
+                            + " get it before loading the data. Changes of the last minute may be"
+                            + " sent again. 410 means the token expired and the data must be"
+                            + " reloaded.")
+    public CompletionStage<Response> getChanges(
+            @QueryParam("since") String since, @QueryParam("floor") Long floorId) {
+        return reads.supply(() -> readChanges(since, floorId));
+    }
+
+    private Response readChanges(String since, Long floorId) {
+        ChangeLog.Token token = null;
+        if (since != null && !since.isBlank()) {
+            try {
+                token = ChangeLog.Token.parse(since);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+            if (changeLog.isExpired(token)) {
+                return Response.status(Response.Status.GONE)
+                        .entity("Change token expired, reload and start over")
+                        .build();
+            }
+        }
+        return Response.ok(changeLog.changesSince(token, floorId)).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.resource.StatsResource.StatsDTO;
+import com.officemanagement.service.DashboardService;
+import com.officemanagement.service.DashboardService.Parts;
+import com.officemanagement.service.OfficeCounters;
+import com.officemanagement.util.Heavy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Path("/dashboard")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Dashboard", description = "Everything the dashboard shows, in one call")
+public class DashboardResource {
+
+    private static final int MAX_RECENT_EMPLOYEES = 100;
+
+    @Inject OfficeCounters counters;
+
+    @Inject DashboardService dashboard;
+
+    @GET
+    @Heavy
+    @Operation(
+            summary = "Get the dashboard",
+            description =
+                    "Returns the office statistics, occupancy per floor, the most recently created"
+                            + " employees and the floors without a floor plan. The parts are"
+                            + " loaded concurrently; a part that fails or times out is null and"
+                            + " listed under 'errors'.")
+    public Response getDashboard(
+            @QueryParam("recentEmployees") @DefaultValue("10") int recentEmployees) {
+        if (recentEmployees < 1 || recentEmployees > MAX_RECENT_EMPLOYEES) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("recentEmployees must be between 1 and " + MAX_RECENT_EMPLOYEES)
+                    .build();
+        }
+
+        long start = System.currentTimeMillis();
+        Parts parts = dashboard.load(recentEmployees);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("stats", new StatsDTO(counters.snapshot()));
+        response.putAll(parts.values());
+        response.put("errors", parts.errors());
+        response.put("elapsedMillis", System.currentTimeMillis() - start);
+        return Response.ok(response).build();
+    }
+}
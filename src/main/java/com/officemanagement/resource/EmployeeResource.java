@@ -2,11 +2,16 @@ package com.officemanagement.resource;
 
 import com.officemanagement.dto.EmployeeDTO;
 import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.OfficeChangeEvent;
 import com.officemanagement.model.Employee;
 import com.officemanagement.model.Seat;
+import com.officemanagement.model.SeatReservation;
+import com.officemanagement.service.ReadExecutor;
+import com.officemanagement.service.ReservationIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
@@ -18,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import org.hibernate.Hibernate;
 
 // Add static inner class for pagination response
@@ -87,11 +93,20 @@ public class EmployeeResource {
     @Inject // Inject EntityManager
     EntityManager entityManager;
 
+    @Inject ReadExecutor reads;
+
+    @Inject ReservationIndex reservationIndex;
+
+    @Inject Event<OfficeChangeEvent> officeChanges;
+
     @GET
     @Path("/{id}")
-    @Transactional // Added Transactional annotation
     @Operation(summary = "Get employee by ID", description = "Returns an employee by their ID.")
-    public Response getEmployee(@PathParam("id") Long id) {
+    public CompletionStage<Response> getEmployee(@PathParam("id") Long id) {
+        return reads.supply(() -> readEmployee(id));
+    }
+
+    private Response readEmployee(Long id) {
         Employee employee =
                 entityManager
                         .createQuery(
@@ -115,11 +130,14 @@ public class EmployeeResource {
 
     @GET
     @Path("/{id}/seats")
-    @Transactional
     @Operation(
             summary = "Get seats assigned to employee",
             description = "Returns all seats assigned to a specific employee.")
-    public Response getEmployeeSeats(@PathParam("id") Long id) {
+    public CompletionStage<Response> getEmployeeSeats(@PathParam("id") Long id) {
+        return reads.supply(() -> readEmployeeSeats(id));
+    }
+
+    private Response readEmployeeSeats(Long id) {
         Employee employee =
                 entityManager
                         .createQuery("select e from Employee e where e.id = :id", Employee.class)
@@ -171,6 +189,8 @@ public class EmployeeResource {
         // Use EntityManager, no need for manual transaction
         entityManager.persist(employee);
         entityManager.flush(); // Ensure ID is generated before returning
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.EMPLOYEE_CREATED, employee));
 
         // Ensure lazy collections are initialized before creating DTO
         Hibernate.initialize(employee.getSeats());
@@ -198,11 +218,16 @@ public class EmployeeResource {
         }
 
         // Add seat to employee's seats
+        boolean newlyAssigned = !employee.getSeats().contains(seat);
         employee.addSeat(seat);
 
         // Managed entity, update is often implicit, but merge ensures it
         entityManager.merge(employee); // Use merge instead of update
         entityManager.flush(); // Flush to apply changes before re-query
+        if (newlyAssigned) {
+            officeChanges.fire(
+                    OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_ASSIGNED, seat, employeeId));
+        }
 
         // Fix: Remove aliases from fetch joins to comply with strict JPQL
         Employee refreshedEmployee =
@@ -260,6 +285,8 @@ public class EmployeeResource {
         employee.removeSeat(seat);
         entityManager.merge(employee); // Use merge
         entityManager.flush(); // Flush to apply changes before re-query
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_UNASSIGNED, seat, employeeId));
 
         // Fix: Remove aliases from fetch joins to comply with strict JPQL
         Employee refreshedEmployee =
@@ -298,9 +325,33 @@ public class EmployeeResource {
             return Response.status(Response.Status.NOT_FOUND).entity("Employee not found").build();
         }
 
-        // Consider cascading deletes or manual unassignment if needed
-        // For simplicity, just removing the employee here
+        // Reservations reference the employee, so they go first
+        List<SeatReservation> reservations =
+                entityManager
+                        .createQuery(
+                                "SELECT r FROM SeatReservation r WHERE r.employee.id = :employeeId",
+                                SeatReservation.class)
+                        .setParameter("employeeId", id)
+                        .getResultList();
+        for (SeatReservation reservation : reservations) {
+            reservationIndex.cancel(
+                    reservation.getSeat().getId(),
+                    reservation.getReservationDate(),
+                    reservation.getSlot());
+            entityManager.remove(reservation);
+        }
+
+        // The employee's seats become free with the employee
+        List<Seat> seats = List.copyOf(employee.getSeats());
+        seats.forEach(employee::removeSeat);
         entityManager.remove(employee); // Use remove
+        entityManager.flush();
+        for (Seat seat : seats) {
+            officeChanges.fire(
+                    OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_UNASSIGNED, seat, id));
+        }
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.EMPLOYEE_DELETED, employee));
         return Response.noContent().build();
     }
 
@@ -309,10 +360,14 @@ public class EmployeeResource {
     @Operation(
             summary = "Search employees",
             description = "Searches for employees by name or occupation with pagination.")
-    public Response searchEmployees(
+    public CompletionStage<Response> searchEmployees(
             @QueryParam("search") @DefaultValue("") String searchTerm,
             @QueryParam("page") @DefaultValue("0") int page,
             @QueryParam("size") @DefaultValue("10") int size) {
+        return reads.supply(() -> readEmployeeSearch(searchTerm, page, size));
+    }
+
+    private Response readEmployeeSearch(String searchTerm, int page, int size) {
 
         // Add validation for pagination parameters
         if (page < 0) {
@@ -0,0 +1,53 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.service.FloorLayoutEditor;
+import jakarta.inject.Inject;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnError;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.OnOpen;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.PathParam;
+import jakarta.websocket.server.ServerEndpoint;
+import java.io.IOException;
+import org.jboss.logging.Logger;
+
+/**
+ * WebSocket for editing a floor's layout together with others. Editors send geometry operations
+ * such as {@code {"op":"seat","id":12,"x":40,"y":80,"c":7}}, with only the fields that change;
+ * {@code c} is echoed in the acknowledgement {@code {"c":7,"v":31}} with the version the operation
+ * got, or in {@code {"c":7,"error":"..."}}. Operations of the other editors arrive with their
+ * version. On joining, an editor gets {@code {"joined":version,"pending":[...]}} with the
+ * operations not yet written, to apply over the floor loaded from {@code /floors/{id}/embed}.
+ */
+@ServerEndpoint("/ws/floors/{id}/layout")
+public class FloorLayoutSocket {
+
+    private static final Logger LOG = Logger.getLogger(FloorLayoutSocket.class);
+
+    @Inject FloorLayoutEditor layoutEditor;
+
+    @OnOpen
+    public void open(Session session, @PathParam("id") Long floorId) throws IOException {
+        if (!layoutEditor.join(floorId, session)) {
+            session.close(
+                    new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, "Floor not found"));
+        }
+    }
+
+    @OnMessage
+    public void message(Session session, @PathParam("id") Long floorId, String message) {
+        layoutEditor.apply(floorId, session, message);
+    }
+
+    @OnClose
+    public void close(Session session, @PathParam("id") Long floorId) {
+        layoutEditor.leave(floorId, session);
+    }
+
+    @OnError
+    public void error(Session session, Throwable error) {
+        LOG.debugf("Layout session %s failed: %s", session.getId(), error);
+    }
+}
@@ -2,20 +2,54 @@ package com.officemanagement.resource;
 
 import com.officemanagement.dto.EmbeddedFloorDTO;
 import com.officemanagement.dto.FloorDTO;
+import com.officemanagement.dto.RoomSummaryDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.Employee;
 import com.officemanagement.model.Floor;
 import com.officemanagement.model.FloorPlanimetry;
+import com.officemanagement.model.ReservationSlot;
+import com.officemanagement.model.Seat;
+import com.officemanagement.service.EmbeddedFloorCache;
+import com.officemanagement.service.EntityCache;
+import com.officemanagement.service.FloorEventHub;
+import com.officemanagement.service.OccupancySummary;
+import com.officemanagement.service.OfficeReadModel;
+import com.officemanagement.service.ReadExecutor;
+import com.officemanagement.service.ReservationIndex;
+import com.officemanagement.service.SeatAllocator;
+import com.officemanagement.service.SeatHoldService;
+import com.officemanagement.util.Coalesced;
+import com.officemanagement.util.Heavy;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Providers;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import org.jboss.logging.Logger;
 
 @Path("/floors")
@@ -26,51 +60,99 @@ import org.jboss.logging.Logger;
 public class FloorResource {
     @Inject EntityManager entityManager;
 
+    @Inject ReadExecutor reads;
+
+    @Inject SeatAllocator seatAllocator;
+
+    @Inject ReservationIndex reservationIndex;
+
+    @Inject SeatHoldService seatHolds;
+
+    @Inject Event<OfficeChangeEvent> officeChanges;
+
+    @Inject OccupancySummary occupancySummary;
+
+    @Inject FloorEventHub floorEvents;
+
+    @Inject EmbeddedFloorCache embeddedFloors;
+
+    @Inject OfficeReadModel readModel;
+
     private static final Logger LOG = Logger.getLogger(FloorResource.class);
 
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
     @GET
     @Operation(summary = "Get all floors", description = "Returns a list of all floors.")
-    public Response getAllFloors() {
-        List<Floor> floors =
-                entityManager
-                        .createQuery(
-                                "SELECT DISTINCT f FROM Floor f LEFT JOIN FETCH f.rooms",
-                                Floor.class)
-                        .getResultList();
+    public CompletionStage<Response> getAllFloors() {
+        return reads.supply(this::readAllFloors);
+    }
+
+    private Response readAllFloors() {
+        return Response.ok(readModel.floors()).build();
+    }
+
+    @GET
+    @Path("/summary")
+    @Operation(
+            summary = "Get occupancy per floor",
+            description =
+                    "Returns the number of rooms, seats and occupied seats and the utilization of"
+                            + " every floor, without loading rooms or seats.")
+    public CompletionStage<Response> getFloorsSummary() {
+        return reads.supply(this::readFloorsSummary);
+    }
+
+    private Response readFloorsSummary() {
+        return Response.ok(occupancySummary.floors()).build();
+    }
+
+    @GET
+    @Path("/{id}/rooms/summary")
+    @Operation(
+            summary = "Get occupancy per room of a floor",
+            description =
+                    "Returns the number of seats and occupied seats and the utilization of every"
+                            + " room on the floor.")
+    public CompletionStage<Response> getRoomsSummary(@PathParam("id") Long id) {
+        return reads.supply(() -> readRoomsSummary(id));
+    }
 
-        List<FloorDTO> dtos = floors.stream().map(FloorDTO::new).collect(Collectors.toList());
-        return Response.ok(dtos).build();
+    private Response readRoomsSummary(Long id) {
+        List<RoomSummaryDTO> rooms = occupancySummary.rooms(id);
+        if (rooms == null) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Floor not found").build();
+        }
+        return Response.ok(rooms).build();
     }
 
     @GET
     @Path("/{id}")
     @Operation(summary = "Get a floor by ID", description = "Returns a floor by its ID.")
-    public Response getFloor(@PathParam("id") Long id) {
-        Floor floor =
-                entityManager
-                        .createQuery(
-                                "SELECT f FROM Floor f LEFT JOIN FETCH f.rooms WHERE f.id = :id",
-                                Floor.class)
-                        .setParameter("id", id)
-                        .getResultStream()
-                        .findFirst()
-                        .orElse(null);
+    public CompletionStage<Response> getFloor(@PathParam("id") Long id) {
+        return reads.supply(() -> readFloor(id));
+    }
 
-        if (floor == null) {
+    private Response readFloor(Long id) {
+        FloorDTO dto = readModel.floor(id);
+        if (dto == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
-
-        FloorDTO dto = new FloorDTO(floor);
         return Response.ok(dto).build();
     }
 
     @GET
     @Path("/{id}/svg")
     @Produces(MediaType.TEXT_PLAIN)
+    @Coalesced
     @Operation(
             summary = "Get floor plan SVG",
             description = "Returns the SVG planimetry for a floor.")
-    public Response getFloorPlan(@PathParam("id") Long id) {
+    public CompletionStage<Response> getFloorPlan(@PathParam("id") Long id) {
+        return reads.supply(() -> readFloorPlan(id));
+    }
+
+    private Response readFloorPlan(Long id) {
         FloorPlanimetry planimetry = entityManager.find(FloorPlanimetry.class, id);
         if (planimetry == null
                 || planimetry.getPlanimetry() == null
@@ -116,6 +198,7 @@ public class FloorResource {
         floor.setCreatedAt(LocalDateTime.now());
         entityManager.persist(floor);
         entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.FLOOR_CREATED, floor));
 
         FloorDTO dto = new FloorDTO(floor);
         return Response.status(Response.Status.CREATED).entity(dto).build();
@@ -163,6 +246,8 @@ public class FloorResource {
 
         Floor updatedFloor = entityManager.merge(existingFloor);
         entityManager.flush();
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.FLOOR_UPDATED, updatedFloor));
 
         FloorDTO dto = new FloorDTO(updatedFloor);
         return Response.ok(dto).build();
@@ -199,6 +284,8 @@ public class FloorResource {
 
         LOG.infof("Removing floor %d", id);
         entityManager.remove(floor);
+        entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.FLOOR_DELETED, floor));
         return Response.noContent().build();
     }
 
@@ -234,6 +321,7 @@ public class FloorResource {
             entityManager.merge(planimetry);
         }
         entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.FLOOR_UPDATED, floor));
 
         Floor updatedFloor = entityManager.find(Floor.class, id);
         FloorDTO dto = new FloorDTO(updatedFloor);
@@ -242,29 +330,227 @@ public class FloorResource {
 
     @GET
     @Path("/{id}/embed")
+    @Coalesced
+    @Heavy
     @Operation(
             summary = "Get a floor by ID with embedded rooms and seats",
             description = "Returns a floor by its ID, including nested rooms and seats.")
-    public Response getFloorWithEmbed(@PathParam("id") Long id) {
+    public CompletionStage<Response> getFloorWithEmbed(
+            @PathParam("id") Long id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Providers providers) {
+        // Looked up here, as the providers are only available on the request thread
+        MessageBodyWriter<EmbeddedFloorDTO> writer =
+                providers.getMessageBodyWriter(
+                        EmbeddedFloorDTO.class,
+                        EmbeddedFloorDTO.class,
+                        NO_ANNOTATIONS,
+                        MediaType.APPLICATION_JSON_TYPE);
+        return reads.supply(() -> readFloorWithEmbed(id, ifNoneMatch, writer));
+    }
+
+    private Response readFloorWithEmbed(
+            Long id, String ifNoneMatch, MessageBodyWriter<EmbeddedFloorDTO> writer) {
+        EmbeddedFloorCache.Page page =
+                embeddedFloors.get(
+                        id,
+                        floorId -> markHeld(readModel.embeddedFloor(floorId)),
+                        dto -> toJson(writer, dto));
+        if (page == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        EntityTag tag = new EntityTag(page.tag());
+        if (page.matches(ifNoneMatch)) {
+            return Response.notModified(tag).build();
+        }
+        StreamingOutput body = output -> output.write(page.json());
+        return Response.ok(body, MediaType.APPLICATION_JSON_TYPE).tag(tag).build();
+    }
+
+    /** Serializes the floor as the response would without the cache. */
+    private static byte[] toJson(MessageBodyWriter<EmbeddedFloorDTO> writer, EmbeddedFloorDTO dto)
+            throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        writer.writeTo(
+                dto,
+                EmbeddedFloorDTO.class,
+                EmbeddedFloorDTO.class,
+                NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<>(),
+                json);
+        return json.toByteArray();
+    }
+
+    private EmbeddedFloorDTO loadEmbeddedFloor(Long id) {
         Floor floor =
-                entityManager
-                        .createQuery(
-                                "SELECT DISTINCT f FROM Floor f "
-                                        + "LEFT JOIN FETCH f.rooms "
-                                        + "LEFT JOIN FETCH f.rooms.seats "
-                                        + "LEFT JOIN FETCH f.rooms.seats.employees "
-                                        + "WHERE f.id = :id",
-                                Floor.class)
+                EntityCache.cached(
+                                entityManager.createQuery(
+                                        "SELECT DISTINCT f FROM Floor f "
+                                                + "LEFT JOIN FETCH f.rooms "
+                                                + "LEFT JOIN FETCH f.rooms.seats "
+                                                + "LEFT JOIN FETCH f.rooms.seats.employees "
+                                                + "WHERE f.id = :id",
+                                        Floor.class))
                         .setParameter("id", id)
-                        .getResultStream()
+                        .getResultList()
+                        .stream()
                         .findFirst()
                         .orElse(null);
 
-        if (floor == null) {
+        return floor == null ? null : markHeld(new EmbeddedFloorDTO(floor));
+    }
+
+    private EmbeddedFloorDTO markHeld(EmbeddedFloorDTO dto) {
+        if (dto != null) {
+            dto.getRooms().stream()
+                    .flatMap(room -> room.getSeats().stream())
+                    .forEach(seat -> seat.setHeld(seatHolds.isHeld(seat.getId())));
+        }
+        return dto;
+    }
+
+    @GET
+    @Path("/{id}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Transactional
+    @Operation(
+            summary = "Stream live changes of a floor",
+            description =
+                    "Server-sent events: a snapshot event with the floor and its rooms and seats,"
+                            + " then delta events with the seats and rooms that changed, at most"
+                            + " one per tick. A lagged event means deltas were lost and the floor"
+                            + " should be reloaded; a deleted event ends the stream.")
+    public void streamFloorEvents(
+            @PathParam("id") Long id, @Context SseEventSink sink, @Context Sse sse) {
+        // Subscribe before loading the snapshot so that no change committed in between is lost
+        FloorEventHub.Subscription subscription = floorEvents.subscribe(id, sink, sse);
+        EmbeddedFloorDTO snapshot = loadEmbeddedFloor(id);
+        if (snapshot == null) {
+            subscription.cancel();
+            throw new NotFoundException("Floor not found");
+        }
+        subscription.start(snapshot);
+    }
+
+    @POST
+    @Path("/{id}/allocate")
+    @Transactional
+    @Operation(
+            summary = "Allocate a free seat on a floor",
+            description =
+                    "Atomically claims any free seat on the floor and assigns it to the employee."
+                            + " Returns the employee's existing seat if they already sit on this"
+                            + " floor.")
+    public Response allocateSeat(@PathParam("id") Long id, Map<String, Long> request) {
+        if (request == null || request.get("employeeId") == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Employee ID is required")
+                    .build();
+        }
+        Long employeeId = request.get("employeeId");
+
+        if (entityManager.find(Floor.class, id) == null) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Floor not found").build();
+        }
+        if (entityManager.find(Employee.class, employeeId) == null) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Employee not found").build();
+        }
+
+        Long seatId = seatAllocator.findAssignedSeat(id, employeeId);
+        boolean allocated = false;
+        if (seatId == null) {
+            seatId = seatAllocator.allocate(id, employeeId);
+            if (seatId == null) {
+                return Response.status(Response.Status.CONFLICT)
+                        .entity("No free seat available on this floor")
+                        .build();
+            }
+            allocated = true;
+            LOG.infof("Allocated seat %d on floor %d to employee %d", seatId, id, employeeId);
+
+            // The allocator inserts the assignment natively, so the seat's employee collection
+            // may not reflect it; a freshly allocated seat has exactly one occupant
+            Seat seat = entityManager.find(Seat.class, seatId);
+            officeChanges.fire(
+                    new OfficeChangeEvent(
+                            OfficeChangeEvent.Type.SEAT_ASSIGNED,
+                            id,
+                            seat.getRoom().getId(),
+                            seatId,
+                            employeeId,
+                            1,
+                            System.currentTimeMillis()));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("employeeId", employeeId);
+        result.put("seatId", seatId);
+        result.put("floorId", id);
+        result.put("assigned", true);
+        result.put("allocated", allocated);
+        return Response.ok(result).build();
+    }
+
+    @GET
+    @Path("/{id}/availability")
+    @Operation(
+            summary = "Get free seats on a floor for a slot",
+            description =
+                    "Returns the seats on the floor that are not permanently assigned and not"
+                            + " reserved for the given date and slot (MORNING, AFTERNOON or"
+                            + " FULL_DAY).")
+    public CompletionStage<Response> getAvailability(
+            @PathParam("id") Long id,
+            @QueryParam("date") String date,
+            @QueryParam("slot") @DefaultValue("FULL_DAY") String slot) {
+        return reads.supply(() -> readAvailability(id, date, slot));
+    }
+
+    private Response readAvailability(Long id, String date, String slot) {
+        if (date == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Date is required").build();
+        }
+        LocalDate day;
+        ReservationSlot reservationSlot;
+        try {
+            day = LocalDate.parse(date);
+            reservationSlot = ReservationSlot.valueOf(slot);
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date, expected yyyy-MM-dd")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Slot must be one of MORNING, AFTERNOON or FULL_DAY")
+                    .build();
+        }
+
+        if (entityManager.find(Floor.class, id) == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
-        EmbeddedFloorDTO dto = new EmbeddedFloorDTO(floor);
-        return Response.ok(dto).build();
+        long[] bookableSeatIds =
+                entityManager
+                        .createQuery(
+                                "SELECT s.id FROM Seat s "
+                                        + "WHERE s.room.floor.id = :floorId AND s.employees IS EMPTY "
+                                        + "ORDER BY s.id",
+                                Long.class)
+                        .setParameter("floorId", id)
+                        .getResultStream()
+                        .filter(seatId -> !seatHolds.isHeld(seatId))
+                        .mapToLong(Long::longValue)
+                        .toArray();
+        long[] freeSeatIds = reservationIndex.freeSeats(bookableSeatIds, day, reservationSlot);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("floorId", id);
+        result.put("date", day.toString());
+        result.put("slot", reservationSlot.name());
+        result.put("bookableSeats", bookableSeatIds.length);
+        result.put("freeSeats", freeSeatIds.length);
+        result.put("freeSeatIds", Arrays.stream(freeSeatIds).boxed().toList());
+        return Response.ok(result).build();
     }
 }
@@ -0,0 +1,171 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.util.Heavy;
+import com.officemanagement.util.OccupancySimulator;
+import com.officemanagement.util.OccupancySimulator.Distribution;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Path("/forecast")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Forecast", description = "Occupancy forecasting by Monte Carlo simulation")
+public class ForecastResource {
+
+    private static final int MAX_SAMPLES = 1_000_000;
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    @Inject EntityManager entityManager;
+
+    @Resource ManagedExecutorService executor;
+
+    @GET
+    @Heavy
+    @Operation(
+            summary = "Forecast seat demand",
+            description =
+                    "Simulates days on which the given percentage of staff comes in and returns"
+                            + " demand percentiles per room, floor and in total. Staff are counted"
+                            + " in the room of their seat; staff without a seat are reported"
+                            + " separately. Volatility is the relative day-to-day variation of the"
+                            + " attendance rate.")
+    public Response forecast(
+            @QueryParam("attendance") Double attendance,
+            @QueryParam("volatility") @DefaultValue("0.1") double volatility,
+            @QueryParam("samples") @DefaultValue("100000") int samples,
+            @QueryParam("seed") Long seed) {
+        if (attendance == null || attendance < 0 || attendance > 100) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Attendance must be a percentage between 0 and 100")
+                    .build();
+        }
+        if (volatility < 0 || volatility > 1) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Volatility must be between 0 and 1")
+                    .build();
+        }
+        if (samples <= 0 || samples > MAX_SAMPLES) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Samples must be between 1 and " + MAX_SAMPLES)
+                    .build();
+        }
+        long start = System.currentTimeMillis();
+
+        List<Object[]> rooms =
+                entityManager
+                        .createQuery(
+                                "SELECT r.id, r.name, f.id, f.name, SIZE(r.seats) "
+                                        + "FROM OfficeRoom r JOIN r.floor f "
+                                        + "ORDER BY f.floorNumber, f.id, r.id",
+                                Object[].class)
+                        .getResultList();
+
+        // Employees with several seats count once, in the room of their lowest-numbered seat
+        Map<Long, Integer> staffOfRoom = new HashMap<>();
+        for (Long roomId :
+                entityManager
+                        .createQuery(
+                                "SELECT MIN(s.room.id) FROM Employee e JOIN e.seats s GROUP BY e.id",
+                                Long.class)
+                        .getResultList()) {
+            staffOfRoom.merge(roomId, 1, Integer::sum);
+        }
+        long unassigned =
+                entityManager
+                        .createQuery(
+                                "SELECT COUNT(e) FROM Employee e WHERE e.seats IS EMPTY",
+                                Long.class)
+                        .getSingleResult();
+
+        // Groups are the rooms in floor order, then the staff without a seat
+        Map<Long, Integer> floorIndex = new LinkedHashMap<>();
+        Map<Long, String> floorNames = new HashMap<>();
+        int groups = rooms.size() + 1;
+        int[] staffOfGroup = new int[groups];
+        int[] floorOfGroup = new int[groups];
+        for (int g = 0; g < rooms.size(); g++) {
+            Object[] room = rooms.get(g);
+            Long floorId = (Long) room[2];
+            floorNames.put(floorId, (String) room[3]);
+            floorOfGroup[g] = floorIndex.computeIfAbsent(floorId, id -> floorIndex.size());
+            staffOfGroup[g] = staffOfRoom.getOrDefault((Long) room[0], 0);
+        }
+        staffOfGroup[groups - 1] = (int) unassigned;
+        floorOfGroup[groups - 1] = -1;
+
+        long actualSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        OccupancySimulator.Result result =
+                new OccupancySimulator(staffOfGroup, floorOfGroup, floorIndex.size())
+                        .simulate(attendance / 100, volatility, samples, actualSeed, executor);
+
+        List<Map<String, Object>> floors = new ArrayList<>();
+        int totalSeats = 0;
+        int g = 0;
+        for (Map.Entry<Long, Integer> floor : floorIndex.entrySet()) {
+            List<Map<String, Object>> floorRooms = new ArrayList<>();
+            int floorStaff = 0;
+            int floorSeats = 0;
+            for (; g < rooms.size() && floorOfGroup[g] == floor.getValue(); g++) {
+                Object[] room = rooms.get(g);
+                int seats = ((Number) room[4]).intValue();
+                Map<String, Object> roomForecast =
+                        demand(result.group(g), staffOfGroup[g], seats);
+                roomForecast.put("roomId", room[0]);
+                roomForecast.put("roomName", room[1]);
+                floorRooms.add(roomForecast);
+                floorStaff += staffOfGroup[g];
+                floorSeats += seats;
+            }
+            Map<String, Object> floorForecast =
+                    demand(result.floor(floor.getValue()), floorStaff, floorSeats);
+            floorForecast.put("floorId", floor.getKey());
+            floorForecast.put("floorName", floorNames.get(floor.getKey()));
+            floorForecast.put("rooms", floorRooms);
+            floors.add(floorForecast);
+            totalSeats += floorSeats;
+        }
+
+        int totalStaff = 0;
+        for (int staff : staffOfGroup) {
+            totalStaff += staff;
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("attendance", attendance);
+        response.put("volatility", volatility);
+        response.put("samples", samples);
+        response.put("seed", actualSeed);
+        response.put("total", demand(result.total(), totalStaff, totalSeats));
+        response.put("unassigned", demand(result.group(groups - 1), (int) unassigned, 0));
+        response.put("floors", floors);
+        response.put("elapsedMillis", System.currentTimeMillis() - start);
+        return Response.ok(response).build();
+    }
+
+    private static Map<String, Object> demand(Distribution distribution, int staff, int seats) {
+        Map<String, Object> demand = new LinkedHashMap<>();
+        demand.put("staff", staff);
+        demand.put("seats", seats);
+        demand.put("mean", distribution.mean());
+        for (double percentile : PERCENTILES) {
+            demand.put("p" + Math.round(percentile * 100), distribution.percentile(percentile));
+        }
+        demand.put("max", distribution.max());
+        demand.put("overflowProbability", distribution.exceedanceProbability(seats));
+        return demand;
+    }
+}
@@ -0,0 +1,151 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OccupancyScope;
+import com.officemanagement.model.OccupancyTier;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import com.officemanagement.service.OccupancyHistory;
+import com.officemanagement.service.OccupancyHistory.SeriesKey;
+import com.officemanagement.util.OccupancySeries.Bucket;
+import com.officemanagement.util.OccupancySeries.Sample;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Path("/occupancy-history")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Occupancy History", description = "Occupancy of seats, rooms and floors over time")
+public class OccupancyHistoryResource {
+
+    /** Longest range for hourly and raw queries, to bound the response size. */
+    private static final long MAX_FINE_DAYS = 400;
+
+    @Inject EntityManager entityManager;
+
+    @Inject OccupancyHistory history;
+
+    @GET
+    @Path("/{scope}/{id}")
+    @Operation(
+            summary = "Get occupancy history",
+            description =
+                    "Returns the occupancy of a seat (occupants), room or floor (occupied seats)"
+                            + " between two UTC dates, both inclusive. Resolution 'hour', 'day' or"
+                            + " 'week' returns time-weighted average, minimum and maximum per"
+                            + " bucket; 'raw' returns every change. Scope is 'seats', 'rooms' or"
+                            + " 'floors'; the range defaults to the last 30 days.")
+    public Response getHistory(
+            @PathParam("scope") String scope,
+            @PathParam("id") Long id,
+            @QueryParam("resolution") @DefaultValue("hour") String resolution,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to) {
+        OccupancyScope occupancyScope;
+        Class<?> entityType;
+        switch (scope) {
+            case "seats" -> {
+                occupancyScope = OccupancyScope.SEAT;
+                entityType = Seat.class;
+            }
+            case "rooms" -> {
+                occupancyScope = OccupancyScope.ROOM;
+                entityType = OfficeRoom.class;
+            }
+            case "floors" -> {
+                occupancyScope = OccupancyScope.FLOOR;
+                entityType = Floor.class;
+            }
+            default -> {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Unknown scope: " + scope)
+                        .build();
+            }
+        }
+
+        OccupancyTier tier;
+        try {
+            tier = OccupancyTier.valueOf(resolution.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Resolution must be raw, hour, day or week")
+                    .build();
+        }
+
+        LocalDate toDate;
+        LocalDate fromDate;
+        try {
+            toDate = to != null ? LocalDate.parse(to) : LocalDate.now(ZoneOffset.UTC);
+            fromDate = from != null ? LocalDate.parse(from) : toDate.minusDays(30);
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date format, expected YYYY-MM-DD")
+                    .build();
+        }
+        if (fromDate.isAfter(toDate)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("From date must not be after to date")
+                    .build();
+        }
+        if ((tier == OccupancyTier.RAW || tier == OccupancyTier.HOUR)
+                && ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_FINE_DAYS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Range must be shorter than " + MAX_FINE_DAYS + " days")
+                    .build();
+        }
+
+        if (id == null || entityManager.find(entityType, id) == null) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Entity not found").build();
+        }
+
+        long start = System.currentTimeMillis();
+        long fromMillis = fromDate.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        long toMillis = toDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        SeriesKey key = new SeriesKey(occupancyScope, id);
+
+        List<Map<String, Object>> points = new ArrayList<>();
+        if (tier == OccupancyTier.RAW) {
+            for (Sample sample : history.samples(key, fromMillis, toMillis)) {
+                Map<String, Object> point = new LinkedHashMap<>();
+                point.put("time", Instant.ofEpochMilli(sample.timeMillis()).toString());
+                point.put("value", sample.value());
+                points.add(point);
+            }
+        } else {
+            for (Bucket bucket : history.buckets(key, tier, fromMillis, toMillis)) {
+                Map<String, Object> point = new LinkedHashMap<>();
+                point.put("start", Instant.ofEpochMilli(bucket.startMillis()).toString());
+                point.put("average", bucket.average());
+                point.put("min", bucket.min());
+                point.put("max", bucket.max());
+                points.add(point);
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("scope", scope);
+        response.put("id", id);
+        response.put("resolution", tier.name().toLowerCase());
+        response.put("from", fromDate.toString());
+        response.put("to", toDate.toString());
+        response.put("current", history.currentValue(key));
+        response.put("points", points);
+        response.put("elapsedMillis", System.currentTimeMillis() - start);
+        return Response.ok(response).build();
+    }
+}
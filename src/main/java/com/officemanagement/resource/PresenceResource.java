@@ -0,0 +1,166 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.dto.PresenceEventDTO;
+import com.officemanagement.model.PresenceEvent;
+import com.officemanagement.model.PresenceSource;
+import com.officemanagement.service.PresenceService;
+import com.officemanagement.service.PresenceService.SeatLocation;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Path("/presence")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Presence", description = "Badge and desk-sensor check-ins and live presence")
+public class PresenceResource {
+
+    private static final int MAX_BATCH = 10_000;
+
+    @Inject PresenceService presence;
+
+    @POST
+    @Path("/events")
+    @Operation(
+            summary = "Ingest presence events",
+            description =
+                    "Accepts a batch of check-ins and check-outs for live presence counting."
+                            + " Events are written to the database asynchronously. Events for"
+                            + " unknown seats are rejected individually; if the ingestion buffer is"
+                            + " full the whole batch is refused with 503 and should be retried.")
+    public Response ingest(List<PresenceEventDTO> events) {
+        if (events == null || events.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("No events given").build();
+        }
+        if (events.size() > MAX_BATCH) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("At most " + MAX_BATCH + " events per batch")
+                    .build();
+        }
+        Set<Long> seatIds = new HashSet<>();
+        for (PresenceEventDTO event : events) {
+            if (event == null || event.getSeatId() == null || event.getType() == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Seat ID and type are required for every event")
+                        .build();
+            }
+            seatIds.add(event.getSeatId());
+        }
+
+        Map<Long, SeatLocation> locations = presence.locate(seatIds);
+        LocalDateTime now = LocalDateTime.now();
+        List<PresenceEvent> accepted = new ArrayList<>(events.size());
+        Set<Long> unknownSeats = new HashSet<>();
+        for (PresenceEventDTO dto : events) {
+            if (!locations.containsKey(dto.getSeatId())) {
+                unknownSeats.add(dto.getSeatId());
+                continue;
+            }
+            PresenceEvent event = new PresenceEvent();
+            event.setSeatId(dto.getSeatId());
+            event.setEmployeeId(dto.getEmployeeId());
+            event.setType(dto.getType());
+            event.setSource(dto.getSource() != null ? dto.getSource() : PresenceSource.SENSOR);
+            event.setEventTime(dto.getTimestamp() != null ? dto.getTimestamp() : now);
+            event.setReceivedAt(now);
+            accepted.add(event);
+        }
+
+        if (presence.ingest(accepted) == PresenceService.Outcome.BUFFER_FULL) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .entity("Ingestion buffer is full, retry later")
+                    .build();
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("accepted", accepted.size());
+        result.put("rejected", events.size() - accepted.size());
+        result.put("unknownSeatIds", unknownSeats);
+        return Response.accepted(result).build();
+    }
+
+    @GET
+    @Operation(
+            summary = "Get live presence",
+            description =
+                    "Returns the number of checked-in seats in total, per floor and per room, from"
+                            + " in-memory counters, along with ingestion pipeline counters.")
+    public Response getPresence() {
+        Map<Long, Long> byFloor = presence.presentByFloor();
+        Map<Long, Long> floorOfRoom = presence.floorOfRoom();
+        Map<Long, List<Map<String, Object>>> roomsByFloor = new TreeMap<>();
+        List<Map<String, Object>> roomsWithoutFloor = new ArrayList<>();
+        new TreeMap<>(presence.presentByRoom())
+                .forEach(
+                        (roomId, present) -> {
+                            Map<String, Object> room = new LinkedHashMap<>();
+                            room.put("roomId", roomId);
+                            room.put("present", present);
+                            Long floorId = floorOfRoom.get(roomId);
+                            if (floorId != null) {
+                                roomsByFloor
+                                        .computeIfAbsent(floorId, id -> new ArrayList<>())
+                                        .add(room);
+                            } else {
+                                roomsWithoutFloor.add(room);
+                            }
+                        });
+
+        List<Map<String, Object>> floors = new ArrayList<>();
+        roomsByFloor.forEach(
+                (floorId, rooms) -> {
+                    Map<String, Object> floor = new LinkedHashMap<>();
+                    floor.put("floorId", floorId);
+                    floor.put("present", byFloor.getOrDefault(floorId, 0L));
+                    floor.put("rooms", rooms);
+                    floors.add(floor);
+                });
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("present", presence.presentTotal());
+        response.put("floors", floors);
+        response.put("roomsWithoutFloor", roomsWithoutFloor);
+        response.put("pipeline", presence.pipelineStats());
+        return Response.ok(response).build();
+    }
+
+    @GET
+    @Path("/floors/{id}")
+    @Operation(
+            summary = "Get live presence on a floor",
+            description = "Returns the number of checked-in seats on the floor, from memory.")
+    public Response getFloorPresence(@PathParam("id") Long id) {
+        Map<Long, Long> byRoom = presence.presentByRoom();
+        List<Map<String, Object>> rooms = new ArrayList<>();
+        new TreeMap<>(presence.floorOfRoom())
+                .forEach(
+                        (roomId, floorId) -> {
+                            if (floorId.equals(id)) {
+                                Map<String, Object> room = new LinkedHashMap<>();
+                                room.put("roomId", roomId);
+                                room.put("present", byRoom.getOrDefault(roomId, 0L));
+                                rooms.add(room);
+                            }
+                        });
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("floorId", id);
+        response.put("present", presence.presentByFloor().getOrDefault(id, 0L));
+        response.put("rooms", rooms);
+        return Response.ok(response).build();
+    }
+}
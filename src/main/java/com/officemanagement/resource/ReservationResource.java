@@ -0,0 +1,177 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.dto.ReservationDTO;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.ReservationSlot;
+import com.officemanagement.model.Seat;
+import com.officemanagement.model.SeatReservation;
+import com.officemanagement.service.ReservationIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Path("/reservations")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Reservation", description = "Time-slotted hot-desk reservations")
+public class ReservationResource {
+    @Inject EntityManager entityManager;
+
+    @Inject ReservationIndex reservationIndex;
+
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Get reservation by ID", description = "Returns a reservation by its ID.")
+    public Response getReservation(@PathParam("id") Long id) {
+        SeatReservation reservation = entityManager.find(SeatReservation.class, id);
+        if (reservation == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(new ReservationDTO(reservation)).build();
+    }
+
+    @GET
+    @Operation(
+            summary = "List upcoming reservations",
+            description =
+                    "Returns reservations from the given date (default today), optionally filtered"
+                            + " by employee or seat.")
+    public Response getReservations(
+            @QueryParam("employeeId") Long employeeId,
+            @QueryParam("seatId") Long seatId,
+            @QueryParam("from") String from) {
+        LocalDate fromDate;
+        try {
+            fromDate = from == null ? LocalDate.now() : LocalDate.parse(from);
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date, expected yyyy-MM-dd")
+                    .build();
+        }
+
+        List<SeatReservation> reservations =
+                entityManager
+                        .createQuery(
+                                "SELECT r FROM SeatReservation r "
+                                        + "WHERE r.reservationDate >= :from "
+                                        + "AND (:employeeId IS NULL OR r.employee.id = :employeeId) "
+                                        + "AND (:seatId IS NULL OR r.seat.id = :seatId) "
+                                        + "ORDER BY r.reservationDate, r.id",
+                                SeatReservation.class)
+                        .setParameter("from", fromDate)
+                        .setParameter("employeeId", employeeId)
+                        .setParameter("seatId", seatId)
+                        .getResultList();
+
+        List<ReservationDTO> dtos = reservations.stream().map(ReservationDTO::new).toList();
+        return Response.ok(dtos).build();
+    }
+
+    @POST
+    @Transactional
+    @Operation(
+            summary = "Reserve a seat",
+            description = "Books a seat for a whole day or a half-day (MORNING or AFTERNOON).")
+    public Response createReservation(ReservationDTO request) {
+        if (request == null || request.getSeatId() == null || request.getEmployeeId() == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Seat ID and employee ID are required")
+                    .build();
+        }
+        if (request.getDate() == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Reservation date is required")
+                    .build();
+        }
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(request.getDate());
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date, expected yyyy-MM-dd")
+                    .build();
+        }
+        if (date.isBefore(LocalDate.now())) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Cannot reserve a seat in the past")
+                    .build();
+        }
+
+        ReservationSlot slot;
+        try {
+            slot =
+                    request.getSlot() == null
+                            ? ReservationSlot.FULL_DAY
+                            : ReservationSlot.valueOf(request.getSlot());
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Slot must be one of MORNING, AFTERNOON or FULL_DAY")
+                    .build();
+        }
+
+        Seat seat = entityManager.find(Seat.class, request.getSeatId());
+        if (seat == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Referenced seat does not exist")
+                    .build();
+        }
+        Employee employee = entityManager.find(Employee.class, request.getEmployeeId());
+        if (employee == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Referenced employee does not exist")
+                    .build();
+        }
+        if (!seat.getEmployees().isEmpty()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Seat is permanently assigned and cannot be reserved")
+                    .build();
+        }
+
+        if (!reservationIndex.reserve(seat.getId(), date, slot)) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Seat is already reserved for this slot")
+                    .build();
+        }
+
+        SeatReservation reservation = new SeatReservation();
+        reservation.setSeat(seat);
+        reservation.setEmployee(employee);
+        reservation.setReservationDate(date);
+        reservation.setSlot(slot);
+        entityManager.persist(reservation);
+        entityManager.flush();
+
+        return Response.status(Response.Status.CREATED)
+                .entity(new ReservationDTO(reservation))
+                .build();
+    }
+
+    @DELETE
+    @Path("/{id}")
+    @Transactional
+    @Operation(summary = "Cancel a reservation", description = "Cancels a reservation by its ID.")
+    public Response deleteReservation(@PathParam("id") Long id) {
+        SeatReservation reservation = entityManager.find(SeatReservation.class, id);
+        if (reservation == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        reservationIndex.cancel(
+                reservation.getSeat().getId(),
+                reservation.getReservationDate(),
+                reservation.getSlot());
+        entityManager.remove(reservation);
+        return Response.noContent().build();
+    }
+}
@@ -2,12 +2,16 @@ package com.officemanagement.resource;
 
 import com.officemanagement.dto.OfficeRoomDTO;
 import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.OfficeChangeEvent;
 import com.officemanagement.model.Floor;
 import com.officemanagement.model.OfficeRoom;
 import com.officemanagement.model.Seat;
+import com.officemanagement.service.OfficeReadModel;
+import com.officemanagement.service.ReadExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
@@ -16,8 +20,10 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import org.hibernate.Hibernate;
 
 @Path("/rooms")
@@ -28,6 +34,12 @@ import org.hibernate.Hibernate;
 public class RoomResource {
     @Inject EntityManager entityManager;
 
+    @Inject ReadExecutor reads;
+
+    @Inject OfficeReadModel readModel;
+
+    @Inject Event<OfficeChangeEvent> officeChanges;
+
     @POST
     @Transactional
     @Operation(
@@ -82,6 +94,7 @@ public class RoomResource {
 
         entityManager.persist(room);
         entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.ROOM_CREATED, room));
 
         OfficeRoomDTO dto = new OfficeRoomDTO(room);
         return Response.status(Response.Status.CREATED).entity(dto).build();
@@ -89,34 +102,26 @@ public class RoomResource {
 
     @GET
     @Operation(summary = "Get all rooms", description = "Returns a list of all office rooms.")
-    public Response getAllRooms() {
-        // Implementation of getAllRooms method
-        return null; // Placeholder return, actual implementation needed
+    public CompletionStage<Response> getAllRooms() {
+        return reads.supply(this::readAllRooms);
+    }
+
+    private Response readAllRooms() {
+        return Response.ok(readModel.rooms()).build();
     }
 
     @GET
     @Path("/{id}")
     @Operation(summary = "Get room by ID", description = "Returns an office room by its ID.")
-    public Response getRoom(@PathParam("id") Long id) {
-        OfficeRoom room =
-                entityManager
-                        .createQuery(
-                                "select distinct r from OfficeRoom r "
-                                        + "left join fetch r.seats "
-                                        + "left join fetch r.seats.employees "
-                                        + "where r.id = :id",
-                                OfficeRoom.class)
-                        .setParameter("id", id)
-                        .getResultStream()
-                        .findFirst()
-                        .orElse(null);
+    public CompletionStage<Response> getRoom(@PathParam("id") Long id) {
+        return reads.supply(() -> readRoom(id));
+    }
 
-        if (room == null) {
+    private Response readRoom(Long id) {
+        OfficeRoomDTO dto = readModel.room(id);
+        if (dto == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
-
-        // Convert to DTO
-        OfficeRoomDTO dto = new OfficeRoomDTO(room);
         return Response.ok(dto).build();
     }
 
@@ -125,28 +130,19 @@ public class RoomResource {
     @Operation(
             summary = "Get seats in room",
             description = "Returns all seats in a specific office room.")
-    public Response getRoomSeats(@PathParam("id") Long id) {
-        OfficeRoom room =
-                entityManager
-                        .createQuery(
-                                "select distinct r from OfficeRoom r "
-                                        + "left join fetch r.seats "
-                                        + "where r.id = :id",
-                                OfficeRoom.class)
-                        .setParameter("id", id)
-                        .getResultStream()
-                        .findFirst()
-                        .orElse(null);
+    public CompletionStage<Response> getRoomSeats(@PathParam("id") Long id) {
+        return reads.supply(() -> readRoomSeats(id));
+    }
 
-        if (room == null) {
+    private Response readRoomSeats(Long id) {
+        List<SeatDTO> seats = readModel.roomSeats(id);
+        if (seats == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
-        Set<Seat> seats = room.getSeats();
-
         Set<Map<String, Object>> seatsList = new java.util.HashSet<>();
         if (seats != null) {
-            for (Seat seat : seats) {
+            for (SeatDTO seat : seats) {
                 Map<String, Object> seatInfo = new HashMap<>();
                 seatInfo.put("id", seat.getId());
                 seatInfo.put("seatNumber", seat.getSeatNumber());
@@ -229,6 +225,9 @@ public class RoomResource {
         if (room.getHeight() != null) existingRoom.setHeight(room.getHeight());
 
         OfficeRoom updatedRoom = entityManager.merge(existingRoom);
+        entityManager.flush();
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.ROOM_UPDATED, updatedRoom));
 
         // Return DTO
         OfficeRoomDTO dto = new OfficeRoomDTO(updatedRoom);
@@ -259,6 +258,8 @@ public class RoomResource {
         }
 
         entityManager.remove(room);
+        entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.ROOM_DELETED, room));
         return Response.noContent().build();
     }
 
@@ -299,6 +300,8 @@ public class RoomResource {
 
         OfficeRoom updatedRoom = entityManager.merge(room);
         entityManager.flush();
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.ROOM_UPDATED, updatedRoom));
 
         // Initialize collections before DTO creation
         Hibernate.initialize(updatedRoom.getFloor());
@@ -370,6 +373,8 @@ public class RoomResource {
 
         Seat updatedSeat = entityManager.merge(seat);
         entityManager.flush();
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_UPDATED, updatedSeat));
 
         // Initialize collections before DTO creation
         Hibernate.initialize(updatedSeat.getRoom());
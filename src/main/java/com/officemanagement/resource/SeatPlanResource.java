@@ -0,0 +1,312 @@
+package com.officemanagement.resource;
+
+import com.officemanagement.dto.SeatPlacementDTO;
+import com.officemanagement.dto.SeatPlanDTO;
+import com.officemanagement.dto.SeatPlanRequestDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Seat;
+import com.officemanagement.service.SeatHoldService;
+import com.officemanagement.util.Heavy;
+import com.officemanagement.util.SeatPlanOptimizer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import org.jboss.logging.Logger;
+
+@Path("/seat-plans")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Tag(name = "Seat Plan", description = "Team-aware seat assignment planning")
+public class SeatPlanResource {
+
+    private static final Logger LOG = Logger.getLogger(SeatPlanResource.class);
+
+    /** Distance between floors, far larger than a floor plan so teams stay on one floor. */
+    private static final double FLOOR_SEPARATION = 10_000;
+
+    private static final int RESTARTS = Integer.getInteger("office.seat-plan.restarts", 8);
+    private static final int MOVES_PER_PERSON =
+            Integer.getInteger("office.seat-plan.moves-per-person", 500);
+
+    @Inject EntityManager entityManager;
+
+    @Inject SeatHoldService seatHolds;
+
+    @Inject Event<OfficeChangeEvent> officeChanges;
+
+    @Resource ManagedExecutorService executor;
+
+    @POST
+    @Heavy
+    @Operation(
+            summary = "Compute a seat plan",
+            description =
+                    "Places employees on free seats so that teams sit together, minimizing the"
+                            + " distance of team members to their team's centre. Nothing is"
+                            + " assigned until the plan is applied.")
+    public Response computePlan(SeatPlanRequestDTO request) {
+        if (request == null) {
+            request = new SeatPlanRequestDTO();
+        }
+        long start = System.currentTimeMillis();
+
+        // Teams, in a stable order so that a seed reproduces the same plan
+        Map<String, List<Long>> teams = new LinkedHashMap<>();
+        if (request.getTeams() != null && !request.getTeams().isEmpty()) {
+            Set<Long> seen = new HashSet<>();
+            for (int i = 0; i < request.getTeams().size(); i++) {
+                List<Long> members = request.getTeams().get(i);
+                if (members == null || members.isEmpty()) {
+                    continue;
+                }
+                for (Long employeeId : members) {
+                    if (!seen.add(employeeId)) {
+                        return Response.status(Response.Status.BAD_REQUEST)
+                                .entity("Employee " + employeeId + " is in more than one team")
+                                .build();
+                    }
+                }
+                teams.put("team-" + (i + 1), members);
+            }
+            Long found =
+                    entityManager
+                            .createQuery(
+                                    "SELECT COUNT(e) FROM Employee e WHERE e.id IN :ids",
+                                    Long.class)
+                            .setParameter("ids", seen)
+                            .getSingleResult();
+            if (found != seen.size()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Referenced employee does not exist")
+                        .build();
+            }
+        } else {
+            List<Object[]> rows =
+                    request.getEmployeeIds() == null || request.getEmployeeIds().isEmpty()
+                            ? entityManager
+                                    .createQuery(
+                                            "SELECT e.id, e.occupation FROM Employee e "
+                                                    + "WHERE e.seats IS EMPTY ORDER BY e.id",
+                                            Object[].class)
+                                    .getResultList()
+                            : entityManager
+                                    .createQuery(
+                                            "SELECT e.id, e.occupation FROM Employee e "
+                                                    + "WHERE e.id IN :ids ORDER BY e.id",
+                                            Object[].class)
+                                    .setParameter("ids", request.getEmployeeIds())
+                                    .getResultList();
+            if (request.getEmployeeIds() != null
+                    && rows.size() != new HashSet<>(request.getEmployeeIds()).size()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Referenced employee does not exist")
+                        .build();
+            }
+            for (Object[] row : rows) {
+                String occupation = row[1] == null ? "Unspecified" : (String) row[1];
+                teams.computeIfAbsent(occupation, k -> new ArrayList<>()).add((Long) row[0]);
+            }
+        }
+        if (teams.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("No employees to place")
+                    .build();
+        }
+
+        // Free seats, positioned on their floor plan and stacked by floor number
+        List<Object[]> seatRows =
+                request.getFloorIds() == null || request.getFloorIds().isEmpty()
+                        ? entityManager
+                                .createQuery(
+                                        "SELECT s.id, s.x, s.y, r.x, r.y, f.id, f.floorNumber "
+                                                + "FROM Seat s JOIN s.room r JOIN r.floor f "
+                                                + "WHERE s.employees IS EMPTY ORDER BY s.id",
+                                        Object[].class)
+                                .getResultList()
+                        : entityManager
+                                .createQuery(
+                                        "SELECT s.id, s.x, s.y, r.x, r.y, f.id, f.floorNumber "
+                                                + "FROM Seat s JOIN s.room r JOIN r.floor f "
+                                                + "WHERE s.employees IS EMPTY "
+                                                + "AND f.id IN :floorIds "
+                                                + "ORDER BY s.id",
+                                        Object[].class)
+                                .setParameter("floorIds", request.getFloorIds())
+                                .getResultList();
+        seatRows = seatRows.stream().filter(row -> !seatHolds.isHeld((Long) row[0])).toList();
+
+        int people = teams.values().stream().mapToInt(List::size).sum();
+        if (people > seatRows.size()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(
+                            "Not enough free seats: "
+                                    + people
+                                    + " employees, "
+                                    + seatRows.size()
+                                    + " free seats")
+                    .build();
+        }
+
+        int seatCount = seatRows.size();
+        double[] seatX = new double[seatCount];
+        double[] seatY = new double[seatCount];
+        double[] seatZ = new double[seatCount];
+        for (int s = 0; s < seatCount; s++) {
+            Object[] row = seatRows.get(s);
+            // Seat coordinates are relative to their room
+            seatX[s] = toDouble(row[3]) + toDouble(row[1]);
+            seatY[s] = toDouble(row[4]) + toDouble(row[2]);
+            seatZ[s] = row[6] == null ? 0 : ((Integer) row[6]) * FLOOR_SEPARATION;
+        }
+
+        List<String> teamNames = new ArrayList<>(teams.keySet());
+        long[] employeeOfPerson = new long[people];
+        int[] teamOfPerson = new int[people];
+        int p = 0;
+        for (int t = 0; t < teamNames.size(); t++) {
+            for (Long employeeId : teams.get(teamNames.get(t))) {
+                employeeOfPerson[p] = employeeId;
+                teamOfPerson[p++] = t;
+            }
+        }
+
+        long seed =
+                request.getSeed() != null
+                        ? request.getSeed()
+                        : ThreadLocalRandom.current().nextLong();
+        SeatPlanOptimizer.Plan plan =
+                new SeatPlanOptimizer(RESTARTS, MOVES_PER_PERSON, seed)
+                        .optimize(
+                                seatX,
+                                seatY,
+                                seatZ,
+                                teamOfPerson,
+                                teamNames.size(),
+                                executor);
+
+        List<SeatPlacementDTO> placements = new ArrayList<>(people);
+        for (int person = 0; person < people; person++) {
+            Object[] seat = seatRows.get(plan.seatOfPerson()[person]);
+            placements.add(
+                    new SeatPlacementDTO(
+                            employeeOfPerson[person],
+                            (Long) seat[0],
+                            (Long) seat[5],
+                            teamNames.get(teamOfPerson[person])));
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        LOG.infof(
+                "Planned %d employees in %d teams on %d free seats in %d ms",
+                people, teamNames.size(), seatCount, elapsed);
+
+        return Response.ok(new SeatPlanDTO(placements, teamNames.size(), plan.cost(), elapsed))
+                .build();
+    }
+
+    @POST
+    @Path("/apply")
+    @Transactional
+    @Operation(
+            summary = "Apply a seat plan",
+            description =
+                    "Assigns all placements of a plan in one transaction. Fails without assigning"
+                            + " anything if a seat has been taken or held since the plan was made.")
+    public Response applyPlan(SeatPlanDTO plan) {
+        if (plan == null || plan.getPlacements() == null || plan.getPlacements().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Plan has no placements")
+                    .build();
+        }
+        Set<Long> seatIds = new HashSet<>();
+        Set<Long> employeeIds = new HashSet<>();
+        for (SeatPlacementDTO placement : plan.getPlacements()) {
+            if (placement.getSeatId() == null || placement.getEmployeeId() == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Seat ID and employee ID are required")
+                        .build();
+            }
+            if (!seatIds.add(placement.getSeatId())) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Seat " + placement.getSeatId() + " is placed more than once")
+                        .build();
+            }
+            employeeIds.add(placement.getEmployeeId());
+        }
+
+        Map<Long, Seat> seats =
+                entityManager
+                        .createQuery(
+                                "SELECT s FROM Seat s LEFT JOIN FETCH s.employees "
+                                        + "WHERE s.id IN :ids",
+                                Seat.class)
+                        .setParameter("ids", seatIds)
+                        .getResultList()
+                        .stream()
+                        .collect(Collectors.toMap(Seat::getId, s -> s, (a, b) -> a));
+        Map<Long, Employee> employees = new HashMap<>();
+        entityManager
+                .createQuery(
+                        "SELECT e FROM Employee e LEFT JOIN FETCH e.seats WHERE e.id IN :ids",
+                        Employee.class)
+                .setParameter("ids", employeeIds)
+                .getResultList()
+                .forEach(e -> employees.put(e.getId(), e));
+        if (seats.size() != seatIds.size() || employees.size() != employeeIds.size()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Referenced seat or employee does not exist")
+                    .build();
+        }
+
+        List<Long> unavailable =
+                seats.values().stream()
+                        .filter(s -> !s.getEmployees().isEmpty() || seatHolds.isHeld(s.getId()))
+                        .map(Seat::getId)
+                        .sorted()
+                        .toList();
+        if (!unavailable.isEmpty()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Seats no longer free: " + unavailable)
+                    .build();
+        }
+
+        for (SeatPlacementDTO placement : plan.getPlacements()) {
+            employees.get(placement.getEmployeeId()).addSeat(seats.get(placement.getSeatId()));
+        }
+        entityManager.flush();
+        for (SeatPlacementDTO placement : plan.getPlacements()) {
+            officeChanges.fire(
+                    OfficeChangeEvent.of(
+                            OfficeChangeEvent.Type.SEAT_ASSIGNED,
+                            seats.get(placement.getSeatId()),
+                            placement.getEmployeeId()));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("applied", plan.getPlacements().size());
+        return Response.ok(result).build();
+    }
+
+    private static double toDouble(Object value) {
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+}
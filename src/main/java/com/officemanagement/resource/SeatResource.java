@@ -1,18 +1,34 @@
 package com.officemanagement.resource;
 
 import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.Employee;
 import com.officemanagement.model.OfficeRoom;
 import com.officemanagement.model.Seat;
+import com.officemanagement.model.SeatReservation;
+import com.officemanagement.service.OfficeReadModel;
+import com.officemanagement.service.ReadExecutor;
+import com.officemanagement.service.ReservationIndex;
+import com.officemanagement.service.SeatHoldService;
+import com.officemanagement.service.SeatHoldService.SeatHold;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import org.hibernate.Hibernate;
 
 @Path("/seats")
@@ -23,31 +39,32 @@ import org.hibernate.Hibernate;
 public class SeatResource {
     @Inject EntityManager entityManager;
 
+    @Inject ReadExecutor reads;
+
+    @Inject OfficeReadModel readModel;
+
+    @Inject ReservationIndex reservationIndex;
+
+    @Inject SeatHoldService seatHolds;
+
+    @Inject Event<OfficeChangeEvent> officeChanges;
+
+    private static final long DEFAULT_HOLD_MINUTES = 5;
+    private static final long MAX_HOLD_MINUTES = 60;
+
     @GET
     @Path("/{id}")
     @Operation(summary = "Get seat by ID", description = "Returns a seat by its ID.")
-    public Response getSeat(@PathParam("id") Long id) {
-        Seat seat =
-                entityManager
-                        .createQuery(
-                                "SELECT s FROM Seat s LEFT JOIN FETCH s.employees WHERE s.id = :id",
-                                Seat.class)
-                        .setParameter("id", id)
-                        .getResultStream()
-                        .findFirst()
-                        .orElse(null);
+    public CompletionStage<Response> getSeat(@PathParam("id") Long id) {
+        return reads.supply(() -> readSeat(id));
+    }
 
-        if (seat == null) {
+    private Response readSeat(Long id) {
+        SeatDTO dto = readModel.seat(id);
+        if (dto == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
-
-        Hibernate.initialize(seat.getEmployees());
-        Hibernate.initialize(seat.getRoom());
-        if (seat.getRoom() != null) {
-            Hibernate.initialize(seat.getRoom().getFloor());
-        }
-
-        SeatDTO dto = new SeatDTO(seat);
+        dto.setHeld(seatHolds.isHeld(id));
         return Response.ok(dto).build();
     }
 
@@ -97,6 +114,7 @@ public class SeatResource {
         seat.setCreatedAt(LocalDateTime.now());
         entityManager.persist(seat);
         entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_CREATED, seat));
 
         Hibernate.initialize(seat.getEmployees());
 
@@ -156,6 +174,7 @@ public class SeatResource {
             }
         }
 
+        OfficeRoom previousRoom = existingSeat.getRoom();
         existingSeat.setSeatNumber(seatData.getSeatNumber());
         existingSeat.setRoom(room);
         if (seatData.getX() != null) existingSeat.setX(seatData.getX());
@@ -166,6 +185,12 @@ public class SeatResource {
 
         Seat updatedSeat = entityManager.merge(existingSeat);
         entityManager.flush();
+        officeChanges.fire(
+                OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_UPDATED, updatedSeat));
+        if (!previousRoom.getId().equals(room.getId())) {
+            officeChanges.fire(
+                    OfficeChangeEvent.of(OfficeChangeEvent.Type.ROOM_UPDATED, previousRoom));
+        }
 
         Hibernate.initialize(updatedSeat.getEmployees());
 
@@ -189,7 +214,148 @@ public class SeatResource {
                     .build();
         }
 
+        List<SeatReservation> reservations =
+                entityManager
+                        .createQuery(
+                                "SELECT r FROM SeatReservation r WHERE r.seat.id = :seatId",
+                                SeatReservation.class)
+                        .setParameter("seatId", id)
+                        .getResultList();
+        for (SeatReservation reservation : reservations) {
+            reservationIndex.cancel(id, reservation.getReservationDate(), reservation.getSlot());
+            entityManager.remove(reservation);
+        }
+
         entityManager.remove(seat);
+        entityManager.flush();
+        officeChanges.fire(OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_DELETED, seat));
+        return Response.noContent().build();
+    }
+
+    @POST
+    @Path("/{id}/hold")
+    @Operation(
+            summary = "Hold a seat",
+            description =
+                    "Tentatively holds a free seat for an employee for a number of minutes"
+                            + " (default 5, max 60) while the booking is confirmed.")
+    public Response holdSeat(@PathParam("id") Long id, Map<String, Long> request) {
+        if (request == null || request.get("employeeId") == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Employee ID is required")
+                    .build();
+        }
+        Long employeeId = request.get("employeeId");
+        long minutes = request.getOrDefault("minutes", DEFAULT_HOLD_MINUTES);
+        if (minutes <= 0 || minutes > MAX_HOLD_MINUTES) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Hold duration must be between 1 and " + MAX_HOLD_MINUTES + " minutes")
+                    .build();
+        }
+
+        if (entityManager.find(Seat.class, id) == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        if (entityManager.find(Employee.class, employeeId) == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Referenced employee does not exist")
+                    .build();
+        }
+        if (isAssigned(id)) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Seat is already assigned")
+                    .build();
+        }
+
+        SeatHold hold = seatHolds.hold(id, employeeId, TimeUnit.MINUTES.toMillis(minutes));
+        if (hold == null) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Seat is held by another employee")
+                    .build();
+        }
+        return Response.status(Response.Status.CREATED).entity(holdResponse(hold)).build();
+    }
+
+    @POST
+    @Path("/{id}/hold/{holdId}/confirm")
+    @Transactional
+    @Operation(
+            summary = "Confirm a seat hold",
+            description = "Turns an active hold into a seat assignment for the holding employee.")
+    public Response confirmHold(@PathParam("id") Long id, @PathParam("holdId") String holdId) {
+        SeatHold hold = seatHolds.getHold(id);
+        if (hold == null || !hold.holdId().equals(holdId)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Hold not found or expired")
+                    .build();
+        }
+
+        // Locked so that a concurrent allocation skips the seat even if the hold expires meanwhile
+        Seat seat = entityManager.find(Seat.class, id, LockModeType.PESSIMISTIC_WRITE);
+        Employee employee = entityManager.find(Employee.class, hold.employeeId());
+        if (seat == null || employee == null) {
+            seatHolds.release(id, holdId);
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Seat or employee no longer exists")
+                    .build();
+        }
+        if (!seat.getEmployees().isEmpty()) {
+            seatHolds.release(id, holdId);
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Seat is already assigned")
+                    .build();
+        }
+        SeatHold current = seatHolds.getHold(id);
+        if (current == null || !current.holdId().equals(holdId)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Hold not found or expired")
+                    .build();
+        }
+        // The hold keeps allocations off the seat until the assignment has committed
+        seatHolds.releaseOnCommit(id, holdId);
+
+        employee.addSeat(seat);
+        entityManager.merge(employee);
+        entityManager.flush();
+        officeChanges.fire(
+                OfficeChangeEvent.of(
+                        OfficeChangeEvent.Type.SEAT_ASSIGNED, seat, employee.getId()));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("employeeId", employee.getId());
+        result.put("seatId", id);
+        result.put("assigned", true);
+        return Response.ok(result).build();
+    }
+
+    @DELETE
+    @Path("/{id}/hold/{holdId}")
+    @Operation(summary = "Release a seat hold", description = "Releases an active hold early.")
+    public Response releaseHold(@PathParam("id") Long id, @PathParam("holdId") String holdId) {
+        if (seatHolds.release(id, holdId) == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Hold not found or expired")
+                    .build();
+        }
         return Response.noContent().build();
     }
+
+    private boolean isAssigned(Long seatId) {
+        return entityManager
+                        .createQuery(
+                                "SELECT COUNT(e) FROM Seat s JOIN s.employees e WHERE s.id = :id",
+                                Long.class)
+                        .setParameter("id", seatId)
+                        .getSingleResult()
+                > 0;
+    }
+
+    private static Map<String, Object> holdResponse(SeatHold hold) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("holdId", hold.holdId());
+        result.put("seatId", hold.seatId());
+        result.put("employeeId", hold.employeeId());
+        result.put("expiresAt", Instant.ofEpochMilli(hold.expiresAtMillis()).toString());
+        return result;
+    }
 }
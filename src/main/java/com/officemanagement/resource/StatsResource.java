@@ -1,6 +1,16 @@
 package com.officemanagement.resource;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.officemanagement.service.DatabaseChangeCapture;
+import com.officemanagement.service.EmbeddedFloorCache;
+import com.officemanagement.service.EntityCache;
+import com.officemanagement.service.OfficeCounters;
+import com.officemanagement.service.OfficeReadModel;
+import com.officemanagement.service.Outbox;
+import com.officemanagement.util.AdaptiveLimit;
+import com.officemanagement.util.CoalescingFilter;
+import com.officemanagement.util.ConcurrencyLimitFilter;
+import com.officemanagement.util.SingleFlight;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,20 +18,34 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.persistence.EntityManager;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Path("/stats") // Base path for all stats-related endpoints
 @ApplicationScoped // Make it a CDI bean
 @Tag(name = "Statistics", description = "Provides overall statistics about the office setup.")
 public class StatsResource {
 
-    @Inject // Inject EntityManager
-    EntityManager entityManager;
+    @Inject OfficeCounters counters;
+
+    @Inject CoalescingFilter coalescing;
+
+    @Inject ConcurrencyLimitFilter concurrencyLimits;
+
+    @Inject Outbox outbox;
+
+    @Inject DatabaseChangeCapture changeCapture;
+
+    @Inject EntityCache entityCache;
+
+    @Inject EmbeddedFloorCache embeddedFloors;
+
+    @Inject OfficeReadModel readModel;
 
     // DTO for stats response
     public static class StatsDTO {
@@ -41,11 +65,21 @@ public class StatsResource {
         @Schema(description = "Total number of seats available.", example = "100")
         private final long totalSeats;
 
-        public StatsDTO(long totalEmployees, long totalFloors, long totalOffices, long totalSeats) {
-            this.totalEmployees = totalEmployees;
-            this.totalFloors = totalFloors;
-            this.totalOffices = totalOffices;
-            this.totalSeats = totalSeats;
+        @JsonProperty("occupiedSeats")
+        @Schema(description = "Number of seats with at least one employee.", example = "80")
+        private final long occupiedSeats;
+
+        @JsonProperty("occupancyRate")
+        @Schema(description = "Occupied seats as a percentage of all seats.", example = "80.0")
+        private final double occupancyRate;
+
+        public StatsDTO(OfficeCounters.Snapshot snapshot) {
+            this.totalEmployees = snapshot.employees();
+            this.totalFloors = snapshot.floors();
+            this.totalOffices = snapshot.rooms();
+            this.totalSeats = snapshot.seats();
+            this.occupiedSeats = snapshot.occupiedSeats();
+            this.occupancyRate = snapshot.occupancyRate();
         }
     }
 
@@ -54,7 +88,8 @@ public class StatsResource {
     @Operation(
             summary = "Get office statistics",
             description =
-                    "Returns total counts of employees, floors, offices, and seats in the system.")
+                    "Returns total counts of employees, floors, offices, and seats in the system,"
+                            + " plus the number of occupied seats and the occupancy rate.")
     @ApiResponse(
             responseCode = "200",
             description = "Statistics retrieved successfully.",
@@ -70,38 +105,142 @@ public class StatsResource {
                             mediaType = MediaType.APPLICATION_JSON,
                             schema = @Schema(implementation = ErrorResponse.class)))
     public Response getStats() {
-        try {
-            // Use EntityManager
-            Long totalEmployees =
-                    entityManager
-                            .createQuery("SELECT COUNT(e) FROM Employee e", Long.class)
-                            .getSingleResult();
-
-            Long totalFloors =
-                    entityManager
-                            .createQuery("SELECT COUNT(f) FROM Floor f", Long.class)
-                            .getSingleResult();
-
-            Long totalOffices =
-                    entityManager
-                            .createQuery("SELECT COUNT(o) FROM OfficeRoom o", Long.class)
-                            .getSingleResult();
-
-            Long totalSeats =
-                    entityManager
-                            .createQuery("SELECT COUNT(s) FROM Seat s", Long.class)
-                            .getSingleResult();
-
-            StatsDTO stats = new StatsDTO(totalEmployees, totalFloors, totalOffices, totalSeats);
-            return Response.ok(stats).build();
-        } catch (Exception e) {
-            // Basic error handling (consider more specific logging/exceptions)
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(new ErrorResponse("Failed to retrieve stats: " + e.getMessage()))
-                    .build();
+        // Served from counters kept in memory, see OfficeCounters
+        return Response.ok(new StatsDTO(counters.snapshot())).build();
+    }
+
+    // DTO for request coalescing metrics
+    public static class CoalescingDTO {
+        @JsonProperty("requests")
+        @Schema(description = "Requests to coalesced endpoints since startup.", example = "500")
+        private final long requests;
+
+        @JsonProperty("executed")
+        @Schema(description = "Requests that reached the resource.", example = "20")
+        private final long executed;
+
+        @JsonProperty("coalesced")
+        @Schema(
+                description = "Requests answered with another request's response.",
+                example = "478")
+        private final long coalesced;
+
+        @JsonProperty("bypassed")
+        @Schema(
+                description = "Requests that waited in vain and executed on their own.",
+                example = "2")
+        private final long bypassed;
+
+        @JsonProperty("coalescingRatio")
+        @Schema(
+                description = "Coalesced requests as a fraction of all requests.",
+                example = "0.956")
+        private final double coalescingRatio;
+
+        public CoalescingDTO(SingleFlight.Stats stats) {
+            this.requests = stats.calls();
+            this.executed = stats.led() + stats.bypassed();
+            this.coalesced = stats.shared();
+            this.bypassed = stats.bypassed();
+            this.coalescingRatio = stats.coalescingRatio();
         }
     }
 
+    @GET
+    @Path("/coalescing")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get request coalescing metrics",
+            description =
+                    "Returns how many requests to coalesced endpoints (floor plans and embedded"
+                            + " floors) were executed and how many shared the response of an"
+                            + " identical request in flight.")
+    public Response getCoalescingStats() {
+        return Response.ok(new CoalescingDTO(coalescing.stats())).build();
+    }
+
+    @GET
+    @Path("/concurrency")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get concurrency limits",
+            description =
+                    "Returns the current adaptive concurrency limit, the requests in flight and the"
+                            + " requests rejected with 503 so far, for reads, writes and heavy"
+                            + " endpoints.")
+    public Response getConcurrencyStats() {
+        Map<String, AdaptiveLimit.Snapshot> groups = new LinkedHashMap<>();
+        concurrencyLimits
+                .snapshot()
+                .forEach((group, snapshot) -> groups.put(group.name().toLowerCase(), snapshot));
+        return Response.ok(groups).build();
+    }
+
+    @GET
+    @Path("/outbox")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get change log relay metrics",
+            description =
+                    "Returns the oldest offset kept and the next offset of the change log file,"
+                            + " its segment count, and the outbox events relayed to it and failed"
+                            + " relay runs since startup.")
+    public Response getOutboxStats() {
+        return Response.ok(outbox.stats()).build();
+    }
+
+    @GET
+    @Path("/cdc")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get database change capture metrics",
+            description =
+                    "Returns whether changes made outside the application are captured, whether"
+                            + " the replication stream is connected, and the transactions turned"
+                            + " into cache events, skipped as the application's own, and failed"
+                            + " polls since startup.")
+    public Response getChangeCaptureStats() {
+        return Response.ok(changeCapture.stats()).build();
+    }
+
+    @GET
+    @Path("/cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get second-level cache metrics",
+            description =
+                    "Returns, for every region of the entity and query cache, the hits, misses"
+                            + " and puts since startup, the entries held and the hit ratio.")
+    public Response getCacheStats() {
+        return Response.ok(entityCache.stats()).build();
+    }
+
+    @GET
+    @Path("/embed-cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get embedded floor cache metrics",
+            description =
+                    "Returns the hits and misses of the serialized embedded floors since startup,"
+                            + " the floors admitted, rejected as requested too rarely, evicted and"
+                            + " invalidated by changes, and the floors and bytes held.")
+    public Response getEmbedCacheStats() {
+        return Response.ok(embeddedFloors.stats()).build();
+    }
+
+    @GET
+    @Path("/read-model")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Get read model metrics",
+            description =
+                    "Returns the floors, rooms and seats in the in-memory read model, the snapshots"
+                            + " published and the floors reloaded after concurrent changes since"
+                            + " startup, and the loads that failed.")
+    public Response getReadModelStats() {
+        return Response.ok(readModel.stats()).build();
+    }
+
     @Schema(description = "Standard error response.")
     private static class ErrorResponse {
         @JsonProperty("message")
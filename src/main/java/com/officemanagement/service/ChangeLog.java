@@ -0,0 +1,368 @@
+package com.officemanagement.service;
+
+import com.officemanagement.dto.ChangeSetDTO;
+import com.officemanagement.dto.ChangeSetDTO.AssignmentChange;
+import com.officemanagement.dto.EmployeeDTO;
+import com.officemanagement.dto.FloorDTO;
+import com.officemanagement.dto.OfficeRoomDTO;
+import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.ChangeLogEntry;
+import com.officemanagement.model.ChangedEntity;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.UserTransaction;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Change tracking for incremental sync of floors, rooms, seats, employees and assignments.
+ *
+ * <p>Every {@link OfficeChangeEvent} is written to the change log in the transaction that makes
+ * the change, so the log holds exactly the committed changes. Clients ask for the changes after a
+ * {@link Token} and get each changed entity once, in its current state, or its ID if it is gone.
+ *
+ * <p>Sequence numbers are allocated when a change is made but become visible when it commits, so
+ * a slow transaction can commit a number lower than one a client has already seen. A token
+ * therefore never moves past changes younger than {@code office.changes.grace-millis} (default
+ * 60000), which must exceed the longest write transaction: those changes are sent again with the
+ * next request, together with any that committed late. Entries older than {@code
+ * office.changes.retention-days} (default 30) are purged, and tokens that may have missed purged
+ * entries are refused as expired. At most {@code office.changes.page-size} (default 1000) entries
+ * are read per request.
+ */
+@ApplicationScoped
+public class ChangeLog {
+
+    private static final Logger LOG = Logger.getLogger(ChangeLog.class);
+
+    private static final long GRACE_MILLIS = Long.getLong("office.changes.grace-millis", 60_000L);
+    private static final long RETENTION_DAYS = Long.getLong("office.changes.retention-days", 30L);
+    private static final int PAGE_SIZE = Integer.getInteger("office.changes.page-size", 1000);
+
+    /**
+     * Position in the change log: the last sequence number a client has seen, and when it was
+     * handed out. Clients treat it as opaque.
+     */
+    public record Token(long sequence, long issuedAtMillis) {
+
+        /**
+         * Parses a token as returned by {@link #toString}.
+         *
+         * @throws IllegalArgumentException if it is not a token
+         */
+        public static Token parse(String value) {
+            String[] parts = value.split("\\.", -1);
+            try {
+                if (parts.length == 2) {
+                    return new Token(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            throw new IllegalArgumentException("Invalid change token: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return sequence + "." + issuedAtMillis;
+        }
+    }
+
+    /** Identifies what a log entry changed; later entries for the same key supersede it. */
+    private record Key(ChangedEntity type, Long entityId, Long employeeId) {}
+
+    @Inject EntityManager entityManager;
+
+    @Inject UserTransaction userTransaction;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> purger;
+
+    @PostConstruct
+    void startPurger() {
+        purger = scheduler.scheduleAtFixedRate(this::scheduledPurge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stopPurger() {
+        if (purger != null) {
+            purger.cancel(false);
+        }
+    }
+
+    void record(@Observes OfficeChangeEvent event) {
+        switch (event.type()) {
+            case SEAT_ASSIGNED, SEAT_UNASSIGNED ->
+                    write(
+                            ChangedEntity.ASSIGNMENT,
+                            event.seatId(),
+                            event.employeeId(),
+                            event.floorId(),
+                            event.type() == OfficeChangeEvent.Type.SEAT_UNASSIGNED);
+            case SEAT_CREATED, SEAT_UPDATED, SEAT_DELETED ->
+                    write(
+                            ChangedEntity.SEAT,
+                            event.seatId(),
+                            null,
+                            event.floorId(),
+                            event.type() == OfficeChangeEvent.Type.SEAT_DELETED);
+            case ROOM_CREATED, ROOM_UPDATED, ROOM_DELETED ->
+                    write(
+                            ChangedEntity.ROOM,
+                            event.roomId(),
+                            null,
+                            event.floorId(),
+                            event.type() == OfficeChangeEvent.Type.ROOM_DELETED);
+            case FLOOR_CREATED, FLOOR_UPDATED, FLOOR_DELETED ->
+                    write(
+                            ChangedEntity.FLOOR,
+                            event.floorId(),
+                            null,
+                            event.floorId(),
+                            event.type() == OfficeChangeEvent.Type.FLOOR_DELETED);
+            case EMPLOYEE_CREATED, EMPLOYEE_DELETED ->
+                    write(
+                            ChangedEntity.EMPLOYEE,
+                            event.employeeId(),
+                            null,
+                            null,
+                            event.type() == OfficeChangeEvent.Type.EMPLOYEE_DELETED);
+        }
+    }
+
+    private void write(
+            ChangedEntity type, Long entityId, Long employeeId, Long floorId, boolean deleted) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setEntityType(type);
+        entry.setEntityId(entityId);
+        entry.setEmployeeId(employeeId);
+        entry.setFloorId(floorId);
+        entry.setDeleted(deleted);
+        entry.setChangedAt(LocalDateTime.now());
+        entityManager.persist(entry);
+    }
+
+    /** Whether entries the client has not seen yet may have been purged. */
+    public boolean isExpired(Token token) {
+        long oldestKept = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_DAYS);
+        return token.issuedAtMillis() - GRACE_MILLIS < oldestKept;
+    }
+
+    /**
+     * Returns the changes after the token, of the floor and of employees if a floor is given, else
+     * of the whole office. Without a token, returns no changes and a token to start from; clients
+     * get it before loading the data it applies to.
+     */
+    public ChangeSetDTO changesSince(Token since, Long floorId) {
+        LocalDateTime graceStart = LocalDateTime.now().minus(Duration.ofMillis(GRACE_MILLIS));
+        long issuedAt = System.currentTimeMillis();
+        ChangeSetDTO result = new ChangeSetDTO();
+        if (since == null) {
+            result.setToken(new Token(stableHead(graceStart), issuedAt).toString());
+            return result;
+        }
+
+        TypedQuery<ChangeLogEntry> query =
+                entityManager
+                        .createQuery(
+                                "SELECT c FROM ChangeLogEntry c WHERE c.id > :since"
+                                        + (floorId == null
+                                                ? ""
+                                                : " AND (c.floorId = :floorId"
+                                                        + " OR c.floorId IS NULL)")
+                                        + " ORDER BY c.id",
+                                ChangeLogEntry.class)
+                        .setParameter("since", since.sequence())
+                        .setMaxResults(PAGE_SIZE + 1);
+        if (floorId != null) {
+            query.setParameter("floorId", floorId);
+        }
+        List<ChangeLogEntry> entries = query.getResultList();
+        boolean hasMore = entries.size() > PAGE_SIZE;
+        if (hasMore) {
+            entries = entries.subList(0, PAGE_SIZE);
+        }
+
+        // The token stops short of the first change still within the grace window
+        long next = since.sequence();
+        boolean recent = false;
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getChangedAt().isAfter(graceStart)) {
+                recent = true;
+                break;
+            }
+            next = entry.getId();
+        }
+        if (!recent && !hasMore) {
+            // Nothing else of interest up to the stable head, skip the other floors' changes
+            next = Math.max(next, stableHead(graceStart));
+        }
+        result.setToken(new Token(next, issuedAt).toString());
+        result.setHasMore(hasMore);
+
+        Map<Key, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            latest.put(
+                    new Key(entry.getEntityType(), entry.getEntityId(), entry.getEmployeeId()),
+                    entry);
+        }
+        Map<ChangedEntity, Set<Long>> changed = new EnumMap<>(ChangedEntity.class);
+        for (ChangeLogEntry entry : latest.values()) {
+            if (entry.getEntityType() == ChangedEntity.ASSIGNMENT) {
+                result.getAssignments()
+                        .add(
+                                new AssignmentChange(
+                                        entry.getEntityId(),
+                                        entry.getEmployeeId(),
+                                        !entry.isDeleted()));
+            } else if (entry.isDeleted()) {
+                deletedIds(result, entry.getEntityType()).add(entry.getEntityId());
+            } else {
+                changed.computeIfAbsent(entry.getEntityType(), type -> new HashSet<>())
+                        .add(entry.getEntityId());
+            }
+        }
+        loadChanged(result, changed, floorId);
+        return result;
+    }
+
+    /** Highest sequence number below which no transaction is expected to commit any more. */
+    private long stableHead(LocalDateTime graceStart) {
+        Long head =
+                entityManager
+                        .createQuery(
+                                "SELECT MAX(c.id) FROM ChangeLogEntry c"
+                                        + " WHERE c.changedAt <= :graceStart",
+                                Long.class)
+                        .setParameter("graceStart", graceStart)
+                        .getSingleResult();
+        return head == null ? 0 : head;
+    }
+
+    private void loadChanged(
+            ChangeSetDTO result, Map<ChangedEntity, Set<Long>> changed, Long floorId) {
+        Set<Long> floorIds = changed.getOrDefault(ChangedEntity.FLOOR, Set.of());
+        if (!floorIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(floorIds);
+            for (Floor floor :
+                    find(
+                            "SELECT DISTINCT f FROM Floor f LEFT JOIN FETCH f.rooms"
+                                    + " WHERE f.id IN :ids",
+                            Floor.class,
+                            floorIds)) {
+                missing.remove(floor.getId());
+                result.getFloors().add(new FloorDTO(floor));
+            }
+            result.getDeletedFloorIds().addAll(missing);
+        }
+
+        Set<Long> roomIds = changed.getOrDefault(ChangedEntity.ROOM, Set.of());
+        if (!roomIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(roomIds);
+            for (OfficeRoom room :
+                    find(
+                            "SELECT DISTINCT r FROM OfficeRoom r LEFT JOIN FETCH r.floor"
+                                    + " LEFT JOIN FETCH r.seats WHERE r.id IN :ids",
+                            OfficeRoom.class,
+                            roomIds)) {
+                OfficeRoomDTO dto = new OfficeRoomDTO(room);
+                if (floorId == null || floorId.equals(dto.getFloorId())) {
+                    missing.remove(room.getId());
+                    result.getRooms().add(dto);
+                }
+            }
+            result.getDeletedRoomIds().addAll(missing); // Deleted, or moved to another floor
+        }
+
+        Set<Long> seatIds = changed.getOrDefault(ChangedEntity.SEAT, Set.of());
+        if (!seatIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(seatIds);
+            for (Seat seat :
+                    find(
+                            "SELECT DISTINCT s FROM Seat s JOIN FETCH s.room r"
+                                    + " LEFT JOIN FETCH r.floor LEFT JOIN FETCH s.employees"
+                                    + " WHERE s.id IN :ids",
+                            Seat.class,
+                            seatIds)) {
+                SeatDTO dto = new SeatDTO(seat);
+                if (floorId == null || floorId.equals(dto.getFloorId())) {
+                    missing.remove(seat.getId());
+                    result.getSeats().add(dto);
+                }
+            }
+            result.getDeletedSeatIds().addAll(missing); // Deleted, or moved to another floor
+        }
+
+        Set<Long> employeeIds = changed.getOrDefault(ChangedEntity.EMPLOYEE, Set.of());
+        if (!employeeIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(employeeIds);
+            for (Employee employee :
+                    find(
+                            "SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.seats"
+                                    + " WHERE e.id IN :ids",
+                            Employee.class,
+                            employeeIds)) {
+                missing.remove(employee.getId());
+                result.getEmployees().add(new EmployeeDTO(employee));
+            }
+            result.getDeletedEmployeeIds().addAll(missing);
+        }
+    }
+
+    private <T> List<T> find(String jpql, Class<T> type, Set<Long> ids) {
+        return entityManager.createQuery(jpql, type).setParameter("ids", ids).getResultList();
+    }
+
+    private static List<Long> deletedIds(ChangeSetDTO result, ChangedEntity type) {
+        return switch (type) {
+            case FLOOR -> result.getDeletedFloorIds();
+            case ROOM -> result.getDeletedRoomIds();
+            case SEAT -> result.getDeletedSeatIds();
+            case EMPLOYEE -> result.getDeletedEmployeeIds();
+            case ASSIGNMENT -> throw new IllegalArgumentException("Assignments have no IDs");
+        };
+    }
+
+    private void scheduledPurge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        try {
+            userTransaction.begin();
+            int purged =
+                    entityManager
+                            .createQuery("DELETE FROM ChangeLogEntry c WHERE c.changedAt < :cutoff")
+                            .setParameter("cutoff", cutoff)
+                            .executeUpdate();
+            userTransaction.commit();
+            LOG.debugf("Purged %d change log entries older than %s", purged, cutoff);
+        } catch (Exception e) {
+            try {
+                userTransaction.rollback();
+            } catch (Exception rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            LOG.error("Failed to purge the change log, will retry", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.officemanagement.service;
+
+import com.officemanagement.util.Cancellation;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Loads the independent parts of the dashboard concurrently.
+ *
+ * <p>Each part runs on its own virtual thread with its own {@link EntityManager}, so the dashboard
+ * takes as long as its slowest query rather than the sum of all of them. Parts still running after
+ * {@code office.dashboard.timeout-millis} (default 2000) are cancelled together with their running
+ * JDBC statement, since interrupting the thread does not stop a query; every query also carries the
+ * same timeout. A part that fails or times out is reported instead of failing the whole dashboard.
+ * No part outlives the call.
+ */
+@ApplicationScoped
+public class DashboardService {
+
+    private static final Logger LOG = Logger.getLogger(DashboardService.class);
+
+    private static final long TIMEOUT_MILLIS =
+            Long.getLong("office.dashboard.timeout-millis", 2000L);
+
+    /**
+     * Loaded parts by name, {@code null} for parts that failed.
+     *
+     * @param errors why each failed part failed
+     */
+    public record Parts(Map<String, Object> values, Map<String, String> errors) {}
+
+    @PersistenceUnit(unitName = "primary")
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject OccupancySummary occupancySummary;
+
+    /**
+     * Loads the per-floor occupancy, the most recently created employees and the floors that have
+     * no floor plan yet.
+     */
+    public Parts load(int recentEmployees) {
+        Map<String, Function<EntityManager, Object>> parts = new LinkedHashMap<>();
+        parts.put("floors", occupancySummary::floors);
+        parts.put("recentEmployees", em -> recentEmployees(em, recentEmployees));
+        parts.put("floorsWithoutPlanimetry", this::floorsWithoutPlanimetry);
+        return run(parts);
+    }
+
+    private Parts run(Map<String, Function<EntityManager, Object>> parts) {
+        Cancellation cancellation = new Cancellation(TIMEOUT_MILLIS, System::nanoTime);
+        List<Callable<Object>> tasks = new ArrayList<>(parts.size());
+        for (Function<EntityManager, Object> part : parts.values()) {
+            tasks.add(() -> query(part, cancellation));
+        }
+
+        List<Future<Object>> futures;
+        // Closing the executor waits for cancelled tasks to finish
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures = executor.invokeAll(tasks, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (futures.stream().anyMatch(Future::isCancelled)) {
+                cancellation.cancel("Dashboard timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the dashboard", e);
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        int i = 0;
+        for (String name : parts.keySet()) {
+            Future<Object> future = futures.get(i++);
+            try {
+                values.put(name, future.get());
+            } catch (CancellationException e) {
+                values.put(name, null);
+                errors.put(name, "Timed out after " + TIMEOUT_MILLIS + " ms");
+                LOG.warnf("Dashboard part %s timed out after %d ms", name, TIMEOUT_MILLIS);
+            } catch (ExecutionException e) {
+                values.put(name, null);
+                errors.put(name, "Failed: " + e.getCause().getMessage());
+                LOG.warnf(e.getCause(), "Dashboard part %s failed", name);
+            } catch (InterruptedException e) {
+                // Not reached: invokeAll returns completed or cancelled futures only
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading the dashboard", e);
+            }
+        }
+        return new Parts(values, errors);
+    }
+
+    private Object query(Function<EntityManager, Object> part, Cancellation cancellation) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try (Cancellation.Registration registration =
+                cancellation.onCancel(entityManager.unwrap(Session.class)::cancelQuery)) {
+            entityManager.setProperty("jakarta.persistence.query.timeout", TIMEOUT_MILLIS);
+            return part.apply(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private List<Map<String, Object>> recentEmployees(EntityManager entityManager, int limit) {
+        List<Object[]> rows =
+                entityManager
+                        .createQuery(
+                                "SELECT e.id, e.fullName, e.occupation, e.createdAt FROM Employee e"
+                                        + " ORDER BY e.createdAt DESC, e.id DESC",
+                                Object[].class)
+                        .setMaxResults(limit)
+                        .getResultList();
+        List<Map<String, Object>> employees = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> employee = new LinkedHashMap<>();
+            employee.put("id", row[0]);
+            employee.put("fullName", row[1]);
+            employee.put("occupation", row[2]);
+            employee.put("createdAt", row[3] == null ? null : ((LocalDateTime) row[3]).toString());
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private List<Map<String, Object>> floorsWithoutPlanimetry(EntityManager entityManager) {
+        List<Object[]> rows =
+                entityManager
+                        .createQuery(
+                                "SELECT f.id, f.floorNumber, f.name FROM Floor f WHERE NOT EXISTS"
+                                        + " (SELECT p.floorId FROM FloorPlanimetry p"
+                                        + " WHERE p.floorId = f.id)"
+                                        + " ORDER BY f.floorNumber",
+                                Object[].class)
+                        .getResultList();
+        List<Map<String, Object>> floors = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> floor = new LinkedHashMap<>();
+            floor.put("id", row[0]);
+            floor.put("floorNumber", row[1]);
+            floor.put("name", row[2]);
+            floors.add(floor);
+        }
+        return floors;
+    }
+}
@@ -0,0 +1,274 @@
+package com.officemanagement.service;
+
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.event.TableChangeEvent;
+import com.officemanagement.util.PgOutputDecoder;
+import com.officemanagement.util.PgOutputDecoder.Begin;
+import com.officemanagement.util.PgOutputDecoder.Change;
+import com.officemanagement.util.PgOutputDecoder.Commit;
+import com.officemanagement.util.PgOutputDecoder.Message;
+import com.officemanagement.util.PgOutputDecoder.Truncate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+
+/**
+ * Captures changes made to the office tables outside the application, from PostgreSQL logical
+ * replication, and fires them as {@link TableChangeEvent}s.
+ *
+ * <p>Off unless {@code office.cdc.url} is set to the JDBC URL of the database, such as {@code
+ * jdbc:postgresql://db:5432/office_management}; the server must run with {@code wal_level =
+ * logical} and {@code office.cdc.user} (default {@code postgres}, password {@code
+ * office.cdc.password}) needs the {@code REPLICATION} attribute. The publication {@code
+ * office.cdc.publication} (default {@code office_cache}) is created for the captured tables if it
+ * does not exist. Each server streams from a temporary replication slot of its own, which
+ * PostgreSQL drops when the connection ends, so a stopped server does not hold back WAL; what
+ * happened while it was disconnected is covered by a resync event on every (re)connect.
+ *
+ * <p>The stream is polled every {@code office.cdc.poll-millis} (default 100). Transactions that
+ * fired an {@link OfficeChangeEvent} are recognised by their transaction ID and skipped, since
+ * the caches already handled those changes; every other committed transaction touching the
+ * tables becomes one event.
+ */
+@ApplicationScoped
+public class DatabaseChangeCapture {
+
+    private static final Logger LOG = Logger.getLogger(DatabaseChangeCapture.class);
+
+    private static final String URL = System.getProperty("office.cdc.url");
+    private static final String USER = System.getProperty("office.cdc.user", "postgres");
+    private static final String PASSWORD = System.getProperty("office.cdc.password", "postgres");
+    private static final String PUBLICATION =
+            System.getProperty("office.cdc.publication", "office_cache");
+    private static final long POLL_MILLIS = Long.getLong("office.cdc.poll-millis", 100L);
+    private static final long RETRY_MILLIS = 5_000;
+    // Transactions of the application that rolled back never show up and are forgotten after this
+    private static final long OWN_TRANSACTION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /** State of the capture. */
+    public record Stats(
+            boolean enabled, boolean connected, long transactions, long skipped, long failures) {}
+
+    @Inject EntityManager entityManager;
+
+    @Inject Event<TableChangeEvent> tableChanges;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    /** IDs of the application's own transactions, with when they were seen. */
+    private final Map<Integer, Long> ownTransactions = new ConcurrentHashMap<>();
+
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private ScheduledFuture<?> poller;
+
+    // Owned by the poller, which never runs twice at once
+    private final PgOutputDecoder decoder = new PgOutputDecoder();
+    private Connection connection;
+    private volatile PGReplicationStream stream;
+    private long retryAt;
+    private int xid;
+    private List<Change> pending = new ArrayList<>();
+    private long lastPrune;
+
+    @PostConstruct
+    void start() {
+        if (URL == null) {
+            return;
+        }
+        if (!PUBLICATION.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid publication name " + PUBLICATION);
+        }
+        poller =
+                scheduler.scheduleWithFixedDelay(this::poll, 0, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.cancel(false);
+            disconnect();
+        }
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        // Starts capturing as soon as the application is deployed
+    }
+
+    /** Remembers the transaction making the change, so that its changes are not captured. */
+    void onOfficeChange(@Observes OfficeChangeEvent event) {
+        if (URL == null || transactionRegistry.getResource(DatabaseChangeCapture.class) != null) {
+            return;
+        }
+        transactionRegistry.putResource(DatabaseChangeCapture.class, Boolean.TRUE);
+        // The low 32 bits are the transaction ID that logical replication reports
+        Number txid =
+                (Number) entityManager.createNativeQuery("SELECT txid_current()").getSingleResult();
+        ownTransactions.put((int) txid.longValue(), System.currentTimeMillis());
+    }
+
+    public Stats stats() {
+        return new Stats(
+                URL != null, stream != null, transactions.sum(), skipped.sum(), failures.sum());
+    }
+
+    private void poll() {
+        try {
+            if (stream == null) {
+                if (System.currentTimeMillis() < retryAt) {
+                    return;
+                }
+                connect();
+                tableChanges.fire(new TableChangeEvent(List.of(), true));
+            }
+            ByteBuffer message;
+            while ((message = stream.readPending()) != null) {
+                handle(decoder.decode(message));
+            }
+        } catch (Exception e) {
+            failures.increment();
+            LOG.errorf(
+                    e, "Failed to capture database changes, reconnecting in %d ms", RETRY_MILLIS);
+            disconnect();
+            retryAt = System.currentTimeMillis() + RETRY_MILLIS;
+        }
+    }
+
+    private void handle(Message message) {
+        switch (message) {
+            case Begin begin -> {
+                xid = begin.xid();
+                pending = new ArrayList<>();
+            }
+            case Change change -> pending.add(change);
+            case Truncate truncate -> pending.addAll(truncate.tables());
+            case Commit commit -> {
+                if (ownTransactions.remove(xid) != null) {
+                    skipped.increment();
+                } else if (!pending.isEmpty()) {
+                    transactions.increment();
+                    tableChanges.fire(new TableChangeEvent(List.copyOf(pending), false));
+                }
+                pending = new ArrayList<>();
+                LogSequenceNumber lsn = LogSequenceNumber.valueOf(commit.endLsn());
+                stream.setAppliedLSN(lsn);
+                stream.setFlushedLSN(lsn);
+                pruneOwnTransactions();
+            }
+            case null -> {}
+        }
+    }
+
+    private void pruneOwnTransactions() {
+        long now = System.currentTimeMillis();
+        if (now - lastPrune < 1_000) {
+            return;
+        }
+        lastPrune = now;
+        ownTransactions.values().removeIf(seen -> now - seen > OWN_TRANSACTION_MILLIS);
+    }
+
+    private void connect() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, USER);
+        PGProperty.PASSWORD.set(properties, PASSWORD);
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        connection = new org.postgresql.Driver().connect(URL, properties);
+        if (connection == null) {
+            throw new SQLException("Not a PostgreSQL URL: " + URL);
+        }
+        try (Statement statement = connection.createStatement()) {
+            boolean exists;
+            try (ResultSet rows =
+                    statement.executeQuery(
+                            "SELECT 1 FROM pg_publication WHERE pubname = '"
+                                    + PUBLICATION
+                                    + "'")) {
+                exists = rows.next();
+            }
+            if (!exists) {
+                statement.execute(
+                        "CREATE PUBLICATION "
+                                + PUBLICATION
+                                + " FOR TABLE "
+                                + String.join(", ", TableChangeEvent.TABLES));
+                LOG.infof("Created publication %s", PUBLICATION);
+            }
+        }
+
+        String slot = "office_cdc_" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        PGConnection replication = connection.unwrap(PGConnection.class);
+        replication
+                .getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(slot)
+                .withOutputPlugin("pgoutput")
+                .withTemporaryOption()
+                .make();
+        stream =
+                replication
+                        .getReplicationAPI()
+                        .replicationStream()
+                        .logical()
+                        .withSlotName(slot)
+                        .withSlotOption("proto_version", 1)
+                        .withSlotOption("publication_names", PUBLICATION)
+                        .withStatusInterval(10, TimeUnit.SECONDS)
+                        .start();
+        pending = new ArrayList<>();
+        LOG.infof("Capturing database changes of %s through slot %s", PUBLICATION, slot);
+    }
+
+    private void disconnect() {
+        try {
+            if (stream != null) {
+                stream.close();
+            }
+        } catch (SQLException e) {
+            LOG.debug("Failed to close the replication stream", e);
+        }
+        try {
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            LOG.debug("Failed to close the replication connection", e);
+        }
+        stream = null;
+        connection = null;
+    }
+}
@@ -0,0 +1,198 @@
+package com.officemanagement.service;
+
+import com.officemanagement.dto.EmbeddedFloorDTO;
+import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.ReadModelChangeEvent;
+import com.officemanagement.util.FrequencyCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * The serialized JSON of floors with their rooms and seats, as {@code GET /floors/{id}/embed}
+ * returns them, with an entity tag derived from the bytes.
+ *
+ * <p>Floors are rendered from {@link OfficeReadModel}, and a floor is dropped when the read model
+ * publishes it again; a room moved to another floor is published with both floors. Seat holds are
+ * not changes to the database and expire on their own, so the held flags of a cached floor are
+ * compared with the current holds on every hit instead, and the floor is rendered again if any
+ * differs.
+ *
+ * <p>The cache holds at most {@code office.embed-cache.max-bytes} (default 16 MiB) and keeps the
+ * floors requested most often, see {@link FrequencyCache}; {@code
+ * office.embed-cache.expected-floors} (default 1024) sizes its frequency sketch. A floor loaded
+ * while the read model publishes is returned but not cached.
+ */
+@ApplicationScoped
+public class EmbeddedFloorCache {
+
+    private static final long MAX_BYTES = Long.getLong("office.embed-cache.max-bytes", 16L << 20);
+    private static final int EXPECTED_FLOORS =
+            Integer.getInteger("office.embed-cache.expected-floors", 1024);
+
+    /** Serializes a floor to the bytes of the response. */
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render(EmbeddedFloorDTO floor) throws IOException;
+    }
+
+    /**
+     * A rendered floor.
+     *
+     * @param json the UTF-8 JSON of the floor
+     * @param tag the opaque entity tag of the JSON, without quotes
+     * @param seatIds the seats on the floor, sorted
+     * @param held which of the seats were held when the floor was rendered
+     */
+    public record Page(byte[] json, String tag, long[] seatIds, BitSet held) {
+
+        /** Whether an {@code If-None-Match} header matches the tag. */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String quoted = '"' + tag + '"';
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(quoted)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long weight() {
+            return json.length + 8L * seatIds.length + held.size() / 8;
+        }
+    }
+
+    /** Counts since startup, and the floors and bytes held. */
+    public record Stats(
+            long hits,
+            long misses,
+            long admitted,
+            long rejected,
+            long evicted,
+            long invalidated,
+            long floors,
+            long bytes,
+            long maxBytes) {}
+
+    @Inject SeatHoldService seatHolds;
+
+    private final FrequencyCache<Long, Page> pages =
+            new FrequencyCache<>(MAX_BYTES, EXPECTED_FLOORS, Page::weight);
+
+    private final LongAdder invalidated = new LongAdder();
+    private long generation;
+
+    /**
+     * Returns the rendered floor, loading and rendering it on a miss.
+     *
+     * @param loader loads the floor, or returns {@code null} if it does not exist
+     * @return the floor, or {@code null} if it does not exist
+     */
+    public Page get(Long floorId, Function<Long, EmbeddedFloorDTO> loader, Renderer renderer) {
+        Page page = pages.get(floorId);
+        if (page != null) {
+            if (holdsUnchanged(page)) {
+                return page;
+            }
+            pages.remove(floorId);
+            invalidated.increment();
+        }
+
+        long loadedGeneration;
+        synchronized (this) {
+            loadedGeneration = generation;
+        }
+        EmbeddedFloorDTO floor = loader.apply(floorId);
+        if (floor == null) {
+            return null;
+        }
+        page = render(floor, renderer);
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                pages.put(floorId, page);
+            }
+        }
+        return page;
+    }
+
+    public Stats stats() {
+        FrequencyCache.Stats cache = pages.stats();
+        return new Stats(
+                cache.hits(),
+                cache.misses(),
+                cache.admissions(),
+                cache.rejections(),
+                cache.evictions(),
+                invalidated.sum(),
+                cache.entries(),
+                cache.weight(),
+                cache.maxWeight());
+    }
+
+    void onReadModelChange(@Observes ReadModelChangeEvent event) {
+        invalidate((floorId, page) -> event.affects(floorId));
+    }
+
+    private synchronized void invalidate(BiPredicate<Long, Page> filter) {
+        generation++;
+        invalidated.add(pages.removeIf(filter));
+    }
+
+    private boolean holdsUnchanged(Page page) {
+        long[] seatIds = page.seatIds();
+        for (int i = 0; i < seatIds.length; i++) {
+            if (seatHolds.isHeld(seatIds[i]) != page.held().get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Page render(EmbeddedFloorDTO floor, Renderer renderer) {
+        byte[] json;
+        try {
+            json = renderer.render(floor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize floor " + floor.getId(), e);
+        }
+
+        List<SeatDTO> seats =
+                floor.getRooms().stream()
+                        .flatMap(room -> room.getSeats().stream())
+                        .sorted(Comparator.comparingLong(SeatDTO::getId))
+                        .toList();
+        long[] seatIds = seats.stream().mapToLong(SeatDTO::getId).toArray();
+        BitSet held = new BitSet(seatIds.length);
+        for (int i = 0; i < seats.size(); i++) {
+            held.set(i, seats.get(i).isHeld());
+        }
+        return new Page(json, tag(json), seatIds, held);
+    }
+
+    private static String tag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.officemanagement.service;
+
+import com.officemanagement.event.TableChangeEvent;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.FloorPlanimetry;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import com.officemanagement.util.PgOutputDecoder.Change;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * The Hibernate second-level cache of the office structure: floors, rooms, seats and floor plans,
+ * the rooms of each floor and the seats of each room, and the results of the hot read queries.
+ *
+ * <p>Each has a region of its own, whose size and expiration are configured in {@code
+ * persistence.xml}. Changes made through Hibernate keep the cache up to date by themselves;
+ * changes made outside the application are evicted when {@link DatabaseChangeCapture} reports
+ * them.
+ */
+@ApplicationScoped
+public class EntityCache {
+
+    /** Region of the cached query results. */
+    public static final String STRUCTURE_QUERIES = "office.structure-queries";
+
+    /** Counts of one cache region since startup. */
+    public record RegionStats(
+            String region, long hits, long misses, long puts, long entries, double hitRatio) {}
+
+    @PersistenceUnit(unitName = "primary")
+    EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Caches the results of the query. Hibernate drops them whenever it writes to a table the query
+     * reads, so the query should read tables that rarely change.
+     */
+    public static <T> TypedQuery<T> cached(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, STRUCTURE_QUERIES);
+    }
+
+    /** Counts of every region, including the query result and update timestamp regions. */
+    public List<RegionStats> stats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<RegionStats> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics counts = statistics.getCacheRegionStatistics(region);
+            if (counts == null) {
+                continue;
+            }
+            long lookups = counts.getHitCount() + counts.getMissCount();
+            regions.add(
+                    new RegionStats(
+                            region,
+                            counts.getHitCount(),
+                            counts.getMissCount(),
+                            counts.getPutCount(),
+                            counts.getElementCountInMemory(),
+                            lookups == 0 ? 0 : (double) counts.getHitCount() / lookups));
+        }
+        regions.sort(Comparator.comparing(RegionStats::region));
+        return regions;
+    }
+
+    void onTableChange(@Observes TableChangeEvent event) {
+        Cache cache = sessionFactory().getCache();
+        if (event.resync()) {
+            cache.evictAllRegions();
+            return;
+        }
+        for (Change change : event.changes()) {
+            switch (change.table()) {
+                case TableChangeEvent.FLOORS -> evict(cache, Floor.class, change.id("id"));
+                case TableChangeEvent.ROOMS -> {
+                    evict(cache, OfficeRoom.class, change.id("id"));
+                    // The floor it left is not known
+                    cache.evictCollectionData(Floor.class.getName() + ".rooms");
+                }
+                case TableChangeEvent.SEATS -> {
+                    evict(cache, Seat.class, change.id("id"));
+                    cache.evictCollectionData(OfficeRoom.class.getName() + ".seats");
+                }
+                case TableChangeEvent.PLANIMETRY ->
+                        evict(cache, FloorPlanimetry.class, change.id("floor_id"));
+                default -> {} // Employees and assignments are only in cached queries
+            }
+        }
+        cache.evictQueryRegions();
+    }
+
+    private static void evict(Cache cache, Class<?> entity, Long id) {
+        if (id == null) {
+            cache.evictEntityData(entity); // Truncated
+        } else {
+            cache.evictEntityData(entity, id);
+        }
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,425 @@
+package com.officemanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.officemanagement.dto.EmbeddedRoomDTO;
+import com.officemanagement.dto.FloorDTO;
+import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import com.officemanagement.util.DropOldestQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jboss.logging.Logger;
+
+/**
+ * Streams committed changes of a floor's seats and rooms to server-sent event subscribers.
+ *
+ * <p>A subscriber first gets a {@code snapshot} event with the whole floor, then {@code delta}
+ * events. Changes are collected per floor and sent once per tick ({@code
+ * office.floor-events.tick-millis}, default 250): a delta carries the current state of every seat
+ * and room that changed during the tick, loaded with one query each and serialized once for all
+ * subscribers, plus the ids of those that were removed. Each subscriber has its own buffer of
+ * {@code office.floor-events.buffer} (default 32) deltas and at most one event in flight; a
+ * subscriber that falls behind loses its oldest deltas and is told so with a {@code lagged} event
+ * carrying the number lost, after which it should reload the floor. A deleted floor ends its
+ * streams with a {@code deleted} event.
+ */
+@ApplicationScoped
+public class FloorEventHub {
+
+    private static final Logger LOG = Logger.getLogger(FloorEventHub.class);
+
+    private static final long TICK_MILLIS = Long.getLong("office.floor-events.tick-millis", 250L);
+    private static final int BUFFER = Integer.getInteger("office.floor-events.buffer", 32);
+
+    /** A subscriber's stream; deltas are held back until it has been started. */
+    public interface Subscription {
+        /** Sends the snapshot, then the deltas collected since subscribing. */
+        void start(Object snapshot);
+
+        /** Stops collecting deltas without touching the event sink. */
+        void cancel();
+    }
+
+    @PersistenceUnit(unitName = "primary")
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject SeatHoldService seatHolds;
+
+    @Inject ObjectMapper objectMapper;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile Sse sse;
+    private ScheduledFuture<?> ticker;
+
+    @PostConstruct
+    void startTicker() {
+        ticker =
+                scheduler.scheduleWithFixedDelay(
+                        this::scheduledTick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+    }
+
+    /** Subscribes the sink to the floor's changes. */
+    public Subscription subscribe(Long floorId, SseEventSink sink, Sse sse) {
+        this.sse = sse;
+        Subscriber subscriber = new Subscriber(floorId, sink);
+        channels.compute(
+                floorId,
+                (id, channel) -> {
+                    Channel result = channel == null ? new Channel() : channel;
+                    result.subscribers.add(subscriber);
+                    return result;
+                });
+        return subscriber;
+    }
+
+    /** Returns the number of open streams of the floor. */
+    public int subscribers(Long floorId) {
+        Channel channel = channels.get(floorId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    void onOfficeChange(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) OfficeChangeEvent event) {
+        if (event.floorId() == null) {
+            return;
+        }
+        if (event.type() == OfficeChangeEvent.Type.FLOOR_DELETED) {
+            Channel channel = channels.remove(event.floorId());
+            if (channel != null) {
+                OutboundSseEvent deleted =
+                        sse.newEventBuilder()
+                                .name("deleted")
+                                .data(String.valueOf(event.floorId()))
+                                .build();
+                channel.subscribers.forEach(subscriber -> subscriber.finish(deleted));
+            }
+            return;
+        }
+        Channel channel = channels.get(event.floorId());
+        if (channel != null) {
+            channel.record(event);
+        }
+    }
+
+    private void scheduledTick() {
+        for (Map.Entry<Long, Channel> entry : channels.entrySet()) {
+            Changes changes = entry.getValue().drain();
+            if (changes.isEmpty()) {
+                continue;
+            }
+            try {
+                OutboundSseEvent delta = delta(entry.getKey(), changes);
+                entry.getValue().subscribers.forEach(subscriber -> subscriber.enqueue(delta));
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Failed to send changes of floor %d", entry.getKey());
+            }
+        }
+    }
+
+    private OutboundSseEvent delta(Long floorId, Changes changes) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        List<SeatDTO> seats = new ArrayList<>();
+        List<EmbeddedRoomDTO> rooms = new ArrayList<>();
+        Set<Long> removedSeatIds = new HashSet<>(changes.removedSeatIds());
+        Set<Long> removedRoomIds = new HashSet<>(changes.removedRoomIds());
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            if (changes.floorUpdated()) {
+                Floor floor = entityManager.find(Floor.class, floorId);
+                if (floor != null) {
+                    payload.put("floor", new FloorDTO(floor));
+                }
+            }
+            if (!changes.seatIds().isEmpty()) {
+                Set<Long> missing = new HashSet<>(changes.seatIds());
+                for (Seat seat :
+                        entityManager
+                                .createQuery(
+                                        "SELECT DISTINCT s FROM Seat s JOIN FETCH s.room r"
+                                                + " LEFT JOIN FETCH r.floor"
+                                                + " LEFT JOIN FETCH s.employees"
+                                                + " WHERE s.id IN :ids",
+                                        Seat.class)
+                                .setParameter("ids", changes.seatIds())
+                                .getResultList()) {
+                    missing.remove(seat.getId());
+                    SeatDTO dto = new SeatDTO(seat);
+                    if (floorId.equals(dto.getFloorId())) {
+                        dto.setHeld(seatHolds.isHeld(seat.getId()));
+                        seats.add(dto);
+                    } else {
+                        removedSeatIds.add(seat.getId()); // Moved to another floor
+                    }
+                }
+                removedSeatIds.addAll(missing);
+            }
+            if (!changes.roomIds().isEmpty()) {
+                Set<Long> missing = new HashSet<>(changes.roomIds());
+                for (OfficeRoom room :
+                        entityManager
+                                .createQuery(
+                                        "SELECT DISTINCT r FROM OfficeRoom r"
+                                                + " LEFT JOIN FETCH r.floor"
+                                                + " LEFT JOIN FETCH r.seats s"
+                                                + " LEFT JOIN FETCH s.employees"
+                                                + " WHERE r.id IN :ids",
+                                        OfficeRoom.class)
+                                .setParameter("ids", changes.roomIds())
+                                .getResultList()) {
+                    missing.remove(room.getId());
+                    if (room.getFloor() != null && floorId.equals(room.getFloor().getId())) {
+                        EmbeddedRoomDTO dto = new EmbeddedRoomDTO(room);
+                        dto.getSeats()
+                                .forEach(seat -> seat.setHeld(seatHolds.isHeld(seat.getId())));
+                        rooms.add(dto);
+                    } else {
+                        removedRoomIds.add(room.getId());
+                    }
+                }
+                removedRoomIds.addAll(missing);
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        payload.put("seats", seats);
+        payload.put("rooms", rooms);
+        payload.put("removedSeatIds", removedSeatIds);
+        payload.put("removedRoomIds", removedRoomIds);
+        return event("delta", payload);
+    }
+
+    private OutboundSseEvent event(String name, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sse.newEventBuilder()
+                .name(name)
+                .id(String.valueOf(sequence.incrementAndGet()))
+                .data(data)
+                .build();
+    }
+
+    /** Changes of a floor collected during one tick. */
+    private record Changes(
+            Set<Long> seatIds,
+            Set<Long> roomIds,
+            Set<Long> removedSeatIds,
+            Set<Long> removedRoomIds,
+            boolean floorUpdated) {
+        boolean isEmpty() {
+            return seatIds.isEmpty()
+                    && roomIds.isEmpty()
+                    && removedSeatIds.isEmpty()
+                    && removedRoomIds.isEmpty()
+                    && !floorUpdated;
+        }
+    }
+
+    private static final class Channel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        // Changes since the last tick, guarded by the channel
+        private Set<Long> seatIds = new HashSet<>();
+        private Set<Long> roomIds = new HashSet<>();
+        private Set<Long> removedSeatIds = new HashSet<>();
+        private Set<Long> removedRoomIds = new HashSet<>();
+        private boolean floorUpdated;
+
+        synchronized void record(OfficeChangeEvent event) {
+            switch (event.type()) {
+                case SEAT_ASSIGNED, SEAT_UNASSIGNED, SEAT_CREATED, SEAT_UPDATED ->
+                        seatIds.add(event.seatId());
+                case SEAT_DELETED -> {
+                    seatIds.remove(event.seatId());
+                    removedSeatIds.add(event.seatId());
+                }
+                case ROOM_CREATED, ROOM_UPDATED -> roomIds.add(event.roomId());
+                case ROOM_DELETED -> {
+                    roomIds.remove(event.roomId());
+                    removedRoomIds.add(event.roomId());
+                }
+                case FLOOR_UPDATED -> floorUpdated = true;
+                default -> {}
+            }
+        }
+
+        synchronized Changes drain() {
+            Changes changes =
+                    new Changes(seatIds, roomIds, removedSeatIds, removedRoomIds, floorUpdated);
+            if (!changes.isEmpty()) {
+                seatIds = new HashSet<>();
+                roomIds = new HashSet<>();
+                removedSeatIds = new HashSet<>();
+                removedRoomIds = new HashSet<>();
+                floorUpdated = false;
+            }
+            return changes;
+        }
+    }
+
+    private final class Subscriber implements Subscription {
+        private final Long floorId;
+        private final SseEventSink sink;
+        private final DropOldestQueue<OutboundSseEvent> queue = new DropOldestQueue<>(BUFFER);
+        // Guarded by the subscriber
+        private boolean started;
+        private boolean sending;
+        private boolean finishing;
+        private boolean closed;
+
+        private Subscriber(Long floorId, SseEventSink sink) {
+            this.floorId = floorId;
+            this.sink = sink;
+        }
+
+        @Override
+        public void start(Object snapshot) {
+            OutboundSseEvent event = event("snapshot", snapshot);
+            synchronized (this) {
+                started = true;
+                sending = true;
+            }
+            send(event);
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                closed = true;
+            }
+            remove();
+        }
+
+        void enqueue(OutboundSseEvent event) {
+            queue.offer(event);
+            pump();
+        }
+
+        /** Sends the event after the ones already queued, then closes the stream. */
+        void finish(OutboundSseEvent event) {
+            synchronized (this) {
+                finishing = true;
+            }
+            enqueue(event);
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            remove();
+            try {
+                sink.close();
+            } catch (Exception e) {
+                LOG.debugf("Failed to close event stream of floor %d: %s", floorId, e);
+            }
+        }
+
+        private void pump() {
+            OutboundSseEvent next;
+            boolean done = false;
+            synchronized (this) {
+                if (!started || sending || closed) {
+                    return;
+                }
+                long dropped = queue.takeDropped();
+                next =
+                        dropped > 0
+                                ? sse.newEventBuilder()
+                                        .name("lagged")
+                                        .data(String.valueOf(dropped))
+                                        .build()
+                                : queue.poll();
+                if (next == null) {
+                    done = finishing;
+                } else {
+                    sending = true;
+                }
+            }
+            if (next != null) {
+                send(next);
+            } else if (done) {
+                close();
+            }
+        }
+
+        private void send(OutboundSseEvent event) {
+            if (sink.isClosed()) {
+                close();
+                return;
+            }
+            try {
+                sink.send(event).whenComplete((result, error) -> sent(error));
+            } catch (RuntimeException e) {
+                sent(e);
+            }
+        }
+
+        private void sent(Throwable error) {
+            synchronized (this) {
+                sending = false;
+            }
+            if (error != null) {
+                LOG.debugf("Event stream of floor %d ended: %s", floorId, error);
+                close();
+            } else {
+                pump();
+            }
+        }
+
+        private void remove() {
+            channels.computeIfPresent(
+                    floorId,
+                    (id, channel) -> {
+                        channel.subscribers.remove(this);
+                        return channel.subscribers.isEmpty() ? null : channel;
+                    });
+        }
+    }
+}
@@ -0,0 +1,556 @@
+package com.officemanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.officemanagement.dto.LayoutOperationDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.transaction.UserTransaction;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jboss.logging.Logger;
+
+/**
+ * Collaborative editing of floor layouts: geometry operations from the editors of a floor are
+ * applied in one order, echoed to the other editors and written to the database in batches.
+ *
+ * <p>Each floor being edited has an actor: a mailbox drained by at most one task at a time, which
+ * alone touches the floor's editing state, so editors of different floors never wait on each other
+ * and no lock is held while applying an operation. An operation gets the floor's next version,
+ * goes to the other editors, and the sender gets an acknowledgement with the version. Operations
+ * on the same room or seat are merged until the next flush, every {@code
+ * office.layout.flush-millis} (default 250), which writes them in one transaction and fires the
+ * usual change events. At most one flush per floor is in flight; a failed flush is retried with
+ * the operations that arrived meanwhile applied on top. After {@code
+ * office.layout.max-flush-attempts} (default 10) failures in a row its operations are dropped, and
+ * every editor of the floor gets an error listing them, so that it can reload the floor.
+ *
+ * <p>Messages to an editor are sent one at a time; an editor with more than {@code
+ * office.layout.send-buffer} (default 256) messages waiting is disconnected and has to reconnect.
+ * A joining editor gets the floor's version and the operations not yet written.
+ */
+@ApplicationScoped
+public class FloorLayoutEditor {
+
+    private static final Logger LOG = Logger.getLogger(FloorLayoutEditor.class);
+
+    private static final long FLUSH_MILLIS = Long.getLong("office.layout.flush-millis", 250L);
+    private static final int SEND_BUFFER = Integer.getInteger("office.layout.send-buffer", 256);
+    private static final int MAX_FLUSH_ATTEMPTS =
+            Integer.getInteger("office.layout.max-flush-attempts", 10);
+    private static final int DRAIN_BATCH = 256; // Messages per turn, then the thread is given back
+    private static final String PEER = FloorLayoutEditor.class.getName() + ".peer";
+
+    private sealed interface Message permits Join, Leave, Apply, Flush, Flushed {}
+
+    private record Join(Peer peer) implements Message {}
+
+    private record Leave(Peer peer) implements Message {}
+
+    private record Apply(Peer peer, LayoutOperationDTO operation) implements Message {}
+
+    private record Flush() implements Message {}
+
+    private record Flushed(Map<String, LayoutOperationDTO> batch, Exception error)
+            implements Message {}
+
+    @PersistenceUnit(unitName = "primary")
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject EntityManager entityManager;
+
+    @Inject UserTransaction userTransaction;
+
+    @Inject Event<OfficeChangeEvent> officeChanges;
+
+    @Inject ObjectMapper objectMapper;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final Map<Long, FloorActor> actors = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> flusher;
+
+    @PostConstruct
+    void startFlusher() {
+        flusher =
+                scheduler.scheduleWithFixedDelay(
+                        this::flushAll, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopFlusher() {
+        if (flusher != null) {
+            flusher.cancel(false);
+        }
+        flushAll();
+    }
+
+    private void flushAll() {
+        actors.values().forEach(actor -> actor.post(new Flush()));
+    }
+
+    /**
+     * Adds the session to the editors of the floor.
+     *
+     * @return whether the floor exists
+     */
+    public boolean join(Long floorId, Session session) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            if (em.find(Floor.class, floorId) == null) {
+                return false;
+            }
+        } finally {
+            em.close();
+        }
+        Peer peer = new Peer(session);
+        session.getUserProperties().put(PEER, peer);
+        // Posted while the map entry is locked, so the actor cannot retire in between
+        actors.compute(
+                floorId,
+                (id, actor) -> {
+                    FloorActor result = actor == null ? new FloorActor(id) : actor;
+                    result.post(new Join(peer));
+                    return result;
+                });
+        return true;
+    }
+
+    /** Removes the session from the editors of the floor. */
+    public void leave(Long floorId, Session session) {
+        Peer peer = (Peer) session.getUserProperties().get(PEER);
+        FloorActor actor = actors.get(floorId);
+        if (peer != null && actor != null) {
+            actor.post(new Leave(peer));
+        }
+    }
+
+    /** Applies an operation sent by an editor of the floor, or answers with an error. */
+    public void apply(Long floorId, Session session, String message) {
+        Peer peer = (Peer) session.getUserProperties().get(PEER);
+        if (peer == null) {
+            return;
+        }
+        LayoutOperationDTO operation;
+        try {
+            operation = objectMapper.readValue(message, LayoutOperationDTO.class);
+        } catch (JsonProcessingException e) {
+            peer.send(error(null, "Malformed operation"));
+            return;
+        }
+        String invalid = validate(operation);
+        if (invalid != null) {
+            peer.send(error(operation.getC(), invalid));
+            return;
+        }
+        FloorActor actor = actors.get(floorId);
+        if (actor != null) {
+            actor.post(new Apply(peer, operation));
+        }
+    }
+
+    private static String validate(LayoutOperationDTO operation) {
+        boolean room = "room".equals(operation.getOp());
+        if (!room && !"seat".equals(operation.getOp())) {
+            return "op must be room or seat";
+        }
+        if (operation.getId() == null) {
+            return "id is required";
+        }
+        if (room && operation.getR() != null) {
+            return "Rooms have no rotation";
+        }
+        Float[] fields = {
+            operation.getX(), operation.getY(), operation.getW(), operation.getH(), operation.getR()
+        };
+        boolean any = false;
+        for (Float field : fields) {
+            if (field != null) {
+                if (!Float.isFinite(field)) {
+                    return "Geometry must be finite";
+                }
+                any = true;
+            }
+        }
+        if (!any) {
+            return "No valid geometry fields provided";
+        }
+        if ((operation.getW() != null && operation.getW() <= 0)
+                || (operation.getH() != null && operation.getH() <= 0)) {
+            return "Width and height must be positive";
+        }
+        return null;
+    }
+
+    private static String key(LayoutOperationDTO operation) {
+        return operation.getOp() + ":" + operation.getId();
+    }
+
+    /** The newer operation's fields over the older one's. */
+    private static LayoutOperationDTO merge(LayoutOperationDTO older, LayoutOperationDTO newer) {
+        return new LayoutOperationDTO(
+                newer.getOp(),
+                newer.getId(),
+                newer.getX() != null ? newer.getX() : older.getX(),
+                newer.getY() != null ? newer.getY() : older.getY(),
+                newer.getW() != null ? newer.getW() : older.getW(),
+                newer.getH() != null ? newer.getH() : older.getH(),
+                newer.getR() != null ? newer.getR() : older.getR(),
+                null,
+                newer.getV());
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String error(Long reference, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("c", reference);
+        error.put("error", message);
+        return json(error);
+    }
+
+    /** Writes the operations of a flush in one transaction. */
+    private void persist(Long floorId, Collection<LayoutOperationDTO> operations) throws Exception {
+        userTransaction.begin();
+        try {
+            List<OfficeChangeEvent> events = new ArrayList<>();
+            for (LayoutOperationDTO operation : operations) {
+                if ("room".equals(operation.getOp())) {
+                    OfficeRoom room = entityManager.find(OfficeRoom.class, operation.getId());
+                    // Rooms deleted or moved to another floor since are left alone
+                    if (room == null
+                            || room.getFloor() == null
+                            || !floorId.equals(room.getFloor().getId())) {
+                        continue;
+                    }
+                    if (operation.getX() != null) room.setX(operation.getX());
+                    if (operation.getY() != null) room.setY(operation.getY());
+                    if (operation.getW() != null) room.setWidth(operation.getW());
+                    if (operation.getH() != null) room.setHeight(operation.getH());
+                    events.add(OfficeChangeEvent.of(OfficeChangeEvent.Type.ROOM_UPDATED, room));
+                } else {
+                    Seat seat = entityManager.find(Seat.class, operation.getId());
+                    if (seat == null
+                            || seat.getRoom().getFloor() == null
+                            || !floorId.equals(seat.getRoom().getFloor().getId())) {
+                        continue;
+                    }
+                    if (operation.getX() != null) seat.setX(operation.getX());
+                    if (operation.getY() != null) seat.setY(operation.getY());
+                    if (operation.getW() != null) seat.setWidth(operation.getW());
+                    if (operation.getH() != null) seat.setHeight(operation.getH());
+                    if (operation.getR() != null) seat.setRotation(operation.getR());
+                    events.add(OfficeChangeEvent.of(OfficeChangeEvent.Type.SEAT_UPDATED, seat));
+                }
+            }
+            entityManager.flush();
+            events.forEach(officeChanges::fire);
+            userTransaction.commit();
+        } catch (Exception e) {
+            try {
+                userTransaction.rollback();
+            } catch (Exception rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw e;
+        }
+    }
+
+    /** The editing state of one floor, touched only by the task draining its mailbox. */
+    private final class FloorActor {
+        private final Long floorId;
+        private final Queue<Message> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final Set<Peer> peers = new LinkedHashSet<>();
+        private Map<String, LayoutOperationDTO> pending = new LinkedHashMap<>();
+        private Set<Long> roomIds;
+        private Set<Long> seatIds;
+        private long version;
+        private boolean flushing;
+        private int failedFlushes;
+
+        private FloorActor(Long floorId) {
+            this.floorId = floorId;
+        }
+
+        void post(Message message) {
+            mailbox.add(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (mailbox.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                scheduler.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.warnf("Layout editing of floor %d stopped: %s", floorId, e.getMessage());
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int i = 0; i < DRAIN_BATCH; i++) {
+                    Message message = mailbox.poll();
+                    if (message == null) {
+                        break;
+                    }
+                    try {
+                        handle(message);
+                    } catch (RuntimeException e) {
+                        LOG.errorf(e, "Failed to handle layout message of floor %d", floorId);
+                    }
+                }
+                if (peers.isEmpty() && pending.isEmpty() && !flushing) {
+                    // Joins are posted under the same map entry lock, so none can be missed
+                    actors.computeIfPresent(
+                            floorId,
+                            (id, actor) -> actor == this && mailbox.isEmpty() ? null : actor);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            schedule();
+        }
+
+        private void handle(Message message) {
+            switch (message) {
+                case Join join -> {
+                    if (roomIds == null) {
+                        loadIds();
+                    }
+                    peers.add(join.peer());
+                    Map<String, Object> joined = new LinkedHashMap<>();
+                    joined.put("joined", version);
+                    joined.put("pending", pending.values());
+                    join.peer().send(json(joined));
+                }
+                case Leave leave -> peers.remove(leave.peer());
+                case Apply apply -> apply(apply.peer(), apply.operation());
+                case Flush flush -> flush();
+                case Flushed flushed -> onFlushed(flushed.batch(), flushed.error());
+            }
+        }
+
+        private void onFlushed(Map<String, LayoutOperationDTO> batch, Exception error) {
+            flushing = false;
+            if (error == null) {
+                failedFlushes = 0;
+                return;
+            }
+            if (++failedFlushes < MAX_FLUSH_ATTEMPTS) {
+                // Retried with the operations received since applied on top
+                Map<String, LayoutOperationDTO> retry = new LinkedHashMap<>(batch);
+                pending.forEach(
+                        (key, operation) -> retry.merge(key, operation, FloorLayoutEditor::merge));
+                pending = retry;
+                return;
+            }
+            LOG.errorf(
+                    error,
+                    "Dropping %d layout operations of floor %d after %d failed flushes",
+                    batch.size(),
+                    floorId,
+                    failedFlushes);
+            failedFlushes = 0;
+            Map<String, Object> dropped = new LinkedHashMap<>();
+            dropped.put("error", "Failed to save the layout, reload the floor");
+            dropped.put("dropped", batch.values());
+            String message = json(dropped);
+            peers.forEach(peer -> peer.send(message));
+        }
+
+        private void apply(Peer sender, LayoutOperationDTO operation) {
+            if (!isOnFloor(operation)) {
+                loadIds(); // Created since the floor was loaded, perhaps
+                if (!isOnFloor(operation)) {
+                    sender.send(
+                            error(
+                                    operation.getC(),
+                                    "No such " + operation.getOp() + " on this floor"));
+                    return;
+                }
+            }
+            Long reference = operation.getC();
+            operation.setC(null);
+            operation.setV(++version);
+            pending.merge(key(operation), operation, FloorLayoutEditor::merge);
+
+            String broadcast = json(operation);
+            for (Peer peer : peers) {
+                if (peer != sender) {
+                    peer.send(broadcast);
+                }
+            }
+            Map<String, Object> ack = new LinkedHashMap<>();
+            ack.put("c", reference);
+            ack.put("v", version);
+            sender.send(json(ack));
+        }
+
+        private boolean isOnFloor(LayoutOperationDTO operation) {
+            Set<Long> ids = "room".equals(operation.getOp()) ? roomIds : seatIds;
+            return ids.contains(operation.getId());
+        }
+
+        private void loadIds() {
+            EntityManager em = entityManagerFactory.createEntityManager();
+            try {
+                roomIds =
+                        new HashSet<>(
+                                em.createQuery(
+                                                "SELECT r.id FROM OfficeRoom r"
+                                                        + " WHERE r.floor.id = :floorId",
+                                                Long.class)
+                                        .setParameter("floorId", floorId)
+                                        .getResultList());
+                seatIds =
+                        new HashSet<>(
+                                em.createQuery(
+                                                "SELECT s.id FROM Seat s"
+                                                        + " WHERE s.room.floor.id = :floorId",
+                                                Long.class)
+                                        .setParameter("floorId", floorId)
+                                        .getResultList());
+            } finally {
+                em.close();
+            }
+        }
+
+        private void flush() {
+            if (flushing || pending.isEmpty()) {
+                return;
+            }
+            Map<String, LayoutOperationDTO> batch = pending;
+            pending = new LinkedHashMap<>();
+            flushing = true;
+            try {
+                scheduler.execute(
+                        () -> {
+                            Exception error = null;
+                            try {
+                                persist(floorId, batch.values());
+                            } catch (Exception e) {
+                                LOG.warnf(e, "Failed to write the layout of floor %d", floorId);
+                                error = e;
+                            }
+                            post(new Flushed(batch, error));
+                        });
+            } catch (RejectedExecutionException e) {
+                flushing = false;
+                pending = batch;
+            }
+        }
+    }
+
+    /** An editor's session; its messages are sent one at a time, in order. */
+    private static final class Peer {
+        private final Session session;
+        // Guarded by the peer
+        private final ArrayDeque<String> outbox = new ArrayDeque<>();
+        private boolean sending;
+
+        private Peer(Session session) {
+            this.session = session;
+        }
+
+        void send(String text) {
+            boolean overflow;
+            synchronized (this) {
+                overflow = outbox.size() >= SEND_BUFFER;
+                if (!overflow) {
+                    outbox.add(text);
+                }
+            }
+            if (overflow) {
+                close(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too far behind, reconnect");
+                return;
+            }
+            pump();
+        }
+
+        private void pump() {
+            String next;
+            synchronized (this) {
+                if (sending || (next = outbox.poll()) == null) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                session.getAsyncRemote()
+                        .sendText(
+                                next,
+                                result -> {
+                                    synchronized (this) {
+                                        sending = false;
+                                    }
+                                    if (result.isOK()) {
+                                        pump();
+                                    } else {
+                                        close(
+                                                CloseReason.CloseCodes.UNEXPECTED_CONDITION,
+                                                "Send failed");
+                                    }
+                                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    sending = false;
+                }
+                close(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Send failed");
+            }
+        }
+
+        private void close(CloseReason.CloseCode code, String reason) {
+            synchronized (this) {
+                outbox.clear();
+            }
+            try {
+                if (session.isOpen()) {
+                    session.close(new CloseReason(code, reason));
+                }
+            } catch (IOException e) {
+                LOG.debugf("Failed to close layout session %s: %s", session.getId(), e);
+            }
+        }
+    }
+}
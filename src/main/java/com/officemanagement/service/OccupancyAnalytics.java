@@ -0,0 +1,266 @@
+package com.officemanagement.service;
+
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.event.TableChangeEvent;
+import com.officemanagement.util.OccupancyCube;
+import com.officemanagement.util.OccupancyCube.Cell;
+import com.officemanagement.util.OccupancyCube.Dimension;
+import com.officemanagement.util.OccupancyCube.RoomSlice;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps an {@link OccupancyCube} of seats, occupied seats, floor area and assignments by
+ * occupation in step with the database.
+ *
+ * <p>The cube is loaded at startup. Every {@link OfficeChangeEvent} that names a room marks it as
+ * changed; just before the transaction commits the changed rooms are read again, and once it has
+ * committed their slices replace the old ones, so queries never see uncommitted data and never
+ * touch the database. Two transactions changing the same room at once may publish in the opposite
+ * order to the one they read in, so a room that another publish replaced while it was being read
+ * is read again afterwards, until it is read without interruption.
+ * Employees without an occupation are counted as {@value #UNSPECIFIED}.
+ */
+@ApplicationScoped
+public class OccupancyAnalytics {
+
+    private static final Logger LOG = Logger.getLogger(OccupancyAnalytics.class);
+
+    public static final String UNSPECIFIED = "Unspecified";
+
+    private static final long RETRY_MILLIS = 5_000;
+
+    @Inject EntityManager entityManager;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final OccupancyCube cube = new OccupancyCube();
+
+    // Guarded by this: a counter of publishes, the publish that last replaced each room since the
+    // last rebuild, and the publish of that rebuild
+    private long publishes;
+    private final Map<Long, Long> publishedAt = new HashMap<>();
+    private long rebuiltAt;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        rebuild();
+    }
+
+    /** Reloads the whole cube from the database. */
+    public void rebuild() {
+        long seen = publishes();
+        Map<Long, RoomSlice> slices = loadSlices(null);
+        Set<Long> stale = new HashSet<>();
+        synchronized (this) {
+            publishedAt.forEach(
+                    (roomId, publish) -> {
+                        if (publish > seen) {
+                            stale.add(roomId);
+                        }
+                    });
+            cube.replaceAll(slices.values());
+            publishedAt.clear();
+            rebuiltAt = ++publishes;
+        }
+        LOG.infof("Loaded occupancy analytics for %d rooms", slices.size());
+        if (!stale.isEmpty()) {
+            reload(stale);
+        }
+    }
+
+    void onOfficeChange(@Observes OfficeChangeEvent event) {
+        if (event.roomId() == null) {
+            return;
+        }
+        Batch batch = (Batch) transactionRegistry.getResource(Batch.class);
+        if (batch == null) {
+            batch = new Batch();
+            transactionRegistry.putResource(Batch.class, batch);
+            transactionRegistry.registerInterposedSynchronization(batch);
+        }
+        batch.roomIds.add(event.roomId());
+    }
+
+    void onTableChange(@Observes TableChangeEvent event) {
+        if (event.affects(
+                TableChangeEvent.FLOORS,
+                TableChangeEvent.ROOMS,
+                TableChangeEvent.SEATS,
+                TableChangeEvent.EMPLOYEES,
+                TableChangeEvent.ASSIGNMENTS)) {
+            rebuild();
+        }
+    }
+
+    /** Rooms changed by one transaction, applied to the cube once it commits. */
+    private final class Batch implements Synchronization {
+        private final Set<Long> roomIds = new HashSet<>();
+        private Map<Long, RoomSlice> slices;
+        private long seen;
+
+        @Override
+        public void beforeCompletion() {
+            try {
+                entityManager.flush();
+                seen = publishes();
+                slices = loadSlices(roomIds);
+            } catch (RuntimeException e) {
+                // Analytics must never fail the change itself
+                LOG.warn("Failed to read changed rooms for occupancy analytics", e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED) {
+                return;
+            }
+            if (slices == null) {
+                rebuild();
+                return;
+            }
+            Set<Long> stale = publish(roomIds, slices, seen);
+            if (!stale.isEmpty()) {
+                scheduler.execute(() -> reload(stale));
+            }
+        }
+    }
+
+    /** Reads the rooms again until no other publish replaces them meanwhile. */
+    private void reload(Set<Long> roomIds) {
+        try {
+            while (!roomIds.isEmpty()) {
+                long seen = publishes();
+                roomIds = publish(roomIds, loadSlices(roomIds), seen);
+            }
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to reload occupancy analytics, retrying in %d ms", RETRY_MILLIS);
+            Set<Long> retry = roomIds;
+            scheduler.schedule(() -> reload(retry), RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized long publishes() {
+        return publishes;
+    }
+
+    /**
+     * Replaces the slices of the rooms, removing those not loaded.
+     *
+     * @param seen the publish count before the slices were read
+     * @return the rooms a rebuild or another publish replaced since, whose slices may be older
+     */
+    private synchronized Set<Long> publish(
+            Collection<Long> roomIds, Map<Long, RoomSlice> slices, long seen) {
+        Set<Long> stale = new HashSet<>();
+        publishes++;
+        for (Long roomId : roomIds) {
+            if (rebuiltAt > seen || publishedAt.getOrDefault(roomId, 0L) > seen) {
+                stale.add(roomId);
+            }
+            RoomSlice slice = slices.get(roomId);
+            if (slice != null) {
+                cube.put(slice);
+            } else {
+                cube.remove(roomId);
+            }
+            publishedAt.put(roomId, publishes);
+        }
+        return stale;
+    }
+
+    /** Reads the given rooms, or every room if {@code roomIds} is {@code null}. */
+    private Map<Long, RoomSlice> loadSlices(Collection<Long> roomIds) {
+        String roomFilter = roomIds == null ? "" : " WHERE r.id IN :ids";
+        String seatFilter = roomIds == null ? "" : " WHERE s.room.id IN :ids";
+
+        Map<Long, Object[]> rooms = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        "SELECT r.id, f.id, r.width, r.height FROM OfficeRoom r LEFT JOIN r.floor f"
+                                + roomFilter,
+                        roomIds)) {
+            rooms.put((Long) row[0], row);
+        }
+        Map<Long, Long> seats = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        "SELECT s.room.id, COUNT(s) FROM Seat s"
+                                + seatFilter
+                                + " GROUP BY s.room.id",
+                        roomIds)) {
+            seats.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Long, Long> occupied = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        "SELECT s.room.id, COUNT(DISTINCT s.id) FROM Seat s JOIN s.employees e"
+                                + seatFilter
+                                + " GROUP BY s.room.id",
+                        roomIds)) {
+            occupied.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Long, Map<String, Integer>> assignments = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        "SELECT s.room.id, e.occupation, COUNT(e) FROM Seat s JOIN s.employees e"
+                                + seatFilter
+                                + " GROUP BY s.room.id, e.occupation",
+                        roomIds)) {
+            String occupation = row[1] == null ? UNSPECIFIED : (String) row[1];
+            assignments
+                    .computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .merge(occupation, ((Long) row[2]).intValue(), Integer::sum);
+        }
+
+        Map<Long, RoomSlice> slices = new HashMap<>();
+        rooms.forEach(
+                (roomId, row) -> {
+                    Float width = (Float) row[2];
+                    Float height = (Float) row[3];
+                    double area = width == null || height == null ? 0 : (double) width * height;
+                    slices.put(
+                            roomId,
+                            new RoomSlice(
+                                    roomId,
+                                    (Long) row[1],
+                                    seats.getOrDefault(roomId, 0L).intValue(),
+                                    occupied.getOrDefault(roomId, 0L).intValue(),
+                                    area,
+                                    assignments.getOrDefault(roomId, Map.of())));
+                });
+        return slices;
+    }
+
+    private List<Object[]> rows(String query, Collection<Long> ids) {
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query, Object[].class);
+        if (ids != null) {
+            typedQuery.setParameter("ids", ids);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /** See {@link OccupancyCube#query}. */
+    public List<Cell> query(Set<Dimension> groupBy, Long floorId, Long roomId, String occupation) {
+        return cube.query(groupBy, floorId, roomId, occupation);
+    }
+}
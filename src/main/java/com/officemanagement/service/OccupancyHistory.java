@@ -0,0 +1,459 @@
+package com.officemanagement.service;
+
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.OccupancyBlock;
+import com.officemanagement.model.OccupancyScope;
+import com.officemanagement.model.OccupancyTier;
+import com.officemanagement.util.DeltaBlockCodec;
+import com.officemanagement.util.OccupancySeries;
+import com.officemanagement.util.OccupancySeries.Bucket;
+import com.officemanagement.util.OccupancySeries.OpenBucket;
+import com.officemanagement.util.OccupancySeries.Pending;
+import com.officemanagement.util.OccupancySeries.Sample;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.UserTransaction;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Append-only history of seat, room and floor occupancy.
+ *
+ * <p>A seat's value is its number of occupants, a room's or floor's value its number of occupied
+ * seats. Assignment changes arrive as {@link OfficeChangeEvent}s; the room and floor values are
+ * counted once per transaction, just before it commits, and all values are recorded once it has
+ * committed. Each series keeps raw change points and hourly, daily and weekly rollups in memory
+ * (see {@link OccupancySeries}) and writes them out as compressed {@link OccupancyBlock}s every
+ * {@code office.history.flush-seconds} (default 300) and on shutdown. Queries combine the written
+ * blocks with what is still buffered.
+ *
+ * <p>On shutdown the buckets that are still open are written as well, marked as open. They are
+ * resumed at startup, so a bucket spanning a restart is closed once, and replaced when the bucket
+ * is written again. Queries skip open blocks; their buckets are read from memory.
+ */
+@ApplicationScoped
+public class OccupancyHistory {
+
+    private static final Logger LOG = Logger.getLogger(OccupancyHistory.class);
+
+    private static final long FLUSH_SECONDS = Long.getLong("office.history.flush-seconds", 300L);
+    private static final int MAX_BLOCK_POINTS = 4096;
+
+    /** Identifies a series. */
+    public record SeriesKey(OccupancyScope scope, long id) {}
+
+    /** Identifies the open bucket of one tier of a series. */
+    private record OpenKey(SeriesKey series, OccupancyTier tier) {}
+
+    @Inject EntityManager entityManager;
+
+    @Inject UserTransaction userTransaction;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final ConcurrentHashMap<SeriesKey, OccupancySeries> series = new ConcurrentHashMap<>();
+
+    /** IDs of the open blocks resumed at startup, replaced when their tier is written again. */
+    private final ConcurrentHashMap<OpenKey, Long> openBlocks = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> flusher;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        resume();
+    }
+
+    @PostConstruct
+    void startFlusher() {
+        flusher =
+                scheduler.scheduleAtFixedRate(
+                        this::scheduledFlush, FLUSH_SECONDS, FLUSH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopFlusher() {
+        if (flusher != null) {
+            flusher.cancel(false);
+        }
+        try {
+            flush(true);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to write occupancy history on shutdown", e);
+        }
+    }
+
+    /** Continues the buckets that were still open on the last shutdown. */
+    private void resume() {
+        List<OccupancyBlock> open =
+                entityManager
+                        .createQuery(
+                                "SELECT b FROM OccupancyBlock b WHERE b.openBucket = true "
+                                        + "ORDER BY b.id",
+                                OccupancyBlock.class)
+                        .getResultList();
+        Map<SeriesKey, Map<OccupancyTier, OpenBucket>> bySeries = new HashMap<>();
+        for (OccupancyBlock block : open) {
+            SeriesKey key = new SeriesKey(block.getScope(), block.getEntityId());
+            long[][] columns = DeltaBlockCodec.decode(block.getData());
+            bySeries.computeIfAbsent(key, k -> new EnumMap<>(OccupancyTier.class))
+                    .put(
+                            block.getTier(),
+                            new OpenBucket(
+                                    bucketAt(columns, 0), columns[5][0], block.getEndMillis()));
+            openBlocks.put(new OpenKey(key, block.getTier()), block.getId());
+        }
+        bySeries.forEach(
+                (key, buckets) ->
+                        series.computeIfAbsent(key, k -> new OccupancySeries()).resume(buckets));
+        if (!open.isEmpty()) {
+            LOG.infof("Resumed %d open occupancy history buckets", open.size());
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush(false);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to write occupancy history", e);
+        }
+    }
+
+    void onOfficeChange(@Observes OfficeChangeEvent event) {
+        if (event.type() != OfficeChangeEvent.Type.SEAT_ASSIGNED
+                && event.type() != OfficeChangeEvent.Type.SEAT_UNASSIGNED) {
+            return;
+        }
+        Batch batch = (Batch) transactionRegistry.getResource(Batch.class);
+        if (batch == null) {
+            batch = new Batch();
+            transactionRegistry.putResource(Batch.class, batch);
+            transactionRegistry.registerInterposedSynchronization(batch);
+        }
+        batch.timeMillis = event.timeMillis();
+        batch.values.put(new SeriesKey(OccupancyScope.SEAT, event.seatId()), event.occupants());
+        batch.roomIds.add(event.roomId());
+        if (event.floorId() != null) {
+            batch.floorIds.add(event.floorId());
+        }
+    }
+
+    /** Assignment changes of one transaction, recorded once it commits. */
+    private final class Batch implements Synchronization {
+        private final Map<SeriesKey, Number> values = new HashMap<>();
+        private final Set<Long> roomIds = new HashSet<>();
+        private final Set<Long> floorIds = new HashSet<>();
+        private long timeMillis;
+
+        @Override
+        public void beforeCompletion() {
+            try {
+                entityManager.flush();
+                count(OccupancyScope.ROOM, "s.room.id", roomIds);
+                count(OccupancyScope.FLOOR, "s.room.floor.id", floorIds);
+            } catch (RuntimeException e) {
+                // History must never fail the change itself
+                LOG.warn("Failed to count occupied seats for occupancy history", e);
+                values.keySet().removeIf(key -> key.scope() != OccupancyScope.SEAT);
+            }
+        }
+
+        private void count(OccupancyScope scope, String path, Set<Long> ids) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            for (Long id : ids) {
+                values.put(new SeriesKey(scope, id), 0L);
+            }
+            String query =
+                    String.format(
+                            "SELECT %1$s, COUNT(DISTINCT s.id) FROM Seat s JOIN s.employees e "
+                                    + "WHERE %1$s IN :ids GROUP BY %1$s",
+                            path);
+            List<Object[]> rows =
+                    entityManager
+                            .createQuery(query, Object[].class)
+                            .setParameter("ids", ids)
+                            .getResultList();
+            for (Object[] row : rows) {
+                values.put(new SeriesKey(scope, (Long) row[0]), (Number) row[1]);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED) {
+                return;
+            }
+            values.forEach(
+                    (key, value) ->
+                            series.computeIfAbsent(key, k -> new OccupancySeries())
+                                    .record(timeMillis, value.longValue()));
+        }
+    }
+
+    /** Writes buffered points and closed buckets of every series to the database. */
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * @param includeOpen whether to also write the buckets that are still open, as on shutdown
+     */
+    private synchronized void flush(boolean includeOpen) {
+        long now = System.currentTimeMillis();
+        Map<SeriesKey, Pending> drained = new HashMap<>();
+        List<OccupancyBlock> blocks = new ArrayList<>();
+        for (Map.Entry<SeriesKey, OccupancySeries> entry : series.entrySet()) {
+            OccupancySeries s = entry.getValue();
+            Pending pending = s.drain();
+            if (!pending.isEmpty()) {
+                drained.put(entry.getKey(), pending);
+                addBlocks(blocks, entry.getKey(), pending);
+            }
+            if (includeOpen && s.isStarted()) {
+                for (OccupancyTier tier : pending.buckets().keySet()) {
+                    blocks.add(openBlock(entry.getKey(), tier, s.openBucket(tier, now)));
+                }
+            }
+        }
+        if (blocks.isEmpty()) {
+            return;
+        }
+        // A bucket written again, closed or still open, supersedes the open one resumed at startup
+        Map<OpenKey, Long> replaced = new HashMap<>();
+        for (OccupancyBlock block : blocks) {
+            OpenKey key =
+                    new OpenKey(
+                            new SeriesKey(block.getScope(), block.getEntityId()), block.getTier());
+            Long id = openBlocks.get(key);
+            if (id != null) {
+                replaced.put(key, id);
+            }
+        }
+
+        try {
+            userTransaction.begin();
+            if (!replaced.isEmpty()) {
+                entityManager
+                        .createQuery("DELETE FROM OccupancyBlock b WHERE b.id IN :ids")
+                        .setParameter("ids", replaced.values())
+                        .executeUpdate();
+            }
+            blocks.forEach(entityManager::persist);
+            userTransaction.commit();
+            replaced.forEach(openBlocks::remove);
+            LOG.debugf("Wrote %d occupancy history blocks", blocks.size());
+        } catch (Exception e) {
+            try {
+                userTransaction.rollback();
+            } catch (Exception rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            if (!includeOpen) {
+                // Keep the data for the next attempt; open buckets are still in the series
+                drained.forEach((key, pending) -> series.get(key).restore(pending));
+            }
+            throw new IllegalStateException("Failed to write occupancy history", e);
+        }
+    }
+
+    private static void addBlocks(List<OccupancyBlock> blocks, SeriesKey key, Pending pending) {
+        List<Sample> samples = pending.samples();
+        for (int from = 0; from < samples.size(); from += MAX_BLOCK_POINTS) {
+            List<Sample> part =
+                    samples.subList(from, Math.min(samples.size(), from + MAX_BLOCK_POINTS));
+            long[] times = new long[part.size()];
+            long[] values = new long[part.size()];
+            for (int i = 0; i < part.size(); i++) {
+                times[i] = part.get(i).timeMillis();
+                values[i] = part.get(i).value();
+            }
+            blocks.add(
+                    block(
+                            key,
+                            OccupancyTier.RAW,
+                            times[0],
+                            times[times.length - 1],
+                            DeltaBlockCodec.encode(times, values),
+                            part.size()));
+        }
+        for (Map.Entry<OccupancyTier, List<Bucket>> tier : pending.buckets().entrySet()) {
+            List<Bucket> buckets = tier.getValue();
+            for (int from = 0; from < buckets.size(); from += MAX_BLOCK_POINTS) {
+                List<Bucket> part =
+                        buckets.subList(from, Math.min(buckets.size(), from + MAX_BLOCK_POINTS));
+                long[][] columns = new long[5][part.size()];
+                for (int i = 0; i < part.size(); i++) {
+                    Bucket bucket = part.get(i);
+                    columns[0][i] = bucket.startMillis();
+                    columns[1][i] = Math.round(bucket.average() * 1000);
+                    columns[2][i] = bucket.min();
+                    columns[3][i] = bucket.max();
+                    columns[4][i] = bucket.last();
+                }
+                blocks.add(
+                        block(
+                                key,
+                                tier.getKey(),
+                                columns[0][0],
+                                columns[0][part.size() - 1] + tier.getKey().getBucketMillis(),
+                                DeltaBlockCodec.encode(columns),
+                                part.size()));
+            }
+        }
+    }
+
+    /** A block holding the open bucket, with the time its first value was recorded. */
+    private static OccupancyBlock openBlock(SeriesKey key, OccupancyTier tier, OpenBucket open) {
+        Bucket bucket = open.bucket();
+        long[][] columns = {
+            {bucket.startMillis()},
+            {Math.round(bucket.average() * 1000)},
+            {bucket.min()},
+            {bucket.max()},
+            {bucket.last()},
+            {open.coveredFromMillis()}
+        };
+        OccupancyBlock block =
+                block(
+                        key,
+                        tier,
+                        bucket.startMillis(),
+                        open.untilMillis(),
+                        DeltaBlockCodec.encode(columns),
+                        1);
+        block.setOpenBucket(true);
+        return block;
+    }
+
+    private static OccupancyBlock block(
+            SeriesKey key, OccupancyTier tier, long start, long end, byte[] data, int points) {
+        OccupancyBlock block = new OccupancyBlock();
+        block.setScope(key.scope());
+        block.setEntityId(key.id());
+        block.setTier(tier);
+        block.setStartMillis(start);
+        block.setEndMillis(end);
+        block.setPointCount(points);
+        block.setData(data);
+        return block;
+    }
+
+    /** The latest recorded value of the series, or {@code null} if it has none since startup. */
+    public Long currentValue(SeriesKey key) {
+        OccupancySeries s = series.get(key);
+        return s == null || !s.isStarted() ? null : s.currentValue();
+    }
+
+    /** Raw change points of the series in {@code [fromMillis, toMillis)}. */
+    public List<Sample> samples(SeriesKey key, long fromMillis, long toMillis) {
+        List<Sample> samples = new ArrayList<>();
+        for (OccupancyBlock block : blocks(key, OccupancyTier.RAW, fromMillis, toMillis)) {
+            long[][] columns = DeltaBlockCodec.decode(block.getData());
+            for (int i = 0; i < columns[0].length; i++) {
+                samples.add(new Sample(columns[0][i], columns[1][i]));
+            }
+        }
+        OccupancySeries s = series.get(key);
+        if (s != null) {
+            samples.addAll(s.pendingSamples());
+        }
+        samples.removeIf(
+                sample -> sample.timeMillis() < fromMillis || sample.timeMillis() >= toMillis);
+        return samples;
+    }
+
+    /**
+     * Rollup buckets of the series covering {@code [fromMillis, toMillis)}, one per interval of the
+     * tier from the first known value on; the bucket that is still open is averaged up to now.
+     */
+    public List<Bucket> buckets(SeriesKey key, OccupancyTier tier, long fromMillis, long toMillis) {
+        long now = System.currentTimeMillis();
+        List<Bucket> buckets = new ArrayList<>();
+        Bucket before = null;
+        List<OccupancyBlock> previous =
+                entityManager
+                        .createQuery(
+                                "SELECT b FROM OccupancyBlock b WHERE b.scope = :scope "
+                                        + "AND b.entityId = :id AND b.tier = :tier "
+                                        + "AND b.openBucket = false AND b.endMillis <= :from "
+                                        + "ORDER BY b.startMillis DESC",
+                                OccupancyBlock.class)
+                        .setParameter("scope", key.scope())
+                        .setParameter("id", key.id())
+                        .setParameter("tier", tier)
+                        .setParameter("from", fromMillis)
+                        .setMaxResults(1)
+                        .getResultList();
+        if (!previous.isEmpty()) {
+            List<Bucket> decoded = decodeBuckets(previous.get(0));
+            before = decoded.get(decoded.size() - 1);
+        }
+        for (OccupancyBlock block : blocks(key, tier, fromMillis, toMillis)) {
+            buckets.addAll(decodeBuckets(block));
+        }
+        OccupancySeries s = series.get(key);
+        if (s != null) {
+            buckets.addAll(s.pendingBuckets(tier, now));
+        }
+        return OccupancySeries.fill(buckets, tier, fromMillis, Math.min(toMillis, now), before);
+    }
+
+    private List<OccupancyBlock> blocks(
+            SeriesKey key, OccupancyTier tier, long fromMillis, long toMillis) {
+        return entityManager
+                .createQuery(
+                        "SELECT b FROM OccupancyBlock b WHERE b.scope = :scope "
+                                + "AND b.entityId = :id AND b.tier = :tier "
+                                + "AND b.openBucket = false "
+                                + "AND b.startMillis < :to AND b.endMillis >= :from "
+                                + "ORDER BY b.startMillis, b.id",
+                        OccupancyBlock.class)
+                .setParameter("scope", key.scope())
+                .setParameter("id", key.id())
+                .setParameter("tier", tier)
+                .setParameter("from", fromMillis)
+                .setParameter("to", toMillis)
+                .getResultList();
+    }
+
+    private static List<Bucket> decodeBuckets(OccupancyBlock block) {
+        long[][] columns = DeltaBlockCodec.decode(block.getData());
+        List<Bucket> buckets = new ArrayList<>(columns[0].length);
+        for (int i = 0; i < columns[0].length; i++) {
+            buckets.add(bucketAt(columns, i));
+        }
+        return buckets;
+    }
+
+    private static Bucket bucketAt(long[][] columns, int i) {
+        return new Bucket(
+                columns[0][i], columns[1][i] / 1000.0, columns[2][i], columns[3][i], columns[4][i]);
+    }
+
+    /** Forgets all buffered history, e.g. after the tables have been cleared. */
+    public void clear() {
+        series.clear();
+        openBlocks.clear();
+    }
+}
@@ -0,0 +1,150 @@
+package com.officemanagement.service;
+
+import com.officemanagement.dto.FloorSummaryDTO;
+import com.officemanagement.dto.RoomSummaryDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.event.TableChangeEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat and occupied-seat counts per floor and room, for the building overview.
+ *
+ * <p>All counts come from a single aggregate query whose result is cached until a committed change
+ * to floors, rooms, seats or assignments invalidates it. A result loaded while such a change
+ * commits is returned but not cached.
+ */
+@ApplicationScoped
+public class OccupancySummary {
+
+    private record Summary(List<FloorSummaryDTO> floors, Map<Long, List<RoomSummaryDTO>> rooms) {}
+
+    @Inject EntityManager entityManager;
+
+    private volatile Summary cached;
+    private long generation;
+
+    /** Every floor, ordered by floor number. */
+    public List<FloorSummaryDTO> floors() {
+        return summary(entityManager).floors();
+    }
+
+    /** Same as {@link #floors()}, loading with the given entity manager on a cache miss. */
+    public List<FloorSummaryDTO> floors(EntityManager loader) {
+        return summary(loader).floors();
+    }
+
+    /**
+     * Rooms of the floor, ordered by room number.
+     *
+     * @return the rooms, or {@code null} if the floor does not exist
+     */
+    public List<RoomSummaryDTO> rooms(Long floorId) {
+        return summary(entityManager).rooms().get(floorId);
+    }
+
+    void onOfficeChange(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) OfficeChangeEvent event) {
+        if (event.type() != OfficeChangeEvent.Type.EMPLOYEE_CREATED
+                && event.type() != OfficeChangeEvent.Type.EMPLOYEE_DELETED) {
+            invalidate();
+        }
+    }
+
+    void onTableChange(@Observes TableChangeEvent event) {
+        if (event.affects(
+                TableChangeEvent.FLOORS,
+                TableChangeEvent.ROOMS,
+                TableChangeEvent.SEATS,
+                TableChangeEvent.ASSIGNMENTS)) {
+            invalidate();
+        }
+    }
+
+    /** Drops the cached summary. */
+    public synchronized void invalidate() {
+        generation++;
+        cached = null;
+    }
+
+    private Summary summary(EntityManager loader) {
+        Summary summary = cached;
+        if (summary != null) {
+            return summary;
+        }
+        long loadedGeneration;
+        synchronized (this) {
+            loadedGeneration = generation;
+        }
+        summary = load(loader);
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                cached = summary;
+            }
+        }
+        return summary;
+    }
+
+    private Summary load(EntityManager loader) {
+        List<Object[]> rows =
+                loader
+                        .createQuery(
+                                "SELECT f.id, f.name, f.floorNumber, r.id, r.name, r.roomNumber,"
+                                        + " COUNT(DISTINCT s.id),"
+                                        + " COUNT(DISTINCT CASE WHEN e.id IS NOT NULL"
+                                        + " THEN s.id END)"
+                                        + " FROM Floor f LEFT JOIN f.rooms r LEFT JOIN r.seats s"
+                                        + " LEFT JOIN s.employees e"
+                                        + " GROUP BY f.id, f.name, f.floorNumber,"
+                                        + " r.id, r.name, r.roomNumber"
+                                        + " ORDER BY f.floorNumber, f.id, r.roomNumber",
+                                Object[].class)
+                        .getResultList();
+
+        List<FloorSummaryDTO> floors = new ArrayList<>();
+        Map<Long, List<RoomSummaryDTO>> rooms = new HashMap<>();
+        FloorSummaryDTO floor = null;
+        for (Object[] row : rows) {
+            Long floorId = (Long) row[0];
+            if (floor == null || !floor.getId().equals(floorId)) {
+                floor = new FloorSummaryDTO(floorId, (String) row[1], (Integer) row[2], 0, 0, 0, 0);
+                floors.add(floor);
+                rooms.put(floorId, new ArrayList<>());
+            }
+            if (row[3] == null) {
+                continue; // Floor without rooms
+            }
+            long seats = (Long) row[6];
+            long occupied = (Long) row[7];
+            rooms.get(floorId)
+                    .add(
+                            new RoomSummaryDTO(
+                                    (Long) row[3],
+                                    (String) row[4],
+                                    (String) row[5],
+                                    seats,
+                                    occupied,
+                                    utilization(seats, occupied)));
+            floor.setRooms(floor.getRooms() + 1);
+            floor.setSeats(floor.getSeats() + seats);
+            floor.setOccupiedSeats(floor.getOccupiedSeats() + occupied);
+        }
+        for (FloorSummaryDTO f : floors) {
+            f.setUtilization(utilization(f.getSeats(), f.getOccupiedSeats()));
+        }
+        rooms.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        return new Summary(Collections.unmodifiableList(floors), rooms);
+    }
+
+    private static double utilization(long seats, long occupied) {
+        return seats == 0 ? 0 : 100.0 * occupied / seats;
+    }
+}
@@ -0,0 +1,235 @@
+package com.officemanagement.service;
+
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.event.TableChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jboss.logging.Logger;
+
+/**
+ * Live counts of employees, floors, rooms, seats and occupied seats.
+ *
+ * <p>The counts are loaded at startup and then follow the {@link OfficeChangeEvent}s of each
+ * transaction once it has committed, so reading them never touches the database. Seats touched by
+ * an assignment change are looked up just before commit to learn whether they are still occupied.
+ * Changes made outside the resources, or a commit that lands while the counts are being reloaded,
+ * can make them drift; they are therefore reconciled with the database every {@code
+ * office.stats.reconcile-seconds} (default 60).
+ */
+@ApplicationScoped
+public class OfficeCounters {
+
+    private static final Logger LOG = Logger.getLogger(OfficeCounters.class);
+
+    private static final long RECONCILE_SECONDS =
+            Long.getLong("office.stats.reconcile-seconds", 60L);
+
+    /** Counts at one point in time. */
+    public record Snapshot(
+            long employees, long floors, long rooms, long seats, long occupiedSeats) {
+
+        /** Occupied seats as a percentage of all seats, 0 if there are none. */
+        public double occupancyRate() {
+            return seats == 0 ? 0 : 100.0 * occupiedSeats / seats;
+        }
+    }
+
+    private enum Counter {
+        EMPLOYEES,
+        FLOORS,
+        ROOMS,
+        SEATS
+    }
+
+    @Inject EntityManager entityManager;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final Map<Counter, AtomicLong> counters = new EnumMap<>(Counter.class);
+    private final Set<Long> occupiedSeats = ConcurrentHashMap.newKeySet();
+
+    private ScheduledFuture<?> reconciler;
+
+    public OfficeCounters() {
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new AtomicLong());
+        }
+    }
+
+    @PostConstruct
+    void startReconciler() {
+        reconciler =
+                scheduler.scheduleAtFixedRate(
+                        this::scheduledReconcile,
+                        RECONCILE_SECONDS,
+                        RECONCILE_SECONDS,
+                        TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopReconciler() {
+        if (reconciler != null) {
+            reconciler.cancel(false);
+        }
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        reconcile();
+    }
+
+    private void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to reconcile office counters", e);
+        }
+    }
+
+    /** Current counts. */
+    public Snapshot snapshot() {
+        return new Snapshot(
+                counters.get(Counter.EMPLOYEES).get(),
+                counters.get(Counter.FLOORS).get(),
+                counters.get(Counter.ROOMS).get(),
+                counters.get(Counter.SEATS).get(),
+                occupiedSeats.size());
+    }
+
+    /** Reloads every count from the database. */
+    public synchronized void reconcile() {
+        Snapshot before = snapshot();
+        set(Counter.EMPLOYEES, count("SELECT COUNT(e) FROM Employee e"));
+        set(Counter.FLOORS, count("SELECT COUNT(f) FROM Floor f"));
+        set(Counter.ROOMS, count("SELECT COUNT(r) FROM OfficeRoom r"));
+        set(Counter.SEATS, count("SELECT COUNT(s) FROM Seat s"));
+        List<Long> occupied =
+                entityManager
+                        .createQuery(
+                                "SELECT DISTINCT s.id FROM Seat s JOIN s.employees e", Long.class)
+                        .getResultList();
+        occupiedSeats.retainAll(new HashSet<>(occupied));
+        occupiedSeats.addAll(occupied);
+
+        Snapshot after = snapshot();
+        if (!after.equals(before)) {
+            LOG.debugf("Reconciled office counters from %s to %s", before, after);
+        }
+    }
+
+    private long count(String query) {
+        return entityManager.createQuery(query, Long.class).getSingleResult();
+    }
+
+    private void set(Counter counter, long value) {
+        counters.get(counter).set(value);
+    }
+
+    void onOfficeChange(@Observes OfficeChangeEvent event) {
+        Batch batch = (Batch) transactionRegistry.getResource(Batch.class);
+        if (batch == null) {
+            batch = new Batch();
+            transactionRegistry.putResource(Batch.class, batch);
+            transactionRegistry.registerInterposedSynchronization(batch);
+        }
+        switch (event.type()) {
+            case EMPLOYEE_CREATED -> batch.add(Counter.EMPLOYEES, 1);
+            case EMPLOYEE_DELETED -> batch.add(Counter.EMPLOYEES, -1);
+            case FLOOR_CREATED -> batch.add(Counter.FLOORS, 1);
+            case FLOOR_DELETED -> batch.add(Counter.FLOORS, -1);
+            case ROOM_CREATED -> batch.add(Counter.ROOMS, 1);
+            case ROOM_DELETED -> batch.add(Counter.ROOMS, -1);
+            case SEAT_CREATED -> batch.add(Counter.SEATS, 1);
+            case SEAT_DELETED -> {
+                batch.add(Counter.SEATS, -1);
+                batch.seatIds.add(event.seatId());
+            }
+            case SEAT_ASSIGNED, SEAT_UNASSIGNED -> batch.seatIds.add(event.seatId());
+            default -> {}
+        }
+    }
+
+    void onTableChange(@Observes TableChangeEvent event) {
+        if (event.affects(
+                TableChangeEvent.EMPLOYEES,
+                TableChangeEvent.FLOORS,
+                TableChangeEvent.ROOMS,
+                TableChangeEvent.SEATS,
+                TableChangeEvent.ASSIGNMENTS)) {
+            reconcile();
+        }
+    }
+
+    /** Count changes of one transaction, applied once it commits. */
+    private final class Batch implements Synchronization {
+        private final Map<Counter, Long> deltas = new EnumMap<>(Counter.class);
+        private final Set<Long> seatIds = new HashSet<>();
+        private Set<Long> occupied;
+
+        void add(Counter counter, long delta) {
+            deltas.merge(counter, delta, Long::sum);
+        }
+
+        @Override
+        public void beforeCompletion() {
+            if (seatIds.isEmpty()) {
+                occupied = Set.of();
+                return;
+            }
+            try {
+                entityManager.flush();
+                occupied =
+                        new HashSet<>(
+                                entityManager
+                                        .createQuery(
+                                                "SELECT DISTINCT s.id FROM Seat s JOIN s.employees"
+                                                        + " e WHERE s.id IN :ids",
+                                                Long.class)
+                                        .setParameter("ids", seatIds)
+                                        .getResultList());
+            } catch (RuntimeException e) {
+                // Counters must never fail the change itself
+                LOG.warn("Failed to look up occupied seats for office counters", e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED) {
+                return;
+            }
+            deltas.forEach((counter, delta) -> counters.get(counter).addAndGet(delta));
+            if (occupied == null) {
+                scheduledReconcile();
+                return;
+            }
+            for (Long seatId : seatIds) {
+                if (occupied.contains(seatId)) {
+                    occupiedSeats.add(seatId);
+                } else {
+                    occupiedSeats.remove(seatId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,716 @@
+package com.officemanagement.service;
+
+import com.officemanagement.dto.EmbeddedFloorDTO;
+import com.officemanagement.dto.EmbeddedRoomDTO;
+import com.officemanagement.dto.FloorDTO;
+import com.officemanagement.dto.OfficeRoomDTO;
+import com.officemanagement.dto.SeatDTO;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.event.ReadModelChangeEvent;
+import com.officemanagement.event.TableChangeEvent;
+import com.officemanagement.util.PgOutputDecoder.Change;
+import com.officemanagement.util.PgOutputDecoder.Operation;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.jboss.logging.Logger;
+
+/**
+ * In-memory read model of the office: floors, their rooms, the seats of each room and the
+ * employees assigned to each seat, as immutable nodes of one snapshot.
+ *
+ * <p>Readers take the current snapshot from an {@link AtomicReference}; they never lock and never
+ * query the database. Writes still go through JPA. Every transaction that fires an {@link
+ * OfficeChangeEvent} loads the floors it touched just before it commits, once its changes are
+ * flushed, and publishes them once it has committed. Publishing copies the path to those floors
+ * only: the floor map and the changed floors are new, every other floor is shared with the previous
+ * snapshot, and so are the room and seat indexes unless rooms or seats were added, moved or
+ * removed. {@link ReadModelChangeEvent} then names the floors published.
+ *
+ * <p>Two transactions changing the same floor at once each load it without the other's change, so
+ * a floor that another transaction published while one was loading it is loaded again once both
+ * have committed. Changes made outside the application are loaded when {@link
+ * DatabaseChangeCapture} reports them, and a resync reloads everything.
+ */
+@ApplicationScoped
+public class OfficeReadModel {
+
+    private static final Logger LOG = Logger.getLogger(OfficeReadModel.class);
+
+    private static final long RETRY_MILLIS = 5_000;
+
+    /** Counts since startup, and the size of the current snapshot. */
+    public record Stats(
+            long floors, long rooms, long seats, long published, long reloaded, long failures) {}
+
+    private record SeatNode(
+            Long id,
+            String seatNumber,
+            LocalDateTime createdAt,
+            Float x,
+            Float y,
+            Float width,
+            Float height,
+            Float rotation,
+            Set<Long> employeeIds) {}
+
+    private record RoomNode(
+            Long id,
+            String name,
+            String roomNumber,
+            LocalDateTime createdAt,
+            Float x,
+            Float y,
+            Float width,
+            Float height,
+            Map<Long, SeatNode> seats) {}
+
+    /** A floor and its rooms. The rooms without a floor belong to a node whose ID is null. */
+    private record FloorNode(
+            Long id,
+            String name,
+            Integer floorNumber,
+            LocalDateTime createdAt,
+            boolean hasPlanimetry,
+            Map<Long, RoomNode> rooms) {
+
+        /** Whether the other node has the same rooms, with the same seats. */
+        boolean sameShape(FloorNode other) {
+            if (other == null || !rooms.keySet().equals(other.rooms.keySet())) {
+                return false;
+            }
+            for (RoomNode room : rooms.values()) {
+                if (!room.seats().keySet().equals(other.rooms.get(room.id()).seats().keySet())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @param floors the floors by ID
+     * @param unplaced the rooms without a floor
+     * @param roomFloors the floor of every room that has one
+     * @param seatRooms the room of every seat
+     */
+    private record Snapshot(
+            NavigableMap<Long, FloorNode> floors,
+            FloorNode unplaced,
+            Map<Long, Long> roomFloors,
+            Map<Long, Long> seatRooms) {
+
+        /** The floor node holding the room, or {@code null} if there is no such room. */
+        FloorNode floorOf(Long roomId) {
+            Long floorId = roomFloors.get(roomId);
+            FloorNode floor = floorId == null ? unplaced : floors.get(floorId);
+            return floor != null && floor.rooms().containsKey(roomId) ? floor : null;
+        }
+    }
+
+    private static final FloorNode NO_ROOMS =
+            new FloorNode(null, null, null, null, false, Map.of());
+
+    private static final Snapshot EMPTY =
+            new Snapshot(Collections.emptyNavigableMap(), NO_ROOMS, Map.of(), Map.of());
+
+    /** Floors to load, and whether to load the rooms without a floor. */
+    private static final class Scope {
+        private final Set<Long> floorIds = new HashSet<>();
+        private boolean unplaced;
+
+        void floor(Long floorId) {
+            if (floorId != null) {
+                floorIds.add(floorId);
+            }
+        }
+
+        /** Adds the floor the room is on in the snapshot. */
+        void room(Snapshot snapshot, Long roomId) {
+            if (roomId == null) {
+                return;
+            }
+            FloorNode floor = snapshot.floorOf(roomId);
+            if (floor == snapshot.unplaced()) {
+                unplaced = true;
+            } else if (floor != null) {
+                floorIds.add(floor.id());
+            }
+        }
+
+        /** Adds the floor the seat is on in the snapshot. */
+        void seat(Snapshot snapshot, Long seatId) {
+            if (seatId != null) {
+                room(snapshot, snapshot.seatRooms().get(seatId));
+            }
+        }
+
+        boolean isEmpty() {
+            return floorIds.isEmpty() && !unplaced;
+        }
+    }
+
+    /** Nodes loaded for a scope, with the snapshot that was current when loading began. */
+    private record Loaded(
+            Set<Long> floorIds,
+            boolean unplacedLoaded,
+            Map<Long, FloorNode> floors,
+            FloorNode unplaced,
+            Snapshot seen) {}
+
+    @Inject EntityManager entityManager;
+
+    @PersistenceUnit(unitName = "primary")
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject Event<ReadModelChangeEvent> readModelChanges;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(EMPTY);
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder reloaded = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        rebuild();
+    }
+
+    /** Every floor, ordered by ID. */
+    public List<FloorDTO> floors() {
+        return snapshot.get().floors().values().stream().map(OfficeReadModel::floorDTO).toList();
+    }
+
+    /** The floor, or {@code null} if it does not exist. */
+    public FloorDTO floor(Long id) {
+        FloorNode floor = snapshot.get().floors().get(id);
+        return floor == null ? null : floorDTO(floor);
+    }
+
+    /**
+     * The floor with its rooms and seats, or {@code null} if it does not exist. No seat is marked
+     * held; holds are not part of the model.
+     */
+    public EmbeddedFloorDTO embeddedFloor(Long id) {
+        FloorNode floor = snapshot.get().floors().get(id);
+        if (floor == null) {
+            return null;
+        }
+        Set<EmbeddedRoomDTO> rooms =
+                floor.rooms().values().stream()
+                        .map(
+                                room ->
+                                        new EmbeddedRoomDTO(
+                                                room.id(),
+                                                room.name(),
+                                                room.roomNumber(),
+                                                room.createdAt(),
+                                                room.x(),
+                                                room.y(),
+                                                room.width(),
+                                                room.height(),
+                                                room.seats().values().stream()
+                                                        .map(seat -> seatDTO(floor, room, seat))
+                                                        .collect(Collectors.toSet())))
+                        .collect(Collectors.toSet());
+        return new EmbeddedFloorDTO(
+                floor.id(),
+                floor.name(),
+                floor.floorNumber(),
+                floor.createdAt(),
+                rooms,
+                floor.hasPlanimetry());
+    }
+
+    /** Every room, those without a floor included, ordered by ID. */
+    public List<OfficeRoomDTO> rooms() {
+        Snapshot current = snapshot.get();
+        return Stream.concat(current.floors().values().stream(), Stream.of(current.unplaced()))
+                .flatMap(floor -> floor.rooms().values().stream().map(r -> roomDTO(floor, r)))
+                .sorted(Comparator.comparing(OfficeRoomDTO::getId))
+                .toList();
+    }
+
+    /** The room, or {@code null} if it does not exist. */
+    public OfficeRoomDTO room(Long id) {
+        FloorNode floor = snapshot.get().floorOf(id);
+        return floor == null ? null : roomDTO(floor, floor.rooms().get(id));
+    }
+
+    /** The seats of the room, not marked held, or {@code null} if the room does not exist. */
+    public List<SeatDTO> roomSeats(Long roomId) {
+        FloorNode floor = snapshot.get().floorOf(roomId);
+        if (floor == null) {
+            return null;
+        }
+        RoomNode room = floor.rooms().get(roomId);
+        return room.seats().values().stream().map(seat -> seatDTO(floor, room, seat)).toList();
+    }
+
+    /** The seat, not marked held, or {@code null} if it does not exist. */
+    public SeatDTO seat(Long id) {
+        Snapshot current = snapshot.get();
+        Long roomId = current.seatRooms().get(id);
+        FloorNode floor = roomId == null ? null : current.floorOf(roomId);
+        if (floor == null) {
+            return null;
+        }
+        RoomNode room = floor.rooms().get(roomId);
+        SeatNode seat = room.seats().get(id);
+        return seat == null ? null : seatDTO(floor, room, seat);
+    }
+
+    public Stats stats() {
+        Snapshot current = snapshot.get();
+        return new Stats(
+                current.floors().size(),
+                current.roomFloors().size() + current.unplaced().rooms().size(),
+                current.seatRooms().size(),
+                published.sum(),
+                reloaded.sum(),
+                failures.sum());
+    }
+
+    /** Loads every floor again, for when changes may have been missed. */
+    public void rebuild() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            while (true) {
+                Snapshot seen = snapshot.get();
+                Loaded loaded = load(em, null);
+                Snapshot next =
+                        apply(EMPTY, loaded.floors().keySet(), loaded.floors(), loaded.unplaced());
+                if (snapshot.compareAndSet(seen, next)) {
+                    break;
+                }
+                em.clear(); // A write was published meanwhile and may be missing
+            }
+        } finally {
+            em.close();
+        }
+        published.increment();
+        LOG.infof("Loaded the read model with %d floors", snapshot.get().floors().size());
+        readModelChanges.fire(new ReadModelChangeEvent(Set.of(), true));
+    }
+
+    void onOfficeChange(@Observes OfficeChangeEvent event) {
+        if (event.type() == OfficeChangeEvent.Type.EMPLOYEE_CREATED
+                || event.type() == OfficeChangeEvent.Type.EMPLOYEE_DELETED) {
+            return; // The seats of a deleted employee come as unassignments
+        }
+        Batch batch = (Batch) transactionRegistry.getResource(Batch.class);
+        if (batch == null) {
+            batch = new Batch();
+            transactionRegistry.putResource(Batch.class, batch);
+            transactionRegistry.registerInterposedSynchronization(batch);
+        }
+        Snapshot current = snapshot.get();
+        Scope scope = batch.scope;
+        scope.floor(event.floorId());
+        if (event.floorId() == null && event.roomId() != null) {
+            scope.unplaced = true;
+        }
+        // Where the room or seat was before the change, in case it moved
+        scope.room(current, event.roomId());
+        scope.seat(current, event.seatId());
+    }
+
+    void onTableChange(@Observes TableChangeEvent event) {
+        if (event.resync()) {
+            rebuild();
+            return;
+        }
+        Snapshot current = snapshot.get();
+        Scope scope = new Scope();
+        for (Change change : event.changes()) {
+            if (change.operation() == Operation.TRUNCATE
+                    && !change.table().equals(TableChangeEvent.EMPLOYEES)) {
+                rebuild();
+                return;
+            }
+            switch (change.table()) {
+                case TableChangeEvent.FLOORS -> scope.floor(change.id("id"));
+                case TableChangeEvent.ROOMS -> {
+                    Long floorId = change.id("floor_id");
+                    scope.floor(floorId);
+                    if (floorId == null && change.operation() != Operation.DELETE) {
+                        scope.unplaced = true;
+                    }
+                    scope.room(current, change.id("id"));
+                }
+                case TableChangeEvent.SEATS -> {
+                    scope.room(current, change.id("room_id"));
+                    scope.seat(current, change.id("id"));
+                }
+                case TableChangeEvent.ASSIGNMENTS -> scope.seat(current, change.id("seat_id"));
+                case TableChangeEvent.PLANIMETRY -> scope.floor(change.id("floor_id"));
+                default -> {} // Seats only hold the IDs of employees
+            }
+        }
+        reload(scope);
+    }
+
+    /** Floors changed by one transaction, loaded before it commits and published after. */
+    private final class Batch implements Synchronization {
+        private final Scope scope = new Scope();
+        private Loaded loaded;
+
+        @Override
+        public void beforeCompletion() {
+            if (scope.isEmpty()) {
+                return;
+            }
+            try {
+                entityManager.flush();
+                loaded = load(entityManager, scope);
+            } catch (RuntimeException e) {
+                // The read model must never fail the change itself
+                LOG.warn("Failed to load changed floors for the read model", e);
+                failures.increment();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED || scope.isEmpty()) {
+                return;
+            }
+            try {
+                Scope stale = loaded == null ? scope : publish(loaded);
+                if (!stale.isEmpty()) {
+                    scheduler.execute(() -> reload(stale));
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Failed to publish changed floors to the read model", e);
+                failures.increment();
+                scheduler.execute(() -> reload(scope));
+            }
+        }
+    }
+
+    /** Loads and publishes the floors with an entity manager of its own until none is stale. */
+    private void reload(Scope scope) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            while (!scope.isEmpty()) {
+                scope = publish(load(em, scope));
+                reloaded.increment();
+                em.clear();
+            }
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Failed to reload the read model, retrying in %d ms", RETRY_MILLIS);
+            failures.increment();
+            Scope retry = scope;
+            scheduler.schedule(() -> reload(retry), RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Replaces the loaded floors in the current snapshot.
+     *
+     * @return the floors another publish replaced while they were being loaded, which may lack
+     *     either change and have to be loaded again
+     */
+    private Scope publish(Loaded loaded) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Scope stale = new Scope();
+            for (Long floorId : loaded.floorIds()) {
+                if (current.floors().get(floorId) != loaded.seen().floors().get(floorId)) {
+                    stale.floor(floorId);
+                }
+            }
+            stale.unplaced =
+                    loaded.unplacedLoaded() && current.unplaced() != loaded.seen().unplaced();
+            Snapshot next =
+                    apply(
+                            current,
+                            loaded.floorIds(),
+                            loaded.floors(),
+                            loaded.unplacedLoaded() ? loaded.unplaced() : current.unplaced());
+            if (snapshot.compareAndSet(current, next)) {
+                published.increment();
+                readModelChanges.fire(new ReadModelChangeEvent(loaded.floorIds(), false));
+                return stale;
+            }
+        }
+    }
+
+    /**
+     * Copies the snapshot with the given floors replaced, or removed if not among the loaded ones,
+     * and the indexes updated for rooms and seats that appeared, moved or disappeared.
+     */
+    private static Snapshot apply(
+            Snapshot current,
+            Set<Long> floorIds,
+            Map<Long, FloorNode> loaded,
+            FloorNode unplaced) {
+        TreeMap<Long, FloorNode> floors = new TreeMap<>(current.floors());
+        List<FloorNode> removed = new ArrayList<>();
+        List<FloorNode> added = new ArrayList<>();
+        for (Long floorId : floorIds) {
+            FloorNode previous = floors.get(floorId);
+            FloorNode next = loaded.get(floorId);
+            if (next == null) {
+                floors.remove(floorId);
+            } else {
+                floors.put(floorId, next);
+            }
+            if (previous != null && !previous.sameShape(next)) {
+                removed.add(previous);
+            }
+            if (next != null && !next.sameShape(previous)) {
+                added.add(next);
+            }
+        }
+        if (!unplaced.sameShape(current.unplaced())) {
+            removed.add(current.unplaced());
+            added.add(unplaced);
+        }
+
+        Map<Long, Long> roomFloors = current.roomFloors();
+        Map<Long, Long> seatRooms = current.seatRooms();
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            Map<Long, Long> newRoomFloors = new HashMap<>(roomFloors);
+            Map<Long, Long> newSeatRooms = new HashMap<>(seatRooms);
+            for (FloorNode floor : removed) {
+                for (RoomNode room : floor.rooms().values()) {
+                    if (floor.id() != null) {
+                        newRoomFloors.remove(room.id(), floor.id());
+                    }
+                    for (Long seatId : room.seats().keySet()) {
+                        newSeatRooms.remove(seatId, room.id());
+                    }
+                }
+            }
+            for (FloorNode floor : added) {
+                for (RoomNode room : floor.rooms().values()) {
+                    if (floor.id() != null) {
+                        newRoomFloors.put(room.id(), floor.id());
+                    }
+                    for (Long seatId : room.seats().keySet()) {
+                        newSeatRooms.put(seatId, room.id());
+                    }
+                }
+            }
+            roomFloors = Collections.unmodifiableMap(newRoomFloors);
+            seatRooms = Collections.unmodifiableMap(newSeatRooms);
+        }
+        return new Snapshot(
+                Collections.unmodifiableNavigableMap(floors), unplaced, roomFloors, seatRooms);
+    }
+
+    /**
+     * Loads the floors of the scope, or every floor if the scope is {@code null}, with scalar
+     * queries that read the database rather than the persistence context or the entity cache.
+     */
+    private Loaded load(EntityManager em, Scope scope) {
+        Snapshot seen = snapshot.get();
+        String where = "";
+        String floorWhere = "";
+        if (scope != null) {
+            List<String> conditions = new ArrayList<>();
+            if (!scope.floorIds.isEmpty()) {
+                conditions.add("f.id IN :ids");
+                floorWhere = " WHERE f.id IN :ids";
+            }
+            if (scope.unplaced) {
+                conditions.add("f.id IS NULL");
+            }
+            where = " WHERE " + String.join(" OR ", conditions);
+        }
+        Set<Long> floorIds = scope == null ? null : Set.copyOf(scope.floorIds);
+        boolean floorsInScope = scope == null || !scope.floorIds.isEmpty();
+
+        Map<Long, Set<Long>> employees = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        em,
+                        "SELECT s.id, e.id FROM Seat s JOIN s.employees e"
+                                + " JOIN s.room r LEFT JOIN r.floor f"
+                                + where,
+                        floorIds)) {
+            employees.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        Map<Long, Map<Long, SeatNode>> seatsByRoom = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        em,
+                        "SELECT s.id, s.seatNumber, s.createdAt, s.x, s.y, s.width, s.height,"
+                                + " s.rotation, r.id FROM Seat s JOIN s.room r LEFT JOIN r.floor f"
+                                + where,
+                        floorIds)) {
+            Long id = (Long) row[0];
+            seatsByRoom
+                    .computeIfAbsent((Long) row[8], roomId -> new HashMap<>())
+                    .put(
+                            id,
+                            new SeatNode(
+                                    id,
+                                    (String) row[1],
+                                    (LocalDateTime) row[2],
+                                    (Float) row[3],
+                                    (Float) row[4],
+                                    (Float) row[5],
+                                    (Float) row[6],
+                                    (Float) row[7],
+                                    Set.copyOf(employees.getOrDefault(id, Set.of()))));
+        }
+
+        // Keyed by floor ID, null for the rooms without a floor
+        Map<Long, Map<Long, RoomNode>> roomsByFloor = new HashMap<>();
+        for (Object[] row :
+                rows(
+                        em,
+                        "SELECT r.id, r.name, r.roomNumber, r.createdAt, r.x, r.y, r.width,"
+                                + " r.height, f.id FROM OfficeRoom r LEFT JOIN r.floor f"
+                                + where,
+                        floorIds)) {
+            Long id = (Long) row[0];
+            roomsByFloor
+                    .computeIfAbsent((Long) row[8], floorId -> new HashMap<>())
+                    .put(
+                            id,
+                            new RoomNode(
+                                    id,
+                                    (String) row[1],
+                                    (String) row[2],
+                                    (LocalDateTime) row[3],
+                                    (Float) row[4],
+                                    (Float) row[5],
+                                    (Float) row[6],
+                                    (Float) row[7],
+                                    Map.copyOf(seatsByRoom.getOrDefault(id, Map.of()))));
+        }
+
+        Map<Long, FloorNode> floors = new HashMap<>();
+        if (floorsInScope) {
+            TypedQuery<Long> plans =
+                    em.createQuery(
+                            "SELECT p.floorId FROM FloorPlanimetry p"
+                                    + " WHERE p.planimetry IS NOT NULL"
+                                    + (floorIds == null ? "" : " AND p.floorId IN :ids"),
+                            Long.class);
+            if (floorIds != null) {
+                plans.setParameter("ids", floorIds);
+            }
+            Set<Long> planned = new HashSet<>(plans.getResultList());
+            for (Object[] row :
+                    rows(
+                            em,
+                            "SELECT f.id, f.name, f.floorNumber, f.createdAt FROM Floor f"
+                                    + floorWhere,
+                            floorIds)) {
+                Long id = (Long) row[0];
+                floors.put(
+                        id,
+                        new FloorNode(
+                                id,
+                                (String) row[1],
+                                (Integer) row[2],
+                                (LocalDateTime) row[3],
+                                planned.contains(id),
+                                Map.copyOf(roomsByFloor.getOrDefault(id, Map.of()))));
+            }
+        }
+        FloorNode unplaced =
+                new FloorNode(
+                        null,
+                        null,
+                        null,
+                        null,
+                        false,
+                        Map.copyOf(roomsByFloor.getOrDefault(null, Map.of())));
+        return new Loaded(
+                floorIds == null ? floors.keySet() : floorIds,
+                scope == null || scope.unplaced,
+                floors,
+                unplaced,
+                seen);
+    }
+
+    private static List<Object[]> rows(EntityManager em, String jpql, Set<Long> floorIds) {
+        TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+        if (floorIds != null && jpql.contains(":ids")) {
+            query.setParameter("ids", floorIds);
+        }
+        return query.getResultList();
+    }
+
+    private static FloorDTO floorDTO(FloorNode floor) {
+        return new FloorDTO(
+                floor.id(),
+                floor.name(),
+                floor.floorNumber(),
+                floor.createdAt(),
+                new HashSet<>(floor.rooms().keySet()),
+                floor.hasPlanimetry());
+    }
+
+    private static OfficeRoomDTO roomDTO(FloorNode floor, RoomNode room) {
+        return new OfficeRoomDTO(
+                room.id(),
+                room.name(),
+                room.roomNumber(),
+                floor.id(),
+                floor.name(),
+                room.createdAt(),
+                room.x(),
+                room.y(),
+                room.width(),
+                room.height(),
+                new HashSet<>(room.seats().keySet()));
+    }
+
+    private static SeatDTO seatDTO(FloorNode floor, RoomNode room, SeatNode seat) {
+        return new SeatDTO(
+                seat.id(),
+                seat.seatNumber(),
+                room.id(),
+                room.name(),
+                floor.id(),
+                floor.name(),
+                seat.createdAt(),
+                seat.x(),
+                seat.y(),
+                seat.width(),
+                seat.height(),
+                seat.rotation(),
+                new HashSet<>(seat.employeeIds()),
+                !seat.employeeIds().isEmpty(),
+                false);
+    }
+}
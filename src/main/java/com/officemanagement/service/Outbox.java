@@ -0,0 +1,192 @@
+package com.officemanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.officemanagement.event.OfficeChangeEvent;
+import com.officemanagement.model.OutboxEvent;
+import com.officemanagement.util.SegmentLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.UserTransaction;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.LockOptions;
+import org.jboss.logging.Logger;
+
+/**
+ * Transactional outbox feeding the change log file that downstream systems, such as the badge
+ * system and the BI warehouse, consume instead of the REST API.
+ *
+ * <p>Every {@link OfficeChangeEvent} is written to the outbox table in the transaction that makes
+ * the change, so exactly the committed changes get out. A relay moves them every {@code
+ * office.outbox.relay-millis} (default 200), in batches of {@code office.outbox.batch-size}
+ * (default 500) in outbox order, to a {@link SegmentLog} in {@code office.outbox.dir} (default
+ * {@code office-outbox} in the server's data directory), and deletes them once the log has them
+ * on disk. Segments hold {@code office.outbox.segment-bytes} (default 64 MiB) and the newest
+ * {@code office.outbox.max-segments} (default 32) are kept. Consumers read the files with a {@link
+ * com.officemanagement.util.LogConsumer}, never touching the database.
+ *
+ * <p>Records are JSON: {@code {"outboxId":17,"event":{...}}}. Delivery is at least once: if the
+ * delete fails after a batch was appended, the batch is appended again, and consumers skip
+ * outbox IDs they have seen.
+ */
+@ApplicationScoped
+public class Outbox {
+
+    private static final Logger LOG = Logger.getLogger(Outbox.class);
+
+    private static final long RELAY_MILLIS = Long.getLong("office.outbox.relay-millis", 200L);
+    private static final int BATCH_SIZE = Integer.getInteger("office.outbox.batch-size", 500);
+    private static final long SEGMENT_BYTES =
+            Long.getLong("office.outbox.segment-bytes", 64L * 1024 * 1024);
+    private static final int MAX_SEGMENTS = Integer.getInteger("office.outbox.max-segments", 32);
+
+    /** State of the change log file and the relay. */
+    public record Stats(
+            long firstOffset, long nextOffset, int segments, long relayed, long failures) {}
+
+    @Inject EntityManager entityManager;
+
+    @Inject UserTransaction userTransaction;
+
+    @Inject ObjectMapper objectMapper;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private Path directory;
+    private SegmentLog log;
+    private ScheduledFuture<?> relay;
+
+    @PostConstruct
+    void start() {
+        String dataDirectory =
+                System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir"));
+        directory =
+                Path.of(
+                        System.getProperty(
+                                "office.outbox.dir",
+                                Path.of(dataDirectory, "office-outbox").toString()));
+        try {
+            log = new SegmentLog(directory, SEGMENT_BYTES, MAX_SEGMENTS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the change log in " + directory, e);
+        }
+        relay =
+                scheduler.scheduleWithFixedDelay(
+                        this::scheduledRelay, RELAY_MILLIS, RELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (relay != null) {
+            relay.cancel(false);
+        }
+        scheduledRelay();
+        try {
+            log.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close the change log", e);
+        }
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        // Starts the relay, for events left in the outbox by the previous run
+    }
+
+    void append(@Observes OfficeChangeEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setType(event.type().name());
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        row.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(row);
+    }
+
+    /** Directory of the change log files. */
+    public Path directory() {
+        return directory;
+    }
+
+    public Stats stats() {
+        return new Stats(
+                log.firstOffset(),
+                log.nextOffset(),
+                log.segmentCount(),
+                relayed.sum(),
+                failures.sum());
+    }
+
+    private void scheduledRelay() {
+        try {
+            while (relayBatch() == BATCH_SIZE) {
+                // A backlog is drained without waiting for the next run
+            }
+        } catch (Exception e) {
+            failures.increment();
+            LOG.error("Failed to relay outbox events, will retry", e);
+        }
+    }
+
+    /** Moves the oldest outbox events to the log, returning how many. */
+    private int relayBatch() throws Exception {
+        userTransaction.begin();
+        try {
+            // Rows locked by a relay on another node are left to it
+            List<OutboxEvent> batch =
+                    entityManager
+                            .createQuery(
+                                    "SELECT o FROM OutboxEvent o ORDER BY o.id", OutboxEvent.class)
+                            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                            .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                            .setMaxResults(BATCH_SIZE)
+                            .getResultList();
+            if (!batch.isEmpty()) {
+                List<byte[]> records = new ArrayList<>(batch.size());
+                List<Long> ids = new ArrayList<>(batch.size());
+                for (OutboxEvent row : batch) {
+                    String record =
+                            "{\"outboxId\":" + row.getId() + ",\"event\":" + row.getPayload() + "}";
+                    records.add(record.getBytes(StandardCharsets.UTF_8));
+                    ids.add(row.getId());
+                }
+                log.append(records);
+                entityManager
+                        .createQuery("DELETE FROM OutboxEvent o WHERE o.id IN :ids")
+                        .setParameter("ids", ids)
+                        .executeUpdate();
+            }
+            userTransaction.commit();
+            relayed.add(batch.size());
+            return batch.size();
+        } catch (Exception e) {
+            try {
+                userTransaction.rollback();
+            } catch (Exception rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw e;
+        }
+    }
+}
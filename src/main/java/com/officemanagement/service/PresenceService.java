@@ -0,0 +1,350 @@
+package com.officemanagement.service;
+
+import com.officemanagement.event.TableChangeEvent;
+import com.officemanagement.model.PresenceEvent;
+import com.officemanagement.model.PresenceEventType;
+import com.officemanagement.util.MpscRingBuffer;
+import com.officemanagement.util.PgOutputDecoder.Change;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.UserTransaction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Ingestion pipeline for badge and desk-sensor presence events.
+ *
+ * <p>Request threads append accepted batches to a lock-free {@link MpscRingBuffer} and update the
+ * live presence counters right away; a background task drains the buffer every {@code
+ * office.presence.flush-millis} (default 100) and inserts the events in JDBC batches of {@code
+ * office.presence.batch-size} (default 1000). A seat counts as present from a check-in until the
+ * next check-out, whatever the device. Counters per room and floor are {@link LongAdder}s, so
+ * concurrent check-ins on the same floor do not contend, and reading them never touches the
+ * database. The seat to room and floor mapping is loaded at startup and looked up for unknown
+ * seats as they appear.
+ *
+ * <p>Events still in the buffer when the server stops are written on shutdown. If the buffer
+ * (size {@code office.presence.capacity}, default 65536) is full, batches are refused rather than
+ * queued without bound. A batch whose insert fails is retried on the next run, at most {@code
+ * office.presence.max-attempts} times (default 50); it is then logged and dropped, so that one bad
+ * batch cannot stall the pipeline.
+ */
+@ApplicationScoped
+public class PresenceService {
+
+    private static final Logger LOG = Logger.getLogger(PresenceService.class);
+
+    private static final int CAPACITY = Integer.getInteger("office.presence.capacity", 65_536);
+    private static final int BATCH_SIZE = Integer.getInteger("office.presence.batch-size", 1000);
+    private static final long FLUSH_MILLIS = Long.getLong("office.presence.flush-millis", 100L);
+    private static final int MAX_ATTEMPTS = Integer.getInteger("office.presence.max-attempts", 50);
+
+    /** Room and floor of a seat; the floor is {@code null} for rooms without one. */
+    public record SeatLocation(Long roomId, Long floorId) {}
+
+    /** Outcome of appending a batch. */
+    public enum Outcome {
+        ACCEPTED,
+        BUFFER_FULL
+    }
+
+    @Inject EntityManager entityManager;
+
+    @Inject UserTransaction userTransaction;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final MpscRingBuffer<PresenceEvent> buffer = new MpscRingBuffer<>(CAPACITY);
+    private final Map<Long, SeatLocation> locations = new ConcurrentHashMap<>();
+    private final Set<Long> presentSeats = ConcurrentHashMap.newKeySet();
+    private final Map<Long, LongAdder> presentByRoom = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> presentByFloor = new ConcurrentHashMap<>();
+    private final Map<Long, Long> floorOfRoom = new ConcurrentHashMap<>();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /** Drained events whose insert failed, retried before anything else; consumer-owned. */
+    private volatile List<PresenceEvent> retry = List.of();
+
+    /** Failed inserts of {@link #retry} so far; consumer-owned. */
+    private int attempts;
+
+    private ScheduledFuture<?> writer;
+
+    @PostConstruct
+    void startWriter() {
+        writer =
+                scheduler.scheduleWithFixedDelay(
+                        this::scheduledWrite, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopWriter() {
+        if (writer != null) {
+            writer.cancel(false);
+        }
+        try {
+            writePending();
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Failed to write %d presence events on shutdown", buffer.size());
+        }
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        loadLocations(null);
+    }
+
+    private void scheduledWrite() {
+        try {
+            writePending();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to write presence events, will retry", e);
+        }
+    }
+
+    /**
+     * Looks up where the given seats are, loading unknown seats from the database.
+     *
+     * @return locations of the seats that exist
+     */
+    public Map<Long, SeatLocation> locate(Collection<Long> seatIds) {
+        Map<Long, SeatLocation> found = new HashMap<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long seatId : seatIds) {
+            SeatLocation location = locations.get(seatId);
+            if (location != null) {
+                found.put(seatId, location);
+            } else {
+                unknown.add(seatId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            loadLocations(unknown);
+            for (Long seatId : unknown) {
+                SeatLocation location = locations.get(seatId);
+                if (location != null) {
+                    found.put(seatId, location);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Forgets the locations of seats moved or deleted outside the application, and of the seats in
+     * rooms moved to another floor; they are loaded again when next located.
+     */
+    void onTableChange(@Observes TableChangeEvent event) {
+        if (event.resync()) {
+            locations.clear();
+            return;
+        }
+        for (Change change : event.changes()) {
+            switch (change.table()) {
+                case TableChangeEvent.SEATS -> {
+                    Long seatId = change.id("id");
+                    if (seatId == null) {
+                        locations.clear(); // Truncated
+                    } else {
+                        locations.remove(seatId);
+                    }
+                }
+                case TableChangeEvent.ROOMS -> {
+                    Long roomId = change.id("id");
+                    locations.values()
+                            .removeIf(
+                                    location ->
+                                            roomId == null || roomId.equals(location.roomId()));
+                }
+                default -> {}
+            }
+        }
+    }
+
+    /** Loads the given seats, or every seat if {@code seatIds} is {@code null}. */
+    private void loadLocations(Collection<Long> seatIds) {
+        String query =
+                "SELECT s.id, r.id, f.id FROM Seat s JOIN s.room r LEFT JOIN r.floor f"
+                        + (seatIds == null ? "" : " WHERE s.id IN :ids");
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query, Object[].class);
+        if (seatIds != null) {
+            typedQuery.setParameter("ids", seatIds);
+        }
+        for (Object[] row : typedQuery.getResultList()) {
+            Long roomId = (Long) row[1];
+            Long floorId = (Long) row[2];
+            locations.put((Long) row[0], new SeatLocation(roomId, floorId));
+            if (floorId != null) {
+                floorOfRoom.put(roomId, floorId);
+            }
+        }
+    }
+
+    /**
+     * Appends the events, all of which must be for seats returned by {@link #locate}, and applies
+     * them to the live counters. Nothing is appended or counted if the buffer has no room for the
+     * whole batch.
+     */
+    public Outcome ingest(List<PresenceEvent> events) {
+        if (!buffer.offerAll(events)) {
+            refused.add(events.size());
+            return Outcome.BUFFER_FULL;
+        }
+        received.add(events.size());
+        for (PresenceEvent event : events) {
+            SeatLocation location = locations.get(event.getSeatId());
+            if (location == null) {
+                continue;
+            }
+            if (event.getType() == PresenceEventType.CHECK_IN) {
+                if (presentSeats.add(event.getSeatId())) {
+                    adjust(location, 1);
+                }
+            } else if (presentSeats.remove(event.getSeatId())) {
+                adjust(location, -1);
+            }
+        }
+        return Outcome.ACCEPTED;
+    }
+
+    private void adjust(SeatLocation location, int delta) {
+        presentByRoom.computeIfAbsent(location.roomId(), id -> new LongAdder()).add(delta);
+        if (location.floorId() != null) {
+            presentByFloor.computeIfAbsent(location.floorId(), id -> new LongAdder()).add(delta);
+        }
+    }
+
+    /** Writes everything buffered so far to the database, in batches. */
+    public synchronized void writePending() {
+        while (true) {
+            List<PresenceEvent> batch = retry;
+            if (batch.isEmpty()) {
+                List<PresenceEvent> drained = new ArrayList<>(BATCH_SIZE);
+                buffer.drain(drained::add, BATCH_SIZE);
+                batch = drained;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            retry = batch;
+            try {
+                insert(batch);
+            } catch (RuntimeException e) {
+                if (++attempts < MAX_ATTEMPTS) {
+                    throw e;
+                }
+                LOG.errorf(
+                        e,
+                        "Dropping %d presence events after %d failed attempts",
+                        batch.size(),
+                        attempts);
+                dropped.add(batch.size());
+                retry = List.of();
+                attempts = 0;
+                continue;
+            }
+            retry = List.of();
+            attempts = 0;
+            persisted.add(batch.size());
+        }
+    }
+
+    private void insert(List<PresenceEvent> batch) {
+        try {
+            userTransaction.begin();
+            entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+            for (PresenceEvent event : batch) {
+                // A failed attempt may have assigned IDs that were never committed
+                event.setId(null);
+                entityManager.persist(event);
+            }
+            userTransaction.commit();
+        } catch (Exception e) {
+            try {
+                userTransaction.rollback();
+            } catch (Exception rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw new IllegalStateException(
+                    "Failed to insert " + batch.size() + " presence events", e);
+        }
+    }
+
+    /** Seats currently checked in. */
+    public long presentTotal() {
+        return presentSeats.size();
+    }
+
+    /** Live number of checked-in seats per room. */
+    public Map<Long, Long> presentByRoom() {
+        return sums(presentByRoom);
+    }
+
+    /** Live number of checked-in seats per floor. */
+    public Map<Long, Long> presentByFloor() {
+        return sums(presentByFloor);
+    }
+
+    /** Floor of each room seen so far. */
+    public Map<Long, Long> floorOfRoom() {
+        return Map.copyOf(floorOfRoom);
+    }
+
+    private static Map<Long, Long> sums(Map<Long, LongAdder> adders) {
+        Map<Long, Long> sums = new HashMap<>();
+        adders.forEach((id, adder) -> sums.put(id, adder.sum()));
+        return sums;
+    }
+
+    /**
+     * Pipeline counters: events received, written, refused, dropped after failed inserts, and
+     * waiting in the buffer.
+     */
+    public Map<String, Long> pipelineStats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("received", received.sum());
+        stats.put("persisted", persisted.sum());
+        stats.put("refused", refused.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("pending", (long) buffer.size() + retry.size());
+        stats.put("capacity", (long) buffer.capacity());
+        return stats;
+    }
+
+    /** Drops buffered events, live counters and cached seat locations. */
+    public synchronized void clear() {
+        buffer.drain(event -> {}, Integer.MAX_VALUE);
+        retry = List.of();
+        attempts = 0;
+        locations.clear();
+        floorOfRoom.clear();
+        presentSeats.clear();
+        presentByRoom.clear();
+        presentByFloor.clear();
+        received.reset();
+        persisted.reset();
+        refused.reset();
+        dropped.reset();
+    }
+}
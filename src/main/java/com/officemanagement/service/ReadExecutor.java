@@ -0,0 +1,153 @@
+package com.officemanagement.service;
+
+import com.officemanagement.util.Cancellation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ContextService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Status;
+import jakarta.transaction.UserTransaction;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs read endpoints on virtual threads instead of HTTP worker threads.
+ *
+ * <p>A worker thread is returned to the pool as soon as the endpoint has handed its work over, so
+ * requests waiting on the database no longer exhaust the pool. Each task runs on a new virtual
+ * thread, wrapped by the {@link ContextService} so that it sees the application's naming context,
+ * class loader and security identity. A JTA transaction cannot move between threads, so each task
+ * runs in a transaction of its own, begun on the virtual thread and rolled back when the task is
+ * done; reads need no commit. With {@code office.async-reads=false} the work runs on the calling
+ * thread instead, to compare the two modes under load.
+ *
+ * <p>Reads observe the request's deadline (see {@link RequestDeadline}): their queries get the
+ * remaining time as timeout, and a read still running at the deadline, or when the request is
+ * cancelled because the client went away, has its JDBC statement cancelled and is answered with
+ * 503.
+ */
+@ApplicationScoped
+public class ReadExecutor {
+
+    private static final Logger LOG = Logger.getLogger(ReadExecutor.class);
+
+    private static final boolean ASYNC =
+            Boolean.parseBoolean(System.getProperty("office.async-reads", "true"));
+
+    private static final String QUERY_TIMEOUT = "jakarta.persistence.query.timeout";
+
+    /** Stands in for the response of a read the deadline overtook; compared by identity. */
+    private static final Response TIMED_OUT =
+            Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+
+    @Resource ContextService contextService;
+
+    @Inject UserTransaction userTransaction;
+
+    @Inject EntityManager entityManager;
+
+    @Inject RequestDeadline requestDeadline;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void startExecutor() {
+        executor =
+                Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("office-read-", 0).factory());
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    /** Runs the read in a transaction of its own, on a virtual thread unless async is off. */
+    public CompletionStage<Response> supply(Supplier<Response> read) {
+        // Taken on the request thread, the request scope does not reach the read's thread
+        Cancellation cancellation = requestDeadline.get();
+        Supplier<Response> task = () -> inTransaction(read, cancellation);
+        if (!ASYNC) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<Response> result =
+                CompletableFuture.supplyAsync(contextService.contextualSupplier(task), executor);
+        if (cancellation == null) {
+            return result;
+        }
+        return result.completeOnTimeout(
+                        TIMED_OUT,
+                        Math.max(0, cancellation.remainingMillis()),
+                        TimeUnit.MILLISECONDS)
+                .thenApply(
+                        response -> {
+                            if (response != TIMED_OUT) {
+                                return response;
+                            }
+                            cancellation.cancel("Deadline exceeded");
+                            return deadlineExceeded();
+                        });
+    }
+
+    private Response inTransaction(Supplier<Response> read, Cancellation cancellation) {
+        try {
+            userTransaction.begin();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to begin read transaction", e);
+        }
+        Cancellation.Registration registration = null;
+        try {
+            if (cancellation != null) {
+                if (cancellation.isOver()) {
+                    return deadlineExceeded();
+                }
+                // Zero would mean no timeout at all
+                entityManager.setProperty(
+                        QUERY_TIMEOUT, Math.max(1, cancellation.remainingMillis()));
+                // Unwrapped here: the proxy would resolve the canceller's transaction instead
+                Session session = entityManager.unwrap(Session.class);
+                registration = cancellation.onCancel(session::cancelQuery);
+            }
+            return read.get();
+        } catch (PersistenceException e) {
+            if (cancellation != null && cancellation.isOver()) {
+                String reason = cancellation.reason();
+                LOG.debugf("Read stopped: %s", reason == null ? "Deadline exceeded" : reason);
+                return deadlineExceeded();
+            }
+            throw e;
+        } finally {
+            if (registration != null) {
+                registration.close();
+            }
+            try {
+                if (userTransaction.getStatus() != Status.STATUS_NO_TRANSACTION) {
+                    userTransaction.rollback();
+                }
+            } catch (Exception e) {
+                LOG.warn("Failed to end read transaction", e);
+            }
+        }
+    }
+
+    private static Response deadlineExceeded() {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity("Request deadline exceeded")
+                .build();
+    }
+}
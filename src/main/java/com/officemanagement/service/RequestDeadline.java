@@ -0,0 +1,26 @@
+package com.officemanagement.service;
+
+import com.officemanagement.util.Cancellation;
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * The {@link Cancellation} of the current request, set by the deadline filter.
+ *
+ * <p>Work that outlives the request thread, such as reads running on virtual threads, must take
+ * the {@link Cancellation} itself along rather than this bean, which is only reachable while the
+ * request thread is active.
+ */
+@RequestScoped
+public class RequestDeadline {
+
+    private Cancellation cancellation;
+
+    /** Returns the cancellation of the current request, or {@code null} if it has no deadline. */
+    public Cancellation get() {
+        return cancellation;
+    }
+
+    public void set(Cancellation cancellation) {
+        this.cancellation = cancellation;
+    }
+}
@@ -0,0 +1,186 @@
+package com.officemanagement.service;
+
+import com.officemanagement.model.ReservationSlot;
+import com.officemanagement.model.Seat;
+import com.officemanagement.util.SlotCalendar;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * In-memory availability index for seat reservations.
+ *
+ * <p>The index is rebuilt from {@code seat_reservations} at startup and kept in step with the
+ * database by the booking and cancellation paths: bookings claim their slots before the row is
+ * inserted and give them back if the transaction rolls back, cancellations free their slots only
+ * once the delete has committed.
+ *
+ * <p>The index only sees this node's bookings and cancellations, so every booking is confirmed
+ * against the database under a lock on the seat row, which serializes bookings of the same seat
+ * across nodes, and the slot is corrected from what the database says: a slot booked on another
+ * node is still refused, a slot cancelled on another node can be booked again. Days in the past are
+ * dropped from memory every hour.
+ */
+@ApplicationScoped
+public class ReservationIndex {
+
+    private static final Logger LOG = Logger.getLogger(ReservationIndex.class);
+
+    @Inject EntityManager entityManager;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    private static final long PRUNE_HOURS = 1;
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    private final SlotCalendar calendar = new SlotCalendar();
+
+    private ScheduledFuture<?> pruner;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        rebuild();
+    }
+
+    @PostConstruct
+    void startPruner() {
+        pruner =
+                scheduler.scheduleAtFixedRate(
+                        this::prune, PRUNE_HOURS, PRUNE_HOURS, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stopPruner() {
+        if (pruner != null) {
+            pruner.cancel(false);
+        }
+    }
+
+    /** Drops the days before today, which can no longer be booked. */
+    public void prune() {
+        int pruned = calendar.pruneBefore(LocalDate.now());
+        if (pruned > 0) {
+            LOG.debugf("Dropped %d past days from the reservation index", pruned);
+        }
+    }
+
+    /** Reloads the index with every reservation from today onwards. */
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows =
+                entityManager
+                        .createQuery(
+                                "SELECT r.seat.id, r.reservationDate, r.slot "
+                                        + "FROM SeatReservation r "
+                                        + "WHERE r.reservationDate >= :today",
+                                Object[].class)
+                        .setParameter("today", today)
+                        .getResultList();
+
+        calendar.clear();
+        for (Object[] row : rows) {
+            calendar.book((Long) row[0], (LocalDate) row[1], ((ReservationSlot) row[2]).getMask());
+        }
+        LOG.infof("Loaded %d upcoming seat reservations", rows.size());
+    }
+
+    /**
+     * Claims the slot for the seat within the current transaction. The seat row stays locked until
+     * the transaction ends.
+     *
+     * @return {@code false} if the seat is already booked for any part of the slot
+     */
+    public boolean reserve(Long seatId, LocalDate date, ReservationSlot slot) {
+        // A slot taken here may have been cancelled on another node, so it is checked all the same
+        boolean claimed = calendar.tryBook(seatId, date, slot.getMask());
+        // Bookings made by other nodes are only in the database
+        entityManager.find(Seat.class, seatId, LockModeType.PESSIMISTIC_WRITE);
+        long taken =
+                entityManager
+                        .createQuery(
+                                "SELECT COUNT(r) FROM SeatReservation r "
+                                        + "WHERE r.seat.id = :seatId "
+                                        + "AND r.reservationDate = :date "
+                                        + "AND r.slot IN :slots",
+                                Long.class)
+                        .setParameter("seatId", seatId)
+                        .setParameter("date", date)
+                        .setParameter("slots", slot.overlapping())
+                        .getSingleResult();
+        if (taken > 0) {
+            if (claimed) {
+                calendar.release(seatId, date, slot.getMask());
+            }
+            return false;
+        }
+        if (!claimed) {
+            LOG.debugf("Seat %d was booked for %s %s only in the index", seatId, date, slot);
+            calendar.book(seatId, date, slot.getMask());
+        }
+        transactionRegistry.registerInterposedSynchronization(
+                afterCompletion(
+                        status -> {
+                            if (status == Status.STATUS_COMMITTED) {
+                                // A rolled back booking may have freed the slot after our check
+                                calendar.book(seatId, date, slot.getMask());
+                            } else {
+                                calendar.release(seatId, date, slot.getMask());
+                            }
+                        }));
+        return true;
+    }
+
+    /** Frees the slot for the seat once the current transaction commits. */
+    public void cancel(Long seatId, LocalDate date, ReservationSlot slot) {
+        transactionRegistry.registerInterposedSynchronization(
+                afterCompletion(
+                        status -> {
+                            if (status == Status.STATUS_COMMITTED) {
+                                calendar.release(seatId, date, slot.getMask());
+                            }
+                        }));
+    }
+
+    /** Returns whether the whole slot is free for the seat. */
+    public boolean isFree(Long seatId, LocalDate date, ReservationSlot slot) {
+        return calendar.isFree(seatId, date, slot.getMask());
+    }
+
+    /** Filters the given seats down to those free for the whole slot. */
+    public long[] freeSeats(long[] seatIds, LocalDate date, ReservationSlot slot) {
+        return calendar.freeSeats(seatIds, date, slot.getMask());
+    }
+
+    private interface CompletionCallback {
+        void afterCompletion(int status);
+    }
+
+    private static Synchronization afterCompletion(CompletionCallback callback) {
+        return new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before completion
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                callback.afterCompletion(status);
+            }
+        };
+    }
+}
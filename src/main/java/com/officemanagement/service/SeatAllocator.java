@@ -0,0 +1,208 @@
+package com.officemanagement.service;
+
+import com.officemanagement.model.Employee;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.jboss.logging.Logger;
+
+/**
+ * Claims free seats on a floor for concurrent "any free seat" requests.
+ *
+ * <p>On PostgreSQL the candidate seat row is locked with {@code FOR UPDATE SKIP LOCKED}, so
+ * concurrent callers step over each other's rows instead of queueing on the same seat. Databases
+ * without {@code SKIP LOCKED} (H2 in tests and local runs) use an in-memory claim set that is
+ * released when the claiming transaction completes. In both cases the claimed seat is re-checked
+ * in a fresh statement before the assignment row is inserted, because the candidate query may have
+ * been evaluated against a snapshot taken before a competing allocation committed. Seats with an
+ * active {@link SeatHoldService hold} are skipped.
+ *
+ * <p>Must be called inside an active JTA transaction.
+ */
+@ApplicationScoped
+public class SeatAllocator {
+
+    private static final Logger LOG = Logger.getLogger(SeatAllocator.class);
+
+    private static final String FREE_SEAT_CONDITION =
+            "r.floor_id = :floorId "
+                    + "AND s.id > :afterId "
+                    + "AND NOT EXISTS "
+                    + "(SELECT 1 FROM employee_seat_assignments a WHERE a.seat_id = s.id) ";
+
+    private static final String NEXT_FREE_SEAT_SKIP_LOCKED =
+            "SELECT s.id FROM seats s JOIN office_rooms r ON r.id = s.room_id "
+                    + "WHERE "
+                    + FREE_SEAT_CONDITION
+                    + "ORDER BY s.id LIMIT 1 "
+                    + "FOR UPDATE OF s SKIP LOCKED";
+
+    private static final String FREE_SEATS =
+            "SELECT s.id FROM seats s JOIN office_rooms r ON r.id = s.room_id "
+                    + "WHERE "
+                    + FREE_SEAT_CONDITION
+                    + "ORDER BY s.id";
+
+    @Inject EntityManager entityManager;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject SeatHoldService seatHolds;
+
+    /** Seat ids claimed by in-flight transactions when SKIP LOCKED is not available. */
+    private final Set<Long> claimedSeats = ConcurrentHashMap.newKeySet();
+
+    private volatile Boolean skipLockedSupported;
+
+    /**
+     * Finds the seat the employee already occupies on the floor, if any. The employee row stays
+     * locked until the transaction ends, so that concurrent allocations for the same employee run
+     * one after the other and a duplicate finds the seat the first one allocated.
+     *
+     * @return the seat id, or {@code null} if the employee has no seat on this floor
+     */
+    public Long findAssignedSeat(Long floorId, Long employeeId) {
+        entityManager.find(Employee.class, employeeId, LockModeType.PESSIMISTIC_WRITE);
+        List<?> rows =
+                entityManager
+                        .createNativeQuery(
+                                "SELECT s.id FROM employee_seat_assignments a "
+                                        + "JOIN seats s ON s.id = a.seat_id "
+                                        + "JOIN office_rooms r ON r.id = s.room_id "
+                                        + "WHERE a.employee_id = :employeeId AND r.floor_id = :floorId "
+                                        + "ORDER BY s.id")
+                        .setParameter("employeeId", employeeId)
+                        .setParameter("floorId", floorId)
+                        .setMaxResults(1)
+                        .getResultList();
+        return rows.isEmpty() ? null : ((Number) rows.get(0)).longValue();
+    }
+
+    /**
+     * Claims a free seat on the floor and assigns it to the employee within the current
+     * transaction.
+     *
+     * @return the allocated seat id, or {@code null} if the floor has no free seat left
+     */
+    public Long allocate(Long floorId, Long employeeId) {
+        Long seatId = isSkipLockedSupported() ? claimLocked(floorId) : claimInMemory(floorId);
+        if (seatId == null) {
+            return null;
+        }
+
+        entityManager
+                .createNativeQuery(
+                        "INSERT INTO employee_seat_assignments (employee_id, seat_id) "
+                                + "VALUES (:employeeId, :seatId)")
+                .unwrap(NativeQuery.class)
+                // Without it Hibernate cannot tell what the statement touches and evicts every
+                // second-level cache region
+                .addSynchronizedQuerySpace("employee_seat_assignments")
+                .setParameter("employeeId", employeeId)
+                .setParameter("seatId", seatId)
+                .executeUpdate();
+        return seatId;
+    }
+
+    private Long claimLocked(Long floorId) {
+        long afterId = 0L;
+        while (true) {
+            List<?> rows =
+                    entityManager
+                            .createNativeQuery(NEXT_FREE_SEAT_SKIP_LOCKED)
+                            .setParameter("floorId", floorId)
+                            .setParameter("afterId", afterId)
+                            .getResultList();
+            if (rows.isEmpty()) {
+                return null;
+            }
+            long seatId = ((Number) rows.get(0)).longValue();
+            if (!seatHolds.isHeld(seatId) && isStillFree(seatId)) {
+                return seatId;
+            }
+            // Held, or taken by a transaction that committed after our snapshot; the row lock we
+            // now hold is harmless and released with the transaction.
+            afterId = seatId;
+        }
+    }
+
+    private Long claimInMemory(Long floorId) {
+        List<?> rows =
+                entityManager
+                        .createNativeQuery(FREE_SEATS)
+                        .setParameter("floorId", floorId)
+                        .setParameter("afterId", 0L)
+                        .getResultList();
+        for (Object row : rows) {
+            Long seatId = ((Number) row).longValue();
+            if (seatHolds.isHeld(seatId) || !claimedSeats.add(seatId)) {
+                continue;
+            }
+            transactionRegistry.registerInterposedSynchronization(releaseOnCompletion(seatId));
+            if (isStillFree(seatId)) {
+                return seatId;
+            }
+        }
+        return null;
+    }
+
+    private boolean isStillFree(long seatId) {
+        Number assignments =
+                (Number)
+                        entityManager
+                                .createNativeQuery(
+                                        "SELECT COUNT(*) FROM employee_seat_assignments "
+                                                + "WHERE seat_id = :seatId")
+                                .setParameter("seatId", seatId)
+                                .getSingleResult();
+        return assignments.longValue() == 0;
+    }
+
+    private Synchronization releaseOnCompletion(Long seatId) {
+        return new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before completion
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                claimedSeats.remove(seatId);
+                if (status != Status.STATUS_COMMITTED) {
+                    LOG.debugf("Released seat %d claim after rollback", seatId);
+                }
+            }
+        };
+    }
+
+    private boolean isSkipLockedSupported() {
+        Boolean supported = skipLockedSupported;
+        if (supported == null) {
+            supported =
+                    entityManager
+                            .unwrap(Session.class)
+                            .doReturningWork(
+                                    connection ->
+                                            "PostgreSQL"
+                                                    .equals(
+                                                            connection
+                                                                    .getMetaData()
+                                                                    .getDatabaseProductName()));
+            skipLockedSupported = supported;
+            LOG.infof(
+                    "Seat allocation uses %s",
+                    supported ? "FOR UPDATE SKIP LOCKED" : "in-memory seat claims");
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,169 @@
+package com.officemanagement.service;
+
+import com.officemanagement.util.HashedTimingWheel;
+import com.officemanagement.util.HashedTimingWheel.Timeout;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * In-memory table of tentative seat holds.
+ *
+ * <p>A seat has at most one hold. Whether a seat is held is decided by comparing the hold's expiry
+ * with the current time, so a hold stops counting the instant it expires. A {@link
+ * HashedTimingWheel} ticking once per {@code office.holds.tick-millis} (default 1000) then removes
+ * expired holds from the table, which keeps creating and expiring a hold O(1) no matter how many
+ * are outstanding. Releasing a hold cancels its timeout, so released holds do not linger in the
+ * wheel.
+ */
+@ApplicationScoped
+public class SeatHoldService {
+
+    private static final Logger LOG = Logger.getLogger(SeatHoldService.class);
+
+    private static final long TICK_MILLIS = Long.getLong("office.holds.tick-millis", 1000L);
+    private static final int WHEEL_SIZE = 512;
+
+    /** A tentative hold of a seat by an employee. */
+    public record SeatHold(String holdId, Long seatId, Long employeeId, long expiresAtMillis) {
+        public boolean isActive(long nowMillis) {
+            return expiresAtMillis > nowMillis;
+        }
+    }
+
+    @Resource ManagedScheduledExecutorService scheduler;
+
+    @Resource TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ConcurrentHashMap<Long, SeatHold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<SeatHold> wheel =
+            new HashedTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    private ScheduledFuture<?> ticker;
+
+    @PostConstruct
+    void startTicker() {
+        ticker =
+                scheduler.scheduleAtFixedRate(
+                        this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+    }
+
+    private void tick() {
+        try {
+            wheel.advance(System.currentTimeMillis(), this::expire);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to expire seat holds", e);
+        }
+    }
+
+    private void expire(SeatHold hold) {
+        timeouts.remove(hold.holdId());
+        if (holds.remove(hold.seatId(), hold)) {
+            LOG.debugf("Hold %s on seat %d expired", hold.holdId(), hold.seatId());
+        }
+    }
+
+    /**
+     * Places a hold on the seat for the employee, unless another employee already holds it. If the
+     * same employee already holds the seat, the existing hold is returned unchanged.
+     *
+     * @return the employee's active hold, or {@code null} if someone else holds the seat
+     */
+    public SeatHold hold(Long seatId, Long employeeId, long durationMillis) {
+        long now = System.currentTimeMillis();
+        SeatHold candidate =
+                new SeatHold(
+                        UUID.randomUUID().toString(), seatId, employeeId, now + durationMillis);
+        SeatHold current =
+                holds.compute(
+                        seatId,
+                        (id, existing) ->
+                                existing != null && existing.isActive(now) ? existing : candidate);
+        if (current == candidate) {
+            timeouts.put(
+                    candidate.holdId(), wheel.schedule(candidate, candidate.expiresAtMillis()));
+            return candidate;
+        }
+        return current.employeeId().equals(employeeId) ? current : null;
+    }
+
+    /** Returns the active hold on the seat, or {@code null} if the seat is not held. */
+    public SeatHold getHold(Long seatId) {
+        SeatHold hold = holds.get(seatId);
+        return hold != null && hold.isActive(System.currentTimeMillis()) ? hold : null;
+    }
+
+    /** Returns whether the seat is currently held. */
+    public boolean isHeld(Long seatId) {
+        return getHold(seatId) != null;
+    }
+
+    /**
+     * Removes the hold if it is still active and matches the given id, and cancels its timeout.
+     *
+     * @return the removed hold, or {@code null} if there was no such active hold
+     */
+    public SeatHold release(Long seatId, String holdId) {
+        SeatHold hold = getHold(seatId);
+        if (hold == null || !hold.holdId().equals(holdId) || !holds.remove(seatId, hold)) {
+            return null;
+        }
+        Timeout timeout = timeouts.remove(holdId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return hold;
+    }
+
+    /**
+     * Releases the hold once the current transaction commits, so that the seat stays held while
+     * the assignment confirming it is in flight. After a rollback the hold is kept until it
+     * expires.
+     */
+    public void releaseOnCommit(Long seatId, String holdId) {
+        transactionRegistry.registerInterposedSynchronization(
+                new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                        // Nothing to do before completion
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == Status.STATUS_COMMITTED) {
+                            release(seatId, holdId);
+                        }
+                    }
+                });
+    }
+
+    /** Returns the number of hold timeouts still pending in the wheel. */
+    public int pendingTimeouts() {
+        return wheel.pendingTimeouts();
+    }
+
+    /** Drops every hold and cancels their timeouts. */
+    public void clear() {
+        holds.clear();
+        timeouts.values().forEach(Timeout::cancel);
+        timeouts.clear();
+    }
+}
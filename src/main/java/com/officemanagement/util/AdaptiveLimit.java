@@ -0,0 +1,94 @@
+package com.officemanagement.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured latency (additive increase, multiplicative decrease).
+ *
+ * <p>A request may start while fewer than {@link #limit()} requests are in flight; otherwise it is
+ * rejected straight away rather than queued. Every request that finished within the target latency
+ * raises the limit by {@code 1 / limit}, so roughly by one per limit's worth of fast requests,
+ * as long as at least half of the limit was in use. A request that was slower than the target or
+ * failed multiplies the limit by {@code backoff}. The limit stays between {@code minLimit} and
+ * {@code maxLimit}. While the database is healthy the limit climbs to what the load needs; once
+ * latency rises it drops quickly, and the excess requests fail fast instead of piling up on the
+ * connection pool.
+ */
+public class AdaptiveLimit {
+
+    /** Current limit, requests in flight and requests rejected since creation. */
+    public record Snapshot(int limit, int inFlight, long rejected) {}
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final double backoff;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Written under the monitor, read without it
+    private volatile double limit;
+
+    /**
+     * @param initialLimit limit to start with
+     * @param targetNanos latency above which a request counts as slow
+     * @param backoff factor applied to the limit after a slow or failed request, below 1
+     */
+    public AdaptiveLimit(
+            int initialLimit, int minLimit, int maxLimit, long targetNanos, double backoff) {
+        if (minLimit < 1
+                || maxLimit < minLimit
+                || initialLimit < minLimit
+                || initialLimit > maxLimit
+                || targetNanos <= 0
+                || backoff <= 0
+                || backoff >= 1) {
+            throw new IllegalArgumentException("Invalid adaptive limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.backoff = backoff;
+        this.limit = initialLimit;
+    }
+
+    /** Starts a request if the limit allows it; a started request must be {@link #release}d. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends a started request and adapts the limit to how it went.
+     *
+     * @param latencyNanos how long the request took
+     * @param failed whether the request failed in a way that suggests overload
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int wasInFlight = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > targetNanos) {
+                limit = Math.max(minLimit, limit * backoff);
+            } else if (wasInFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot((int) limit, inFlight.get(), rejected.sum());
+    }
+}
@@ -0,0 +1,93 @@
+package com.officemanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.jboss.logging.Logger;
+
+/**
+ * Deadline of a request, and a way to stop the work done for it early.
+ *
+ * <p>Work in progress registers what to do to stop it, e.g. cancel the running JDBC statement.
+ * {@link #cancel} runs those actions once, on the thread that cancels, and actions registered
+ * afterwards run at once. Whoever notices that the request is no longer worth finishing cancels
+ * it: the deadline passing, or the client going away.
+ */
+public final class Cancellation {
+
+    /** Undoes an {@link #onCancel} registration once the work has finished. */
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Logger LOG = Logger.getLogger(Cancellation.class);
+
+    private final long deadlineNanos;
+    private final LongSupplier nanoClock;
+    private final List<Runnable> actions = new ArrayList<>();
+    private String reason;
+
+    /**
+     * @param timeoutMillis time from now until the deadline
+     * @param nanoClock source of the current time in nanoseconds, like {@link System#nanoTime}
+     */
+    public Cancellation(long timeoutMillis, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.deadlineNanos = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /** Milliseconds left until the deadline, zero or less once it has passed. */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - nanoClock.getAsLong());
+    }
+
+    /** Whether the deadline has passed or the work was cancelled. */
+    public synchronized boolean isOver() {
+        return reason != null || deadlineNanos - nanoClock.getAsLong() <= 0;
+    }
+
+    /** Why the work was cancelled, or {@code null} if it was not. */
+    public synchronized String reason() {
+        return reason;
+    }
+
+    /** Runs the action when the work is cancelled, or at once if it already was. */
+    public Registration onCancel(Runnable action) {
+        synchronized (this) {
+            if (reason == null) {
+                actions.add(action);
+                return () -> {
+                    synchronized (Cancellation.this) {
+                        actions.remove(action);
+                    }
+                };
+            }
+        }
+        run(action);
+        return () -> {};
+    }
+
+    /** Cancels the work; only the first call has an effect. */
+    public void cancel(String why) {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (reason != null) {
+                return;
+            }
+            reason = why;
+            toRun = new ArrayList<>(actions);
+            actions.clear();
+        }
+        toRun.forEach(Cancellation::run);
+    }
+
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            LOG.warn("Cancellation action failed", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.officemanagement.util;
+
+import com.officemanagement.service.RequestDeadline;
+import jakarta.inject.Inject;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import java.io.IOException;
+
+/**
+ * Cancels the work of an asynchronous request when its client disconnects.
+ *
+ * <p>Reads complete asynchronously, so the servlet returns before their queries have finished.
+ * The container reports a connection that breaks in the meantime as an error of the async
+ * context; the request's {@link Cancellation} is then cancelled, which stops the running JDBC
+ * statement instead of finishing a response nobody will read.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class ClientDisconnectFilter implements Filter {
+
+    @Inject RequestDeadline requestDeadline;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        chain.doFilter(request, response);
+
+        if (!request.isAsyncStarted()) {
+            return;
+        }
+        // Taken while the request scope is still active on this thread
+        Cancellation cancellation = requestDeadline.get();
+        if (cancellation == null) {
+            return;
+        }
+        try {
+            request.getAsyncContext()
+                    .addListener(
+                            new AsyncListener() {
+                                @Override
+                                public void onComplete(AsyncEvent event) {}
+
+                                @Override
+                                public void onTimeout(AsyncEvent event) {
+                                    cancellation.cancel("Request timed out");
+                                }
+
+                                @Override
+                                public void onError(AsyncEvent event) {
+                                    cancellation.cancel("Client disconnected");
+                                }
+
+                                @Override
+                                public void onStartAsync(AsyncEvent event) {}
+                            });
+        } catch (IllegalStateException e) {
+            // The response was already completed, nothing left to cancel
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.officemanagement.util;
+
+import com.officemanagement.util.SingleFlight.Call;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import org.jboss.logging.Logger;
+
+/**
+ * Lets concurrent identical GET requests to {@link Coalesced} endpoints share one response.
+ *
+ * <p>Requests are identical when they have the same URI and the same {@code Accept}, {@code
+ * Accept-Encoding}, {@code Accept-Language} and {@code If-None-Match} headers. The first one
+ * executes normally; identical requests arriving while it runs wait for it and are answered with
+ * its status, content type, entity tag and serialized body, marked with {@code Coalesced: true},
+ * without reaching the resource. Nothing is kept once the response has been written, so later
+ * requests always execute again. Server errors are not shared; the waiting requests then execute
+ * on their own, as do requests that waited longer than {@code office.coalescing.wait-millis}
+ * (default 5000).
+ *
+ * <p>Waiting requests hold their HTTP worker thread, which is cheap next to the database work they
+ * save but bounds how long the wait may be.
+ */
+@Provider
+@Coalesced
+@ApplicationScoped
+public class CoalescingFilter
+        implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    public static final String COALESCED_HEADER = "Coalesced";
+
+    private static final Logger LOG = Logger.getLogger(CoalescingFilter.class);
+
+    private static final String CALL_PROPERTY = CoalescingFilter.class.getName() + ".call";
+    private static final String RESPONSE_PROPERTY = CoalescingFilter.class.getName() + ".response";
+
+    /** A response as it was sent to the request that executed. */
+    record SharedResponse(int status, String contentType, String entityTag, byte[] body) {
+        SharedResponse withBody(byte[] newBody) {
+            return new SharedResponse(status, contentType, entityTag, newBody);
+        }
+    }
+
+    private final SingleFlight<String, SharedResponse> flights =
+            new SingleFlight<>(
+                    Long.getLong("office.coalescing.wait-millis", 5_000L),
+                    System::currentTimeMillis);
+
+    /** Counts of executed, shared and bypassed requests since startup. */
+    public SingleFlight.Stats stats() {
+        return flights.stats();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+        if (!"GET".equals(request.getMethod())) {
+            return;
+        }
+
+        Call<String, SharedResponse> call;
+        try {
+            call = flights.join(key(request));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+            return;
+        }
+
+        switch (call.outcome()) {
+            case LEAD -> request.setProperty(CALL_PROPERTY, call);
+            case SHARE -> request.abortWith(share(call.result()));
+            case BYPASS ->
+                    LOG.debugf(
+                            "No response to share for %s, executing",
+                            request.getUriInfo().getPath());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Call<String, SharedResponse> call =
+                (Call<String, SharedResponse>) request.getProperty(CALL_PROPERTY);
+        if (call == null) {
+            return;
+        }
+        if (response.getStatus() >= 500) {
+            request.removeProperty(CALL_PROPERTY);
+            flights.abandon(call);
+            return;
+        }
+
+        MediaType mediaType = response.getMediaType();
+        SharedResponse shared =
+                new SharedResponse(
+                        response.getStatus(),
+                        mediaType == null ? null : mediaType.toString(),
+                        response.getHeaderString(HttpHeaders.ETAG),
+                        new byte[0]);
+        if (response.hasEntity()) {
+            // The body is captured once it has been serialized, see aroundWriteTo
+            request.setProperty(RESPONSE_PROPERTY, shared);
+        } else {
+            request.removeProperty(CALL_PROPERTY);
+            flights.complete(call, shared);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Call<String, SharedResponse> call =
+                (Call<String, SharedResponse>) context.getProperty(CALL_PROPERTY);
+        SharedResponse shared = (SharedResponse) context.getProperty(RESPONSE_PROPERTY);
+        if (call == null || shared == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(CALL_PROPERTY);
+
+        OutputStream original = context.getOutputStream();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        context.setOutputStream(buffer);
+        try {
+            context.proceed();
+        } catch (IOException | RuntimeException e) {
+            flights.abandon(call);
+            throw e;
+        } finally {
+            context.setOutputStream(original);
+        }
+
+        byte[] body = buffer.toByteArray();
+        flights.complete(call, shared.withBody(body));
+        original.write(body);
+    }
+
+    private static Response share(SharedResponse shared) {
+        Response.ResponseBuilder builder =
+                Response.status(shared.status()).header(COALESCED_HEADER, "true");
+        if (shared.body().length > 0) {
+            builder.entity(shared.body());
+        }
+        if (shared.contentType() != null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, shared.contentType());
+        }
+        if (shared.entityTag() != null) {
+            builder.header(HttpHeaders.ETAG, shared.entityTag());
+        }
+        return builder.build();
+    }
+
+    private static String key(ContainerRequestContext request) {
+        URI uri = request.getUriInfo().getRequestUri();
+        String target =
+                uri.getRawQuery() == null
+                        ? uri.getRawPath()
+                        : uri.getRawPath() + "?" + uri.getRawQuery();
+        return request.getMethod()
+                + " "
+                + target
+                + "\n"
+                + request.getHeaderString(HttpHeaders.ACCEPT)
+                + "\n"
+                + request.getHeaderString(HttpHeaders.ACCEPT_ENCODING)
+                + "\n"
+                + request.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE)
+                + "\n"
+                + request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    }
+}
@@ -0,0 +1,131 @@
+package com.officemanagement.util;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Sheds load when the database slows down, instead of letting requests queue for connections.
+ *
+ * <p>Requests are split into reads (GET and HEAD), writes (everything else) and {@link Heavy}
+ * endpoints, and each group has its own {@link AdaptiveLimit} on the number of requests in flight.
+ * A request over its group's limit fails at once with 503 and {@code Retry-After}. Responses slower
+ * than the group's target latency, and server errors, lower the limit; fast responses raise it
+ * again. Each group is configured with {@code office.limits.<group>.max} and {@code
+ * office.limits.<group>.target-millis}, where the group is {@code read}, {@code write} or {@code
+ * heavy}; the limit starts at a quarter of the maximum.
+ *
+ * <p>The filter runs after idempotency replays and request coalescing, so requests answered by
+ * those never count against a limit.
+ */
+@Provider
+@Priority(Priorities.USER + 100)
+@ApplicationScoped
+public class ConcurrencyLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /** Endpoint groups with separate limits. */
+    public enum Group {
+        READ(256, 500),
+        WRITE(64, 1_000),
+        HEAVY(16, 2_000);
+
+        private final int defaultMax;
+        private final long defaultTargetMillis;
+
+        Group(int defaultMax, long defaultTargetMillis) {
+            this.defaultMax = defaultMax;
+            this.defaultTargetMillis = defaultTargetMillis;
+        }
+    }
+
+    private static final Logger LOG = Logger.getLogger(ConcurrencyLimitFilter.class);
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final double BACKOFF = 0.9;
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String PERMIT_PROPERTY =
+            ConcurrencyLimitFilter.class.getName() + ".permit";
+
+    private record Permit(AdaptiveLimit limit, long startNanos) {}
+
+    private final Map<Group, AdaptiveLimit> limits = new EnumMap<>(Group.class);
+
+    @Context ResourceInfo resourceInfo;
+
+    public ConcurrencyLimitFilter() {
+        for (Group group : Group.values()) {
+            String prefix = "office.limits." + group.name().toLowerCase() + ".";
+            int max = Integer.getInteger(prefix + "max", group.defaultMax);
+            long targetMillis = Long.getLong(prefix + "target-millis", group.defaultTargetMillis);
+            limits.put(
+                    group,
+                    new AdaptiveLimit(
+                            Math.max(1, max / 4),
+                            1,
+                            max,
+                            TimeUnit.MILLISECONDS.toNanos(targetMillis),
+                            BACKOFF));
+        }
+    }
+
+    /** Current limit, requests in flight and rejections per group. */
+    public Map<Group, AdaptiveLimit.Snapshot> snapshot() {
+        Map<Group, AdaptiveLimit.Snapshot> snapshot = new EnumMap<>(Group.class);
+        limits.forEach((group, limit) -> snapshot.put(group, limit.snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        Group group = group(request);
+        AdaptiveLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            LOG.debugf(
+                    "Shedding %s %s, %s limit %d reached",
+                    request.getMethod(), request.getUriInfo().getPath(), group, limit.limit());
+            request.abortWith(
+                    Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                            .entity("Server is busy, retry later")
+                            .build());
+            return;
+        }
+        request.setProperty(PERMIT_PROPERTY, new Permit(limit, System.nanoTime()));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Permit permit = (Permit) request.getProperty(PERMIT_PROPERTY);
+        if (permit == null) {
+            return;
+        }
+        request.removeProperty(PERMIT_PROPERTY);
+        long latencyNanos = System.nanoTime() - permit.startNanos();
+        permit.limit().release(latencyNanos, response.getStatus() >= 500);
+    }
+
+    private Group group(ContainerRequestContext request) {
+        Method method = resourceInfo.getResourceMethod();
+        if (method != null
+                && (method.isAnnotationPresent(Heavy.class)
+                        || method.getDeclaringClass().isAnnotationPresent(Heavy.class))) {
+            return Group.HEAVY;
+        }
+        return READ_METHODS.contains(request.getMethod()) ? Group.READ : Group.WRITE;
+    }
+}
@@ -11,7 +11,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
-@WebFilter("/*")
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
 public class CorsFilter implements Filter {
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
@@ -30,7 +30,12 @@ public class CorsFilter implements Filter {
             res.setHeader("Access-Control-Allow-Credentials", "true");
         }
         res.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        res.setHeader("Access-Control-Allow-Headers", "Content-Type, Authorization");
+        res.setHeader(
+                "Access-Control-Allow-Headers",
+                "Content-Type, Authorization, Idempotency-Key, X-Api-Key, Request-Timeout");
+        res.setHeader(
+                "Access-Control-Expose-Headers",
+                "RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset, Retry-After");
         res.setHeader("Access-Control-Max-Age", "1800");
 
         // Handle preflight requests
@@ -0,0 +1,82 @@
+package com.officemanagement.util;
+
+import com.officemanagement.service.RequestDeadline;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every request a deadline, after which the database work done for it is cancelled.
+ *
+ * <p>The deadline is {@code office.deadline.default-millis} (default 30000) from the start of the
+ * request, or the endpoint's own from {@code office.deadlines}, a comma separated list of {@code
+ * METHOD /path=millis} (default {@code GET /floors/{id}/embed=5000,GET /employees/search=5000}). A
+ * client can shorten it, never extend it, with a {@code Request-Timeout} header in milliseconds.
+ * Reads pass the deadline on to their queries, see {@link
+ * com.officemanagement.service.ReadExecutor}; {@link ClientDisconnectFilter} cancels them early
+ * when the client goes away.
+ */
+@Provider
+@Priority(Priorities.USER + 200)
+@ApplicationScoped
+public class DeadlineFilter implements ContainerRequestFilter {
+
+    public static final String HEADER = "Request-Timeout";
+
+    private final long defaultMillis = Long.getLong("office.deadline.default-millis", 30_000L);
+
+    private final Map<String, Long> routeMillis =
+            Routes.parse(
+                    System.getProperty(
+                            "office.deadlines",
+                            "GET /floors/{id}/embed=5000,GET /employees/search=5000"),
+                    Long::valueOf,
+                    "deadline");
+
+    private final Map<Method, String> routes = new ConcurrentHashMap<>();
+
+    @Context ResourceInfo resourceInfo;
+
+    @Inject RequestDeadline requestDeadline;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        long millis = defaultMillis;
+        Method method = resourceInfo.getResourceMethod();
+        if (method != null) {
+            String route =
+                    request.getMethod() + " " + routes.computeIfAbsent(method, Routes::template);
+            millis = routeMillis.getOrDefault(route, defaultMillis);
+        }
+
+        String header = request.getHeaderString(HEADER);
+        if (header != null) {
+            long requested;
+            try {
+                requested = Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                requested = -1;
+            }
+            if (requested <= 0) {
+                request.abortWith(
+                        Response.status(Response.Status.BAD_REQUEST)
+                                .entity(HEADER + " must be a positive number of milliseconds")
+                                .build());
+                return;
+            }
+            millis = Math.min(millis, requested);
+        }
+
+        requestDeadline.set(new Cancellation(millis, System::nanoTime));
+    }
+}
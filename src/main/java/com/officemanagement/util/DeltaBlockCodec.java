@@ -0,0 +1,117 @@
+package com.officemanagement.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact encoding of columns of longs, used for time-series blocks.
+ *
+ * <p>Columns are written one after the other, each value as the zigzag varint of its difference to
+ * the previous value of the same column, and the result is deflated. Timestamps that advance
+ * steadily and values that rarely change thus shrink to a few bits per point.
+ */
+public final class DeltaBlockCodec {
+
+    private DeltaBlockCodec() {}
+
+    /**
+     * Encodes columns of equal length.
+     *
+     * @param columns the columns, e.g. timestamps and values
+     */
+    public static byte[] encode(long[]... columns) {
+        int rows = columns.length == 0 ? 0 : columns[0].length;
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(16 + rows * columns.length * 2);
+        writeVarint(raw, columns.length);
+        writeVarint(raw, rows);
+        for (long[] column : columns) {
+            if (column.length != rows) {
+                throw new IllegalArgumentException("Columns differ in length");
+            }
+            long previous = 0;
+            for (long value : column) {
+                long delta = value - previous;
+                writeVarint(raw, (delta << 1) ^ (delta >> 63));
+                previous = value;
+            }
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw.toByteArray());
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.size() / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Decodes a block written by {@link #encode}. */
+    public static long[][] decode(byte[] block) {
+        byte[] raw = inflate(block);
+        int[] position = {0};
+        int columnCount = (int) readVarint(raw, position);
+        int rows = (int) readVarint(raw, position);
+        long[][] columns = new long[columnCount][rows];
+        for (long[] column : columns) {
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long zigzag = readVarint(raw, position);
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                column[i] = previous;
+            }
+        }
+        return columns;
+    }
+
+    private static byte[] inflate(byte[] block) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(block.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated block");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] in, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= in.length) {
+                throw new IllegalArgumentException("Truncated block");
+            }
+            byte b = in[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,51 @@
+package com.officemanagement.util;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounded queue that makes room for new elements by dropping the oldest ones.
+ *
+ * <p>For producers that must never wait on a slow consumer: the consumer loses the oldest elements
+ * instead, and learns how many it lost from {@link #takeDropped()}. Thread-safe.
+ *
+ * @param <T> the queued elements
+ */
+public class DropOldestQueue<T> {
+
+    private final ArrayDeque<T> elements;
+    private final int capacity;
+    private long dropped;
+
+    public DropOldestQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid queue capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.elements = new ArrayDeque<>(capacity);
+    }
+
+    /** Adds the element, dropping the oldest one if the queue is full. */
+    public synchronized void offer(T element) {
+        if (elements.size() == capacity) {
+            elements.pollFirst();
+            dropped++;
+        }
+        elements.addLast(element);
+    }
+
+    /** Removes and returns the oldest element, or {@code null} if the queue is empty. */
+    public synchronized T poll() {
+        return elements.pollFirst();
+    }
+
+    /** Returns how many elements were dropped since the last call, and resets the count. */
+    public synchronized long takeDropped() {
+        long result = dropped;
+        dropped = 0;
+        return result;
+    }
+
+    public synchronized int size() {
+        return elements.size();
+    }
+}
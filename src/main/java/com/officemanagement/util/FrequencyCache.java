@@ -0,0 +1,236 @@
+package com.officemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache bounded by the total weight of its values, such as their size in bytes, which decides what
+ * to keep by how often each key is requested (TinyLFU).
+ *
+ * <p>Every lookup, hit or miss, is counted in a count-min sketch of 4-bit counters that are all
+ * halved every {@code 10 * width} lookups, so the counts follow recent popularity. A new value is
+ * only admitted if it fits after evicting least recently used values that are each requested less
+ * often than its key; otherwise it is rejected and the cache stays as it was. A burst of keys
+ * requested once therefore cannot push out the values that are requested all the time, while a key
+ * that becomes popular gets in as soon as it is requested more often than the values it replaces.
+ *
+ * <p>All methods are synchronized; they do constant work per lookup, and the caller builds values
+ * outside of the lock.
+ *
+ * @param <K> the key
+ * @param <V> the cached value
+ */
+public class FrequencyCache<K, V> {
+
+    /** Counts since the cache was created, and its current content. */
+    public record Stats(
+            long hits,
+            long misses,
+            long admissions,
+            long rejections,
+            long evictions,
+            long entries,
+            long weight,
+            long maxWeight) {}
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> values = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int samples;
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long admissions;
+    private long rejections;
+    private long evictions;
+
+    /**
+     * @param maxWeight the most the values may weigh together
+     * @param expectedEntries about how many values the cache holds when full, which sizes the
+     *     frequency sketch
+     * @param weigher the weight of a value, at least 1
+     */
+    public FrequencyCache(long maxWeight, int expectedEntries, ToLongFunction<V> weigher) {
+        if (maxWeight <= 0 || expectedEntries <= 0) {
+            throw new IllegalArgumentException("maxWeight and expectedEntries must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        int width = Integer.highestOneBit(Math.max(64, Math.min(expectedEntries, 1 << 24)) * 2 - 1);
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /** Returns the value of the key, or {@code null}, and counts the request either way. */
+    public synchronized V get(K key) {
+        record(key);
+        V value = values.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Caches the value if the key is requested more often than the values it would evict; a value
+     * already cached for the key is replaced without question.
+     *
+     * @return whether the value was cached
+     */
+    public synchronized boolean put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        V previous = values.remove(key);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        } else if (!admit(key, valueWeight)) {
+            rejections++;
+            return false;
+        }
+        if (valueWeight > maxWeight) {
+            rejections++;
+            return false;
+        }
+        evictFor(valueWeight);
+        values.put(key, value);
+        weight += valueWeight;
+        admissions++;
+        return true;
+    }
+
+    /** Removes the value of the key, if any. */
+    public synchronized V remove(K key) {
+        V value = values.remove(key);
+        if (value != null) {
+            weight -= weigher.applyAsLong(value);
+        }
+        return value;
+    }
+
+    /** Removes every value matching the filter and returns how many there were. */
+    public synchronized int removeIf(BiPredicate<? super K, ? super V> filter) {
+        int removed = 0;
+        Iterator<Map.Entry<K, V>> entries = values.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<K, V> entry = entries.next();
+            if (filter.test(entry.getKey(), entry.getValue())) {
+                weight -= weigher.applyAsLong(entry.getValue());
+                entries.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** Removes every value; the request counts are kept. */
+    public synchronized void clear() {
+        values.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(
+                hits, misses, admissions, rejections, evictions, values.size(), weight, maxWeight);
+    }
+
+    /** Estimated number of recent requests for the key, at most 15. */
+    synchronized int frequency(K key) {
+        int hash = spread(key);
+        int count = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            count = Math.min(count, counters[row][index(hash, row)]);
+        }
+        return count;
+    }
+
+    /** Whether the values that would make room for the key are all requested less often. */
+    private boolean admit(K key, long valueWeight) {
+        long free = maxWeight - weight;
+        if (valueWeight <= free) {
+            return true;
+        }
+        int candidate = frequency(key);
+        for (Map.Entry<K, V> victim : values.entrySet()) {
+            if (frequency(victim.getKey()) >= candidate) {
+                return false;
+            }
+            free += weigher.applyAsLong(victim.getValue());
+            if (valueWeight <= free) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Evicts the least recently used values until the given weight fits. */
+    private void evictFor(long valueWeight) {
+        List<K> victims = new ArrayList<>();
+        long free = maxWeight - weight;
+        for (Map.Entry<K, V> entry : values.entrySet()) {
+            if (valueWeight <= free) {
+                break;
+            }
+            victims.add(entry.getKey());
+            free += weigher.applyAsLong(entry.getValue());
+        }
+        for (K victim : victims) {
+            remove(victim);
+            evictions++;
+        }
+    }
+
+    private void record(K key) {
+        int hash = spread(key);
+        int count = frequency(key);
+        if (count < MAX_COUNT) {
+            // Conservative update: only the smallest counters grow, which keeps estimates tight
+            for (int row = 0; row < DEPTH; row++) {
+                int index = index(hash, row);
+                if (counters[row][index] == count) {
+                    counters[row][index]++;
+                }
+            }
+        }
+        if (++samples >= sampleSize) {
+            age();
+        }
+    }
+
+    /** Halves every counter, so that old popularity fades. */
+    private void age() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        samples /= 2;
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (mixed >>> 32) & mask;
+    }
+
+    private static int spread(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,212 @@
+package com.officemanagement.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of short-lived timeouts.
+ *
+ * <p>Scheduling and cancelling are O(1) and safe from any thread: new and cancelled timeouts are
+ * handed over through lock-free queues and only the thread calling {@link #advance} touches the
+ * buckets. Each call to {@code advance} processes every tick that has elapsed since the previous
+ * call, so expiry is precise to one tick duration. The wheel does not own a thread; the caller
+ * drives it with a clock value, which also keeps it deterministic in tests.
+ *
+ * @param <T> the payload handed to the expiry callback
+ */
+public class HashedTimingWheel<T> {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickMillis;
+    private final int mask;
+    private final Bucket<T>[] wheel;
+    private final long startMillis;
+    private final Queue<Entry<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** Next tick to process; only read and written by the advancing thread. */
+    private long currentTick;
+
+    /** Handle returned by {@link #schedule} that can be used to cancel the timeout. */
+    public interface Timeout {
+        /**
+         * Cancels the timeout.
+         *
+         * @return {@code true} if the timeout was pending and will now never fire
+         */
+        boolean cancel();
+    }
+
+    /**
+     * @param tickMillis duration of one tick
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param startMillis clock value of tick zero
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Schedules the payload to expire at the given clock value.
+     *
+     * @return a handle that cancels the timeout
+     */
+    public Timeout schedule(T payload, long deadlineMillis) {
+        Entry<T> entry = new Entry<>(this, payload, deadlineMillis);
+        pending.incrementAndGet();
+        scheduled.add(entry);
+        return entry;
+    }
+
+    /** Returns the number of timeouts that have neither fired nor been cancelled. */
+    public int pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * Processes every tick up to the given clock value and hands expired payloads to the callback.
+     * Calls are serialized; the callback runs on the calling thread.
+     *
+     * @return the number of payloads that expired
+     */
+    public synchronized int advance(long nowMillis, Consumer<? super T> onExpire) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        int expired = 0;
+        while (currentTick <= targetTick) {
+            unlinkCancelled();
+            transferScheduled();
+            expired += wheel[(int) (currentTick & mask)].expire(currentTick, onExpire);
+            currentTick++;
+        }
+        unlinkCancelled();
+        return expired;
+    }
+
+    private void transferScheduled() {
+        Entry<T> entry;
+        while ((entry = scheduled.poll()) != null) {
+            if (entry.state.get() != PENDING) {
+                continue;
+            }
+            long deadlineTick =
+                    Math.max(
+                            currentTick,
+                            Math.floorDiv(entry.deadlineMillis - startMillis, tickMillis));
+            entry.deadlineTick = deadlineTick;
+            wheel[(int) (deadlineTick & mask)].add(entry);
+        }
+    }
+
+    private void unlinkCancelled() {
+        Entry<T> entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    private static final class Entry<T> implements Timeout {
+        private final HashedTimingWheel<T> owner;
+        private final T payload;
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Bucket bookkeeping, only touched by the advancing thread
+        private long deadlineTick;
+        private Bucket<T> bucket;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(HashedTimingWheel<T> owner, T payload, long deadlineMillis) {
+            this.owner = owner;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            owner.pending.decrementAndGet();
+            owner.cancelled.add(this);
+            return true;
+        }
+    }
+
+    /** Doubly linked list of the timeouts hashed to one slot of the wheel. */
+    private static final class Bucket<T> {
+        private Entry<T> head;
+        private Entry<T> tail;
+
+        private void add(Entry<T> entry) {
+            entry.bucket = this;
+            if (tail == null) {
+                head = entry;
+                tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+        private void remove(Entry<T> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            } else {
+                tail = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        private int expire(long tick, Consumer<? super T> onExpire) {
+            int expired = 0;
+            Entry<T> entry = head;
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                if (entry.deadlineTick <= tick) {
+                    remove(entry);
+                    if (entry.state.compareAndSet(PENDING, EXPIRED)) {
+                        entry.owner.pending.decrementAndGet();
+                        onExpire.accept(entry.payload);
+                        expired++;
+                    }
+                }
+                entry = next;
+            }
+            return expired;
+        }
+    }
+}
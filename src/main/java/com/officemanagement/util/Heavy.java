@@ -0,0 +1,14 @@
+package com.officemanagement.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint that is expensive enough to get its own concurrency limit, see {@link
+ * ConcurrencyLimitFilter}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Heavy {}
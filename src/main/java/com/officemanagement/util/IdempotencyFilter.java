@@ -0,0 +1,241 @@
+package com.officemanagement.util;
+
+import com.officemanagement.util.IdempotencyStore.Claim;
+import jakarta.annotation.Priority;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Makes mutating requests that carry an {@code Idempotency-Key} header safe to retry.
+ *
+ * <p>The first POST, PUT, PATCH or DELETE with a given key executes normally and its status,
+ * content type, location and serialized body are stored. Retries with the same key and the same
+ * method, URI and body are answered from the store without reaching the resource (and so without
+ * opening a transaction), marked with {@code Idempotent-Replayed: true}. A retry that arrives while
+ * the first request is still running waits for it. Server errors are not stored, so a retry after
+ * a 5xx executes again. Reusing a key for a different request is rejected with 422.
+ *
+ * <p>Keys are scoped to the client, identified as by {@link RateLimitFilter}: two clients using the
+ * same key never see each other's responses. The filter runs after rate limiting, so replays count
+ * against the client's budget, and before {@link ConcurrencyLimitFilter} and {@link
+ * DeadlineFilter}, so a replay takes no permit and gets no deadline.
+ *
+ * <p>A request that fails before its response is stored, e.g. with an unmapped exception or a
+ * failed commit, releases its key through {@link IdempotencyReleaseFilter} once it is over, so a
+ * retry executes again. Should that not happen either, the key is released after {@code
+ * office.idempotency.in-flight-seconds} (default 60).
+ *
+ * <p>Keys are kept for {@code office.idempotency.ttl-seconds} (default 86400), at most {@code
+ * office.idempotency.max-keys} of them (default 10000). Duplicates wait up to {@code
+ * office.idempotency.wait-millis} (default 10000) before getting a 409.
+ */
+@Provider
+@Priority(Priorities.USER - 50)
+public class IdempotencyFilter
+        implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyFilter.class);
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String CLAIM_PROPERTY = IdempotencyFilter.class.getName() + ".claim";
+    private static final String RESPONSE_PROPERTY = IdempotencyFilter.class.getName() + ".response";
+
+    /** Servlet request attribute holding the {@link Runnable} that abandons the request's claim. */
+    static final String RELEASE_ATTRIBUTE = IdempotencyFilter.class.getName() + ".release";
+
+    /** A response as it was sent to the client the first time. */
+    record StoredResponse(int status, String contentType, URI location, byte[] body) {
+        StoredResponse withBody(byte[] newBody) {
+            return new StoredResponse(status, contentType, location, newBody);
+        }
+    }
+
+    private final IdempotencyStore<StoredResponse> store =
+            new IdempotencyStore<>(
+                    TimeUnit.SECONDS.toMillis(
+                            Long.getLong("office.idempotency.ttl-seconds", 86_400L)),
+                    TimeUnit.SECONDS.toMillis(
+                            Long.getLong("office.idempotency.in-flight-seconds", 60L)),
+                    Integer.getInteger("office.idempotency.max-keys", 10_000),
+                    Long.getLong("office.idempotency.wait-millis", 10_000L),
+                    System::currentTimeMillis);
+
+    @Context HttpServletRequest servletRequest;
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+        String key = request.getHeaderString(HEADER);
+        if (key == null || !MUTATING_METHODS.contains(request.getMethod())) {
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            request.abortWith(
+                    Response.status(Response.Status.BAD_REQUEST)
+                            .entity(
+                                    HEADER
+                                            + " must be between 1 and "
+                                            + MAX_KEY_LENGTH
+                                            + " characters")
+                            .build());
+            return;
+        }
+
+        Claim<StoredResponse> claim;
+        try {
+            claim =
+                    store.begin(
+                            RateLimitFilter.client(request, servletRequest) + " " + key,
+                            fingerprint(request));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+            return;
+        }
+
+        switch (claim.outcome()) {
+            case EXECUTE -> {
+                request.setProperty(CLAIM_PROPERTY, claim);
+                // Does nothing once the response is stored
+                servletRequest.setAttribute(
+                        RELEASE_ATTRIBUTE, (Runnable) () -> store.abandon(claim));
+            }
+            case REPLAY -> {
+                LOG.debugf("Replaying response for %s %s", HEADER, key);
+                request.abortWith(replay(claim.response()));
+            }
+            case IN_PROGRESS ->
+                    request.abortWith(
+                            Response.status(Response.Status.CONFLICT)
+                                    .entity(
+                                            "A request with this "
+                                                    + HEADER
+                                                    + " is still in progress")
+                                    .build());
+            case MISMATCH ->
+                    request.abortWith(
+                            Response.status(422)
+                                    .entity(
+                                            HEADER
+                                                    + " was already used for a different request")
+                                    .build());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Claim<StoredResponse> claim = (Claim<StoredResponse>) request.getProperty(CLAIM_PROPERTY);
+        if (claim == null) {
+            return;
+        }
+        if (response.getStatus() >= 500) {
+            request.removeProperty(CLAIM_PROPERTY);
+            store.abandon(claim);
+            return;
+        }
+
+        MediaType mediaType = response.getMediaType();
+        StoredResponse stored =
+                new StoredResponse(
+                        response.getStatus(),
+                        mediaType == null ? null : mediaType.toString(),
+                        response.getLocation(),
+                        new byte[0]);
+        if (response.hasEntity()) {
+            // The body is captured once it has been serialized, see aroundWriteTo
+            request.setProperty(RESPONSE_PROPERTY, stored);
+        } else {
+            request.removeProperty(CLAIM_PROPERTY);
+            store.complete(claim, stored);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Claim<StoredResponse> claim = (Claim<StoredResponse>) context.getProperty(CLAIM_PROPERTY);
+        StoredResponse stored = (StoredResponse) context.getProperty(RESPONSE_PROPERTY);
+        if (claim == null || stored == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(CLAIM_PROPERTY);
+
+        OutputStream original = context.getOutputStream();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        context.setOutputStream(buffer);
+        try {
+            context.proceed();
+        } catch (IOException | RuntimeException e) {
+            store.abandon(claim);
+            throw e;
+        } finally {
+            context.setOutputStream(original);
+        }
+
+        byte[] body = buffer.toByteArray();
+        store.complete(claim, stored.withBody(body));
+        original.write(body);
+    }
+
+    private static Response replay(StoredResponse stored) {
+        Response.ResponseBuilder builder =
+                Response.status(stored.status()).header(REPLAYED_HEADER, "true");
+        if (stored.body().length > 0) {
+            builder.entity(stored.body());
+        }
+        if (stored.contentType() != null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, stored.contentType());
+        }
+        if (stored.location() != null) {
+            builder.location(stored.location());
+        }
+        return builder.build();
+    }
+
+    private static String fingerprint(ContainerRequestContext request) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        if (request.hasEntity()) {
+            byte[] body = request.getEntityStream().readAllBytes();
+            request.setEntityStream(new ByteArrayInputStream(body));
+            digest.update(body);
+        }
+        URI uri = request.getUriInfo().getRequestUri();
+        String target =
+                uri.getRawQuery() == null
+                        ? uri.getRawPath()
+                        : uri.getRawPath() + "?" + uri.getRawQuery();
+        return request.getMethod() + " " + target + " " + HexFormat.of().formatHex(digest.digest());
+    }
+}
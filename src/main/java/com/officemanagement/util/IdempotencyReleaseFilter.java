@@ -0,0 +1,68 @@
+package com.officemanagement.util;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import java.io.IOException;
+
+/**
+ * Releases the idempotency key claimed by a request once the request is over.
+ *
+ * <p>{@link IdempotencyFilter} stores the response of a claimed request from its response filter or
+ * writer interceptor. A request that fails before either runs, with an exception no mapper handles
+ * or a transaction that fails to commit, would otherwise hold its key until the claim expires, and
+ * every retry in the meantime would be answered with 409. The claim is abandoned when the request
+ * returns from the servlet or, for an asynchronous request, when it completes; abandoning a claim
+ * whose response was stored does nothing.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class IdempotencyReleaseFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.getAttribute(IdempotencyFilter.RELEASE_ATTRIBUTE)
+                    instanceof Runnable release) {
+                request.removeAttribute(IdempotencyFilter.RELEASE_ATTRIBUTE);
+                whenOver(request, release);
+            }
+        }
+    }
+
+    private static void whenOver(ServletRequest request, Runnable release) {
+        if (!request.isAsyncStarted()) {
+            release.run();
+            return;
+        }
+        try {
+            request.getAsyncContext()
+                    .addListener(
+                            new AsyncListener() {
+                                @Override
+                                public void onComplete(AsyncEvent event) {
+                                    release.run();
+                                }
+
+                                @Override
+                                public void onTimeout(AsyncEvent event) {}
+
+                                @Override
+                                public void onError(AsyncEvent event) {}
+
+                                @Override
+                                public void onStartAsync(AsyncEvent event) {}
+                            });
+        } catch (IllegalStateException e) {
+            // The response was already completed
+            release.run();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.officemanagement.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicted store of responses keyed by client supplied idempotency keys.
+ *
+ * <p>The first request for a key {@link #begin claims} it and executes; concurrent requests with
+ * the same key wait for that execution to finish and then replay its response (single-flight).
+ * Stored responses expire {@code ttlMillis} after they were written. A claim whose execution
+ * neither completes nor is abandoned expires after the much shorter {@code inFlightMillis}, so a
+ * request that died without reporting back blocks retries only briefly. The store holds at most
+ * {@code maxEntries} stored responses; when full, the oldest are dropped first, but executions in
+ * flight are never dropped, as that would let a retry execute the request a second time. Keys are
+ * kept in a FIFO queue in the order they were claimed, which is close to expiry order, so both
+ * limits are enforced by trimming it from its head.
+ *
+ * @param <V> the stored response
+ */
+public class IdempotencyStore<V> {
+
+    /** What the caller should do with a request. */
+    public enum Outcome {
+        /** The key was claimed; execute the request and {@link #complete} or {@link #abandon}. */
+        EXECUTE,
+        /** The key has a stored response; answer with {@link Claim#response()}. */
+        REPLAY,
+        /** Another request with the key did not finish within the wait time. */
+        IN_PROGRESS,
+        /** The key was already used for a request with a different fingerprint. */
+        MISMATCH
+    }
+
+    /** Result of {@link #begin}. */
+    public static final class Claim<V> {
+        private final Outcome outcome;
+        private final V response;
+        private final Entry<V> entry;
+
+        private Claim(Outcome outcome, V response, Entry<V> entry) {
+            this.outcome = outcome;
+            this.response = response;
+            this.entry = entry;
+        }
+
+        public Outcome outcome() {
+            return outcome;
+        }
+
+        public V response() {
+            return response;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final String key;
+        private final String fingerprint;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long expiresAtMillis;
+
+        private Entry(String key, String fingerprint, long expiresAtMillis) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlMillis;
+    private final long inFlightMillis;
+    private final int maxEntries;
+    private final long waitMillis;
+    private final LongSupplier clock;
+
+    /**
+     * @param ttlMillis how long a key is remembered after its response was stored
+     * @param inFlightMillis how long a key is held by an execution that has not finished
+     * @param maxEntries upper bound on the number of remembered keys
+     * @param waitMillis how long a duplicate request waits for the in-flight one
+     * @param clock source of the current time in milliseconds
+     */
+    public IdempotencyStore(
+            long ttlMillis,
+            long inFlightMillis,
+            int maxEntries,
+            long waitMillis,
+            LongSupplier clock) {
+        if (ttlMillis <= 0 || inFlightMillis <= 0 || maxEntries <= 0 || waitMillis < 0) {
+            throw new IllegalArgumentException("Invalid idempotency store limits");
+        }
+        this.ttlMillis = ttlMillis;
+        this.inFlightMillis = inFlightMillis;
+        this.maxEntries = maxEntries;
+        this.waitMillis = waitMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Claims the key for a request, or waits for the request that already claimed it.
+     *
+     * @param fingerprint identifies the request the key was first used for
+     */
+    public Claim<V> begin(String key, String fingerprint) throws InterruptedException {
+        long waitUntil = clock.getAsLong() + waitMillis;
+        while (true) {
+            long now = clock.getAsLong();
+            evictExpired(now);
+
+            Entry<V> fresh = new Entry<>(key, fingerprint, now + inFlightMillis);
+            Entry<V> existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                insertionOrder.add(fresh);
+                evictOverflow(now);
+                return new Claim<>(Outcome.EXECUTE, null, fresh);
+            }
+            if (existing.expiresAtMillis <= now) {
+                forget(existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return new Claim<>(Outcome.MISMATCH, null, null);
+            }
+
+            V response;
+            try {
+                response = existing.result.get(Math.max(0, waitUntil - now), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return new Claim<>(Outcome.IN_PROGRESS, null, null);
+            } catch (ExecutionException e) {
+                // Never completed exceptionally, treat like an abandoned execution
+                response = null;
+            }
+            if (response != null) {
+                return new Claim<>(Outcome.REPLAY, response, null);
+            }
+            // The execution was abandoned, so try to claim the key ourselves
+        }
+    }
+
+    /**
+     * Stores the response of a claimed execution and hands it to waiting duplicates. Does nothing
+     * if the execution was already completed or abandoned.
+     */
+    public void complete(Claim<V> claim, V response) {
+        Entry<V> entry = requireExecution(claim);
+        if (entry.result.isDone()) {
+            return;
+        }
+        entry.expiresAtMillis = clock.getAsLong() + ttlMillis;
+        entry.result.complete(response);
+    }
+
+    /**
+     * Forgets a claimed execution without storing a response, e.g. after a server error, so that a
+     * retry with the same key executes again. Does nothing if the execution was already completed
+     * or abandoned, so it is safe to call once the request is over whatever happened.
+     */
+    public void abandon(Claim<V> claim) {
+        Entry<V> entry = requireExecution(claim);
+        if (entry.result.isDone()) {
+            return;
+        }
+        forget(entry);
+        entry.result.complete(null);
+    }
+
+    /** Returns the number of remembered keys. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Forgets every key. Executions in flight can still complete. */
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    private static <V> Entry<V> requireExecution(Claim<V> claim) {
+        if (claim.outcome != Outcome.EXECUTE) {
+            throw new IllegalArgumentException("Claim is not an execution: " + claim.outcome);
+        }
+        return claim.entry;
+    }
+
+    private void forget(Entry<V> entry) {
+        entries.remove(entry.key, entry);
+        insertionOrder.remove(entry);
+    }
+
+    private void evictExpired(long now) {
+        Entry<V> head;
+        while ((head = insertionOrder.peek()) != null && head.expiresAtMillis <= now) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private void evictOverflow(long now) {
+        Iterator<Entry<V>> oldestFirst = insertionOrder.iterator();
+        while (entries.size() > maxEntries && oldestFirst.hasNext()) {
+            Entry<V> oldest = oldestFirst.next();
+            // An execution in flight is kept until its claim expires
+            if (oldest.result.isDone() || oldest.expiresAtMillis <= now) {
+                oldestFirst.remove();
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.officemanagement.util;
+
+import com.officemanagement.util.SegmentLog.Record;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Reads a {@link SegmentLog} by offset, from its files alone, and remembers how far it got.
+ *
+ * <p>The reference consumer for processes that follow the log on the same machine. Its position
+ * is committed to {@code <name>.offset} in the log directory, so a consumer that restarts resumes
+ * after the last record it committed; records polled but not committed are read again. A
+ * consumer without a committed offset starts at the oldest record kept. Not thread-safe.
+ */
+public final class LogConsumer implements Closeable {
+
+    private final Path directory;
+    private final Path offsetFile;
+    private final ByteBuffer header = ByteBuffer.allocate(SegmentLog.HEADER_BYTES);
+    private FileChannel segment;
+    private long segmentBase; // Offset of the segment's first record
+    private long position; // Of the next record in the segment
+    private long offset; // Of the next record
+
+    /** Opens the consumer with the given name on the log in the directory. */
+    public LogConsumer(Path directory, String name) throws IOException {
+        this.directory = directory;
+        this.offsetFile = directory.resolve(name + ".offset");
+        Long committed = null;
+        try {
+            committed = Long.parseLong(Files.readString(offsetFile).trim());
+        } catch (NoSuchFileException e) {
+            // Never committed
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupt offset file " + offsetFile, e);
+        }
+        if (committed != null) {
+            seek(committed);
+        } else {
+            NavigableMap<Long, Path> segments = SegmentLog.segments(directory);
+            seek(segments.isEmpty() ? 0 : segments.firstKey());
+        }
+    }
+
+    /** Offset of the next record {@link #poll} returns. */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * Moves to the record with the given offset.
+     *
+     * @throws IllegalStateException if it is no longer kept
+     */
+    public void seek(long target) throws IOException {
+        closeSegment();
+        NavigableMap<Long, Path> segments = SegmentLog.segments(directory);
+        Map.Entry<Long, Path> entry = segments.floorEntry(target);
+        if (entry == null) {
+            if (!segments.isEmpty() || target != 0) {
+                throw new IllegalStateException(
+                        "Offset "
+                                + target
+                                + " is no longer kept, the oldest is "
+                                + (segments.isEmpty() ? "unknown" : segments.firstKey()));
+            }
+            offset = 0;
+            position = 0;
+            return;
+        }
+        segment = FileChannel.open(entry.getValue(), StandardOpenOption.READ);
+        segmentBase = entry.getKey();
+        offset = entry.getKey();
+        position = 0;
+        while (offset < target) {
+            byte[] payload = SegmentLog.readRecord(segment, position, offset, header);
+            if (payload == null) {
+                break; // Not written yet; reading resumes here
+            }
+            position += SegmentLog.HEADER_BYTES + payload.length;
+            offset++;
+        }
+    }
+
+    /** Returns up to {@code max} records after the last one returned, none if there are none. */
+    public List<Record> poll(int max) throws IOException {
+        List<Record> records = new ArrayList<>();
+        while (records.size() < max) {
+            if (segment == null && !openSegment(offset)) {
+                break;
+            }
+            byte[] payload = SegmentLog.readRecord(segment, position, offset, header);
+            if (payload != null) {
+                records.add(new Record(offset, payload));
+                position += SegmentLog.HEADER_BYTES + payload.length;
+                offset++;
+            } else if (segmentBase == offset || !openSegment(offset)) {
+                break; // The writer has not got this far
+            }
+        }
+        return records;
+    }
+
+    /** Remembers that every record before {@code nextOffset} has been processed. */
+    public void commit(long nextOffset) throws IOException {
+        Path temp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(nextOffset), StandardCharsets.US_ASCII);
+        Files.move(
+                temp,
+                offsetFile,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    /** Opens the segment starting at the offset, if the writer has started it. */
+    private boolean openSegment(long baseOffset) throws IOException {
+        Path next = SegmentLog.segmentPath(directory, baseOffset);
+        if (!Files.exists(next)) {
+            return false;
+        }
+        closeSegment();
+        segment = FileChannel.open(next, StandardOpenOption.READ);
+        segmentBase = baseOffset;
+        position = 0;
+        return true;
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+    }
+}
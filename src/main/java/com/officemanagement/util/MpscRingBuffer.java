@@ -0,0 +1,111 @@
+package com.officemanagement.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * <p>Producers claim a range of slots with one compare-and-set on the tail counter, then publish
+ * their elements into the claimed slots; the consumer takes elements in claim order and clears
+ * each slot before moving the head past it. A slot holding {@code null} has been claimed but not
+ * published yet, so the consumer stops there until the producer catches up. Neither side ever
+ * blocks: a producer that finds too little space gets {@code false} and decides itself whether to
+ * retry or shed load.
+ */
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of queued elements, rounded up to a power of two
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Number of claimed slots not yet consumed; approximate while producers are active. */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /** Appends the element if there is room. */
+    public boolean offer(E element) {
+        return offerAll(List.of(element));
+    }
+
+    /**
+     * Appends all elements, in order and contiguously, or none of them if there is not enough
+     * room.
+     *
+     * @throws NullPointerException if an element is {@code null}
+     */
+    public boolean offerAll(List<? extends E> elements) {
+        int count = elements.size();
+        if (count == 0) {
+            return true;
+        }
+        if (count > capacity()) {
+            return false;
+        }
+        // A claimed slot that is never published would stall the consumer, so check first
+        for (E element : elements) {
+            if (element == null) {
+                throw new NullPointerException("Null element");
+            }
+        }
+        long start;
+        do {
+            start = tail.get();
+            if (start + count - head.get() > capacity()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(start, start + count));
+
+        for (int i = 0; i < count; i++) {
+            slots.setRelease((int) ((start + i) & mask), elements.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published elements to the consumer, oldest first. Must only be
+     * called by one thread at a time.
+     *
+     * @return number of elements drained
+     */
+    public int drain(Consumer<? super E> consumer, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            E element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setRelease(index, null);
+            position++;
+            head.lazySet(position);
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,299 @@
+package com.officemanagement.util;
+
+import com.officemanagement.model.OccupancyTier;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of one seat, room or floor over time, as a step function of change points.
+ *
+ * <p>Besides the raw change points, the series maintains time-weighted hourly, daily and weekly
+ * rollups as changes come in, so that downsampled history never has to be computed from raw
+ * points at query time. A bucket without changes is not materialized: its value is the last value
+ * of the bucket before, which {@link #fill} restores when reading. Points and buckets are buffered
+ * until {@link #drain} hands them over to be written out.
+ *
+ * <p>The buckets still open at shutdown are written out as {@link OpenBucket}s and {@link #resume
+ * resumed} after the restart, so that each bucket is closed and written exactly once.
+ */
+public class OccupancySeries {
+
+    private static final OccupancyTier[] ROLLUP_TIERS = {
+        OccupancyTier.HOUR, OccupancyTier.DAY, OccupancyTier.WEEK
+    };
+
+    /** A raw change point: the value from this time on. */
+    public record Sample(long timeMillis, long value) {}
+
+    /** A rollup bucket with the time-weighted average and the value at its end. */
+    public record Bucket(long startMillis, double average, long min, long max, long last) {
+
+        /** A bucket throughout which the value did not change. */
+        public static Bucket constant(long startMillis, long value) {
+            return new Bucket(startMillis, value, value, value, value);
+        }
+    }
+
+    /** Points and closed buckets that have not been written out yet, oldest first. */
+    public record Pending(List<Sample> samples, Map<OccupancyTier, List<Bucket>> buckets) {
+
+        public boolean isEmpty() {
+            return samples.isEmpty() && buckets.values().stream().allMatch(List::isEmpty);
+        }
+    }
+
+    /**
+     * A bucket that is still open, as of {@code untilMillis}.
+     *
+     * @param coveredFromMillis when the series got its first value within the bucket
+     */
+    public record OpenBucket(Bucket bucket, long coveredFromMillis, long untilMillis) {}
+
+    private final Rollup[] rollups = new Rollup[ROLLUP_TIERS.length];
+    private List<Sample> samples = new ArrayList<>();
+    private boolean started;
+    private long lastTime;
+    private long lastValue;
+
+    /**
+     * Records the value of the series from the given time on. Times before the latest recorded
+     * change are moved up to it, so that the series stays ordered.
+     *
+     * @return {@code false} if the value did not change
+     */
+    public synchronized boolean record(long timeMillis, long value) {
+        if (!started) {
+            started = true;
+            lastTime = timeMillis;
+            lastValue = value;
+            samples.add(new Sample(timeMillis, value));
+            for (int i = 0; i < rollups.length; i++) {
+                rollups[i] = new Rollup(ROLLUP_TIERS[i], timeMillis, value);
+            }
+            return true;
+        }
+        if (value == lastValue) {
+            return false;
+        }
+        long time = Math.max(timeMillis, lastTime);
+        lastTime = time;
+        lastValue = value;
+        samples.add(new Sample(time, value));
+        for (Rollup rollup : rollups) {
+            rollup.record(time, value);
+        }
+        return true;
+    }
+
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    /** The latest recorded value. */
+    public synchronized long currentValue() {
+        return lastValue;
+    }
+
+    /** Takes the buffered points and closed buckets, leaving the open buckets in place. */
+    public synchronized Pending drain() {
+        Map<OccupancyTier, List<Bucket>> buckets = new EnumMap<>(OccupancyTier.class);
+        for (Rollup rollup : rollups) {
+            if (rollup != null) {
+                buckets.put(rollup.tier, rollup.closed);
+                rollup.closed = new ArrayList<>();
+            }
+        }
+        Pending pending = new Pending(samples, buckets);
+        samples = new ArrayList<>();
+        return pending;
+    }
+
+    /** Puts back what {@link #drain} took, e.g. because it could not be written. */
+    public synchronized void restore(Pending pending) {
+        List<Sample> restoredSamples = new ArrayList<>(pending.samples());
+        restoredSamples.addAll(samples);
+        samples = restoredSamples;
+        for (Rollup rollup : rollups) {
+            List<Bucket> restored = pending.buckets().get(rollup.tier);
+            if (restored != null && !restored.isEmpty()) {
+                List<Bucket> closed = new ArrayList<>(restored);
+                closed.addAll(rollup.closed);
+                rollup.closed = closed;
+            }
+        }
+    }
+
+    /** The open bucket of the tier, averaged up to the given time. */
+    public synchronized OpenBucket openBucket(OccupancyTier tier, long nowMillis) {
+        Rollup rollup = rollup(tier);
+        long until = rollup.until(nowMillis);
+        return new OpenBucket(rollup.close(until), rollup.coveredFrom, until);
+    }
+
+    /**
+     * Continues from the open buckets written out before a restart, keyed by tier. The series takes
+     * the value of the latest of them as its current value; tiers without an open bucket start over
+     * from it.
+     *
+     * @return {@code false} if the series had already recorded values, which then take precedence
+     */
+    public synchronized boolean resume(Map<OccupancyTier, OpenBucket> open) {
+        if (started || open.isEmpty()) {
+            return false;
+        }
+        OpenBucket latest = null;
+        for (OpenBucket bucket : open.values()) {
+            if (latest == null || bucket.untilMillis() > latest.untilMillis()) {
+                latest = bucket;
+            }
+        }
+        started = true;
+        lastTime = latest.untilMillis();
+        lastValue = latest.bucket().last();
+        for (int i = 0; i < rollups.length; i++) {
+            OpenBucket bucket = open.get(ROLLUP_TIERS[i]);
+            rollups[i] =
+                    bucket == null
+                            ? new Rollup(ROLLUP_TIERS[i], lastTime, lastValue)
+                            : new Rollup(ROLLUP_TIERS[i], bucket);
+        }
+        return true;
+    }
+
+    /** Buffered raw points. */
+    public synchronized List<Sample> pendingSamples() {
+        return List.copyOf(samples);
+    }
+
+    /**
+     * Buffered closed buckets of the tier followed by the open bucket, averaged up to the given
+     * time.
+     */
+    public synchronized List<Bucket> pendingBuckets(OccupancyTier tier, long nowMillis) {
+        for (Rollup rollup : rollups) {
+            if (rollup != null && rollup.tier == tier) {
+                List<Bucket> buckets = new ArrayList<>(rollup.closed);
+                buckets.add(rollup.close(rollup.until(nowMillis)));
+                return buckets;
+            }
+        }
+        return List.of();
+    }
+
+    private Rollup rollup(OccupancyTier tier) {
+        for (Rollup rollup : rollups) {
+            if (rollup != null && rollup.tier == tier) {
+                return rollup;
+            }
+        }
+        throw new IllegalArgumentException("No open bucket for " + tier);
+    }
+
+    /**
+     * Expands buckets into one bucket per interval of the tier between the given times, filling
+     * intervals without a bucket with the last value before them. Intervals before the first known
+     * value are left out. Of several buckets with the same start, the later one wins.
+     *
+     * @param buckets buckets ordered by start
+     * @param before the latest bucket before {@code fromMillis}, or {@code null} if unknown
+     */
+    public static List<Bucket> fill(
+            List<Bucket> buckets,
+            OccupancyTier tier,
+            long fromMillis,
+            long toMillis,
+            Bucket before) {
+        List<Bucket> filled = new ArrayList<>();
+        long start = tier.bucketStart(fromMillis);
+        Bucket previous = before;
+        int i = 0;
+        while (i < buckets.size() && buckets.get(i).startMillis() < start) {
+            previous = buckets.get(i++);
+        }
+        for (long s = start; s < toMillis; s += tier.getBucketMillis()) {
+            Bucket match = null;
+            while (i < buckets.size() && buckets.get(i).startMillis() <= s) {
+                if (buckets.get(i).startMillis() == s) {
+                    match = buckets.get(i);
+                }
+                i++;
+            }
+            if (match != null) {
+                previous = match;
+                filled.add(match);
+            } else if (previous != null) {
+                filled.add(Bucket.constant(s, previous.last()));
+            }
+        }
+        return filled;
+    }
+
+    /** The open bucket of one tier, plus the closed buckets not drained yet. */
+    private static final class Rollup {
+        private final OccupancyTier tier;
+        private List<Bucket> closed = new ArrayList<>();
+        private long bucketStart;
+        private long coveredFrom;
+        private double area;
+        private long min;
+        private long max;
+        private long last;
+        private long lastTime;
+
+        private Rollup(OccupancyTier tier, long timeMillis, long value) {
+            this.tier = tier;
+            this.bucketStart = tier.bucketStart(timeMillis);
+            this.coveredFrom = timeMillis;
+            this.lastTime = timeMillis;
+            this.min = value;
+            this.max = value;
+            this.last = value;
+        }
+
+        private Rollup(OccupancyTier tier, OpenBucket open) {
+            Bucket bucket = open.bucket();
+            this.tier = tier;
+            this.bucketStart = bucket.startMillis();
+            this.coveredFrom = open.coveredFromMillis();
+            this.lastTime = open.untilMillis();
+            this.area = bucket.average() * (open.untilMillis() - open.coveredFromMillis());
+            this.min = bucket.min();
+            this.max = bucket.max();
+            this.last = bucket.last();
+        }
+
+        private void record(long timeMillis, long value) {
+            long end = bucketStart + tier.getBucketMillis();
+            if (timeMillis >= end) {
+                closed.add(close(end));
+                // Buckets in between saw no change and stay implicit
+                bucketStart = tier.bucketStart(timeMillis);
+                coveredFrom = bucketStart;
+                lastTime = bucketStart;
+                area = 0;
+                min = last;
+                max = last;
+            }
+            area += (double) last * (timeMillis - lastTime);
+            lastTime = timeMillis;
+            last = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        private Bucket close(long untilMillis) {
+            long covered = untilMillis - coveredFrom;
+            double total = area + (double) last * (untilMillis - lastTime);
+            double average = covered > 0 ? total / covered : last;
+            return new Bucket(bucketStart, average, min, max, last);
+        }
+
+        /** The time the open bucket is averaged up to at the given time. */
+        private long until(long nowMillis) {
+            long end = bucketStart + tier.getBucketMillis();
+            return Math.max(lastTime, Math.min(end, nowMillis));
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.officemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Monte Carlo simulation of how many people show up per room, floor and in total on a day.
+ *
+ * <p>Every sample is one day. The day's attendance rate is the expected rate perturbed by a normal
+ * factor ({@code volatility} is its relative standard deviation), which makes busy days busy
+ * everywhere at once; given the day's rate, the staff of each room come in independently, so a
+ * room's demand is binomial. Binomials are drawn by inverse CDF from tables precomputed for a grid
+ * of day rates, so a sample costs one uniform draw and a binary search per room.
+ *
+ * <p>Samples are split into fixed-size chunks evaluated in parallel, one task each on the given
+ * {@link Executor}. Each chunk counts demands into its own primitive histograms, allocated once per
+ * chunk, which are summed at the end; nothing is allocated per sample. Chunks are seeded by their
+ * index, so results depend only on the seed and not on the number of threads.
+ */
+public class OccupancySimulator {
+
+    private static final int CHUNK_SAMPLES = 16_384;
+    private static final int RATE_LEVELS = 129;
+    private static final double RATE_SPREAD_SIGMAS = 4;
+
+    private final int[] staffOfGroup;
+    private final int[] floorOfGroup;
+    private final int floorCount;
+    private final int[] staffOfFloor;
+    private final int totalStaff;
+
+    /**
+     * @param staffOfGroup number of people per group; a group is usually a room
+     * @param floorOfGroup floor index of each group, or -1 for groups without a floor (e.g. staff
+     *     without a seat)
+     * @param floorCount number of floors
+     */
+    public OccupancySimulator(int[] staffOfGroup, int[] floorOfGroup, int floorCount) {
+        if (staffOfGroup.length != floorOfGroup.length) {
+            throw new IllegalArgumentException("Group arrays differ in length");
+        }
+        this.staffOfGroup = staffOfGroup.clone();
+        this.floorOfGroup = floorOfGroup.clone();
+        this.floorCount = floorCount;
+        this.staffOfFloor = new int[floorCount];
+        int total = 0;
+        for (int g = 0; g < staffOfGroup.length; g++) {
+            if (staffOfGroup[g] < 0 || floorOfGroup[g] >= floorCount) {
+                throw new IllegalArgumentException("Invalid group " + g);
+            }
+            if (floorOfGroup[g] >= 0) {
+                staffOfFloor[floorOfGroup[g]] += staffOfGroup[g];
+            }
+            total += staffOfGroup[g];
+        }
+        this.totalStaff = total;
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param attendanceRate expected share of staff that comes in, between 0 and 1
+     * @param volatility relative standard deviation of the day's attendance rate
+     * @param samples number of simulated days
+     * @param executor runs the chunks
+     */
+    public Result simulate(
+            double attendanceRate, double volatility, int samples, long seed, Executor executor) {
+        if (attendanceRate < 0 || attendanceRate > 1 || volatility < 0 || samples <= 0) {
+            throw new IllegalArgumentException("Invalid simulation parameters");
+        }
+        RateGrid grid = new RateGrid(attendanceRate, volatility);
+        int chunks = (samples + CHUNK_SAMPLES - 1) / CHUNK_SAMPLES;
+        List<CompletableFuture<Histograms>> tasks = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            tasks.add(
+                    CompletableFuture.supplyAsync(
+                            () -> runChunk(grid, samples, seed, index), executor));
+        }
+        Histograms histograms = tasks.get(0).join();
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            histograms.add(tasks.get(chunk).join());
+        }
+        return new Result(samples, histograms);
+    }
+
+    /** Demand distributions, as histograms indexed by number of people. */
+    public static final class Result {
+        private final int samples;
+        private final Histograms histograms;
+
+        private Result(int samples, Histograms histograms) {
+            this.samples = samples;
+            this.histograms = histograms;
+        }
+
+        public int samples() {
+            return samples;
+        }
+
+        public Distribution group(int group) {
+            return new Distribution(histograms.groups[group], samples);
+        }
+
+        public Distribution floor(int floor) {
+            return new Distribution(histograms.floors[floor], samples);
+        }
+
+        public Distribution total() {
+            return new Distribution(histograms.total, samples);
+        }
+    }
+
+    /** Distribution of a demand, as counts of samples per number of people. */
+    public static final class Distribution {
+        private final long[] counts;
+        private final int samples;
+
+        private Distribution(long[] counts, int samples) {
+            this.counts = counts;
+            this.samples = samples;
+        }
+
+        public double mean() {
+            double sum = 0;
+            for (int v = 0; v < counts.length; v++) {
+                sum += (double) v * counts[v];
+            }
+            return sum / samples;
+        }
+
+        /** Smallest demand that at least the given share of days does not exceed. */
+        public int percentile(double quantile) {
+            long needed = (long) Math.ceil(quantile * samples);
+            long seen = 0;
+            for (int v = 0; v < counts.length; v++) {
+                seen += counts[v];
+                if (seen >= needed && seen > 0) {
+                    return v;
+                }
+            }
+            return counts.length - 1;
+        }
+
+        public int max() {
+            for (int v = counts.length - 1; v > 0; v--) {
+                if (counts[v] > 0) {
+                    return v;
+                }
+            }
+            return 0;
+        }
+
+        /** Share of days on which demand exceeds the given capacity. */
+        public double exceedanceProbability(int capacity) {
+            long over = 0;
+            for (int v = Math.max(0, capacity + 1); v < counts.length; v++) {
+                over += counts[v];
+            }
+            return (double) over / samples;
+        }
+    }
+
+    /** Day rates the tables are built for, and the binomial CDF of every group at every rate. */
+    private final class RateGrid {
+        private final double low;
+        private final double step;
+        private final double rate;
+        private final double sigma;
+        private final int levels;
+        private final int[] offsetOfGroup;
+        private final int levelStride;
+        private final double[] cdf;
+
+        private RateGrid(double rate, double volatility) {
+            this.rate = rate;
+            this.sigma = rate * volatility;
+            double high = Math.min(1, rate + RATE_SPREAD_SIGMAS * sigma);
+            this.low = Math.max(0, rate - RATE_SPREAD_SIGMAS * sigma);
+            this.levels = sigma == 0 ? 1 : RATE_LEVELS;
+            this.step = levels == 1 ? 0 : (high - low) / (levels - 1);
+
+            // Level-major layout: one sample uses a single level, so its lookups stay in one
+            // contiguous block of the table
+            offsetOfGroup = new int[staffOfGroup.length];
+            int stride = 0;
+            for (int g = 0; g < staffOfGroup.length; g++) {
+                offsetOfGroup[g] = stride;
+                stride += staffOfGroup[g] + 1;
+            }
+            levelStride = stride;
+            cdf = new double[levels * stride];
+            for (int level = 0; level < levels; level++) {
+                for (int g = 0; g < staffOfGroup.length; g++) {
+                    fillBinomialCdf(
+                            staffOfGroup[g], low + level * step, level * stride + offsetOfGroup[g]);
+                }
+            }
+        }
+
+        private void fillBinomialCdf(int n, double p, int offset) {
+            if (p <= 0 || p >= 1) {
+                for (int k = 0; k <= n; k++) {
+                    cdf[offset + k] = (p <= 0 || k == n) ? 1 : 0;
+                }
+                return;
+            }
+            // Unnormalized masses relative to the mode, which cannot underflow around the bulk of
+            // the distribution even for large n: P(k+1) / P(k) = (n-k)/(k+1) * p/(1-p)
+            double odds = p / (1 - p);
+            int mode = (int) Math.min(n, Math.floor((n + 1) * p));
+            cdf[offset + mode] = 1;
+            for (int k = mode; k < n; k++) {
+                cdf[offset + k + 1] = cdf[offset + k] * (n - k) / (k + 1) * odds;
+            }
+            for (int k = mode; k > 0; k--) {
+                cdf[offset + k - 1] = cdf[offset + k] * k / (n - k + 1) / odds;
+            }
+            double sum = 0;
+            for (int k = 0; k <= n; k++) {
+                sum += cdf[offset + k];
+                cdf[offset + k] = sum;
+            }
+            for (int k = 0; k <= n; k++) {
+                cdf[offset + k] /= sum;
+            }
+            // Absorb rounding so that every uniform draw maps to a value
+            cdf[offset + n] = 1;
+        }
+
+        private int levelFor(SplittableRandom random) {
+            if (levels == 1) {
+                return 0;
+            }
+            double dayRate = rate + sigma * gaussian(random);
+            int level = (int) Math.round((dayRate - low) / step);
+            return Math.max(0, Math.min(levels - 1, level));
+        }
+
+        private int draw(int group, int level, double uniform) {
+            int n = staffOfGroup[group];
+            int offset = level * levelStride + offsetOfGroup[group];
+            int lo = 0;
+            int hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cdf[offset + mid] < uniform) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Marsaglia polar method, one of the pair is enough here
+        double u;
+        double v;
+        double s;
+        do {
+            u = random.nextDouble() * 2 - 1;
+            v = random.nextDouble() * 2 - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+        return u * Math.sqrt(-2 * Math.log(s) / s);
+    }
+
+    private final class Histograms {
+        private final long[][] groups;
+        private final long[][] floors;
+        private final long[] total;
+
+        private Histograms() {
+            groups = new long[staffOfGroup.length][];
+            for (int g = 0; g < groups.length; g++) {
+                groups[g] = new long[staffOfGroup[g] + 1];
+            }
+            floors = new long[floorCount][];
+            for (int f = 0; f < floorCount; f++) {
+                floors[f] = new long[staffOfFloor[f] + 1];
+            }
+            total = new long[totalStaff + 1];
+        }
+
+        private Histograms add(Histograms other) {
+            for (int g = 0; g < groups.length; g++) {
+                addInto(groups[g], other.groups[g]);
+            }
+            for (int f = 0; f < floors.length; f++) {
+                addInto(floors[f], other.floors[f]);
+            }
+            addInto(total, other.total);
+            return this;
+        }
+    }
+
+    private static void addInto(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    private Histograms runChunk(RateGrid grid, int samples, long seed, int chunk) {
+        SplittableRandom random = new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+        Histograms histograms = new Histograms();
+        int[] floorDemand = new int[floorCount];
+        int first = chunk * CHUNK_SAMPLES;
+        int last = Math.min(samples, first + CHUNK_SAMPLES);
+        for (int sample = first; sample < last; sample++) {
+            int level = grid.levelFor(random);
+            Arrays.fill(floorDemand, 0);
+            int total = 0;
+            for (int g = 0; g < staffOfGroup.length; g++) {
+                int demand = grid.draw(g, level, random.nextDouble());
+                histograms.groups[g][demand]++;
+                if (floorOfGroup[g] >= 0) {
+                    floorDemand[floorOfGroup[g]] += demand;
+                }
+                total += demand;
+            }
+            for (int f = 0; f < floorCount; f++) {
+                histograms.floors[f][floorDemand[f]]++;
+            }
+            histograms.total[total]++;
+        }
+        return histograms;
+    }
+}
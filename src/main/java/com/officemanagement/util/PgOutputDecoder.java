@@ -0,0 +1,199 @@
+package com.officemanagement.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the messages of PostgreSQL's {@code pgoutput} logical decoding plugin, protocol version
+ * 1, as a logical replication stream delivers them.
+ *
+ * <p>Columns are decoded from the text format, which is what {@code pgoutput} sends without the
+ * {@code binary} option. Relation messages, which describe a table's columns before its first
+ * change in a session, are remembered and not returned; type, origin and logical messages are
+ * skipped. Not thread-safe: one decoder per stream.
+ */
+public final class PgOutputDecoder {
+
+    /** A decoded message. */
+    public sealed interface Message permits Begin, Commit, Change, Truncate {}
+
+    /** Start of a transaction; its changes and its commit follow. */
+    public record Begin(int xid, long finalLsn, long commitMicros) implements Message {}
+
+    /** End of a transaction; {@code endLsn} is where the stream continues after it. */
+    public record Commit(long commitLsn, long endLsn) implements Message {}
+
+    public enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE,
+        TRUNCATE
+    }
+
+    /**
+     * A row changed, or a table truncated.
+     *
+     * @param values new column values of an insert or update, key column values of a delete
+     *     (every column if the table has {@code REPLICA IDENTITY FULL}), empty for a truncate. Null
+     *     columns map to {@code null}; unchanged TOAST columns of an update are left out.
+     */
+    public record Change(
+            String schema, String table, Operation operation, Map<String, String> values)
+            implements Message {
+
+        /** The value of the column as a number, or {@code null} if it is null or missing. */
+        public Long id(String column) {
+            String value = values.get(column);
+            return value == null ? null : Long.valueOf(value);
+        }
+    }
+
+    /** Tables truncated by one statement, each as a {@link Operation#TRUNCATE} change. */
+    public record Truncate(List<Change> tables) implements Message {}
+
+    private record Relation(String schema, String table, List<String> columns) {}
+
+    private static final long POSTGRES_EPOCH_MICROS = 946_684_800_000_000L;
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    /**
+     * Decodes one message, starting at the buffer's position.
+     *
+     * @return the message, or {@code null} for messages that only update the decoder
+     * @throws IllegalArgumentException if the message is not understood
+     */
+    public Message decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        switch (type) {
+            case 'B' -> {
+                long finalLsn = buffer.getLong();
+                long commitMicros = buffer.getLong() + POSTGRES_EPOCH_MICROS;
+                return new Begin(buffer.getInt(), finalLsn, commitMicros);
+            }
+            case 'C' -> {
+                buffer.get(); // Flags, unused
+                long commitLsn = buffer.getLong();
+                return new Commit(commitLsn, buffer.getLong());
+            }
+            case 'R' -> {
+                int relationId = buffer.getInt();
+                String schema = string(buffer);
+                String table = string(buffer);
+                buffer.get(); // Replica identity
+                int count = buffer.getShort();
+                List<String> columns = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    buffer.get(); // Flags, 1 for key columns
+                    columns.add(string(buffer));
+                    buffer.getInt(); // Type OID
+                    buffer.getInt(); // Type modifier
+                }
+                relations.put(relationId, new Relation(schema, table, columns));
+                return null;
+            }
+            case 'I' -> {
+                Relation relation = relation(buffer.getInt());
+                expect(buffer, 'N');
+                return change(relation, Operation.INSERT, tuple(buffer, relation));
+            }
+            case 'U' -> {
+                Relation relation = relation(buffer.getInt());
+                char kind = (char) buffer.get();
+                if (kind == 'K' || kind == 'O') {
+                    tuple(buffer, relation); // Old key or row, sent when it changed
+                    kind = (char) buffer.get();
+                }
+                if (kind != 'N') {
+                    throw new IllegalArgumentException("Expected a new tuple, got " + kind);
+                }
+                return change(relation, Operation.UPDATE, tuple(buffer, relation));
+            }
+            case 'D' -> {
+                Relation relation = relation(buffer.getInt());
+                char kind = (char) buffer.get();
+                if (kind != 'K' && kind != 'O') {
+                    throw new IllegalArgumentException("Expected an old tuple, got " + kind);
+                }
+                return change(relation, Operation.DELETE, tuple(buffer, relation));
+            }
+            case 'T' -> {
+                int count = buffer.getInt();
+                buffer.get(); // Options: CASCADE, RESTART IDENTITY
+                List<Change> tables = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    tables.add(change(relation(buffer.getInt()), Operation.TRUNCATE, Map.of()));
+                }
+                return new Truncate(tables);
+            }
+            case 'Y', 'O', 'M' -> {
+                return null; // Type, origin and logical messages
+            }
+            default -> throw new IllegalArgumentException("Unknown pgoutput message " + type);
+        }
+    }
+
+    private static Change change(
+            Relation relation, Operation operation, Map<String, String> values) {
+        return new Change(relation.schema(), relation.table(), operation, values);
+    }
+
+    private Relation relation(int relationId) {
+        Relation relation = relations.get(relationId);
+        if (relation == null) {
+            throw new IllegalArgumentException("Change to unknown relation " + relationId);
+        }
+        return relation;
+    }
+
+    private static Map<String, String> tuple(ByteBuffer buffer, Relation relation) {
+        int count = buffer.getShort();
+        if (count > relation.columns().size()) {
+            throw new IllegalArgumentException(
+                    count
+                            + " columns for "
+                            + relation.table()
+                            + ", expected at most "
+                            + relation.columns().size());
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String column = relation.columns().get(i);
+            char kind = (char) buffer.get();
+            switch (kind) {
+                case 'n' -> values.put(column, null);
+                case 'u' -> {} // Unchanged TOAST value, not sent
+                case 't', 'b' -> {
+                    byte[] value = new byte[buffer.getInt()];
+                    buffer.get(value);
+                    values.put(column, new String(value, StandardCharsets.UTF_8));
+                }
+                default -> throw new IllegalArgumentException("Unknown column kind " + kind);
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static void expect(ByteBuffer buffer, char expected) {
+        char kind = (char) buffer.get();
+        if (kind != expected) {
+            throw new IllegalArgumentException("Expected " + expected + ", got " + kind);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // Finds the terminating zero byte
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
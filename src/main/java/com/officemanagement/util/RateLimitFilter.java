@@ -0,0 +1,143 @@
+package com.officemanagement.util;
+
+import com.officemanagement.util.RateLimiter.Budget;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Limits the request rate of each client, per route.
+ *
+ * <p>Clients are identified by their {@code X-Api-Key} header, or by their remote address if they
+ * send none. Each client has a {@link TokenBucket} per route with its own budget, and one shared
+ * bucket for all other routes. A request without a token left is rejected with 429 and {@code
+ * Retry-After}; every response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} (seconds until the bucket is full again).
+ *
+ * <p>Budgets are written as {@code capacity/periodSeconds}: {@code capacity} requests in a burst,
+ * refilled evenly over the period. {@code office.rate-limit.default} (default {@code 1000/10})
+ * applies to routes without a budget of their own; {@code office.rate-limit.routes} (default
+ * {@code GET /employees/search=100/10}) is a comma separated list of {@code METHOD /path=budget},
+ * where the path is the route template as declared on the resource, e.g. {@code /floors/{id}/svg}.
+ * At most {@code office.rate-limit.max-buckets} (default 100000) buckets are kept.
+ */
+@Provider
+@Priority(Priorities.USER - 100)
+@ApplicationScoped
+public class RateLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String API_KEY_HEADER = "X-Api-Key";
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final Logger LOG = Logger.getLogger(RateLimitFilter.class);
+
+    private static final int MAX_API_KEY_LENGTH = 128;
+    private static final String OTHER_ROUTES = "*";
+    private static final String DECISION_PROPERTY = RateLimitFilter.class.getName() + ".decision";
+
+    private record Limited(int limit, TokenBucket.Decision decision) {}
+
+    private final Budget defaultBudget =
+            Budget.parse(System.getProperty("office.rate-limit.default", "1000/10"));
+
+    private final Map<String, Budget> routeBudgets =
+            Routes.parse(
+                    System.getProperty("office.rate-limit.routes", "GET /employees/search=100/10"),
+                    Budget::parse,
+                    "rate limit");
+
+    private final RateLimiter limiter =
+            new RateLimiter(
+                    Integer.getInteger("office.rate-limit.max-buckets", 100_000),
+                    TimeUnit.MINUTES.toMillis(1),
+                    System::currentTimeMillis);
+
+    private final Map<Method, String> routes = new ConcurrentHashMap<>();
+
+    @Context ResourceInfo resourceInfo;
+
+    @Context HttpServletRequest servletRequest;
+
+    /** Forgets every client, e.g. between tests. */
+    public void clear() {
+        limiter.clear();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        String route = route(request);
+        Budget budget = routeBudgets.get(route);
+        String bucket;
+        if (budget != null) {
+            bucket = client(request, servletRequest) + " " + route;
+        } else {
+            budget = defaultBudget;
+            bucket = client(request, servletRequest) + " " + OTHER_ROUTES;
+        }
+
+        TokenBucket.Decision decision = limiter.tryAcquire(bucket, budget);
+        // The headers are added by the response filter, which also sees aborted requests
+        request.setProperty(DECISION_PROPERTY, new Limited(budget.capacity(), decision));
+        if (!decision.allowed()) {
+            LOG.debugf("Rate limited %s", bucket);
+            request.abortWith(
+                    Response.status(Response.Status.TOO_MANY_REQUESTS)
+                            .header(
+                                    HttpHeaders.RETRY_AFTER,
+                                    Math.max(1, seconds(decision.retryAfterMillis())))
+                            .entity("Rate limit exceeded, retry later")
+                            .build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Limited limited = (Limited) request.getProperty(DECISION_PROPERTY);
+        if (limited == null) {
+            return;
+        }
+        MultivaluedMap<String, Object> headers = response.getHeaders();
+        headers.putSingle(LIMIT_HEADER, limited.limit());
+        headers.putSingle(REMAINING_HEADER, limited.decision().remaining());
+        headers.putSingle(RESET_HEADER, seconds(limited.decision().resetMillis()));
+    }
+
+    /** The client of the request: its API key, or its remote address if it sends none. */
+    static String client(ContainerRequestContext request, HttpServletRequest servletRequest) {
+        String apiKey = request.getHeaderString(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank() && apiKey.length() <= MAX_API_KEY_LENGTH) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + servletRequest.getRemoteAddr();
+    }
+
+    private String route(ContainerRequestContext request) {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return request.getMethod() + " " + OTHER_ROUTES;
+        }
+        return request.getMethod() + " " + routes.computeIfAbsent(method, Routes::template);
+    }
+
+    private static long seconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
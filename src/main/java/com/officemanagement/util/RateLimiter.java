@@ -0,0 +1,132 @@
+package com.officemanagement.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link TokenBucket}s by key, bounded in number and dropped once idle.
+ *
+ * <p>A bucket that has not been used for as long as it takes to refill completely is
+ * indistinguishable from a new one, so such buckets are dropped by a sweep that runs at most every
+ * {@code sweepMillis}, and whenever more than {@code maxBuckets} are held. If that is not enough,
+ * arbitrary buckets are dropped until a tenth of the room is free again, so that a flood of
+ * distinct clients does not cause a sweep per request; their clients start again with a full
+ * budget, which is the price of bounding memory.
+ */
+public class RateLimiter {
+
+    /**
+     * Tokens a client may spend, refilled evenly over a period.
+     *
+     * @param capacity requests allowed in a burst
+     * @param periodSeconds seconds in which an empty bucket fills up again
+     */
+    public record Budget(int capacity, long periodSeconds) {
+        public Budget {
+            if (capacity < 1 || capacity > TokenBucket.MAX_CAPACITY || periodSeconds < 1) {
+                throw new IllegalArgumentException(
+                        "Invalid rate limit budget: " + capacity + "/" + periodSeconds);
+            }
+        }
+
+        /** Parses {@code capacity/periodSeconds}, e.g. {@code 60/60}. */
+        public static Budget parse(String value) {
+            String[] parts = value.trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid rate limit budget: " + value);
+            }
+            try {
+                return new Budget(
+                        Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rate limit budget: " + value, e);
+            }
+        }
+
+        double tokensPerSecond() {
+            return (double) capacity / periodSeconds;
+        }
+    }
+
+    private static final class Entry {
+        private final TokenBucket bucket;
+        private volatile long lastUsedMillis;
+
+        private Entry(TokenBucket bucket, long lastUsedMillis) {
+            this.bucket = bucket;
+            this.lastUsedMillis = lastUsedMillis;
+        }
+    }
+
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final long sweepMillis;
+    private final LongSupplier clock;
+    private final AtomicLong nextSweepMillis;
+
+    /**
+     * @param maxBuckets upper bound on the number of buckets held
+     * @param sweepMillis how often idle buckets are dropped
+     * @param clock source of the current time in milliseconds
+     */
+    public RateLimiter(int maxBuckets, long sweepMillis, LongSupplier clock) {
+        if (maxBuckets < 1 || sweepMillis < 1) {
+            throw new IllegalArgumentException("Invalid rate limiter limits");
+        }
+        this.maxBuckets = maxBuckets;
+        this.sweepMillis = sweepMillis;
+        this.clock = clock;
+        this.nextSweepMillis = new AtomicLong(clock.getAsLong() + sweepMillis);
+    }
+
+    /**
+     * Takes a token from the key's bucket, creating a full bucket with the given budget first if
+     * the key has none. A key keeps the budget its bucket was created with.
+     */
+    public TokenBucket.Decision tryAcquire(String key, Budget budget) {
+        long now = clock.getAsLong();
+        Entry entry =
+                buckets.computeIfAbsent(
+                        key,
+                        k ->
+                                new Entry(
+                                        new TokenBucket(
+                                                budget.capacity(), budget.tokensPerSecond(), now),
+                                        now));
+        entry.lastUsedMillis = now;
+        TokenBucket.Decision decision = entry.bucket.tryAcquire(now);
+
+        long nextSweep = nextSweepMillis.get();
+        if ((now >= nextSweep && nextSweepMillis.compareAndSet(nextSweep, now + sweepMillis))
+                || buckets.size() > maxBuckets) {
+            sweep(now);
+        }
+        return decision;
+    }
+
+    /** Returns the number of buckets held. */
+    public int size() {
+        return buckets.size();
+    }
+
+    /** Drops every bucket. */
+    public void clear() {
+        buckets.clear();
+    }
+
+    private void sweep(long now) {
+        buckets.values().removeIf(entry -> entry.bucket.isFullSince(entry.lastUsedMillis, now));
+        if (buckets.size() <= maxBuckets) {
+            return;
+        }
+        int target = maxBuckets - maxBuckets / 10;
+        Iterator<Entry> overflow = buckets.values().iterator();
+        while (buckets.size() > target && overflow.hasNext()) {
+            overflow.next();
+            overflow.remove();
+        }
+    }
+}
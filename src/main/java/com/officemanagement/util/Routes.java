@@ -0,0 +1,55 @@
+package com.officemanagement.util;
+
+import jakarta.ws.rs.Path;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/** Route templates of resource methods, as used to configure limits per endpoint. */
+final class Routes {
+
+    private Routes() {}
+
+    /** Returns the path template of the resource method, e.g. {@code /floors/{id}/svg}. */
+    static String template(Method method) {
+        StringBuilder template = new StringBuilder();
+        for (Path path :
+                new Path[] {
+                    method.getDeclaringClass().getAnnotation(Path.class),
+                    method.getAnnotation(Path.class)
+                }) {
+            if (path == null) {
+                continue;
+            }
+            String value = path.value();
+            if (!value.startsWith("/")) {
+                template.append('/');
+            }
+            template.append(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+        }
+        return template.isEmpty() ? "/" : template.toString();
+    }
+
+    /**
+     * Parses a comma separated list of {@code METHOD /path=value} entries.
+     *
+     * @param what what the values are, for error messages
+     */
+    static <T> Map<String, T> parse(String value, Function<String, T> parser, String what) {
+        Map<String, T> routes = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid " + what + " route: " + entry);
+            }
+            routes.put(
+                    entry.substring(0, separator).trim().replaceAll("\\s+", " "),
+                    parser.apply(entry.substring(separator + 1).trim()));
+        }
+        return routes;
+    }
+}
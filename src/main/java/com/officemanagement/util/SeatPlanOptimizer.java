@@ -0,0 +1,332 @@
+package com.officemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns people to seats so that members of the same team sit close together.
+ *
+ * <p>The cost of a plan is, for every team, the sum of squared distances of its members to the
+ * team's centroid. Seats are points in 3D: their position on the floor plus a z coordinate that
+ * callers use to separate floors, so that splitting a team across floors costs far more than
+ * spreading it over a floor. Each seat holds at most one person.
+ *
+ * <p>The search is simulated annealing over "move a person to another seat, swapping with its
+ * occupant if any". Keeping per-team coordinate sums makes the cost change of a move O(1)
+ * regardless of team size. Several independent restarts run in parallel, one task each on the given
+ * {@link Executor}, and the cheapest plan wins. Results depend only on the inputs and the seed, not
+ * on the number of threads.
+ */
+public class SeatPlanOptimizer {
+
+    /** Cheapest plan found. */
+    public record Plan(int[] seatOfPerson, double cost) {}
+
+    private final int restarts;
+    private final int movesPerPerson;
+    private final long seed;
+
+    /**
+     * @param restarts number of independent annealing runs
+     * @param movesPerPerson annealing moves per run, per person to place
+     * @param seed base seed of the runs
+     */
+    public SeatPlanOptimizer(int restarts, int movesPerPerson, long seed) {
+        if (restarts <= 0 || movesPerPerson <= 0) {
+            throw new IllegalArgumentException("restarts and movesPerPerson must be positive");
+        }
+        this.restarts = restarts;
+        this.movesPerPerson = movesPerPerson;
+        this.seed = seed;
+    }
+
+    /**
+     * Computes a plan.
+     *
+     * @param seatX x coordinate of each seat
+     * @param seatY y coordinate of each seat
+     * @param seatZ z coordinate of each seat
+     * @param teamOfPerson team index of each person, from 0 to teamCount - 1
+     * @param teamCount number of teams
+     * @param executor runs the restarts
+     * @return for each person the index of its seat
+     */
+    public Plan optimize(
+            double[] seatX,
+            double[] seatY,
+            double[] seatZ,
+            int[] teamOfPerson,
+            int teamCount,
+            Executor executor) {
+        int seats = seatX.length;
+        if (seatY.length != seats || seatZ.length != seats) {
+            throw new IllegalArgumentException("Seat coordinate arrays differ in length");
+        }
+        if (teamOfPerson.length > seats) {
+            throw new IllegalArgumentException(
+                    "Cannot place " + teamOfPerson.length + " people on " + seats + " seats");
+        }
+        for (int team : teamOfPerson) {
+            if (team < 0 || team >= teamCount) {
+                throw new IllegalArgumentException("Team index out of range: " + team);
+            }
+        }
+        if (teamOfPerson.length == 0) {
+            return new Plan(new int[0], 0);
+        }
+
+        int[] seatOrder = spatialOrder(seatX, seatY, seatZ);
+        List<CompletableFuture<Plan>> runs = new ArrayList<>(restarts);
+        for (int run = 0; run < restarts; run++) {
+            SplittableRandom random = randomFor(run);
+            runs.add(
+                    CompletableFuture.supplyAsync(
+                            () ->
+                                    new Annealer(
+                                                    seatX,
+                                                    seatY,
+                                                    seatZ,
+                                                    teamOfPerson,
+                                                    teamCount,
+                                                    seatOrder,
+                                                    random)
+                                            .run(movesPerPerson),
+                            executor));
+        }
+        // In run order, so that ties go to the same run whatever finished first
+        Plan best = null;
+        for (CompletableFuture<Plan> run : runs) {
+            Plan plan = run.join();
+            if (best == null || plan.cost() < best.cost()) {
+                best = plan;
+            }
+        }
+        return best;
+    }
+
+    private SplittableRandom randomFor(int run) {
+        return new SplittableRandom(seed + run * 0x9E3779B97F4A7C15L);
+    }
+
+    /** Returns the cost of a plan, as defined in the class comment. */
+    public static double cost(
+            double[] seatX,
+            double[] seatY,
+            double[] seatZ,
+            int[] teamOfPerson,
+            int teamCount,
+            int[] seatOfPerson) {
+        double[] sx = new double[teamCount];
+        double[] sy = new double[teamCount];
+        double[] sz = new double[teamCount];
+        double[] sq = new double[teamCount];
+        int[] count = new int[teamCount];
+        for (int p = 0; p < teamOfPerson.length; p++) {
+            int t = teamOfPerson[p];
+            int s = seatOfPerson[p];
+            sx[t] += seatX[s];
+            sy[t] += seatY[s];
+            sz[t] += seatZ[s];
+            sq[t] += seatX[s] * seatX[s] + seatY[s] * seatY[s] + seatZ[s] * seatZ[s];
+            count[t]++;
+        }
+        double total = 0;
+        for (int t = 0; t < teamCount; t++) {
+            if (count[t] > 0) {
+                total += sq[t] - (sx[t] * sx[t] + sy[t] * sy[t] + sz[t] * sz[t]) / count[t];
+            }
+        }
+        return total;
+    }
+
+    /** Orders seats floor by floor, row by row, so that consecutive seats are close. */
+    private static int[] spatialOrder(double[] seatX, double[] seatY, double[] seatZ) {
+        return IntStream.range(0, seatX.length)
+                .boxed()
+                .sorted(
+                        Comparator.<Integer>comparingDouble(s -> seatZ[s])
+                                .thenComparingDouble(s -> seatY[s])
+                                .thenComparingDouble(s -> seatX[s]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /** One annealing run; not thread-safe, each run owns its state. */
+    private static final class Annealer {
+        private static final int TEMPERATURE_SAMPLES = 1_000;
+        private static final double FINAL_TEMPERATURE_RATIO = 1e-4;
+
+        private final double[] seatX;
+        private final double[] seatY;
+        private final double[] seatZ;
+        private final int[] teamOfPerson;
+        private final SplittableRandom random;
+
+        private final int[] seatOfPerson;
+        private final int[] occupant;
+        private final double[] sx;
+        private final double[] sy;
+        private final double[] sz;
+        private final int[] count;
+
+        private Annealer(
+                double[] seatX,
+                double[] seatY,
+                double[] seatZ,
+                int[] teamOfPerson,
+                int teamCount,
+                int[] seatOrder,
+                SplittableRandom random) {
+            this.seatX = seatX;
+            this.seatY = seatY;
+            this.seatZ = seatZ;
+            this.teamOfPerson = teamOfPerson;
+            this.random = random;
+            this.seatOfPerson = new int[teamOfPerson.length];
+            this.occupant = new int[seatX.length];
+            this.sx = new double[teamCount];
+            this.sy = new double[teamCount];
+            this.sz = new double[teamCount];
+            this.count = new int[teamCount];
+            Arrays.fill(occupant, -1);
+            placeTeamsContiguously(seatOrder, teamCount);
+        }
+
+        /** Starts from teams in random order, each filling consecutive seats. */
+        private void placeTeamsContiguously(int[] seatOrder, int teamCount) {
+            int[] teams = IntStream.range(0, teamCount).toArray();
+            for (int i = teams.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = teams[i];
+                teams[i] = teams[j];
+                teams[j] = tmp;
+            }
+            int next = 0;
+            for (int team : teams) {
+                for (int p = 0; p < teamOfPerson.length; p++) {
+                    if (teamOfPerson[p] == team) {
+                        place(p, seatOrder[next++]);
+                    }
+                }
+            }
+        }
+
+        private void place(int person, int seat) {
+            int t = teamOfPerson[person];
+            seatOfPerson[person] = seat;
+            occupant[seat] = person;
+            sx[t] += seatX[seat];
+            sy[t] += seatY[seat];
+            sz[t] += seatZ[seat];
+            count[t]++;
+        }
+
+        private double norm2(int seat) {
+            return seatX[seat] * seatX[seat]
+                    + seatY[seat] * seatY[seat]
+                    + seatZ[seat] * seatZ[seat];
+        }
+
+        /** Cost change of moving one member of team t from seat a to seat b. */
+        private double moveDelta(int t, int a, int b) {
+            double dx = seatX[b] - seatX[a];
+            double dy = seatY[b] - seatY[a];
+            double dz = seatZ[b] - seatZ[a];
+            double cross = 2 * (sx[t] * dx + sy[t] * dy + sz[t] * dz) + dx * dx + dy * dy + dz * dz;
+            return norm2(b) - norm2(a) - cross / count[t];
+        }
+
+        private void applyMove(int t, int a, int b) {
+            sx[t] += seatX[b] - seatX[a];
+            sy[t] += seatY[b] - seatY[a];
+            sz[t] += seatZ[b] - seatZ[a];
+        }
+
+        /**
+         * Cost change of moving the person to the target seat, swapping with its occupant.
+         *
+         * @return the cost change, or NaN if the move cannot change the cost
+         */
+        private double delta(int person, int target) {
+            int from = seatOfPerson[person];
+            int other = occupant[target];
+            int team = teamOfPerson[person];
+            if (from == target || (other >= 0 && teamOfPerson[other] == team)) {
+                return Double.NaN;
+            }
+            double delta = moveDelta(team, from, target);
+            if (other >= 0) {
+                delta += moveDelta(teamOfPerson[other], target, from);
+            }
+            return delta;
+        }
+
+        private void commit(int person, int target) {
+            int from = seatOfPerson[person];
+            int other = occupant[target];
+            applyMove(teamOfPerson[person], from, target);
+            seatOfPerson[person] = target;
+            occupant[target] = person;
+            if (other >= 0) {
+                applyMove(teamOfPerson[other], target, from);
+                seatOfPerson[other] = from;
+            }
+            occupant[from] = other;
+        }
+
+        private double initialTemperature() {
+            double sum = 0;
+            int positive = 0;
+            for (int i = 0; i < TEMPERATURE_SAMPLES; i++) {
+                double delta =
+                        delta(random.nextInt(seatOfPerson.length), random.nextInt(occupant.length));
+                if (delta > 0) {
+                    sum += delta;
+                    positive++;
+                }
+            }
+            // Start warm enough to accept an average uphill move with probability ~1/e
+            return positive == 0 ? 0 : sum / positive;
+        }
+
+        private Plan run(int movesPerPerson) {
+            int people = seatOfPerson.length;
+            double temperature = initialTemperature();
+            double cooling =
+                    Math.pow(FINAL_TEMPERATURE_RATIO, 1.0 / ((long) movesPerPerson * people));
+
+            // Costs are tracked relative to the start. The best plan is snapshotted once per
+            // round of `people` moves, which keeps copying O(1) amortized per move.
+            double cost = 0;
+            double bestCost = 0;
+            int[] best = seatOfPerson.clone();
+            for (int round = 0; round < movesPerPerson; round++) {
+                for (int i = 0; i < people; i++, temperature *= cooling) {
+                    int person = random.nextInt(people);
+                    int target = random.nextInt(occupant.length);
+                    double delta = delta(person, target);
+                    if (Double.isNaN(delta)) {
+                        continue;
+                    }
+                    if (delta <= 0
+                            || (temperature > 0
+                                    && random.nextDouble() < Math.exp(-delta / temperature))) {
+                        commit(person, target);
+                        cost += delta;
+                    }
+                }
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    System.arraycopy(seatOfPerson, 0, best, 0, people);
+                }
+            }
+            return new Plan(best, cost(seatX, seatY, seatZ, teamOfPerson, sx.length, best));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.officemanagement.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of records on local disk, split into segment files.
+ *
+ * <p>Every record gets the next offset, starting at 0. A segment is named after the offset of
+ * its first record ({@code 00000000000000000042.log}) and a new one is started when the current
+ * one would grow past the segment size; the oldest segments beyond the maximum count are deleted.
+ * A record is stored as its offset, payload length and CRC32 of the payload, followed by the
+ * payload. A batch is forced to disk before {@link #append} returns. On opening, a record torn by
+ * a crash at the end of the last segment is cut off.
+ *
+ * <p>One process appends; any number read the files with a {@link LogConsumer}. Thread-safe.
+ */
+public final class SegmentLog implements Closeable {
+
+    /** A record read from the log. */
+    public record Record(long offset, byte[] payload) {}
+
+    static final int HEADER_BYTES = 16;
+    static final String SUFFIX = ".log";
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    // Guarded by the log
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel active;
+    private long nextOffset;
+
+    /**
+     * Opens the log in the directory, creating it if needed.
+     *
+     * @param segmentBytes size past which a new segment is started
+     * @param maxSegments segments kept, the oldest are deleted
+     */
+    public SegmentLog(Path directory, long segmentBytes, int maxSegments) throws IOException {
+        if (segmentBytes <= HEADER_BYTES || maxSegments < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid segment log size: " + segmentBytes + " bytes x " + maxSegments);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        segments.putAll(segments(directory));
+        if (segments.isEmpty()) {
+            segments.put(0L, segmentPath(directory, 0));
+        }
+        Path last = segments.lastEntry().getValue();
+        active =
+                FileChannel.open(
+                        last,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        nextOffset = recover(active, segments.lastKey());
+    }
+
+    /** Appends the payloads as consecutive records, returning the offset of the first one. */
+    public synchronized long append(List<byte[]> payloads) throws IOException {
+        long first = nextOffset;
+        try {
+            long size = active.size();
+            ByteBuffer batch = null;
+            for (byte[] payload : payloads) {
+                int recordBytes = HEADER_BYTES + payload.length;
+                if (size > 0 && size + recordBytes > segmentBytes) {
+                    write(batch);
+                    batch = null;
+                    roll();
+                    size = 0;
+                }
+                if (batch == null || batch.remaining() < recordBytes) {
+                    write(batch);
+                    batch = ByteBuffer.allocate(Math.max(recordBytes, WRITE_BUFFER_BYTES));
+                }
+                batch.putLong(nextOffset).putInt(payload.length).putInt(crc(payload));
+                batch.put(payload);
+                size += recordBytes;
+                nextOffset++;
+            }
+            write(batch);
+            active.force(false);
+        } catch (IOException e) {
+            // Offsets of records that were not written are handed out again
+            nextOffset = recover(active, segments.lastKey());
+            throw e;
+        }
+        return first;
+    }
+
+    /** Offset the next record will get. */
+    public synchronized long nextOffset() {
+        return nextOffset;
+    }
+
+    /** Offset of the oldest record kept. */
+    public synchronized long firstOffset() {
+        return segments.firstKey();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.close();
+    }
+
+    private void write(ByteBuffer batch) throws IOException {
+        if (batch == null) {
+            return;
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            active.write(batch, active.size());
+        }
+    }
+
+    private void roll() throws IOException {
+        active.force(true);
+        active.close();
+        Path next = segmentPath(directory, nextOffset);
+        active =
+                FileChannel.open(
+                        next,
+                        StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        segments.put(nextOffset, next);
+        while (segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.pollFirstEntry().getValue());
+        }
+    }
+
+    /** Finds the end of the last segment's valid records, and cuts off anything after it. */
+    private static long recover(FileChannel channel, long baseOffset) throws IOException {
+        long position = 0;
+        long offset = baseOffset;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (true) {
+            byte[] payload = readRecord(channel, position, offset, header);
+            if (payload == null) {
+                break;
+            }
+            position += HEADER_BYTES + payload.length;
+            offset++;
+        }
+        if (channel.size() > position) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        return offset;
+    }
+
+    /**
+     * Reads the record with the given offset at the position.
+     *
+     * @return its payload, or {@code null} if there is no complete and intact record there
+     */
+    static byte[] readRecord(FileChannel channel, long position, long offset, ByteBuffer header)
+            throws IOException {
+        header.clear();
+        if (!readFully(channel, header, position)) {
+            return null;
+        }
+        header.flip();
+        long recordOffset = header.getLong();
+        int length = header.getInt();
+        int crc = header.getInt();
+        if (recordOffset != offset
+                || length < 0
+                || position + HEADER_BYTES + length > channel.size()) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(channel, payload, position + HEADER_BYTES)
+                || crc(payload.array()) != crc) {
+            return null;
+        }
+        return payload.array();
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /** The segments in the directory by the offset of their first record. */
+    static NavigableMap<Long, Path> segments(Path directory) throws IOException {
+        NavigableMap<Long, Path> result = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(
+                    file -> {
+                        String name = file.getFileName().toString();
+                        if (name.endsWith(SUFFIX)) {
+                            try {
+                                result.put(
+                                        Long.parseLong(
+                                                name.substring(0, name.length() - SUFFIX.length())),
+                                        file);
+                            } catch (NumberFormatException e) {
+                                // Not a segment
+                            }
+                        }
+                    });
+        }
+        return result;
+    }
+
+    static Path segmentPath(Path directory, long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    }
+}
@@ -0,0 +1,165 @@
+package com.officemanagement.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets concurrent callers with the same key share one computation.
+ *
+ * <p>The first caller for a key {@link #join joins} as the leader and computes; callers that join
+ * while it runs wait for its result instead of computing again. The entry is dropped as soon as
+ * the leader {@link #complete completes} or {@link #abandon abandons} it, so a result is never
+ * handed to a caller that arrived after it was produced; this is coalescing, not caching. A
+ * follower that waited {@code waitMillis} without a result, or whose leader abandoned, computes on
+ * its own. A leader that neither completes nor abandons within {@code waitMillis} is replaced by
+ * the next caller, so a lost leader cannot block a key for good.
+ *
+ * @param <K> the key identifying identical computations
+ * @param <V> the shared result
+ */
+public class SingleFlight<K, V> {
+
+    /** What the caller should do. */
+    public enum Outcome {
+        /** The caller leads; compute and then {@link #complete} or {@link #abandon}. */
+        LEAD,
+        /** The leader's result is in {@link Call#result()}. */
+        SHARE,
+        /** No result could be shared; compute without completing anything. */
+        BYPASS
+    }
+
+    /** Result of {@link #join}. */
+    public static final class Call<K, V> {
+        private final Outcome outcome;
+        private final V result;
+        private final Flight<K, V> flight;
+
+        private Call(Outcome outcome, V result, Flight<K, V> flight) {
+            this.outcome = outcome;
+            this.result = result;
+            this.flight = flight;
+        }
+
+        public Outcome outcome() {
+            return outcome;
+        }
+
+        public V result() {
+            return result;
+        }
+    }
+
+    /** Counts of calls by outcome, since the group was created. */
+    public record Stats(long led, long shared, long bypassed) {
+        public long calls() {
+            return led + shared + bypassed;
+        }
+
+        /** Share of calls that were answered without computing, between 0 and 1. */
+        public double coalescingRatio() {
+            long calls = calls();
+            return calls == 0 ? 0 : (double) shared / calls;
+        }
+    }
+
+    private static final class Flight<K, V> {
+        private final K key;
+        private final long startedAtMillis;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private Flight(K key, long startedAtMillis) {
+            this.key = key;
+            this.startedAtMillis = startedAtMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Flight<K, V>> flights = new ConcurrentHashMap<>();
+    private final long waitMillis;
+    private final LongSupplier clock;
+    private final LongAdder led = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    /**
+     * @param waitMillis how long a follower waits for the leader, and how long a leader may run
+     *     before the next caller replaces it
+     * @param clock source of the current time in milliseconds
+     */
+    public SingleFlight(long waitMillis, LongSupplier clock) {
+        if (waitMillis < 0) {
+            throw new IllegalArgumentException("Invalid single-flight wait: " + waitMillis);
+        }
+        this.waitMillis = waitMillis;
+        this.clock = clock;
+    }
+
+    /** Leads the computation for the key, or waits for the leader that already does. */
+    public Call<K, V> join(K key) throws InterruptedException {
+        long now = clock.getAsLong();
+        Flight<K, V> fresh = new Flight<>(key, now);
+        Flight<K, V> existing = flights.putIfAbsent(key, fresh);
+        if (existing == null) {
+            led.increment();
+            return new Call<>(Outcome.LEAD, null, fresh);
+        }
+        long waitUntil = existing.startedAtMillis + waitMillis;
+        if (waitUntil <= now) {
+            // The leader is overdue, take over the key
+            if (flights.replace(key, existing, fresh)) {
+                led.increment();
+                return new Call<>(Outcome.LEAD, null, fresh);
+            }
+            bypassed.increment();
+            return new Call<>(Outcome.BYPASS, null, null);
+        }
+
+        V result;
+        try {
+            result = existing.result.get(waitUntil - now, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            result = null;
+        }
+        if (result == null) {
+            bypassed.increment();
+            return new Call<>(Outcome.BYPASS, null, null);
+        }
+        shared.increment();
+        return new Call<>(Outcome.SHARE, result, null);
+    }
+
+    /** Hands the leader's result to the waiting followers and drops the key. */
+    public void complete(Call<K, V> call, V result) {
+        Flight<K, V> flight = requireLeader(call);
+        flights.remove(flight.key, flight);
+        flight.result.complete(result);
+    }
+
+    /** Drops the key without a result; the waiting followers compute on their own. */
+    public void abandon(Call<K, V> call) {
+        Flight<K, V> flight = requireLeader(call);
+        flights.remove(flight.key, flight);
+        flight.result.complete(null);
+    }
+
+    /** Returns the number of keys currently being computed. */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    public Stats stats() {
+        return new Stats(led.sum(), shared.sum(), bypassed.sum());
+    }
+
+    private static <K, V> Flight<K, V> requireLeader(Call<K, V> call) {
+        if (call.outcome != Outcome.LEAD) {
+            throw new IllegalArgumentException("Call is not a leader: " + call.outcome);
+        }
+        return call.flight;
+    }
+}
@@ -0,0 +1,146 @@
+package com.officemanagement.util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory half-day booking calendar backed by per-day bitsets.
+ *
+ * <p>Each day holds one bitset for the morning and one for the afternoon, indexed by seat id, so a
+ * conflict check is a single bit test and a floor-wide availability scan is one bit test per seat.
+ * Slots are passed as masks ({@link #MORNING}, {@link #AFTERNOON} or both). Operations on the same
+ * day are serialized on that day; different days never contend.
+ */
+public class SlotCalendar {
+
+    public static final int MORNING = 1;
+    public static final int AFTERNOON = 2;
+
+    private final ConcurrentHashMap<Long, Day> days = new ConcurrentHashMap<>();
+
+    private static final class Day {
+        private final BitSet morning = new BitSet();
+        private final BitSet afternoon = new BitSet();
+
+        private boolean isFree(int seat, int slotMask) {
+            return ((slotMask & MORNING) == 0 || !morning.get(seat))
+                    && ((slotMask & AFTERNOON) == 0 || !afternoon.get(seat));
+        }
+
+        private void set(int seat, int slotMask, boolean booked) {
+            if ((slotMask & MORNING) != 0) {
+                morning.set(seat, booked);
+            }
+            if ((slotMask & AFTERNOON) != 0) {
+                afternoon.set(seat, booked);
+            }
+        }
+    }
+
+    /**
+     * Books the given slots for a seat if none of them is taken yet.
+     *
+     * @return {@code true} if the slots were free and are now booked
+     */
+    public boolean tryBook(long seatId, LocalDate date, int slotMask) {
+        int seat = seatIndex(seatId);
+        Day day = days.computeIfAbsent(date.toEpochDay(), key -> new Day());
+        synchronized (day) {
+            if (!day.isFree(seat, slotMask)) {
+                return false;
+            }
+            day.set(seat, slotMask, true);
+            return true;
+        }
+    }
+
+    /** Marks the given slots as booked regardless of their current state (used when loading). */
+    public void book(long seatId, LocalDate date, int slotMask) {
+        int seat = seatIndex(seatId);
+        Day day = days.computeIfAbsent(date.toEpochDay(), key -> new Day());
+        synchronized (day) {
+            day.set(seat, slotMask, true);
+        }
+    }
+
+    /** Frees the given slots of a seat. */
+    public void release(long seatId, LocalDate date, int slotMask) {
+        Day day = days.get(date.toEpochDay());
+        if (day == null) {
+            return;
+        }
+        int seat = seatIndex(seatId);
+        synchronized (day) {
+            day.set(seat, slotMask, false);
+        }
+    }
+
+    /** Returns whether all the given slots of a seat are free on the date. */
+    public boolean isFree(long seatId, LocalDate date, int slotMask) {
+        Day day = days.get(date.toEpochDay());
+        if (day == null) {
+            return true;
+        }
+        int seat = seatIndex(seatId);
+        synchronized (day) {
+            return day.isFree(seat, slotMask);
+        }
+    }
+
+    /**
+     * Filters the given seats down to those whose slots are all free on the date.
+     *
+     * @return the free seat ids, in the order they were given
+     */
+    public long[] freeSeats(long[] seatIds, LocalDate date, int slotMask) {
+        Day day = days.get(date.toEpochDay());
+        if (day == null) {
+            return seatIds.clone();
+        }
+        long[] free = new long[seatIds.length];
+        int count = 0;
+        synchronized (day) {
+            for (long seatId : seatIds) {
+                if (day.isFree(seatIndex(seatId), slotMask)) {
+                    free[count++] = seatId;
+                }
+            }
+        }
+        return Arrays.copyOf(free, count);
+    }
+
+    /**
+     * Drops every day before the given date.
+     *
+     * @return the number of days dropped
+     */
+    public int pruneBefore(LocalDate date) {
+        long first = date.toEpochDay();
+        int pruned = 0;
+        for (Long epochDay : days.keySet()) {
+            if (epochDay < first && days.remove(epochDay) != null) {
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /** Returns the number of days with bookings kept in memory. */
+    public int size() {
+        return days.size();
+    }
+
+    /** Removes all bookings. */
+    public void clear() {
+        days.clear();
+    }
+
+    private static int seatIndex(long seatId) {
+        if (seatId < 0 || seatId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Seat id out of range: " + seatId);
+        }
+        return (int) seatId;
+    }
+}
@@ -0,0 +1,103 @@
+package com.officemanagement.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>The whole state fits in one {@code long}: the upper 32 bits hold the time of the last refill
+ * in milliseconds (truncated, compared modulo 2^32, so only gaps under 24 days are meaningful),
+ * and the lower 32 bits hold the tokens in thousandths of a token. Taking a token is a single
+ * compare-and-set of that word, retried on contention, so concurrent requests never block each
+ * other. The refill time only advances by the time that was turned into tokens, so slow rates are
+ * not lost to rounding when the bucket is polled often.
+ */
+public final class TokenBucket {
+
+    /** Outcome of {@link #tryAcquire}. */
+    public record Decision(
+            boolean allowed, int remaining, long retryAfterMillis, long resetMillis) {}
+
+    private static final long SCALE = 1000;
+    private static final long MASK = 0xFFFF_FFFFL;
+
+    /** Largest capacity that fits the 32 bits of thousandths of tokens. */
+    public static final int MAX_CAPACITY = (int) (MASK / SCALE);
+
+    private final int capacity;
+    private final long capacityMilli;
+    // Thousandths of a token per millisecond, numerically equal to tokens per second
+    private final double rate;
+    private final AtomicLong state;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity tokens the bucket holds when full
+     * @param tokensPerSecond refill rate
+     * @param nowMillis current time
+     */
+    public TokenBucket(int capacity, double tokensPerSecond, long nowMillis) {
+        if (capacity < 1 || capacity > MAX_CAPACITY || !(tokensPerSecond > 0)) {
+            throw new IllegalArgumentException("Invalid token bucket settings");
+        }
+        this.capacity = capacity;
+        this.capacityMilli = capacity * SCALE;
+        this.rate = tokensPerSecond;
+        this.state = new AtomicLong(pack(nowMillis & MASK, capacityMilli));
+    }
+
+    /** Takes one token if there is one. */
+    public Decision tryAcquire(long nowMillis) {
+        long now = nowMillis & MASK;
+        while (true) {
+            long current = state.get();
+            long last = current >>> 32;
+            long tokens = current & MASK;
+
+            long elapsed = (now - last) & MASK;
+            if (elapsed > Integer.MAX_VALUE) {
+                elapsed = 0; // The clock went backwards
+            }
+            long added = (long) (elapsed * rate);
+            long refillTime;
+            if (tokens + added >= capacityMilli) {
+                tokens = capacityMilli;
+                refillTime = now;
+            } else {
+                tokens += added;
+                refillTime = (last + (long) (added / rate)) & MASK;
+            }
+
+            boolean allowed = tokens >= SCALE;
+            if (allowed) {
+                tokens -= SCALE;
+            }
+            long next = pack(refillTime, tokens);
+            if (next == current || state.compareAndSet(current, next)) {
+                return new Decision(
+                        allowed,
+                        (int) (tokens / SCALE),
+                        allowed ? 0 : millisFor(SCALE - tokens),
+                        millisFor(capacityMilli - tokens));
+            }
+        }
+    }
+
+    /** Whether the bucket has refilled completely if it was last used at the given time. */
+    public boolean isFullSince(long lastUsedMillis, long nowMillis) {
+        return nowMillis - lastUsedMillis >= millisFor(capacityMilli);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private long millisFor(long milliTokens) {
+        return (long) Math.ceil(milliTokens / rate);
+    }
+
+    private static long pack(long timeMillis, long milliTokens) {
+        return (timeMillis << 32) | milliTokens;
+    }
+}
@@ -1,6 +1,15 @@
 package com.officemanagement.resource;
 
+import com.officemanagement.service.OccupancyAnalytics;
+import com.officemanagement.service.OccupancyHistory;
+import com.officemanagement.service.OccupancySummary;
+import com.officemanagement.service.OfficeCounters;
+import com.officemanagement.service.OfficeReadModel;
+import com.officemanagement.service.PresenceService;
+import com.officemanagement.service.ReservationIndex;
+import com.officemanagement.service.SeatHoldService;
 import com.officemanagement.util.EntityManagerProducer.TestDatabase;
+import com.officemanagement.util.RateLimitFilter;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.UserTransaction;
@@ -25,6 +34,24 @@ public abstract class BaseResourceTest {
 
     @Inject UserTransaction userTransaction;
 
+    @Inject ReservationIndex reservationIndex;
+
+    @Inject SeatHoldService seatHolds;
+
+    @Inject OccupancyHistory occupancyHistory;
+
+    @Inject PresenceService presence;
+
+    @Inject OccupancyAnalytics occupancyAnalytics;
+
+    @Inject OfficeCounters officeCounters;
+
+    @Inject OccupancySummary occupancySummary;
+
+    @Inject RateLimitFilter rateLimits;
+
+    @Inject OfficeReadModel readModel;
+
     /**
      * Creates the deployment archive (WAR) that will be deployed to the EAP instance for testing.
      * This needs to include all necessary application classes, resources, and configuration.
@@ -63,6 +90,7 @@ public abstract class BaseResourceTest {
                                 .loadPomFromFile("pom.xml")
                                 .resolve(
                                         "com.h2database:h2",
+                                        "org.postgresql:postgresql",
                                         "io.rest-assured:rest-assured",
                                         "org.hamcrest:hamcrest-core",
                                         "io.swagger.core.v3:swagger-core-jakarta",
@@ -80,6 +108,10 @@ public abstract class BaseResourceTest {
         try {
             userTransaction.begin();
             // Delete all data - order matters for referential integrity
+            entityManager.createQuery("DELETE FROM OccupancyBlock b").executeUpdate();
+            entityManager.createQuery("DELETE FROM PresenceEvent p").executeUpdate();
+            entityManager.createQuery("DELETE FROM ChangeLogEntry c").executeUpdate();
+            entityManager.createQuery("DELETE FROM SeatReservation r").executeUpdate();
             entityManager.createQuery("DELETE FROM Employee e").executeUpdate();
             entityManager.createQuery("DELETE FROM Seat s").executeUpdate();
             entityManager.createQuery("DELETE FROM OfficeRoom r").executeUpdate();
@@ -96,6 +128,16 @@ public abstract class BaseResourceTest {
         } finally {
             entityManager.clear();
         }
+        // In-memory indexes are not touched by the bulk deletes above
+        reservationIndex.rebuild();
+        seatHolds.clear();
+        occupancyHistory.clear();
+        presence.clear();
+        occupancyAnalytics.rebuild();
+        officeCounters.reconcile();
+        occupancySummary.invalidate();
+        rateLimits.clear();
+        readModel.rebuild();
     }
 
     /** Utility method to convert HTTP status code to Response.Status */
@@ -111,7 +153,8 @@ public abstract class BaseResourceTest {
 
     /**
      * Executes the provided operation within a transaction boundary. Handles transaction
-     * begin/commit/rollback and entity manager clearing.
+     * begin/commit/rollback and entity manager clearing, and reloads the read model, which only
+     * follows changes made through the resources.
      *
      * @param operation The operation to execute inside a transaction
      * @throws RuntimeException if the operation fails
@@ -131,5 +174,6 @@ public abstract class BaseResourceTest {
         } finally {
             entityManager.clear();
         }
+        readModel.rebuild();
     }
 }
@@ -0,0 +1,149 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for incremental sync with change tokens. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ChangeSyncIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private String startToken() {
+        return given().baseUri(BASE_URI)
+                .when()
+                .get("/changes")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("token", matchesPattern("\\d+\\.\\d+"))
+                .body("floors", empty())
+                .body("hasMore", is(false))
+                .extract()
+                .path("token");
+    }
+
+    @Test
+    public void testInvalidAndExpiredTokens() {
+        given().baseUri(BASE_URI)
+                .queryParam("since", "yesterday")
+                .when()
+                .get("/changes")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        // Issued in 1970, long before the oldest entry kept
+        given().baseUri(BASE_URI)
+                .queryParam("since", "0.1")
+                .when()
+                .get("/changes")
+                .then()
+                .statusCode(Response.Status.GONE.getStatusCode());
+    }
+
+    @Test
+    public void testChangesSinceToken() {
+        Holder<Long> floorId = new Holder<>();
+        Holder<Long> seatId = new Holder<>();
+        Holder<Long> employeeId = new Holder<>();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(980);
+                    floor.setName("Sync Floor");
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("R980A");
+                    room.setName("Sync Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("S980A1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Offline Client User");
+                    employee.setOccupation("Traveller");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+                    floorId.value = floor.getId();
+                    seatId.value = seat.getId();
+                    employeeId.value = employee.getId();
+                });
+
+        String token = startToken();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .put("/employees/" + employeeId.value + "/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        Floor otherFloor = new Floor();
+        otherFloor.setName("Other Sync Floor");
+        otherFloor.setFloorNumber(981);
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(otherFloor)
+                .when()
+                .post("/floors")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        // Only the watched floor's changes
+        given().baseUri(BASE_URI)
+                .queryParam("since", token)
+                .queryParam("floor", floorId.value)
+                .when()
+                .get("/changes")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("assignments.seatId", contains(seatId.value.intValue()))
+                .body("assignments.employeeId", contains(employeeId.value.intValue()))
+                .body("assignments.assigned", contains(true))
+                .body("floors", empty());
+
+        // The whole office
+        given().baseUri(BASE_URI)
+                .queryParam("since", token)
+                .when()
+                .get("/changes")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("floors.name", contains("Other Sync Floor"))
+                .body("assignments", hasSize(1));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/employees/" + employeeId.value)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        // The later unassignment supersedes the assignment
+        given().baseUri(BASE_URI)
+                .queryParam("since", token)
+                .queryParam("floor", floorId.value)
+                .when()
+                .get("/changes")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("assignments.assigned", contains(false))
+                .body("deletedEmployeeIds", contains(employeeId.value.intValue()))
+                .body("employees", empty());
+    }
+}
@@ -0,0 +1,112 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.FloorPlanimetry;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for coalescing of identical floor plan and embedded floor reads. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CoalescingIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private Long createFloorWithPlan(String svg) {
+        Holder<Long> floorId = new Holder<>();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(960);
+                    floor.setName("Lobby Floor");
+                    entityManager.persist(floor);
+                    entityManager.persist(new FloorPlanimetry(floor, svg));
+                    entityManager.flush();
+                    floorId.value = floor.getId();
+                });
+        return floorId.value;
+    }
+
+    private long coalescingRequests() {
+        return given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/coalescing")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract()
+                .jsonPath()
+                .getLong("requests");
+    }
+
+    @Test
+    public void testConcurrentReadsGetTheSameBody() throws Exception {
+        String svg = "<svg>Lobby screen plan</svg>";
+        Long floorId = createFloorWithPlan(svg);
+        long before = coalescingRequests();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<String>> calls = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                calls.add(
+                        () ->
+                                given().baseUri(BASE_URI)
+                                        .when()
+                                        .get("/floors/" + floorId + "/svg")
+                                        .then()
+                                        .statusCode(Response.Status.OK.getStatusCode())
+                                        .contentType(startsWith("text/plain"))
+                                        .extract()
+                                        .asString());
+            }
+            Set<String> bodies = new HashSet<>();
+            for (Future<String> result : executor.invokeAll(calls)) {
+                bodies.add(result.get());
+            }
+            assertEquals(Set.of(svg), bodies);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(before + 16, coalescingRequests());
+    }
+
+    @Test
+    public void testSingleReadIsNotMarkedCoalesced() {
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/999999/embed")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode())
+                .header("Coalesced", nullValue());
+    }
+
+    @Test
+    public void testCoalescingStats() {
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/coalescing")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("requests", greaterThanOrEqualTo(0))
+                .body("executed", greaterThanOrEqualTo(0))
+                .body("coalesced", greaterThanOrEqualTo(0))
+                .body("coalescingRatio", notNullValue());
+    }
+}
@@ -0,0 +1,40 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the adaptive concurrency limits. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConcurrencyLimitIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    @Test
+    public void testLimitsPerGroup() {
+        // One request of each group, so that every limit has been exercised
+        given().baseUri(BASE_URI).when().get("/floors").then().statusCode(200);
+        given().baseUri(BASE_URI).when().get("/dashboard").then().statusCode(200);
+        given().baseUri(BASE_URI).when().delete("/floors/999999").then().statusCode(404);
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/concurrency")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("$", allOf(hasKey("read"), hasKey("write"), hasKey("heavy")))
+                .body("read.limit", greaterThanOrEqualTo(1))
+                .body("write.limit", greaterThanOrEqualTo(1))
+                .body("heavy.limit", greaterThanOrEqualTo(1))
+                // Only the stats request itself is still in flight
+                .body("read.inFlight", equalTo(1))
+                .body("write.inFlight", equalTo(0))
+                .body("heavy.inFlight", equalTo(0))
+                .body("heavy.rejected", greaterThanOrEqualTo(0));
+    }
+}
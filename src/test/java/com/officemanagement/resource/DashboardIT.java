@@ -0,0 +1,110 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.FloorPlanimetry;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for GET /dashboard. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DashboardIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    /**
+     * A floor with a plan and one seat taken by the oldest of three employees, and a floor without
+     * a plan. Written directly, so counters and summaries are refreshed afterwards.
+     */
+    private void setupOffice() {
+        runInTransaction(
+                () -> {
+                    Floor planned = new Floor();
+                    planned.setFloorNumber(950);
+                    planned.setName("Planned Floor");
+                    entityManager.persist(planned);
+                    entityManager.persist(new FloorPlanimetry(planned, "<svg/>"));
+
+                    Floor unplanned = new Floor();
+                    unplanned.setFloorNumber(951);
+                    unplanned.setName("Unplanned Floor");
+                    entityManager.persist(unplanned);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("DASH-1");
+                    room.setName("Dashboard Room");
+                    room.setFloor(planned);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("DASH-S1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+
+                    LocalDateTime now = LocalDateTime.now();
+                    for (int i = 0; i < 3; i++) {
+                        Employee employee = new Employee();
+                        employee.setFullName("Dashboard Employee " + i);
+                        employee.setOccupation("Analyst");
+                        if (i == 0) {
+                            employee.addSeat(seat);
+                        }
+                        entityManager.persist(employee);
+                        employee.setCreatedAt(now.minusDays(3 - i));
+                    }
+                    entityManager.flush();
+                });
+        officeCounters.reconcile();
+        occupancySummary.invalidate();
+    }
+
+    @Test
+    public void testDashboard() {
+        setupOffice();
+
+        given().baseUri(BASE_URI)
+                .queryParam("recentEmployees", 2)
+                .when()
+                .get("/dashboard")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("stats.totalEmployees", equalTo(3))
+                .body("stats.occupiedSeats", equalTo(1))
+                .body("floors", hasSize(2))
+                .body("floors[0].name", equalTo("Planned Floor"))
+                .body("floors[0].occupiedSeats", equalTo(1))
+                .body("recentEmployees", hasSize(2))
+                .body("recentEmployees[0].fullName", equalTo("Dashboard Employee 2"))
+                .body("recentEmployees[1].fullName", equalTo("Dashboard Employee 1"))
+                .body("floorsWithoutPlanimetry", hasSize(1))
+                .body("floorsWithoutPlanimetry[0].floorNumber", equalTo(951))
+                .body("errors", anEmptyMap())
+                .body("elapsedMillis", notNullValue());
+    }
+
+    @Test
+    public void testInvalidRecentEmployees() {
+        given().baseUri(BASE_URI)
+                .queryParam("recentEmployees", 0)
+                .when()
+                .get("/dashboard")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("recentEmployees", 500)
+                .when()
+                .get("/dashboard")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+}
@@ -0,0 +1,41 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.officemanagement.util.DeadlineFilter;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for request deadlines. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DeadlineIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    @Test
+    public void testReadWithinDeadline() {
+        given().baseUri(BASE_URI)
+                .header(DeadlineFilter.HEADER, "2000")
+                .queryParam("search", "nobody")
+                .when()
+                .get("/employees/search")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("content", empty());
+    }
+
+    @Test
+    public void testInvalidRequestTimeout() {
+        for (String timeout : new String[] {"0", "-5", "soon"}) {
+            given().baseUri(BASE_URI)
+                    .header(DeadlineFilter.HEADER, timeout)
+                    .when()
+                    .get("/floors")
+                    .then()
+                    .statusCode(Response.Status.BAD_REQUEST.getStatusCode())
+                    .body(containsString(DeadlineFilter.HEADER));
+        }
+    }
+}
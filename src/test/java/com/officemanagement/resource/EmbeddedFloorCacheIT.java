@@ -0,0 +1,222 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the cache of serialized embedded floors. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EmbeddedFloorCacheIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> otherFloorId = new Holder<>();
+    private final Holder<Long> roomId = new Holder<>();
+    private final Holder<Long> seatId = new Holder<>();
+    private final Holder<Long> employeeId = new Holder<>();
+
+    /** Two floors, the first with a room of one seat. */
+    private void setupFloors(int floorNumber) {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Embedded Floor");
+                    entityManager.persist(floor);
+
+                    Floor other = new Floor();
+                    other.setFloorNumber(floorNumber + 1);
+                    other.setName("Other Embedded Floor");
+                    entityManager.persist(other);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("E-1");
+                    room.setName("Embedded Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("E-S1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Embedded Employee");
+                    employee.setOccupation("Engineer");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    otherFloorId.value = other.getId();
+                    roomId.value = room.getId();
+                    seatId.value = seat.getId();
+                    employeeId.value = employee.getId();
+                });
+    }
+
+    private ExtractableResponse<io.restassured.response.Response> embed(Long id) {
+        return given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/" + id + "/embed")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType(ContentType.JSON)
+                .header("ETag", notNullValue())
+                .extract();
+    }
+
+    private Map<String, Object> stats() {
+        return given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/embed-cache")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract()
+                .jsonPath()
+                .getMap("");
+    }
+
+    private static long count(Map<String, Object> stats, String name) {
+        return ((Number) stats.get(name)).longValue();
+    }
+
+    @Test
+    public void testRepeatedReadsShareBytesAndTag() {
+        setupFloors(941);
+        ExtractableResponse<io.restassured.response.Response> first = embed(floorId.value);
+        long hits = count(stats(), "hits");
+
+        ExtractableResponse<io.restassured.response.Response> second = embed(floorId.value);
+        assertEquals(first.header("ETag"), second.header("ETag"));
+        assertEquals(first.asString(), second.asString());
+        assertEquals(hits + 1, count(stats(), "hits"));
+        assertEquals("Embedded Room", second.jsonPath().getString("rooms[0].name"));
+
+        given().baseUri(BASE_URI)
+                .header("If-None-Match", first.header("ETag"))
+                .when()
+                .get("/floors/" + floorId.value + "/embed")
+                .then()
+                .statusCode(Response.Status.NOT_MODIFIED.getStatusCode())
+                .header("ETag", equalTo(first.header("ETag")));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/999999/embed")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    public void testAssignmentInvalidatesOnlyItsFloor() {
+        setupFloors(943);
+        String before = embed(floorId.value).header("ETag");
+        String otherBefore = embed(otherFloorId.value).header("ETag");
+
+        given().baseUri(BASE_URI)
+                .when()
+                .put("/employees/" + employeeId.value + "/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        ExtractableResponse<io.restassured.response.Response> after = embed(floorId.value);
+        assertNotEquals(before, after.header("ETag"));
+        List<Integer> employeeIds = after.jsonPath().getList("rooms[0].seats[0].employeeIds");
+        assertEquals(List.of(employeeId.value.intValue()), employeeIds);
+
+        long hits = count(stats(), "hits");
+        assertEquals(otherBefore, embed(otherFloorId.value).header("ETag"));
+        assertEquals(hits + 1, count(stats(), "hits"));
+    }
+
+    @Test
+    public void testRoomMovedToAnotherFloorLeavesBoth() {
+        setupFloors(945);
+        embed(floorId.value);
+        embed(otherFloorId.value);
+
+        OfficeRoom moved = new OfficeRoom();
+        moved.setName("Embedded Room");
+        moved.setRoomNumber("E-1");
+        Floor target = new Floor();
+        target.setId(otherFloorId.value);
+        moved.setFloor(target);
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(moved)
+                .when()
+                .put("/rooms/" + roomId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        assertEquals(List.of(), embed(floorId.value).jsonPath().getList("rooms"));
+        assertEquals(
+                List.of(roomId.value.intValue()),
+                embed(otherFloorId.value).jsonPath().getList("rooms.id"));
+    }
+
+    @Test
+    public void testSeatHoldIsVisibleInCachedFloor() {
+        setupFloors(947);
+        String before = embed(floorId.value).header("ETag");
+
+        String holdId =
+                given().contentType(ContentType.JSON)
+                        .baseUri(BASE_URI)
+                        .body(Map.of("employeeId", employeeId.value))
+                        .when()
+                        .post("/seats/" + seatId.value + "/hold")
+                        .then()
+                        .statusCode(Response.Status.CREATED.getStatusCode())
+                        .extract()
+                        .path("holdId");
+
+        ExtractableResponse<io.restassured.response.Response> held = embed(floorId.value);
+        assertNotEquals(before, held.header("ETag"));
+        assertTrue(held.jsonPath().getBoolean("rooms[0].seats[0].held"));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/seats/" + seatId.value + "/hold/" + holdId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        assertEquals(before, embed(floorId.value).header("ETag"));
+    }
+
+    @Test
+    public void testPlanUploadInvalidatesFloor() {
+        setupFloors(949);
+        assertFalse(embed(floorId.value).jsonPath().getBoolean("hasPlanimetry"));
+
+        given().contentType(ContentType.TEXT)
+                .baseUri(BASE_URI)
+                .body("<svg/>")
+                .when()
+                .put("/floors/" + floorId.value + "/svg")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        assertTrue(embed(floorId.value).jsonPath().getBoolean("hasPlanimetry"));
+        Map<String, Object> stats = stats();
+        assertTrue(count(stats, "invalidated") > 0);
+        assertTrue(count(stats, "bytes") <= count(stats, "maxBytes"));
+    }
+}
@@ -0,0 +1,280 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the second-level and query cache of floors, rooms and seats. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EntityCacheIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    /** Reads of the office structure, except counts, which background jobs run at any time. */
+    private static final Pattern STRUCTURE_READ =
+            Pattern.compile(
+                    "(?is)^\\s*select\\b(?!.*\\bcount\\().*\\b(floors|office_rooms|seats"
+                            + "|employees|employee_seat_assignments)\\b.*");
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> roomId = new Holder<>();
+    private final Holder<Long> seatId = new Holder<>();
+
+    /** A floor with a plan and a room of two seats, one of them taken. */
+    private void setupFloor() {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(931);
+                    floor.setName("Cached Floor");
+                    floor.setPlanimetry("<svg/>");
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("C-1");
+                    room.setName("Cached Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat taken = new Seat();
+                    taken.setSeatNumber("C-S1");
+                    taken.setRoom(room);
+                    entityManager.persist(taken);
+
+                    Seat free = new Seat();
+                    free.setSeatNumber("C-S2");
+                    free.setRoom(room);
+                    entityManager.persist(free);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Cached Employee");
+                    employee.setOccupation("Engineer");
+                    employee.addSeat(taken);
+                    entityManager.persist(employee);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    roomId.value = room.getId();
+                    seatId.value = taken.getId();
+                });
+    }
+
+    private void readStructure() {
+        for (String path :
+                List.of(
+                        "/floors",
+                        "/floors/" + floorId.value,
+                        "/floors/" + floorId.value + "/embed",
+                        "/floors/" + floorId.value + "/svg",
+                        "/rooms/" + roomId.value,
+                        "/rooms/" + roomId.value + "/seats",
+                        "/seats/" + seatId.value)) {
+            given().baseUri(BASE_URI)
+                    .when()
+                    .get(path)
+                    .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+        }
+    }
+
+    /** The data of the snapshot event that opens the floor's event stream. */
+    private String readSnapshot() throws Exception {
+        URI uri = URI.create(BASE_URI + "/floors/" + floorId.value + "/events");
+        HttpRequest request =
+                HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").build();
+        HttpResponse<Stream<String>> response =
+                HttpClient.newHttpClient()
+                        .sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                        .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        try (Stream<String> lines = response.body()) {
+            String name = "message";
+            StringBuilder data = new StringBuilder();
+            for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+                String line = it.next();
+                if (line.isEmpty() && data.length() > 0) {
+                    assertEquals("snapshot", name);
+                    return data.toString();
+                } else if (line.startsWith("event:")) {
+                    name = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring("data:".length()).trim());
+                }
+            }
+        }
+        return fail("No snapshot received");
+    }
+
+    private long structureQueryHits() {
+        Long hits =
+                given().baseUri(BASE_URI)
+                        .when()
+                        .get("/stats/cache")
+                        .then()
+                        .statusCode(Response.Status.OK.getStatusCode())
+                        .extract()
+                        .jsonPath()
+                        .getObject(
+                                "find { it.region.endsWith('office.structure-queries') }.hits",
+                                Long.class);
+        return hits == null ? 0 : hits;
+    }
+
+    private long regionEntries(String region) {
+        Long entries =
+                given().baseUri(BASE_URI)
+                        .when()
+                        .get("/stats/cache")
+                        .then()
+                        .statusCode(Response.Status.OK.getStatusCode())
+                        .extract()
+                        .jsonPath()
+                        .getObject(
+                                "find { it.region.endsWith('" + region + "') }.entries",
+                                Long.class);
+        return entries == null ? 0 : entries;
+    }
+
+    @Test
+    public void testRepeatedReadsRunNoSql() {
+        setupFloor();
+        readStructure(); // Fills the plan cache; the rest comes from the read model
+
+        SqlRecorder.start();
+        List<String> statements;
+        try {
+            readStructure();
+            readStructure();
+        } finally {
+            statements = SqlRecorder.stop();
+        }
+        List<String> structureReads =
+                statements.stream().filter(sql -> STRUCTURE_READ.matcher(sql).matches()).toList();
+        assertEquals(List.of(), structureReads);
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/cache")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("find { it.region.endsWith('office.planimetry') }.hits", greaterThan(0))
+                .body("find { it.region.endsWith('office.planimetry') }.entries", greaterThan(0));
+    }
+
+    @Test
+    public void testEventSnapshotIsServedFromQueryCache() throws Exception {
+        setupFloor();
+        readSnapshot(); // Fills the query cache
+
+        long hits = structureQueryHits();
+        String snapshot = readSnapshot();
+        assertTrue(snapshot.contains("Cached Room"), snapshot);
+        assertTrue(structureQueryHits() > hits);
+    }
+
+    @Test
+    public void testWritesAreVisibleToCachedReads() throws Exception {
+        setupFloor();
+        readStructure();
+        readSnapshot();
+
+        Floor rename = new Floor();
+        rename.setName("Renamed Cached Floor");
+        rename.setFloorNumber(931);
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(rename)
+                .when()
+                .put("/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("C-S3");
+        OfficeRoom room = new OfficeRoom();
+        room.setId(roomId.value);
+        seat.setRoom(room);
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(seat)
+                .when()
+                .post("/seats")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("name", equalTo("Renamed Cached Floor"));
+
+        List<Map<String, Object>> seats =
+                given().baseUri(BASE_URI)
+                        .when()
+                        .get("/rooms/" + roomId.value + "/seats")
+                        .then()
+                        .statusCode(Response.Status.OK.getStatusCode())
+                        .extract()
+                        .jsonPath()
+                        .getList("");
+        assertEquals(3, seats.size());
+
+        String snapshot = readSnapshot();
+        assertTrue(snapshot.contains("Renamed Cached Floor"), snapshot);
+        assertTrue(snapshot.contains("C-S3"), snapshot);
+    }
+
+    @Test
+    public void testSeatAllocationKeepsStructureCached() {
+        setupFloor();
+        Holder<Long> employeeId = new Holder<>();
+        runInTransaction(
+                () -> {
+                    Employee employee = new Employee();
+                    employee.setFullName("Allocated Employee");
+                    employee.setOccupation("Engineer");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+                    employeeId.value = employee.getId();
+                });
+        assertTrue(regionEntries("office.floor") > 0);
+        assertTrue(regionEntries("office.room") > 0);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", employeeId.value))
+                .when()
+                .post("/floors/" + floorId.value + "/allocate")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("allocated", equalTo(true));
+
+        // The assignment insert must not evict regions it does not touch
+        assertTrue(regionEntries("office.floor") > 0);
+        assertTrue(regionEntries("office.room") > 0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the live event stream of a floor. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FloorEventsIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    /** Event name and data of a server-sent event. */
+    private record Event(String name, String data) {}
+
+    @Test
+    public void testUnknownFloor() {
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/999999/events")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    public void testSnapshotThenDelta() throws Exception {
+        Holder<Long> floorId = new Holder<>();
+        Holder<Long> seatId = new Holder<>();
+        Holder<Long> employeeId = new Holder<>();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(970);
+                    floor.setName("Live Floor");
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("R970A");
+                    room.setName("Live Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("S970A1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Live Stream User");
+                    employee.setOccupation("Watcher");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+                    floorId.value = floor.getId();
+                    seatId.value = seat.getId();
+                    employeeId.value = employee.getId();
+                });
+
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        URI uri = URI.create(BASE_URI + "/floors/" + floorId.value + "/events");
+        HttpRequest request =
+                HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").build();
+        HttpResponse<Stream<String>> response =
+                HttpClient.newHttpClient()
+                        .sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                        .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        try (Stream<String> lines = response.body()) {
+            Thread reader = new Thread(() -> readEvents(lines, events));
+            reader.setDaemon(true);
+            reader.start();
+
+            Event snapshot = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(snapshot, "No snapshot received");
+            assertEquals("snapshot", snapshot.name());
+            assertTrue(snapshot.data().contains("S970A1"));
+
+            given().baseUri(BASE_URI)
+                    .when()
+                    .put("/employees/" + employeeId.value + "/seats/" + seatId.value)
+                    .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+
+            Event delta = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(delta, "No delta received");
+            assertEquals("delta", delta.name());
+            assertTrue(delta.data().contains("\"id\":" + seatId.value));
+            assertTrue(delta.data().contains("\"occupied\":true"), delta.data());
+        }
+    }
+
+    private static void readEvents(Stream<String> lines, BlockingQueue<Event> events) {
+        String name = "message";
+        StringBuilder data = new StringBuilder();
+        for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+            String line = it.next();
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    events.add(new Event(name, data.toString()));
+                }
+                name = "message";
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                name = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring("data:".length()).trim());
+            }
+        }
+    }
+}
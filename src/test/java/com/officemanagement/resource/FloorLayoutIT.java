@@ -0,0 +1,137 @@
+package com.officemanagement.resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for collaborative floor layout editing over WebSocket. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FloorLayoutIT extends BaseResourceTest {
+
+    private static final String WS_URI = "ws://localhost:8080/test/ws/floors/";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    /** Collects the text messages of a socket, and its close code. */
+    private static class Editor implements WebSocket.Listener {
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        final CompletableFuture<Integer> closed = new CompletableFuture<>();
+        final StringBuilder partial = new StringBuilder();
+        WebSocket socket;
+
+        static Editor connect(Long floorId) throws Exception {
+            Editor editor = new Editor();
+            editor.socket =
+                    HttpClient.newHttpClient()
+                            .newWebSocketBuilder()
+                            .buildAsync(URI.create(WS_URI + floorId + "/layout"), editor)
+                            .get(10, TimeUnit.SECONDS);
+            return editor;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                messages.add(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed.complete(statusCode);
+            return null;
+        }
+
+        String next() throws InterruptedException {
+            String message = messages.poll(10, TimeUnit.SECONDS);
+            assertNotNull(message, "No message received");
+            return message;
+        }
+    }
+
+    @Test
+    public void testUnknownFloorIsRefused() throws Exception {
+        Editor editor = Editor.connect(999999L);
+        assertEquals(1003, editor.closed.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOperationsAreSharedAndWritten() throws Exception {
+        Holder<Long> floorId = new Holder<>();
+        Holder<Long> seatId = new Holder<>();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(990);
+                    floor.setName("Layout Floor");
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("R990A");
+                    room.setName("Layout Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("S990A1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+                    entityManager.flush();
+                    floorId.value = floor.getId();
+                    seatId.value = seat.getId();
+                });
+
+        Editor first = Editor.connect(floorId.value);
+        Editor second = Editor.connect(floorId.value);
+        try {
+            assertTrue(first.next().contains("\"joined\""));
+            assertTrue(second.next().contains("\"joined\""));
+
+            first.socket.sendText(
+                    "{\"op\":\"seat\",\"id\":" + seatId.value + ",\"x\":40,\"y\":80,\"c\":7}",
+                    true);
+            assertEquals("{\"c\":7,\"v\":1}", first.next());
+            String shared = second.next();
+            assertTrue(shared.contains("\"id\":" + seatId.value), shared);
+            assertTrue(shared.contains("\"x\":40.0"), shared);
+            assertTrue(shared.contains("\"v\":1"), shared);
+
+            first.socket.sendText("{\"op\":\"seat\",\"id\":" + seatId.value + "}", true);
+            assertTrue(first.next().contains("No valid geometry fields provided"));
+
+            // Written by the next flush
+            Seat seat = null;
+            for (int i = 0; i < 50; i++) {
+                entityManager.clear();
+                seat = entityManager.find(Seat.class, seatId.value);
+                if (seat.getX() == 40f) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            assertEquals(40f, seat.getX());
+            assertEquals(80f, seat.getY());
+        } finally {
+            first.socket.abort();
+            second.socket.abort();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.officemanagement.event.TableChangeEvent;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import com.officemanagement.util.PgOutputDecoder.Change;
+import com.officemanagement.util.PgOutputDecoder.Operation;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for GET /floors/summary and GET /floors/{id}/rooms/summary. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FloorSummaryIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> freeSeat = new Holder<>();
+    private final Holder<Long> employeeId = new Holder<>();
+
+    @Inject Event<TableChangeEvent> tableChanges;
+
+    /**
+     * Floor 901 with a room of four seats, one taken, and an empty room; floor 902 without rooms.
+     * Written directly, so the cached summary is dropped afterwards.
+     */
+    private void setupBuilding() {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(901);
+                    floor.setName("Summary Floor");
+                    entityManager.persist(floor);
+
+                    Floor emptyFloor = new Floor();
+                    emptyFloor.setFloorNumber(902);
+                    emptyFloor.setName("Empty Floor");
+                    entityManager.persist(emptyFloor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("SUM-1");
+                    room.setName("Summary Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    OfficeRoom emptyRoom = new OfficeRoom();
+                    emptyRoom.setRoomNumber("SUM-2");
+                    emptyRoom.setName("Empty Room");
+                    emptyRoom.setFloor(floor);
+                    entityManager.persist(emptyRoom);
+
+                    Seat[] seats = new Seat[4];
+                    for (int i = 0; i < seats.length; i++) {
+                        seats[i] = new Seat();
+                        seats[i].setSeatNumber("SUM-S" + i);
+                        seats[i].setRoom(room);
+                        entityManager.persist(seats[i]);
+                    }
+
+                    Employee seated = new Employee();
+                    seated.setFullName("Summary Seated");
+                    seated.setOccupation("Engineer");
+                    seated.addSeat(seats[0]);
+                    entityManager.persist(seated);
+
+                    Employee roaming = new Employee();
+                    roaming.setFullName("Summary Roaming");
+                    roaming.setOccupation("Engineer");
+                    entityManager.persist(roaming);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    freeSeat.value = seats[1].getId();
+                    employeeId.value = roaming.getId();
+                });
+        occupancySummary.invalidate();
+    }
+
+    @Test
+    public void testFloorsSummary() {
+        setupBuilding();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/summary")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("", hasSize(2))
+                .body("[0].floorNumber", equalTo(901))
+                .body("[0].rooms", equalTo(2))
+                .body("[0].seats", equalTo(4))
+                .body("[0].occupiedSeats", equalTo(1))
+                .body("[0].utilization", equalTo(25.0f))
+                .body("[1].name", equalTo("Empty Floor"))
+                .body("[1].rooms", equalTo(0))
+                .body("[1].utilization", equalTo(0.0f));
+    }
+
+    @Test
+    public void testRoomsSummary() {
+        setupBuilding();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/" + floorId.value + "/rooms/summary")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("", hasSize(2))
+                .body("[0].roomNumber", equalTo("SUM-1"))
+                .body("[0].seats", equalTo(4))
+                .body("[0].occupiedSeats", equalTo(1))
+                .body("[1].roomNumber", equalTo("SUM-2"))
+                .body("[1].seats", equalTo(0));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/999999/rooms/summary")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    public void testAssignmentInvalidatesSummary() {
+        setupBuilding();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/summary")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("[0].occupiedSeats", equalTo(1));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .put("/employees/" + employeeId.value + "/seats/" + freeSeat.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/summary")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("[0].occupiedSeats", equalTo(2))
+                .body("[0].utilization", equalTo(50.0f));
+    }
+
+    @Test
+    public void testCapturedChangeInvalidatesSummary() {
+        setupBuilding();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/summary")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("[0].occupiedSeats", equalTo(1));
+
+        // Assigned with SQL, as a loader script would, so the summary does not know
+        runInTransaction(
+                () ->
+                        entityManager
+                                .createNativeQuery(
+                                        "INSERT INTO employee_seat_assignments"
+                                                + " (employee_id, seat_id) VALUES (?1, ?2)")
+                                .setParameter(1, employeeId.value)
+                                .setParameter(2, freeSeat.value)
+                                .executeUpdate());
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/summary")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("[0].occupiedSeats", equalTo(1));
+
+        // As DatabaseChangeCapture fires it for the insert
+        tableChanges.fire(
+                new TableChangeEvent(
+                        List.of(
+                                new Change(
+                                        "public",
+                                        TableChangeEvent.ASSIGNMENTS,
+                                        Operation.INSERT,
+                                        Map.of(
+                                                "employee_id",
+                                                employeeId.value.toString(),
+                                                "seat_id",
+                                                freeSeat.value.toString()))),
+                        false));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/summary")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("[0].occupiedSeats", equalTo(2));
+    }
+}
@@ -0,0 +1,136 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for GET /forecast. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ForecastResourceIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    /** One floor, one room with four seats, four seated employees and two without a seat. */
+    private void setupOffice() {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(700);
+                    floor.setName("Forecast Floor");
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("FC-1");
+                    room.setName("Forecast Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    for (int i = 0; i < 4; i++) {
+                        Seat seat = new Seat();
+                        seat.setSeatNumber("FC-S" + i);
+                        seat.setRoom(room);
+                        entityManager.persist(seat);
+
+                        Employee employee = new Employee();
+                        employee.setFullName("Forecast Seated " + i);
+                        employee.setOccupation("Analyst");
+                        employee.addSeat(seat);
+                        entityManager.persist(employee);
+                    }
+                    for (int i = 0; i < 2; i++) {
+                        Employee employee = new Employee();
+                        employee.setFullName("Forecast Roaming " + i);
+                        employee.setOccupation("Analyst");
+                        entityManager.persist(employee);
+                    }
+                    entityManager.flush();
+                });
+    }
+
+    @Test
+    public void testForecastEveryoneComesIn() {
+        setupOffice();
+
+        given().baseUri(BASE_URI)
+                .queryParam("attendance", 100)
+                .queryParam("volatility", 0)
+                .queryParam("samples", 1000)
+                .when()
+                .get("/forecast")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("samples", equalTo(1000))
+                .body("total.staff", equalTo(6))
+                .body("total.seats", equalTo(4))
+                .body("total.p50", equalTo(6))
+                .body("total.overflowProbability", equalTo(1.0f))
+                .body("unassigned.staff", equalTo(2))
+                .body("floors", hasSize(1))
+                .body("floors[0].floorName", equalTo("Forecast Floor"))
+                .body("floors[0].p99", equalTo(4))
+                .body("floors[0].overflowProbability", equalTo(0.0f))
+                .body("floors[0].rooms[0].roomName", equalTo("Forecast Room"))
+                .body("floors[0].rooms[0].max", equalTo(4));
+    }
+
+    @Test
+    public void testForecastIsReproducibleWithSeed() {
+        setupOffice();
+
+        float mean =
+                given().baseUri(BASE_URI)
+                        .queryParam("attendance", 50)
+                        .queryParam("seed", 11)
+                        .when()
+                        .get("/forecast")
+                        .then()
+                        .statusCode(Response.Status.OK.getStatusCode())
+                        .body("seed", equalTo(11))
+                        .extract()
+                        .path("total.mean");
+        assertEquals(3.0, mean, 0.1);
+
+        given().baseUri(BASE_URI)
+                .queryParam("attendance", 50)
+                .queryParam("seed", 11)
+                .when()
+                .get("/forecast")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("total.mean", equalTo(mean));
+    }
+
+    @Test
+    public void testInvalidForecastParameters() {
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/forecast")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("attendance", 120)
+                .when()
+                .get("/forecast")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("attendance", 50)
+                .queryParam("samples", 5_000_000)
+                .when()
+                .get("/forecast")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+}
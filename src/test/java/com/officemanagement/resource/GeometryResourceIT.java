@@ -12,13 +12,25 @@ import com.officemanagement.model.OfficeRoom;
 import com.officemanagement.model.Seat;
 import io.restassured.http.ContentType;
 import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 /** Integration tests specifically for the geometry PATCH endpoints in RoomResource. */
 public class GeometryResourceIT extends BaseResourceTest {
 
+    /** Event name and data of a server-sent event. */
+    private record Event(String name, String data) {}
+
     private Long createFloorForTest(String name, int number) {
         Floor floorPayload = new Floor();
         floorPayload.setName(name);
@@ -188,6 +200,79 @@ public class GeometryResourceIT extends BaseResourceTest {
                 .body("height", equalTo(55.5f))
                 .body("rotation", equalTo(45.0f))
                 .body("occupied", equalTo(false));
+
+        // Reads served from caches must see the new geometry too
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .get("/seats/" + seatId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("x", equalTo(5.1f))
+                .body("rotation", equalTo(45.0f));
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .get("/floors/" + setup.floorId + "/embed")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("rooms[0].seats[0].width", equalTo(50.0f));
+    }
+
+    @Test
+    public void testUpdateSeatGeometryStreamsDelta() throws Exception {
+        SetupResult setup = createTestRoomWithSeat();
+
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        URI uri =
+                URI.create("http://localhost:8080/test/floors/" + setup.floorId + "/events");
+        HttpRequest request =
+                HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").build();
+        HttpResponse<Stream<String>> response =
+                HttpClient.newHttpClient()
+                        .sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                        .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        try (Stream<String> lines = response.body()) {
+            Thread reader = new Thread(() -> readEvents(lines, events));
+            reader.setDaemon(true);
+            reader.start();
+
+            Event snapshot = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(snapshot, "No snapshot received");
+            assertEquals("snapshot", snapshot.name());
+
+            given().contentType(ContentType.JSON)
+                    .baseUri("http://localhost:8080/test")
+                    .body(Map.of("rotation", 90.0f))
+                    .when()
+                    .patch("/rooms/" + setup.roomId + "/seats/" + setup.seatId + "/geometry")
+                    .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+
+            Event delta = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(delta, "No delta received");
+            assertEquals("delta", delta.name());
+            assertTrue(delta.data().contains("\"id\":" + setup.seatId), delta.data());
+            assertTrue(delta.data().contains("\"rotation\":90.0"), delta.data());
+        }
+    }
+
+    private static void readEvents(Stream<String> lines, BlockingQueue<Event> events) {
+        String name = "message";
+        StringBuilder data = new StringBuilder();
+        for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+            String line = it.next();
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    events.add(new Event(name, data.toString()));
+                }
+                name = "message";
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                name = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring("data:".length()).trim());
+            }
+        }
     }
 
     @Test
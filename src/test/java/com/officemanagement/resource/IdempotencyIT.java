@@ -0,0 +1,171 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.util.IdempotencyFilter;
+import com.officemanagement.util.RateLimitFilter;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for Idempotency-Key handling on mutating endpoints. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IdempotencyIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setFullName(name);
+        employee.setOccupation("Retrying Client");
+        return employee;
+    }
+
+    private long countEmployees(String name) {
+        return entityManager
+                .createQuery(
+                        "SELECT COUNT(e) FROM Employee e WHERE e.fullName = :name", Long.class)
+                .setParameter("name", name)
+                .getSingleResult();
+    }
+
+    @Test
+    public void testRetryReplaysFirstResponse() {
+        String key = UUID.randomUUID().toString();
+
+        Integer id =
+                given().baseUri(BASE_URI)
+                        .contentType(ContentType.JSON)
+                        .header(IdempotencyFilter.HEADER, key)
+                        .body(employee("Idempotent Employee"))
+                        .when()
+                        .post("/employees")
+                        .then()
+                        .statusCode(Response.Status.CREATED.getStatusCode())
+                        .header(IdempotencyFilter.REPLAYED_HEADER, nullValue())
+                        .extract()
+                        .path("id");
+
+        given().baseUri(BASE_URI)
+                .contentType(ContentType.JSON)
+                .header(IdempotencyFilter.HEADER, key)
+                .body(employee("Idempotent Employee"))
+                .when()
+                .post("/employees")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode())
+                .header(IdempotencyFilter.REPLAYED_HEADER, equalTo("true"))
+                .body("id", equalTo(id));
+
+        assertEquals(1, countEmployees("Idempotent Employee"));
+    }
+
+    @Test
+    public void testKeyReusedForDifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+
+        given().baseUri(BASE_URI)
+                .contentType(ContentType.JSON)
+                .header(IdempotencyFilter.HEADER, key)
+                .body(employee("First Body"))
+                .when()
+                .post("/employees")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .contentType(ContentType.JSON)
+                .header(IdempotencyFilter.HEADER, key)
+                .body(employee("Second Body"))
+                .when()
+                .post("/employees")
+                .then()
+                .statusCode(422);
+
+        assertEquals(0, countEmployees("Second Body"));
+    }
+
+    @Test
+    public void testKeysAreScopedToTheClient() {
+        String key = UUID.randomUUID().toString();
+
+        for (String client : List.of("client-a", "client-b")) {
+            given().baseUri(BASE_URI)
+                    .contentType(ContentType.JSON)
+                    .header(IdempotencyFilter.HEADER, key)
+                    .header(RateLimitFilter.API_KEY_HEADER, client)
+                    .body(employee("Scoped " + client))
+                    .when()
+                    .post("/employees")
+                    .then()
+                    .statusCode(Response.Status.CREATED.getStatusCode())
+                    .header(IdempotencyFilter.REPLAYED_HEADER, nullValue());
+        }
+
+        assertEquals(1, countEmployees("Scoped client-a"));
+        assertEquals(1, countEmployees("Scoped client-b"));
+    }
+
+    @Test
+    public void testConcurrentRetriesExecuteOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Employee body = employee("Concurrent Retry");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(
+                        () ->
+                                given().baseUri(BASE_URI)
+                                        .contentType(ContentType.JSON)
+                                        .header(IdempotencyFilter.HEADER, key)
+                                        .body(body)
+                                        .when()
+                                        .post("/employees")
+                                        .then()
+                                        .statusCode(Response.Status.CREATED.getStatusCode())
+                                        .extract()
+                                        .path("id"));
+            }
+            Set<Integer> ids = new HashSet<>();
+            for (Future<Integer> result : executor.invokeAll(calls)) {
+                ids.add(result.get());
+            }
+            assertEquals(1, ids.size(), "All retries should see the same employee");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, countEmployees("Concurrent Retry"));
+    }
+
+    @Test
+    public void testRequestsWithoutKeyAreNotAffected() {
+        for (int i = 0; i < 2; i++) {
+            given().baseUri(BASE_URI)
+                    .contentType(ContentType.JSON)
+                    .body(employee("No Key Employee"))
+                    .when()
+                    .post("/employees")
+                    .then()
+                    .statusCode(Response.Status.CREATED.getStatusCode())
+                    .header(IdempotencyFilter.REPLAYED_HEADER, nullValue());
+        }
+
+        assertEquals(2, countEmployees("No Key Employee"));
+    }
+}
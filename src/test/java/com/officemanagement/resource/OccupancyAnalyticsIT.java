@@ -0,0 +1,203 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for GET /analytics/occupancy. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OccupancyAnalyticsIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> roomId = new Holder<>();
+    private final Holder<Long> freeSeat = new Holder<>();
+    private final Holder<Long> designer = new Holder<>();
+
+    /**
+     * One floor with a 10 x 5 room of two seats, one of them taken by an engineer, and a designer
+     * without a seat. Written directly, so the cube is rebuilt afterwards.
+     */
+    private void setupOffice() {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(810);
+                    floor.setName("Analytics Floor");
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("AN-1");
+                    room.setName("Analytics Room");
+                    room.setFloor(floor);
+                    room.setWidth(10f);
+                    room.setHeight(5f);
+                    entityManager.persist(room);
+
+                    Seat taken = new Seat();
+                    taken.setSeatNumber("AN-S1");
+                    taken.setRoom(room);
+                    entityManager.persist(taken);
+
+                    Seat free = new Seat();
+                    free.setSeatNumber("AN-S2");
+                    free.setRoom(room);
+                    entityManager.persist(free);
+
+                    Employee engineer = new Employee();
+                    engineer.setFullName("Analytics Engineer");
+                    engineer.setOccupation("Engineer");
+                    engineer.addSeat(taken);
+                    entityManager.persist(engineer);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Analytics Designer");
+                    employee.setOccupation("Designer");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    roomId.value = room.getId();
+                    freeSeat.value = free.getId();
+                    designer.value = employee.getId();
+                });
+        occupancyAnalytics.rebuild();
+    }
+
+    @Test
+    public void testRollUpToFloor() {
+        setupOffice();
+
+        given().baseUri(BASE_URI)
+                .queryParam("groupBy", "floor")
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("groupBy", contains("floor"))
+                .body("cells", hasSize(1))
+                .body("cells[0].floorId", equalTo(floorId.value.intValue()))
+                .body("cells[0].seats", equalTo(2))
+                .body("cells[0].occupiedSeats", equalTo(1))
+                .body("cells[0].assignments", equalTo(1))
+                .body("cells[0].area", equalTo(50.0f))
+                .body("cells[0].utilization", equalTo(50.0f))
+                .body("elapsedMicros", notNullValue());
+    }
+
+    @Test
+    public void testAssignmentUpdatesOccupationPivot() {
+        setupOffice();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .put("/employees/" + designer.value + "/seats/" + freeSeat.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("groupBy", "room,occupation")
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("cells", hasSize(2))
+                .body("cells[0].roomId", equalTo(roomId.value.intValue()))
+                .body("cells[0].occupation", equalTo("Designer"))
+                .body("cells[0].assignments", equalTo(1))
+                .body("cells[0].seats", nullValue())
+                .body("cells[1].occupation", equalTo("Engineer"));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("cells[0].occupiedSeats", equalTo(2))
+                .body("cells[0].utilization", equalTo(100.0f));
+    }
+
+    @Test
+    public void testStructureAndGeometryChanges() {
+        setupOffice();
+
+        given().baseUri(BASE_URI)
+                .contentType(ContentType.JSON)
+                .body(Map.of("seatNumber", "AN-S3", "room", Map.of("id", roomId.value)))
+                .when()
+                .post("/seats")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .contentType(ContentType.JSON)
+                .body(Map.of("width", 20f))
+                .when()
+                .patch("/rooms/" + roomId.value + "/geometry")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("groupBy", "room")
+                .queryParam("floorId", floorId.value)
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("cells", hasSize(1))
+                .body("cells[0].seats", equalTo(3))
+                .body("cells[0].area", equalTo(100.0f));
+    }
+
+    @Test
+    public void testSliceByOccupation() {
+        setupOffice();
+
+        given().baseUri(BASE_URI)
+                .queryParam("occupation", "Engineer")
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("cells[0].assignments", equalTo(1))
+                .body("cells[0].utilization", nullValue());
+
+        given().baseUri(BASE_URI)
+                .queryParam("occupation", "Astronaut")
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("cells", hasSize(0));
+    }
+
+    @Test
+    public void testInvalidGroupBy() {
+        given().baseUri(BASE_URI)
+                .queryParam("groupBy", "building")
+                .when()
+                .get("/analytics/occupancy")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+}
@@ -0,0 +1,228 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the occupancy history endpoints. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OccupancyHistoryIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> roomId = new Holder<>();
+    private final Holder<Long> firstSeat = new Holder<>();
+    private final Holder<Long> secondSeat = new Holder<>();
+    private final Holder<Long> firstEmployee = new Holder<>();
+    private final Holder<Long> secondEmployee = new Holder<>();
+
+    /** One floor with one room of two seats, and two employees without a seat. */
+    private void setupRoom(int floorNumber) {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("History Floor " + floorNumber);
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("HIST-" + floorNumber);
+                    room.setName("History Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat first = new Seat();
+                    first.setSeatNumber("HIST-S1");
+                    first.setRoom(room);
+                    entityManager.persist(first);
+
+                    Seat second = new Seat();
+                    second.setSeatNumber("HIST-S2");
+                    second.setRoom(room);
+                    entityManager.persist(second);
+
+                    Employee alice = new Employee();
+                    alice.setFullName("History Alice");
+                    alice.setOccupation("Engineer");
+                    entityManager.persist(alice);
+
+                    Employee bob = new Employee();
+                    bob.setFullName("History Bob");
+                    bob.setOccupation("Engineer");
+                    entityManager.persist(bob);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    roomId.value = room.getId();
+                    firstSeat.value = first.getId();
+                    secondSeat.value = second.getId();
+                    firstEmployee.value = alice.getId();
+                    secondEmployee.value = bob.getId();
+                });
+    }
+
+    private void assign(Long employeeId, Long seatId) {
+        given().baseUri(BASE_URI)
+                .when()
+                .put("/employees/" + employeeId + "/seats/" + seatId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+    }
+
+    private void unassign(Long employeeId, Long seatId) {
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/employees/" + employeeId + "/seats/" + seatId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+    }
+
+    /** Fills the room, then frees the first seat again. */
+    private void recordChanges() {
+        assign(firstEmployee.value, firstSeat.value);
+        assign(secondEmployee.value, secondSeat.value);
+        unassign(firstEmployee.value, firstSeat.value);
+    }
+
+    private void assertFloorHistory() {
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "raw")
+                .queryParam("from", today)
+                .when()
+                .get("/occupancy-history/floors/" + floorId.value)
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("resolution", equalTo("raw"))
+                .body("points.value", contains(1, 2, 1))
+                .body("current", equalTo(1));
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "day")
+                .queryParam("from", today)
+                .when()
+                .get("/occupancy-history/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("points", hasSize(1))
+                .body("points[0].start", startsWith(today))
+                .body("points[0].min", equalTo(1))
+                .body("points[0].max", equalTo(2));
+    }
+
+    @Test
+    public void testAssignmentsAreRecorded() {
+        setupRoom(800);
+        recordChanges();
+
+        assertFloorHistory();
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "raw")
+                .when()
+                .get("/occupancy-history/seats/" + firstSeat.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("points.value", contains(1, 0));
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "hour")
+                .when()
+                .get("/occupancy-history/rooms/" + roomId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("points", hasSize(1))
+                .body("points[0].max", equalTo(2));
+    }
+
+    @Test
+    public void testHistoryIsReadBackFromBlocks() {
+        setupRoom(801);
+        recordChanges();
+
+        // Written blocks and buffered points must read back the same
+        occupancyHistory.flush();
+        assertFloorHistory();
+    }
+
+    @Test
+    public void testDeletingEmployeeFreesSeats() {
+        setupRoom(802);
+        assign(firstEmployee.value, firstSeat.value);
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/employees/" + firstEmployee.value)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "raw")
+                .when()
+                .get("/occupancy-history/rooms/" + roomId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("points.value", contains(1, 0));
+    }
+
+    @Test
+    public void testInvalidHistoryRequests() {
+        setupRoom(803);
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/occupancy-history/desks/" + firstSeat.value)
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/occupancy-history/seats/999999")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "minute")
+                .when()
+                .get("/occupancy-history/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "hour")
+                .queryParam("from", "2020-01-01")
+                .queryParam("to", "2024-01-01")
+                .when()
+                .get("/occupancy-history/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        // A year of weekly history is fine, even without any recorded change
+        given().baseUri(BASE_URI)
+                .queryParam("resolution", "week")
+                .queryParam("from", "2023-01-01")
+                .queryParam("to", "2023-12-31")
+                .when()
+                .get("/occupancy-history/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("points", empty());
+    }
+}
@@ -0,0 +1,253 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the in-memory read model of floors, rooms and seats. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OfficeReadModelIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    /** Reads of the office structure, except counts, which background jobs run at any time. */
+    private static final Pattern STRUCTURE_READ =
+            Pattern.compile(
+                    "(?is)^\\s*select\\b(?!.*\\bcount\\().*\\b(floors|office_rooms|seats"
+                            + "|employees|employee_seat_assignments)\\b.*");
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> otherFloorId = new Holder<>();
+    private final Holder<Long> roomId = new Holder<>();
+    private final Holder<Long> seatId = new Holder<>();
+    private final Holder<Long> employeeId = new Holder<>();
+
+    /** Two floors, the first with a room of one seat, and an employee without a seat. */
+    private void setupFloors(int floorNumber) {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Model Floor");
+                    entityManager.persist(floor);
+
+                    Floor other = new Floor();
+                    other.setFloorNumber(floorNumber + 1);
+                    other.setName("Other Model Floor");
+                    entityManager.persist(other);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("M-1");
+                    room.setName("Model Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("M-S1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Model Employee");
+                    employee.setOccupation("Engineer");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    otherFloorId.value = other.getId();
+                    roomId.value = room.getId();
+                    seatId.value = seat.getId();
+                    employeeId.value = employee.getId();
+                });
+    }
+
+    private long published() {
+        return given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/read-model")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract()
+                .jsonPath()
+                .getLong("published");
+    }
+
+    @Test
+    public void testReadsRunNoSql() {
+        setupFloors(961);
+
+        SqlRecorder.start();
+        List<String> statements;
+        try {
+            for (String path :
+                    List.of(
+                            "/floors",
+                            "/floors/" + floorId.value,
+                            "/floors/" + floorId.value + "/embed",
+                            "/rooms/" + roomId.value,
+                            "/rooms/" + roomId.value + "/seats",
+                            "/seats/" + seatId.value)) {
+                given().baseUri(BASE_URI)
+                        .when()
+                        .get(path)
+                        .then()
+                        .statusCode(Response.Status.OK.getStatusCode());
+            }
+        } finally {
+            statements = SqlRecorder.stop();
+        }
+        List<String> structureReads =
+                statements.stream().filter(sql -> STRUCTURE_READ.matcher(sql).matches()).toList();
+        assertEquals(List.of(), structureReads);
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/read-model")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("floors", equalTo(2))
+                .body("rooms", equalTo(1))
+                .body("seats", equalTo(1));
+    }
+
+    @Test
+    public void testWritesAreVisibleOnceCommitted() {
+        setupFloors(963);
+        long published = published();
+
+        given().baseUri(BASE_URI)
+                .when()
+                .put("/employees/" + employeeId.value + "/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("occupied", is(true))
+                .body("employeeIds", contains(employeeId.value.intValue()))
+                .body("roomName", equalTo("Model Room"))
+                .body("floorName", equalTo("Model Floor"));
+        assertTrue(published() > published);
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("M-S2");
+        OfficeRoom room = new OfficeRoom();
+        room.setId(roomId.value);
+        seat.setRoom(room);
+        Long newSeatId =
+                given().contentType(ContentType.JSON)
+                        .baseUri(BASE_URI)
+                        .body(seat)
+                        .when()
+                        .post("/seats")
+                        .then()
+                        .statusCode(Response.Status.CREATED.getStatusCode())
+                        .extract()
+                        .jsonPath()
+                        .getLong("id");
+
+        List<Map<String, Object>> seats =
+                given().baseUri(BASE_URI)
+                        .when()
+                        .get("/rooms/" + roomId.value + "/seats")
+                        .then()
+                        .statusCode(Response.Status.OK.getStatusCode())
+                        .extract()
+                        .jsonPath()
+                        .getList("");
+        assertEquals(2, seats.size());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/seats/" + newSeatId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + newSeatId)
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/rooms/" + roomId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("seatIds", contains(seatId.value.intValue()));
+    }
+
+    @Test
+    public void testRoomMovedToAnotherFloor() {
+        setupFloors(965);
+
+        OfficeRoom moved = new OfficeRoom();
+        moved.setName("Moved Model Room");
+        moved.setRoomNumber("M-1");
+        Floor target = new Floor();
+        target.setId(otherFloorId.value);
+        moved.setFloor(target);
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(moved)
+                .when()
+                .put("/rooms/" + roomId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("roomIds", empty());
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/floors/" + otherFloorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("roomIds", contains(roomId.value.intValue()));
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("roomName", equalTo("Moved Model Room"))
+                .body("floorId", equalTo(otherFloorId.value.intValue()))
+                .body("floorName", equalTo("Other Model Floor"));
+    }
+
+    @Test
+    public void testMissingIdsAreNotFound() {
+        for (String path :
+                List.of(
+                        "/floors/999999",
+                        "/rooms/999999",
+                        "/rooms/999999/seats",
+                        "/seats/999999")) {
+            given().baseUri(BASE_URI)
+                    .when()
+                    .get(path)
+                    .then()
+                    .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+        }
+    }
+}
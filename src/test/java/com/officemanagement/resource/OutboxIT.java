@@ -0,0 +1,70 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Floor;
+import com.officemanagement.service.Outbox;
+import com.officemanagement.util.LogConsumer;
+import com.officemanagement.util.SegmentLog.Record;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the transactional outbox and the change log file. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OutboxIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    @Inject Outbox outbox;
+
+    @Test
+    public void testCommittedChangeReachesTheLog() throws Exception {
+        try (LogConsumer consumer = new LogConsumer(outbox.directory(), "outbox-it")) {
+            consumer.seek(outbox.stats().nextOffset());
+
+            Floor floor = new Floor();
+            floor.setName("Outbox Floor");
+            floor.setFloorNumber(995);
+            int floorId =
+                    given().contentType(ContentType.JSON)
+                            .baseUri(BASE_URI)
+                            .body(floor)
+                            .when()
+                            .post("/floors")
+                            .then()
+                            .statusCode(Response.Status.CREATED.getStatusCode())
+                            .extract()
+                            .path("id");
+
+            String found = null;
+            for (int i = 0; i < 50 && found == null; i++) {
+                for (Record record : consumer.poll(100)) {
+                    String json = new String(record.payload(), StandardCharsets.UTF_8);
+                    if (json.contains("\"type\":\"FLOOR_CREATED\"")
+                            && json.contains("\"floorId\":" + floorId + ",")) {
+                        found = json;
+                    }
+                }
+                if (found == null) {
+                    Thread.sleep(100);
+                }
+            }
+            assertNotNull(found, "Floor creation not relayed");
+            assertTrue(found.startsWith("{\"outboxId\":"), found);
+        }
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/stats/outbox")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("relayed", greaterThan(0))
+                .body("segments", greaterThan(0));
+    }
+}
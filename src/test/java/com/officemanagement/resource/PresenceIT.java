@@ -0,0 +1,156 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.dto.PresenceEventDTO;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.PresenceEventType;
+import com.officemanagement.model.PresenceSource;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the presence ingestion endpoints. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PresenceIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> roomId = new Holder<>();
+    private final List<Long> seatIds = new ArrayList<>();
+
+    /** One floor with one room of three seats. */
+    private void setupRoom(int floorNumber) {
+        seatIds.clear();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Presence Floor " + floorNumber);
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("PRES-" + floorNumber);
+                    room.setName("Presence Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    for (int i = 0; i < 3; i++) {
+                        Seat seat = new Seat();
+                        seat.setSeatNumber("PRES-S" + i);
+                        seat.setRoom(room);
+                        entityManager.persist(seat);
+                        entityManager.flush();
+                        seatIds.add(seat.getId());
+                    }
+                    floorId.value = floor.getId();
+                    roomId.value = room.getId();
+                });
+    }
+
+    private static PresenceEventDTO event(Long seatId, PresenceEventType type) {
+        return new PresenceEventDTO(seatId, null, type, PresenceSource.SENSOR, null);
+    }
+
+    @Test
+    public void testIngestUpdatesLiveCountsAndPersists() {
+        setupRoom(900);
+
+        List<PresenceEventDTO> batch =
+                List.of(
+                        event(seatIds.get(0), PresenceEventType.CHECK_IN),
+                        event(seatIds.get(1), PresenceEventType.CHECK_IN),
+                        // A second sensor reading for the same seat does not count twice
+                        event(seatIds.get(1), PresenceEventType.CHECK_IN),
+                        event(seatIds.get(2), PresenceEventType.CHECK_IN),
+                        event(seatIds.get(2), PresenceEventType.CHECK_OUT));
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(batch)
+                .when()
+                .post("/presence/events")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.ACCEPTED.getStatusCode())
+                .body("accepted", equalTo(5))
+                .body("rejected", equalTo(0));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/presence")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("present", equalTo(2))
+                .body("floors", hasSize(1))
+                .body("floors[0].floorId", equalTo(floorId.value.intValue()))
+                .body("floors[0].present", equalTo(2))
+                .body("floors[0].rooms[0].roomId", equalTo(roomId.value.intValue()))
+                .body("pipeline.received", equalTo(5));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/presence/floors/" + floorId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("present", equalTo(2))
+                .body("rooms[0].present", equalTo(2));
+
+        presence.writePending();
+        long rows =
+                entityManager
+                        .createQuery("SELECT COUNT(p) FROM PresenceEvent p", Long.class)
+                        .getSingleResult();
+        assertEquals(5, rows);
+    }
+
+    @Test
+    public void testUnknownSeatsAreRejected() {
+        setupRoom(901);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(
+                        List.of(
+                                event(seatIds.get(0), PresenceEventType.CHECK_IN),
+                                event(999999L, PresenceEventType.CHECK_IN)))
+                .when()
+                .post("/presence/events")
+                .then()
+                .statusCode(Response.Status.ACCEPTED.getStatusCode())
+                .body("accepted", equalTo(1))
+                .body("rejected", equalTo(1))
+                .body("unknownSeatIds", contains(999999));
+    }
+
+    @Test
+    public void testInvalidBatches() {
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(List.of())
+                .when()
+                .post("/presence/events")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(List.of(event(null, PresenceEventType.CHECK_IN)))
+                .when()
+                .post("/presence/events")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+}
@@ -0,0 +1,64 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.RateLimitFilter;
+import io.restassured.response.ValidatableResponse;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for per-client rate limiting. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RateLimitIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private ValidatableResponse search(String apiKey) {
+        return given().baseUri(BASE_URI)
+                .header(RateLimitFilter.API_KEY_HEADER, apiKey)
+                .queryParam("search", "kiosk")
+                .when()
+                .get("/employees/search")
+                .then();
+    }
+
+    @Test
+    public void testResponsesCarryRateLimitHeaders() {
+        search("header-client")
+                .statusCode(Response.Status.OK.getStatusCode())
+                .header(RateLimitFilter.LIMIT_HEADER, equalTo("100"))
+                .header(RateLimitFilter.REMAINING_HEADER, equalTo("99"))
+                .header(RateLimitFilter.RESET_HEADER, notNullValue());
+    }
+
+    @Test
+    public void testSearchBudgetIsEnforcedPerClient() {
+        // The search budget is 100 per 10 seconds; a few tokens refill while the loop runs
+        int requests = 0;
+        int status;
+        do {
+            status = search("kiosk-script").extract().statusCode();
+            requests++;
+        } while (status == Response.Status.OK.getStatusCode() && requests < 200);
+
+        assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), status);
+        assertTrue(requests > 100, "The first 100 searches should pass");
+
+        search("kiosk-script")
+                .statusCode(Response.Status.TOO_MANY_REQUESTS.getStatusCode())
+                .header("Retry-After", notNullValue())
+                .header(RateLimitFilter.REMAINING_HEADER, equalTo("0"));
+
+        // Other clients, and other routes of the same client, are unaffected
+        search("lobby-screen").statusCode(Response.Status.OK.getStatusCode());
+        given().baseUri(BASE_URI)
+                .header(RateLimitFilter.API_KEY_HEADER, "kiosk-script")
+                .when()
+                .get("/floors")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+    }
+}
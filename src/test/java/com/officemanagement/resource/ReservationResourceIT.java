@@ -0,0 +1,304 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.dto.ReservationDTO;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.ReservationSlot;
+import com.officemanagement.model.Seat;
+import com.officemanagement.model.SeatReservation;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the ReservationResource endpoints and floor availability. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReservationResourceIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> seatA = new Holder<>();
+    private final Holder<Long> seatB = new Holder<>();
+    private final Holder<Long> employeeId = new Holder<>();
+
+    private void setupFloor(int floorNumber) {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Reservation Floor " + floorNumber);
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("RES-" + floorNumber);
+                    room.setName("Reservation Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat first = new Seat();
+                    first.setSeatNumber("RES-A");
+                    first.setRoom(room);
+                    entityManager.persist(first);
+
+                    Seat second = new Seat();
+                    second.setSeatNumber("RES-B");
+                    second.setRoom(room);
+                    entityManager.persist(second);
+
+                    Employee employee = new Employee();
+                    employee.setFullName("Booking User");
+                    employee.setOccupation("Consultant");
+                    entityManager.persist(employee);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    seatA.value = first.getId();
+                    seatB.value = second.getId();
+                    employeeId.value = employee.getId();
+                });
+    }
+
+    private ReservationDTO reservation(Long seatId, LocalDate date, String slot) {
+        return new ReservationDTO(null, seatId, employeeId.value, date.toString(), slot, null);
+    }
+
+    @Test
+    public void testReserveAndCheckAvailability() {
+        setupFloor(400);
+        LocalDate date = LocalDate.now().plusDays(7);
+
+        Integer reservationId =
+                given().contentType(ContentType.JSON)
+                        .baseUri(BASE_URI)
+                        .body(reservation(seatA.value, date, "MORNING"))
+                        .when()
+                        .post("/reservations")
+                        .then()
+                        .log()
+                        .ifValidationFails()
+                        .statusCode(Response.Status.CREATED.getStatusCode())
+                        .body("id", notNullValue())
+                        .body("seatId", equalTo(seatA.value.intValue()))
+                        .body("date", equalTo(date.toString()))
+                        .body("slot", equalTo("MORNING"))
+                        .extract()
+                        .path("id");
+
+        given().baseUri(BASE_URI)
+                .queryParam("date", date.toString())
+                .queryParam("slot", "MORNING")
+                .when()
+                .get("/floors/" + floorId.value + "/availability")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("bookableSeats", equalTo(2))
+                .body("freeSeats", equalTo(1))
+                .body("freeSeatIds", contains(seatB.value.intValue()));
+
+        given().baseUri(BASE_URI)
+                .queryParam("date", date.toString())
+                .queryParam("slot", "AFTERNOON")
+                .when()
+                .get("/floors/" + floorId.value + "/availability")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("freeSeats", equalTo(2));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/reservations/" + reservationId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("date", date.toString())
+                .queryParam("slot", "MORNING")
+                .when()
+                .get("/floors/" + floorId.value + "/availability")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("freeSeats", equalTo(2));
+    }
+
+    @Test
+    public void testOverlappingReservationConflicts() {
+        setupFloor(401);
+        LocalDate date = LocalDate.now().plusDays(3);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "AFTERNOON"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "FULL_DAY"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "MORNING"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("employeeId", employeeId.value)
+                .when()
+                .get("/reservations")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("size()", equalTo(2));
+    }
+
+    @Test
+    public void testInvalidReservations() {
+        setupFloor(402);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, LocalDate.now().minusDays(1), "MORNING"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, LocalDate.now(), "EVENING"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(999999L, LocalDate.now(), "MORNING"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/reservations/999999")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    public void testDeleteSeatRemovesReservations() {
+        setupFloor(403);
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatB.value, date, "FULL_DAY"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/seats/" + seatB.value)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .queryParam("seatId", seatB.value)
+                .when()
+                .get("/reservations")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("size()", equalTo(0));
+    }
+
+    @Test
+    public void testReservationsOnlyInTheDatabaseAreRespected() {
+        setupFloor(404);
+        LocalDate date = LocalDate.now().plusDays(9);
+        // Written as another node would, without this node's index seeing it
+        runInTransaction(
+                () -> {
+                    SeatReservation other = new SeatReservation();
+                    other.setSeat(entityManager.find(Seat.class, seatA.value));
+                    other.setEmployee(entityManager.find(Employee.class, employeeId.value));
+                    other.setReservationDate(date);
+                    other.setSlot(ReservationSlot.MORNING);
+                    entityManager.persist(other);
+                });
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "FULL_DAY"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "AFTERNOON"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+    }
+
+    @Test
+    public void testReservationsCancelledOnlyInTheDatabaseCanBeBookedAgain() {
+        setupFloor(405);
+        LocalDate date = LocalDate.now().plusDays(10);
+        Integer reservationId =
+                given().contentType(ContentType.JSON)
+                        .baseUri(BASE_URI)
+                        .body(reservation(seatA.value, date, "MORNING"))
+                        .when()
+                        .post("/reservations")
+                        .then()
+                        .statusCode(Response.Status.CREATED.getStatusCode())
+                        .extract()
+                        .path("id");
+        // Cancelled as another node would, without this node's index seeing it
+        runInTransaction(
+                () ->
+                        entityManager.remove(
+                                entityManager.find(
+                                        SeatReservation.class, reservationId.longValue())));
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "FULL_DAY"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(reservation(seatA.value, date, "AFTERNOON"))
+                .when()
+                .post("/reservations")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+    }
+}
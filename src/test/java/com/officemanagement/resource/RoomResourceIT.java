@@ -70,6 +70,14 @@ public class RoomResourceIT extends BaseResourceTest {
                 // Adjust assertion if it does include floor details
                 // .body("floor.name", equalTo("API Test Floor - Room"))
                 .body("floorId", equalTo(createdFloorDto.getId().intValue()));
+
+        // 4. The room is listed with all rooms
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .get("/rooms")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("id", hasItem(createdRoomDto.getId().intValue()));
     }
 
     @Test
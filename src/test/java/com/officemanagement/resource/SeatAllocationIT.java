@@ -0,0 +1,283 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for POST /floors/{id}/allocate. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SeatAllocationIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private Long createFloorWithSeats(int floorNumber, int rooms, int seatsPerRoom) {
+        final Holder<Long> floorId = new Holder<>();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Allocation Floor " + floorNumber);
+                    entityManager.persist(floor);
+
+                    for (int r = 0; r < rooms; r++) {
+                        OfficeRoom room = new OfficeRoom();
+                        room.setRoomNumber(floorNumber + "-R" + r);
+                        room.setName("Allocation Room " + r);
+                        room.setFloor(floor);
+                        entityManager.persist(room);
+
+                        for (int s = 0; s < seatsPerRoom; s++) {
+                            Seat seat = new Seat();
+                            seat.setSeatNumber(room.getRoomNumber() + "-S" + s);
+                            seat.setRoom(room);
+                            entityManager.persist(seat);
+                        }
+                    }
+                    entityManager.flush();
+                    floorId.value = floor.getId();
+                });
+        return floorId.value;
+    }
+
+    private List<Long> createEmployees(int count) {
+        final List<Long> ids = new ArrayList<>();
+        runInTransaction(
+                () -> {
+                    for (int i = 0; i < count; i++) {
+                        Employee employee = new Employee();
+                        employee.setFullName("Hot Desker " + i);
+                        employee.setOccupation("Engineer");
+                        entityManager.persist(employee);
+                        entityManager.flush();
+                        ids.add(employee.getId());
+                    }
+                });
+        return ids;
+    }
+
+    @Test
+    public void testAllocateSeat() {
+        Long floorId = createFloorWithSeats(300, 1, 2);
+        Long employeeId = createEmployees(1).get(0);
+
+        Integer seatId =
+                given().contentType(ContentType.JSON)
+                        .baseUri(BASE_URI)
+                        .body(Map.of("employeeId", employeeId))
+                        .when()
+                        .post("/floors/" + floorId + "/allocate")
+                        .then()
+                        .log()
+                        .ifValidationFails()
+                        .statusCode(Response.Status.OK.getStatusCode())
+                        .body("employeeId", equalTo(employeeId.intValue()))
+                        .body("floorId", equalTo(floorId.intValue()))
+                        .body("allocated", equalTo(true))
+                        .extract()
+                        .path("seatId");
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + seatId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("employeeIds", hasItem(employeeId.intValue()))
+                .body("occupied", equalTo(true));
+
+        // A second request for the same employee returns the seat they already hold
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", employeeId))
+                .when()
+                .post("/floors/" + floorId + "/allocate")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("seatId", equalTo(seatId))
+                .body("allocated", equalTo(false));
+    }
+
+    @Test
+    public void testAllocateSeatFloorFull() {
+        Long floorId = createFloorWithSeats(301, 1, 1);
+        List<Long> employeeIds = createEmployees(2);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", employeeIds.get(0)))
+                .when()
+                .post("/floors/" + floorId + "/allocate")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", employeeIds.get(1)))
+                .when()
+                .post("/floors/" + floorId + "/allocate")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+    }
+
+    @Test
+    public void testAllocateSeatInvalidRequests() {
+        Long floorId = createFloorWithSeats(302, 1, 1);
+        Long employeeId = createEmployees(1).get(0);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of())
+                .when()
+                .post("/floors/" + floorId + "/allocate")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", employeeId))
+                .when()
+                .post("/floors/999999/allocate")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", 999999))
+                .when()
+                .post("/floors/" + floorId + "/allocate")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    public void testConcurrentAllocationsGetDistinctSeats() throws Exception {
+        int allocations = 500;
+        Long floorId = createFloorWithSeats(303, 10, 55);
+        List<Long> employeeIds = createEmployees(allocations);
+
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper mapper = new ObjectMapper();
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (Long employeeId : employeeIds) {
+                HttpRequest request =
+                        HttpRequest.newBuilder(
+                                        URI.create(BASE_URI + "/floors/" + floorId + "/allocate"))
+                                .header("Content-Type", "application/json")
+                                .POST(
+                                        HttpRequest.BodyPublishers.ofString(
+                                                "{\"employeeId\":" + employeeId + "}"))
+                                .build();
+                responses.add(
+                        pool.submit(
+                                () -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+
+            Set<Long> seatIds = new HashSet<>();
+            for (Future<HttpResponse<String>> future : responses) {
+                HttpResponse<String> response = future.get(120, TimeUnit.SECONDS);
+                assertEquals(
+                        Response.Status.OK.getStatusCode(), response.statusCode(), response.body());
+                JsonNode body = mapper.readTree(response.body());
+                assertTrue(body.get("allocated").asBoolean());
+                seatIds.add(body.get("seatId").asLong());
+            }
+            assertEquals(allocations, seatIds.size(), "Every caller must get a distinct seat");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Number assigned =
+                (Number)
+                        entityManager
+                                .createNativeQuery(
+                                        "SELECT COUNT(DISTINCT a.seat_id) FROM employee_seat_assignments a "
+                                                + "JOIN seats s ON s.id = a.seat_id "
+                                                + "JOIN office_rooms r ON r.id = s.room_id "
+                                                + "WHERE r.floor_id = :floorId")
+                                .setParameter("floorId", floorId)
+                                .getSingleResult();
+        assertEquals(allocations, assigned.longValue());
+    }
+
+    @Test
+    public void testDuplicateAllocationsForOneEmployeeGetOneSeat() throws Exception {
+        int duplicates = 20;
+        Long floorId = createFloorWithSeats(304, 2, 10);
+        Long employeeId = createEmployees(1).get(0);
+
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper mapper = new ObjectMapper();
+        HttpRequest request =
+                HttpRequest.newBuilder(URI.create(BASE_URI + "/floors/" + floorId + "/allocate"))
+                        .header("Content-Type", "application/json")
+                        .POST(
+                                HttpRequest.BodyPublishers.ofString(
+                                        "{\"employeeId\":" + employeeId + "}"))
+                        .build();
+        ExecutorService pool = Executors.newFixedThreadPool(duplicates);
+        try {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < duplicates; i++) {
+                responses.add(
+                        pool.submit(
+                                () -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+
+            Set<Long> seatIds = new HashSet<>();
+            int allocated = 0;
+            for (Future<HttpResponse<String>> future : responses) {
+                HttpResponse<String> response = future.get(60, TimeUnit.SECONDS);
+                assertEquals(
+                        Response.Status.OK.getStatusCode(), response.statusCode(), response.body());
+                JsonNode body = mapper.readTree(response.body());
+                if (body.get("allocated").asBoolean()) {
+                    allocated++;
+                }
+                seatIds.add(body.get("seatId").asLong());
+            }
+            assertEquals(1, seatIds.size(), "Every duplicate must get the same seat");
+            assertEquals(1, allocated);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Number assigned =
+                (Number)
+                        entityManager
+                                .createNativeQuery(
+                                        "SELECT COUNT(*) FROM employee_seat_assignments "
+                                                + "WHERE employee_id = :employeeId")
+                                .setParameter("employeeId", employeeId)
+                                .getSingleResult();
+        assertEquals(1, assigned.longValue());
+    }
+}
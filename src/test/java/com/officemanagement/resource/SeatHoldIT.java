@@ -0,0 +1,193 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the seat hold endpoints. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SeatHoldIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private static class Holder<T> {
+        T value;
+    }
+
+    private final Holder<Long> floorId = new Holder<>();
+    private final Holder<Long> seatId = new Holder<>();
+    private final Holder<Long> firstEmployee = new Holder<>();
+    private final Holder<Long> secondEmployee = new Holder<>();
+
+    private void setupSeat(int floorNumber) {
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Hold Floor " + floorNumber);
+                    entityManager.persist(floor);
+
+                    OfficeRoom room = new OfficeRoom();
+                    room.setRoomNumber("HOLD-" + floorNumber);
+                    room.setName("Hold Room");
+                    room.setFloor(floor);
+                    entityManager.persist(room);
+
+                    Seat seat = new Seat();
+                    seat.setSeatNumber("HOLD-S1");
+                    seat.setRoom(room);
+                    entityManager.persist(seat);
+
+                    Employee first = new Employee();
+                    first.setFullName("First Holder");
+                    first.setOccupation("Engineer");
+                    entityManager.persist(first);
+
+                    Employee second = new Employee();
+                    second.setFullName("Second Holder");
+                    second.setOccupation("Engineer");
+                    entityManager.persist(second);
+                    entityManager.flush();
+
+                    floorId.value = floor.getId();
+                    seatId.value = seat.getId();
+                    firstEmployee.value = first.getId();
+                    secondEmployee.value = second.getId();
+                });
+    }
+
+    private String hold(Long employeeId, int expectedStatus) {
+        return given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", employeeId))
+                .when()
+                .post("/seats/" + seatId.value + "/hold")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(expectedStatus)
+                .extract()
+                .path("holdId");
+    }
+
+    @Test
+    public void testHoldBlocksOthersAndConfirmAssigns() {
+        setupSeat(500);
+
+        String holdId = hold(firstEmployee.value, Response.Status.CREATED.getStatusCode());
+
+        // Holding again returns the same hold, another employee is refused
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", firstEmployee.value))
+                .when()
+                .post("/seats/" + seatId.value + "/hold")
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode())
+                .body("holdId", equalTo(holdId));
+        hold(secondEmployee.value, Response.Status.CONFLICT.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("held", equalTo(true));
+
+        // A held seat is neither offered for hot-desk allocation nor listed as available
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", secondEmployee.value))
+                .when()
+                .post("/floors/" + floorId.value + "/allocate")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .post("/seats/" + seatId.value + "/hold/" + holdId + "/confirm")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("employeeId", equalTo(firstEmployee.value.intValue()))
+                .body("assigned", equalTo(true));
+
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + seatId.value)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("occupied", equalTo(true))
+                .body("held", equalTo(false));
+        assertEquals(0, seatHolds.pendingTimeouts());
+
+        // The seat is assigned now, so it can no longer be held
+        hold(secondEmployee.value, Response.Status.CONFLICT.getStatusCode());
+    }
+
+    @Test
+    public void testReleaseHold() {
+        setupSeat(501);
+
+        String holdId = hold(firstEmployee.value, Response.Status.CREATED.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/seats/" + seatId.value + "/hold/" + holdId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+        assertEquals(0, seatHolds.pendingTimeouts());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .post("/seats/" + seatId.value + "/hold/" + holdId + "/confirm")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+
+        hold(secondEmployee.value, Response.Status.CREATED.getStatusCode());
+    }
+
+    @Test
+    public void testInvalidHoldRequests() {
+        setupSeat(502);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", firstEmployee.value, "minutes", 120))
+                .when()
+                .post("/seats/" + seatId.value + "/hold")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", 999999L))
+                .when()
+                .post("/seats/" + seatId.value + "/hold")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(Map.of("employeeId", firstEmployee.value))
+                .when()
+                .post("/seats/999999/hold")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+
+        given().baseUri(BASE_URI)
+                .when()
+                .delete("/seats/" + seatId.value + "/hold/unknown")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+}
@@ -0,0 +1,207 @@
+package com.officemanagement.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.dto.SeatPlacementDTO;
+import com.officemanagement.dto.SeatPlanDTO;
+import com.officemanagement.dto.SeatPlanRequestDTO;
+import com.officemanagement.model.Employee;
+import com.officemanagement.model.Floor;
+import com.officemanagement.model.OfficeRoom;
+import com.officemanagement.model.Seat;
+import io.restassured.http.ContentType;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Integration tests for the SeatPlanResource endpoints. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SeatPlanIT extends BaseResourceTest {
+
+    private static final String BASE_URI = "http://localhost:8080/test";
+
+    private final Map<Long, Long> roomOfSeat = new HashMap<>();
+    private final List<Long> floorIds = new ArrayList<>();
+    private final List<Long> designers = new ArrayList<>();
+    private final List<Long> engineers = new ArrayList<>();
+
+    /** One floor with two rooms far apart, three seats each, and two teams of three. */
+    private void setupFloor(int floorNumber) {
+        roomOfSeat.clear();
+        floorIds.clear();
+        designers.clear();
+        engineers.clear();
+        runInTransaction(
+                () -> {
+                    Floor floor = new Floor();
+                    floor.setFloorNumber(floorNumber);
+                    floor.setName("Plan Floor " + floorNumber);
+                    entityManager.persist(floor);
+
+                    for (int r = 0; r < 2; r++) {
+                        OfficeRoom room = new OfficeRoom();
+                        room.setRoomNumber("PLAN-" + floorNumber + "-" + r);
+                        room.setName("Plan Room " + r);
+                        room.setFloor(floor);
+                        room.setX(r * 2000f);
+                        entityManager.persist(room);
+
+                        for (int s = 0; s < 3; s++) {
+                            Seat seat = new Seat();
+                            seat.setSeatNumber(room.getRoomNumber() + "-S" + s);
+                            seat.setRoom(room);
+                            seat.setX(s * 50f);
+                            entityManager.persist(seat);
+                            entityManager.flush();
+                            roomOfSeat.put(seat.getId(), room.getId());
+                        }
+                    }
+
+                    for (int i = 0; i < 3; i++) {
+                        Employee designer = new Employee();
+                        designer.setFullName("Planned Designer " + i);
+                        designer.setOccupation("Designer");
+                        entityManager.persist(designer);
+
+                        Employee engineer = new Employee();
+                        engineer.setFullName("Planned Engineer " + i);
+                        engineer.setOccupation("Engineer");
+                        entityManager.persist(engineer);
+                        entityManager.flush();
+                        designers.add(designer.getId());
+                        engineers.add(engineer.getId());
+                    }
+                    floorIds.add(floor.getId());
+                });
+    }
+
+    private SeatPlanDTO computePlan(SeatPlanRequestDTO request) {
+        return given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(request)
+                .when()
+                .post("/seat-plans")
+                .then()
+                .log()
+                .ifValidationFails()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract()
+                .as(SeatPlanDTO.class);
+    }
+
+    private void assertTeamInOneRoom(SeatPlanDTO plan, List<Long> team) {
+        Long room = null;
+        for (SeatPlacementDTO placement : plan.getPlacements()) {
+            if (team.contains(placement.getEmployeeId())) {
+                Long placementRoom = roomOfSeat.get(placement.getSeatId());
+                if (room == null) {
+                    room = placementRoom;
+                }
+                assertEquals(room, placementRoom, "Team is split across rooms");
+            }
+        }
+    }
+
+    @Test
+    public void testPlanGroupsByOccupationAndApplies() {
+        setupFloor(600);
+
+        List<Long> everyone = new ArrayList<>(designers);
+        everyone.addAll(engineers);
+        SeatPlanDTO plan = computePlan(new SeatPlanRequestDTO(floorIds, everyone, null, 42L));
+
+        assertEquals(6, plan.getPlacements().size());
+        assertEquals(2, plan.getTeamCount());
+        assertTeamInOneRoom(plan, designers);
+        assertTeamInOneRoom(plan, engineers);
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(plan)
+                .when()
+                .post("/seat-plans/apply")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("applied", equalTo(6));
+
+        SeatPlacementDTO first = plan.getPlacements().get(0);
+        given().baseUri(BASE_URI)
+                .when()
+                .get("/seats/" + first.getSeatId())
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("occupied", equalTo(true))
+                .body("employeeIds", hasItem(first.getEmployeeId().intValue()));
+
+        // Applying the same plan again finds every seat taken
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(plan)
+                .when()
+                .post("/seat-plans/apply")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+    }
+
+    @Test
+    public void testExplicitTeams() {
+        setupFloor(601);
+
+        // Mixed teams: the occupation no longer matters
+        List<Long> teamA = List.of(designers.get(0), engineers.get(0), designers.get(1));
+        List<Long> teamB = List.of(engineers.get(1), designers.get(2), engineers.get(2));
+        SeatPlanDTO plan =
+                computePlan(new SeatPlanRequestDTO(floorIds, null, List.of(teamA, teamB), 7L));
+
+        assertEquals(2, plan.getTeamCount());
+        assertTeamInOneRoom(plan, teamA);
+        assertTeamInOneRoom(plan, teamB);
+    }
+
+    @Test
+    public void testInvalidPlanRequests() {
+        setupFloor(602);
+
+        // Seven people do not fit on six seats
+        List<Long> tooMany = new ArrayList<>(designers);
+        tooMany.addAll(engineers);
+        runInTransaction(
+                () -> {
+                    Employee extra = new Employee();
+                    extra.setFullName("Planned Extra");
+                    extra.setOccupation("Designer");
+                    entityManager.persist(extra);
+                    entityManager.flush();
+                    tooMany.add(extra.getId());
+                });
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(new SeatPlanRequestDTO(floorIds, tooMany, null, 1L))
+                .when()
+                .post("/seat-plans")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(new SeatPlanRequestDTO(floorIds, List.of(999999L), null, 1L))
+                .when()
+                .post("/seat-plans")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        given().contentType(ContentType.JSON)
+                .baseUri(BASE_URI)
+                .body(new SeatPlanDTO(List.of(), 0, 0, 0))
+                .when()
+                .post("/seat-plans/apply")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+}
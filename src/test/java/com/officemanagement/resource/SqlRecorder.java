@@ -0,0 +1,36 @@
+package com.officemanagement.resource;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL that Hibernate sends to the database while recording is on, from every thread.
+ * Registered in the test {@code persistence.xml}.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+    private static volatile boolean recording;
+
+    /** Forgets what was recorded and starts recording. */
+    public static void start() {
+        STATEMENTS.clear();
+        recording = true;
+    }
+
+    /** Stops recording, returning the statements recorded since {@link #start()}. */
+    public static List<String> stop() {
+        recording = false;
+        return List.copyOf(STATEMENTS);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+}
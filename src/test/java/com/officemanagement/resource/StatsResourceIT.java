@@ -174,6 +174,52 @@ public class StatsResourceIT extends BaseResourceTest {
                 .body("totalFloors", equalTo(initialFloors + 1))
                 .body("totalOffices", equalTo(initialRooms + 1))
                 .body("totalSeats", equalTo(initialSeats + 1))
-                .body("totalEmployees", equalTo(initialEmployees + 1));
+                .body("totalEmployees", equalTo(initialEmployees + 1))
+                .body("occupiedSeats", equalTo(1));
+    }
+
+    @Test
+    public void testStatsFollowDeletesAndUnassignments() {
+        Long floorId = createFloorForTest("Stats Delete Floor", 3020);
+        Long roomId = createRoomForTest("Stats Delete Room", "StatDel1", floorId);
+        Long firstSeat = createSeatForTest("StatDelS1", roomId);
+        Long secondSeat = createSeatForTest("StatDelS2", roomId);
+        Long employeeId = createEmployeeForTest("Stats Delete Employee", "Stat Worker");
+
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .put("/employees/" + employeeId + "/seats/" + firstSeat)
+                .then()
+                .statusCode(200);
+
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .get("/stats")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("totalSeats", equalTo(2))
+                .body("occupiedSeats", equalTo(1))
+                .body("occupancyRate", equalTo(50.0f));
+
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .delete("/seats/" + secondSeat)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .delete("/employees/" + employeeId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given().baseUri("http://localhost:8080/test")
+                .when()
+                .get("/stats")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("totalEmployees", equalTo(0))
+                .body("totalSeats", equalTo(1))
+                .body("occupiedSeats", equalTo(0))
+                .body("occupancyRate", equalTo(0.0f));
     }
 }
@@ -1,5 +1,10 @@
 package com.officemanagement.resource;
 
+import com.officemanagement.util.CoalescingFilter;
+import com.officemanagement.util.ConcurrencyLimitFilter;
+import com.officemanagement.util.DeadlineFilter;
+import com.officemanagement.util.IdempotencyFilter;
+import com.officemanagement.util.RateLimitFilter;
 import jakarta.ws.rs.ApplicationPath;
 import jakarta.ws.rs.core.Application;
 import java.util.HashSet;
@@ -21,6 +26,20 @@ public class TestJaxRsApplication extends Application {
         classes.add(RoomResource.class);
         classes.add(SeatResource.class);
         classes.add(StatsResource.class);
+        classes.add(ReservationResource.class);
+        classes.add(SeatPlanResource.class);
+        classes.add(ForecastResource.class);
+        classes.add(OccupancyHistoryResource.class);
+        classes.add(PresenceResource.class);
+        classes.add(AnalyticsResource.class);
+        classes.add(DashboardResource.class);
+        classes.add(ChangeResource.class);
+        // Register providers
+        classes.add(RateLimitFilter.class);
+        classes.add(IdempotencyFilter.class);
+        classes.add(CoalescingFilter.class);
+        classes.add(ConcurrencyLimitFilter.class);
+        classes.add(DeadlineFilter.class);
         // Add other resource classes here if needed
         return classes;
     }
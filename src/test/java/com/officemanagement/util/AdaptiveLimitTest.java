@@ -0,0 +1,83 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimitTest {
+
+    private static final long TARGET = 100;
+
+    @Test
+    void testRejectsOverLimitWithoutQueueing() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, TARGET, 0.5);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        AdaptiveLimit.Snapshot snapshot = limit.snapshot();
+        assertEquals(2, snapshot.inFlight());
+        assertEquals(1, snapshot.rejected());
+
+        limit.release(TARGET, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testSlowResponsesShrinkLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 10, TARGET, 0.5);
+
+        limit.tryAcquire();
+        limit.release(TARGET + 1, false);
+        assertEquals(4, limit.limit());
+
+        limit.tryAcquire();
+        limit.release(1, true);
+        assertEquals(2, limit.limit());
+    }
+
+    @Test
+    void testLimitNeverDropsBelowMinimum() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 2, 10, TARGET, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(TARGET * 10, false);
+        }
+        assertEquals(2, limit.limit());
+    }
+
+    @Test
+    void testFastResponsesUnderLoadGrowLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 4, TARGET, 0.5);
+
+        // Two in flight uses the whole limit; each fast response adds 1 / limit
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(1, false);
+            limit.release(1, false);
+        }
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void testIdleLimitDoesNotGrow() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 100, TARGET, 0.5);
+
+        // One request at a time never uses half of the limit
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(1, false);
+        }
+        assertEquals(8, limit.limit());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(0, 0, 1, TARGET, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(5, 1, 4, TARGET, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(2, 1, 4, TARGET, 1.0));
+    }
+}
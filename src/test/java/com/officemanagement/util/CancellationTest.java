@@ -0,0 +1,76 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CancellationTest {
+
+    private AtomicLong nanos;
+    private Cancellation cancellation;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong(0);
+        cancellation = new Cancellation(100, nanos::get);
+    }
+
+    @Test
+    void testDeadlinePasses() {
+        assertEquals(100, cancellation.remainingMillis());
+        assertFalse(cancellation.isOver());
+
+        nanos.addAndGet(100_000_000);
+        assertTrue(cancellation.remainingMillis() <= 0);
+        assertTrue(cancellation.isOver());
+        assertNull(cancellation.reason());
+    }
+
+    @Test
+    void testCancelRunsActionsOnce() {
+        AtomicInteger cancelled = new AtomicInteger();
+        cancellation.onCancel(cancelled::incrementAndGet);
+
+        cancellation.cancel("Client disconnected");
+        cancellation.cancel("Deadline exceeded");
+
+        assertEquals(1, cancelled.get());
+        assertTrue(cancellation.isOver());
+        assertEquals("Client disconnected", cancellation.reason());
+    }
+
+    @Test
+    void testClosedRegistrationIsNotRun() {
+        AtomicInteger cancelled = new AtomicInteger();
+        Cancellation.Registration registration = cancellation.onCancel(cancelled::incrementAndGet);
+        registration.close();
+
+        cancellation.cancel("Client disconnected");
+        assertEquals(0, cancelled.get());
+    }
+
+    @Test
+    void testLateRegistrationRunsAtOnce() {
+        cancellation.cancel("Client disconnected");
+
+        AtomicInteger cancelled = new AtomicInteger();
+        cancellation.onCancel(cancelled::incrementAndGet).close();
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void testFailingActionDoesNotStopOthers() {
+        AtomicInteger cancelled = new AtomicInteger();
+        cancellation.onCancel(
+                () -> {
+                    throw new IllegalStateException("Statement already closed");
+                });
+        cancellation.onCancel(cancelled::incrementAndGet);
+
+        cancellation.cancel("Deadline exceeded");
+        assertEquals(1, cancelled.get());
+    }
+}
@@ -0,0 +1,66 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DeltaBlockCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        long[] times = {1_700_000_000_000L, 1_700_000_060_000L, 1_700_000_061_500L};
+        long[] values = {0, 3, -2};
+        long[][] decoded = DeltaBlockCodec.decode(DeltaBlockCodec.encode(times, values));
+
+        assertEquals(2, decoded.length);
+        assertArrayEquals(times, decoded[0]);
+        assertArrayEquals(values, decoded[1]);
+    }
+
+    @Test
+    void testExtremeValues() {
+        long[] values = {Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, Long.MAX_VALUE};
+        assertArrayEquals(values, DeltaBlockCodec.decode(DeltaBlockCodec.encode(values))[0]);
+    }
+
+    @Test
+    void testEmptyBlock() {
+        long[][] decoded = DeltaBlockCodec.decode(DeltaBlockCodec.encode(new long[0], new long[0]));
+        assertEquals(2, decoded.length);
+        assertEquals(0, decoded[0].length);
+    }
+
+    @Test
+    void testRegularSeriesCompressesWell() {
+        // A year of hourly buckets whose value rarely changes
+        int hours = 365 * 24;
+        long[] starts = new long[hours];
+        long[] values = new long[hours];
+        Random random = new Random(1);
+        long value = 20;
+        for (int h = 0; h < hours; h++) {
+            starts[h] = 1_700_000_000_000L + h * 3_600_000L;
+            if (random.nextInt(50) == 0) {
+                value += random.nextInt(5) - 2;
+            }
+            values[h] = value;
+        }
+        byte[] block = DeltaBlockCodec.encode(starts, values);
+
+        assertTrue(block.length < hours / 4, "Block took " + block.length + " bytes");
+        long[][] decoded = DeltaBlockCodec.decode(block);
+        assertArrayEquals(starts, decoded[0]);
+        assertArrayEquals(values, decoded[1]);
+    }
+
+    @Test
+    void testRejectsMismatchedColumnsAndCorruptBlocks() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> DeltaBlockCodec.encode(new long[2], new long[3]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> DeltaBlockCodec.decode(new byte[] {1, 2, 3}));
+    }
+}
@@ -0,0 +1,38 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class DropOldestQueueTest {
+
+    @Test
+    void testKeepsOrder() {
+        DropOldestQueue<String> queue = new DropOldestQueue<>(3);
+        queue.offer("a");
+        queue.offer("b");
+
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void testDropsOldestWhenFull() {
+        DropOldestQueue<Integer> queue = new DropOldestQueue<>(2);
+        for (int i = 1; i <= 5; i++) {
+            queue.offer(i);
+        }
+
+        assertEquals(2, queue.size());
+        assertEquals(3, queue.takeDropped());
+        assertEquals(0, queue.takeDropped());
+        assertEquals(Integer.valueOf(4), queue.poll());
+        assertEquals(Integer.valueOf(5), queue.poll());
+    }
+
+    @Test
+    void testRejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DropOldestQueue<>(0));
+    }
+}
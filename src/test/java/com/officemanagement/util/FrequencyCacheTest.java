@@ -0,0 +1,117 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencyCacheTest {
+
+    /** A cache of up to 100 bytes, weighing strings by their length. */
+    private static FrequencyCache<String, String> cache() {
+        return new FrequencyCache<>(100, 16, String::length);
+    }
+
+    private static String bytes(int length) {
+        return "x".repeat(length);
+    }
+
+    private static void request(FrequencyCache<String, String> cache, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            cache.get(key);
+        }
+    }
+
+    @Test
+    void testCachesWhileThereIsRoom() {
+        FrequencyCache<String, String> cache = cache();
+        assertNull(cache.get("a"));
+        assertTrue(cache.put("a", bytes(40)));
+        assertTrue(cache.put("b", bytes(60)));
+        assertEquals(bytes(40), cache.get("a"));
+
+        FrequencyCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(2, stats.entries());
+        assertEquals(100, stats.weight());
+    }
+
+    @Test
+    void testRejectsRarelyRequestedKeyWhenFull() {
+        FrequencyCache<String, String> cache = cache();
+        request(cache, "hot", 5);
+        cache.put("hot", bytes(80));
+
+        request(cache, "cold", 1);
+        assertFalse(cache.put("cold", bytes(30)));
+        assertEquals(bytes(80), cache.get("hot"));
+        assertNull(cache.get("cold"));
+        assertEquals(1, cache.stats().rejections());
+    }
+
+    @Test
+    void testAdmitsKeyThatBecamePopular() {
+        FrequencyCache<String, String> cache = cache();
+        request(cache, "old", 2);
+        cache.put("old", bytes(80));
+
+        request(cache, "new", 6);
+        assertTrue(cache.put("new", bytes(30)));
+        assertNull(cache.get("old"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(30, cache.stats().weight());
+    }
+
+    @Test
+    void testEvictsOnlyAsMuchAsNeeded() {
+        FrequencyCache<String, String> cache = cache();
+        for (String key : new String[] {"a", "b", "c", "d"}) {
+            cache.get(key);
+            cache.put(key, bytes(25));
+        }
+        request(cache, "e", 3);
+        cache.get("a"); // Most recently used now
+
+        assertTrue(cache.put("e", bytes(40)));
+        assertNull(cache.get("b"));
+        assertNull(cache.get("c"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("d"));
+        assertEquals(90, cache.stats().weight());
+    }
+
+    @Test
+    void testRejectsValueHeavierThanTheCache() {
+        FrequencyCache<String, String> cache = cache();
+        request(cache, "big", 10);
+        assertFalse(cache.put("big", bytes(101)));
+        assertEquals(0, cache.stats().weight());
+    }
+
+    @Test
+    void testReplacesAndRemovesValues() {
+        FrequencyCache<String, String> cache = cache();
+        cache.put("a", bytes(10));
+        cache.put("b", bytes(20));
+        cache.put("a", bytes(30));
+        assertEquals(50, cache.stats().weight());
+
+        assertEquals(1, cache.removeIf((key, value) -> value.length() == 20));
+        assertEquals(bytes(30), cache.remove("a"));
+        assertEquals(0, cache.stats().entries());
+        assertEquals(0, cache.stats().weight());
+    }
+
+    @Test
+    void testFrequencyFadesWithAge() {
+        // The smallest sketch is 64 counters wide and halves them every 640 requests
+        FrequencyCache<String, String> cache = cache();
+        request(cache, "hot", 20);
+        assertEquals(15, cache.frequency("hot"));
+
+        for (int i = 0; i < 640; i++) {
+            cache.get("other" + (i % 2));
+        }
+        assertTrue(cache.frequency("hot") <= 7);
+    }
+}
@@ -0,0 +1,99 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+    private static final long START = 1_000_000L;
+
+    private HashedTimingWheel<String> wheel;
+    private List<String> expired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(100, 8, START);
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    void testExpiresAtDeadlineTick() {
+        wheel.schedule("a", START + 250);
+        assertEquals(0, wheel.advance(START + 199, expired::add));
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.advance(START + 200, expired::add));
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void testDeadlinesBeyondOneRotation() {
+        // 8 buckets of 100ms: 2,500ms wraps the wheel three times
+        wheel.schedule("late", START + 2_500);
+        wheel.schedule("early", START + 300);
+        wheel.advance(START + 1_000, expired::add);
+        assertEquals(List.of("early"), expired);
+        wheel.advance(START + 2_499, expired::add);
+        assertEquals(List.of("early"), expired);
+        wheel.advance(START + 2_500, expired::add);
+        assertEquals(List.of("early", "late"), expired);
+    }
+
+    @Test
+    void testPastDeadlineExpiresOnNextTick() {
+        wheel.advance(START + 1_000, expired::add);
+        wheel.schedule("overdue", START + 10);
+        wheel.advance(START + 1_050, expired::add);
+        assertTrue(expired.isEmpty(), "Tick 10 has already been processed");
+        wheel.advance(START + 1_100, expired::add);
+        assertEquals(List.of("overdue"), expired);
+    }
+
+    @Test
+    void testCancel() {
+        HashedTimingWheel.Timeout before = wheel.schedule("before-transfer", START + 500);
+        assertTrue(before.cancel());
+        assertFalse(before.cancel(), "Second cancel is a no-op");
+
+        HashedTimingWheel.Timeout after = wheel.schedule("after-transfer", START + 500);
+        wheel.advance(START + 100, expired::add);
+        assertTrue(after.cancel());
+
+        wheel.advance(START + 1_000, expired::add);
+        assertTrue(expired.isEmpty());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void testCancelAfterExpiryFails() {
+        HashedTimingWheel.Timeout timeout = wheel.schedule("a", START + 100);
+        wheel.advance(START + 100, expired::add);
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void testManyTimeouts() {
+        HashedTimingWheel<Integer> large = new HashedTimingWheel<>(10, 512, START);
+        int count = 100_000;
+        List<HashedTimingWheel.Timeout> timeouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timeouts.add(large.schedule(i, START + (i % 6_000)));
+        }
+        for (int i = 0; i < count; i += 2) {
+            timeouts.get(i).cancel();
+        }
+        int[] fired = new int[1];
+        large.advance(START + 6_000, value -> fired[0]++);
+        assertEquals(count / 2, fired[0]);
+        assertEquals(0, large.pendingTimeouts());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(0, 8, START));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(10, 0, START));
+    }
+}
@@ -0,0 +1,131 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.IdempotencyStore.Claim;
+import com.officemanagement.util.IdempotencyStore.Outcome;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+
+    private AtomicLong now;
+    private IdempotencyStore<String> store;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000L);
+        store = new IdempotencyStore<>(1_000, 100, 3, 2_000, now::get);
+    }
+
+    @Test
+    void testReplaysStoredResponse() throws Exception {
+        Claim<String> first = store.begin("k", "POST /seats");
+        assertEquals(Outcome.EXECUTE, first.outcome());
+        store.complete(first, "created");
+
+        Claim<String> retry = store.begin("k", "POST /seats");
+        assertEquals(Outcome.REPLAY, retry.outcome());
+        assertEquals("created", retry.response());
+    }
+
+    @Test
+    void testRejectsKeyReusedForDifferentRequest() throws Exception {
+        store.complete(store.begin("k", "POST /seats"), "created");
+        assertEquals(Outcome.MISMATCH, store.begin("k", "POST /employees").outcome());
+    }
+
+    @Test
+    void testExpiresAfterTtl() throws Exception {
+        store.complete(store.begin("k", "POST /seats"), "created");
+        now.addAndGet(999);
+        assertEquals(Outcome.REPLAY, store.begin("k", "POST /seats").outcome());
+        now.addAndGet(1);
+        assertEquals(Outcome.EXECUTE, store.begin("k", "POST /seats").outcome());
+    }
+
+    @Test
+    void testEvictsOldestWhenFull() throws Exception {
+        for (String key : new String[] {"a", "b", "c", "d"}) {
+            store.complete(store.begin(key, "POST"), key);
+        }
+        assertEquals(3, store.size());
+        assertEquals(Outcome.EXECUTE, store.begin("a", "POST").outcome());
+        assertEquals(Outcome.REPLAY, store.begin("d", "POST").outcome());
+    }
+
+    @Test
+    void testKeepsExecutionsInFlightWhenFull() throws Exception {
+        Claim<String> running = store.begin("a", "POST");
+        for (String key : new String[] {"b", "c", "d"}) {
+            store.complete(store.begin(key, "POST"), key);
+        }
+        assertEquals(3, store.size());
+        assertEquals(Outcome.EXECUTE, store.begin("b", "POST").outcome());
+        store.complete(running, "a");
+        assertEquals(Outcome.REPLAY, store.begin("a", "POST").outcome());
+    }
+
+    @Test
+    void testAbandonedKeyExecutesAgain() throws Exception {
+        store.abandon(store.begin("k", "POST"));
+        assertEquals(0, store.size());
+        assertEquals(Outcome.EXECUTE, store.begin("k", "POST").outcome());
+    }
+
+    @Test
+    void testAbandonAfterCompleteKeepsResponse() throws Exception {
+        Claim<String> first = store.begin("k", "POST");
+        store.complete(first, "created");
+        store.abandon(first);
+        assertEquals(Outcome.REPLAY, store.begin("k", "POST").outcome());
+    }
+
+    @Test
+    void testUnfinishedExecutionReleasesKeyAfterInFlightTtl() throws Exception {
+        store.begin("k", "POST");
+        now.addAndGet(100);
+        assertEquals(Outcome.EXECUTE, store.begin("k", "POST").outcome());
+    }
+
+    @Test
+    void testConcurrentDuplicateWaitsForInFlightRequest() throws Exception {
+        IdempotencyStore<String> realTime =
+                new IdempotencyStore<>(60_000, 60_000, 10, 5_000, System::currentTimeMillis);
+        Claim<String> first = realTime.begin("k", "POST");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<Claim<String>> duplicate =
+                    executor.submit(
+                            () -> {
+                                started.countDown();
+                                return realTime.begin("k", "POST");
+                            });
+            started.await();
+            Thread.sleep(50);
+            assertFalse(duplicate.isDone());
+            realTime.complete(first, "done");
+
+            Claim<String> replay = duplicate.get(5, TimeUnit.SECONDS);
+            assertEquals(Outcome.REPLAY, replay.outcome());
+            assertEquals("done", replay.response());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDuplicateGivesUpAfterWaitTime() throws Exception {
+        IdempotencyStore<String> impatient =
+                new IdempotencyStore<>(60_000, 60_000, 10, 20, System::currentTimeMillis);
+        impatient.begin("k", "POST");
+        assertEquals(Outcome.IN_PROGRESS, impatient.begin("k", "POST").outcome());
+    }
+}
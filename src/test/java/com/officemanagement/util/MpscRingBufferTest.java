@@ -0,0 +1,123 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new MpscRingBuffer<String>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<String>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<String>(0));
+    }
+
+    @Test
+    void testDrainsInOrderAndWrapsAround() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+        List<Integer> out = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            assertTrue(ring.offerAll(List.of(round * 3, round * 3 + 1, round * 3 + 2)));
+            assertEquals(3, ring.size());
+            assertEquals(3, ring.drain(out::add, 10));
+        }
+        for (int i = 0; i < 15; i++) {
+            assertEquals(i, out.get(i).intValue());
+        }
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void testBatchIsAllOrNothing() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+        assertTrue(ring.offerAll(List.of(1, 2, 3)));
+        assertFalse(ring.offerAll(List.of(4, 5)));
+        assertTrue(ring.offer(4));
+        assertFalse(ring.offer(5));
+        assertFalse(ring.offerAll(List.of(1, 2, 3, 4, 5)));
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(2, ring.drain(out::add, 2));
+        assertTrue(ring.offerAll(List.of(5, 6)));
+        ring.drain(out::add, 10);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), out);
+    }
+
+    @Test
+    void testRejectsNullsWithoutClaimingSlots() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+        List<Integer> withNull = new ArrayList<>();
+        withNull.add(1);
+        withNull.add(null);
+        assertThrows(NullPointerException.class, () -> ring.offerAll(withNull));
+        assertEquals(0, ring.size());
+        assertTrue(ring.offer(7));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        int producers = 4;
+        int batches = 20_000;
+        MpscRingBuffer<Long> ring = new MpscRingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(
+                        pool.submit(
+                                () -> {
+                                    start.await();
+                                    for (long b = 0; b < batches; b++) {
+                                        // Two elements per batch, which must stay adjacent
+                                        List<Long> batch =
+                                                List.of(producer << 32 | b, producer << 32 | b);
+                                        while (!ring.offerAll(batch)) {
+                                            Thread.onSpinWait();
+                                        }
+                                    }
+                                    return null;
+                                }));
+            }
+            start.countDown();
+
+            long[] next = new long[producers];
+            List<Long> pair = new ArrayList<>(2);
+            long expected = (long) producers * batches * 2;
+            long received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < expected && System.nanoTime() < deadline) {
+                received += ring.drain(
+                        value -> {
+                            pair.add(value);
+                            if (pair.size() == 2) {
+                                assertEquals(pair.get(0), pair.get(1));
+                                int producer = (int) (value >>> 32);
+                                // Each producer's batches arrive in the order it sent them
+                                assertEquals(next[producer]++, value & 0xFFFFFFFFL);
+                                pair.clear();
+                            }
+                        },
+                        256);
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(expected, received);
+            for (long count : next) {
+                assertEquals(batches, count);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
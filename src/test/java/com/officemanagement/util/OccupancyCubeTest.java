@@ -0,0 +1,134 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.OccupancyCube.Cell;
+import com.officemanagement.util.OccupancyCube.Dimension;
+import com.officemanagement.util.OccupancyCube.RoomSlice;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OccupancyCubeTest {
+
+    private OccupancyCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new OccupancyCube();
+        // Floor 1: rooms 10 and 11; floor 2: room 20; room 30 has no floor
+        cube.replaceAll(
+                List.of(
+                        new RoomSlice(10, 1L, 4, 3, 60, Map.of("Engineer", 2, "Designer", 1)),
+                        new RoomSlice(11, 1L, 6, 1, 90, Map.of("Engineer", 1)),
+                        new RoomSlice(20, 2L, 10, 5, 150, Map.of("Designer", 4, "Manager", 2)),
+                        new RoomSlice(30, null, 2, 0, 20, Map.of())));
+    }
+
+    @Test
+    void testRollUpToFloors() {
+        List<Cell> floors = cube.query(EnumSet.of(Dimension.FLOOR), null, null, null);
+        assertEquals(3, floors.size());
+
+        Cell none = floors.get(0);
+        assertNull(none.floorId());
+        assertEquals(2, none.seats().longValue());
+
+        Cell first = floors.get(1);
+        assertEquals(Long.valueOf(1), first.floorId());
+        assertNull(first.roomId());
+        assertEquals(10, first.seats().longValue());
+        assertEquals(4, first.occupiedSeats().longValue());
+        assertEquals(4, first.assignments());
+        assertEquals(150.0, first.area(), 1e-9);
+    }
+
+    @Test
+    void testGrandTotal() {
+        List<Cell> total = cube.query(Set.of(), null, null, null);
+        assertEquals(1, total.size());
+        assertEquals(22, total.get(0).seats().longValue());
+        assertEquals(9, total.get(0).occupiedSeats().longValue());
+        assertEquals(10, total.get(0).assignments());
+    }
+
+    @Test
+    void testPivotFloorByOccupation() {
+        List<Cell> cells =
+                cube.query(EnumSet.of(Dimension.FLOOR, Dimension.OCCUPATION), null, null, null);
+        assertEquals(4, cells.size());
+        assertEquals("Designer", cells.get(0).occupation());
+        assertEquals(1, cells.get(0).assignments());
+        assertEquals("Engineer", cells.get(1).occupation());
+        assertEquals(3, cells.get(1).assignments());
+        // Seats belong to rooms, not to occupations
+        assertNull(cells.get(1).seats());
+    }
+
+    @Test
+    void testSliceByFloorAndOccupation() {
+        List<Cell> rooms = cube.query(EnumSet.of(Dimension.ROOM), 1L, null, "Engineer");
+        assertEquals(2, rooms.size());
+        assertEquals(Long.valueOf(10), rooms.get(0).roomId());
+        assertEquals(2, rooms.get(0).assignments());
+        assertEquals(1, rooms.get(1).assignments());
+
+        assertTrue(cube.query(EnumSet.of(Dimension.ROOM), null, null, "Astronaut").isEmpty());
+    }
+
+    @Test
+    void testReplaceAndRemoveRooms() {
+        // Room 11 moves to floor 2 and gets a manager
+        cube.put(new RoomSlice(11, 2L, 6, 2, 90, Map.of("Engineer", 1, "Manager", 1)));
+        cube.remove(30);
+        assertEquals(3, cube.roomCount());
+
+        List<Cell> floors = cube.query(EnumSet.of(Dimension.FLOOR), null, null, null);
+        assertEquals(2, floors.size());
+        assertEquals(4, floors.get(0).seats().longValue());
+        assertEquals(16, floors.get(1).seats().longValue());
+        assertEquals(7, floors.get(1).occupiedSeats().longValue());
+
+        // The freed slot is reused
+        cube.put(new RoomSlice(40, 3L, 1, 1, 5, Map.of("Intern", 1)));
+        assertEquals(4, cube.roomCount());
+        assertEquals(
+                1,
+                cube.query(EnumSet.of(Dimension.OCCUPATION), null, null, "Intern")
+                        .get(0)
+                        .assignments());
+    }
+
+    @Test
+    void testManyRoomsQueryQuickly() {
+        List<RoomSlice> slices = new ArrayList<>();
+        String[] occupations = {"Engineer", "Designer", "Manager", "Analyst", "Sales"};
+        for (int r = 0; r < 5_000; r++) {
+            slices.add(
+                    new RoomSlice(
+                            r,
+                            (long) (r / 100),
+                            8,
+                            r % 9,
+                            100,
+                            Map.of(occupations[r % 5], r % 9)));
+        }
+        cube.replaceAll(slices);
+
+        // Warm up, then time a floor x occupation pivot
+        for (int i = 0; i < 200; i++) {
+            cube.query(EnumSet.of(Dimension.FLOOR, Dimension.OCCUPATION), null, null, null);
+        }
+        long start = System.nanoTime();
+        List<Cell> pivot =
+                cube.query(EnumSet.of(Dimension.FLOOR, Dimension.OCCUPATION), null, null, null);
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        assertEquals(50 * 5, pivot.size());
+        assertTrue(micros < 50_000, "Pivot took " + micros + " us");
+    }
+}
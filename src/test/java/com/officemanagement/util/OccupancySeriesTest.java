@@ -0,0 +1,151 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.model.OccupancyTier;
+import com.officemanagement.util.OccupancySeries.Bucket;
+import com.officemanagement.util.OccupancySeries.OpenBucket;
+import com.officemanagement.util.OccupancySeries.Pending;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OccupancySeriesTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    // Monday 2024-01-01T00:00Z
+    private static final long MONDAY = 1_704_067_200_000L;
+
+    @Test
+    void testTierBucketStarts() {
+        assertEquals(MONDAY, OccupancyTier.WEEK.bucketStart(MONDAY + 6 * DAY + 5));
+        assertEquals(MONDAY - 7 * DAY, OccupancyTier.WEEK.bucketStart(MONDAY - 1));
+        assertEquals(MONDAY + DAY, OccupancyTier.DAY.bucketStart(MONDAY + DAY + 17 * HOUR));
+        assertEquals(MONDAY + 3 * HOUR, OccupancyTier.HOUR.bucketStart(MONDAY + 3 * HOUR + 59));
+    }
+
+    @Test
+    void testHourlyRollupIsTimeWeighted() {
+        OccupancySeries series = new OccupancySeries();
+        series.record(MONDAY, 0);
+        series.record(MONDAY + HOUR / 4, 4);
+        series.record(MONDAY + HOUR / 2, 2);
+        // Closes the first hour
+        series.record(MONDAY + HOUR + 10, 0);
+
+        List<Bucket> hours = series.drain().buckets().get(OccupancyTier.HOUR);
+        assertEquals(1, hours.size());
+        Bucket first = hours.get(0);
+        assertEquals(MONDAY, first.startMillis());
+        // 15 min at 0, 15 min at 4, 30 min at 2
+        assertEquals(2.0, first.average(), 1e-9);
+        assertEquals(0, first.min());
+        assertEquals(4, first.max());
+        assertEquals(2, first.last());
+    }
+
+    @Test
+    void testResumedBucketIsClosedOnce() {
+        OccupancySeries before = new OccupancySeries();
+        before.record(MONDAY, 0);
+        before.record(MONDAY + HOUR / 4, 4);
+        // Shut down half way through the hour
+        before.drain();
+        OpenBucket open = before.openBucket(OccupancyTier.HOUR, MONDAY + HOUR / 2);
+        assertEquals(2.0, open.bucket().average(), 1e-9);
+
+        OccupancySeries after = new OccupancySeries();
+        assertTrue(after.resume(Map.of(OccupancyTier.HOUR, open)));
+        assertEquals(4, after.currentValue());
+        after.record(MONDAY + 3 * HOUR / 4, 2);
+        after.record(MONDAY + HOUR + 10, 0);
+
+        List<Bucket> hours = after.drain().buckets().get(OccupancyTier.HOUR);
+        assertEquals(1, hours.size());
+        // 15 min at 0, 30 min at 4, 15 min at 2
+        assertEquals(MONDAY, hours.get(0).startMillis());
+        assertEquals(2.5, hours.get(0).average(), 1e-9);
+        assertEquals(0, hours.get(0).min());
+        assertEquals(4, hours.get(0).max());
+        assertFalse(after.resume(Map.of(OccupancyTier.HOUR, open)));
+    }
+
+    @Test
+    void testUnchangedValuesAreNotRecorded() {
+        OccupancySeries series = new OccupancySeries();
+        assertTrue(series.record(MONDAY, 1));
+        assertFalse(series.record(MONDAY + 5, 1));
+        assertTrue(series.record(MONDAY + 10, 2));
+        assertEquals(2, series.drain().samples().size());
+        assertEquals(2, series.currentValue());
+    }
+
+    @Test
+    void testFillCarriesValuesOverQuietBuckets() {
+        OccupancySeries series = new OccupancySeries();
+        series.record(MONDAY + 30 * 60_000L, 3);
+        series.record(MONDAY + 3 * HOUR, 5);
+
+        Pending pending = series.drain();
+        List<Bucket> hours = pending.buckets().get(OccupancyTier.HOUR);
+        // Only the hour of the first change is closed; the quiet hours in between are implicit
+        assertEquals(1, hours.size());
+        assertEquals(3.0, hours.get(0).average(), 1e-9);
+
+        List<Bucket> buckets = new ArrayList<>(hours);
+        buckets.addAll(series.pendingBuckets(OccupancyTier.HOUR, MONDAY + 3 * HOUR + HOUR / 2));
+        List<Bucket> filled =
+                OccupancySeries.fill(
+                        buckets, OccupancyTier.HOUR, MONDAY - 2 * HOUR, MONDAY + 4 * HOUR, null);
+        // Nothing before the first value, then hours 0..3
+        assertEquals(4, filled.size());
+        assertEquals(MONDAY, filled.get(0).startMillis());
+        assertEquals(3.0, filled.get(1).average(), 1e-9);
+        assertEquals(3.0, filled.get(2).average(), 1e-9);
+        assertEquals(5.0, filled.get(3).average(), 1e-9);
+    }
+
+    @Test
+    void testFillUsesBucketBeforeRange() {
+        Bucket before = new Bucket(MONDAY - 7 * DAY, 1.5, 1, 2, 2);
+        List<Bucket> filled =
+                OccupancySeries.fill(
+                        List.of(), OccupancyTier.DAY, MONDAY, MONDAY + 2 * DAY, before);
+        assertEquals(2, filled.size());
+        assertEquals(2.0, filled.get(1).average(), 1e-9);
+    }
+
+    @Test
+    void testRestorePutsDrainedDataBack() {
+        OccupancySeries series = new OccupancySeries();
+        series.record(MONDAY, 1);
+        series.record(MONDAY + 2 * DAY, 2);
+        Pending pending = series.drain();
+        series.record(MONDAY + 2 * DAY + 1, 3);
+        series.restore(pending);
+
+        Pending again = series.drain();
+        assertEquals(3, again.samples().size());
+        assertEquals(MONDAY, again.samples().get(0).timeMillis());
+        assertEquals(1, again.buckets().get(OccupancyTier.DAY).size());
+        assertTrue(series.drain().isEmpty());
+    }
+
+    @Test
+    void testYearOfDailyChangesRollsUpWeekly() {
+        OccupancySeries series = new OccupancySeries();
+        for (int d = 0; d < 364; d++) {
+            series.record(MONDAY + d * DAY + 9 * HOUR, 10);
+            series.record(MONDAY + d * DAY + 17 * HOUR, 0);
+        }
+        Pending pending = series.drain();
+        assertEquals(728, pending.samples().size());
+        List<Bucket> weeks = pending.buckets().get(OccupancyTier.WEEK);
+        assertEquals(51, weeks.size());
+        // The second week is fully covered: 8 of 24 hours at 10 every day
+        assertEquals(10.0 / 3, weeks.get(1).average(), 1e-9);
+        assertEquals(10, weeks.get(1).max());
+    }
+}
@@ -0,0 +1,95 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class OccupancySimulatorTest {
+
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    @Test
+    void testSingleRoomIsBinomial() {
+        OccupancySimulator simulator = new OccupancySimulator(new int[] {10}, new int[] {0}, 1);
+        OccupancySimulator.Result result = simulator.simulate(0.5, 0, 200_000, 1, POOL);
+
+        OccupancySimulator.Distribution room = result.group(0);
+        assertEquals(5.0, room.mean(), 0.05);
+        assertEquals(5, room.percentile(0.5));
+        // P(X >= 9) for Binomial(10, 0.5) is 11/1024
+        assertEquals(11.0 / 1024, room.exceedanceProbability(8), 0.002);
+        assertTrue(room.max() <= 10);
+    }
+
+    @Test
+    void testFloorAndTotalSumRooms() {
+        OccupancySimulator simulator =
+                new OccupancySimulator(new int[] {20, 20, 40, 15}, new int[] {0, 0, 1, -1}, 2);
+        OccupancySimulator.Result result = simulator.simulate(0.3, 0, 100_000, 2, POOL);
+
+        assertEquals(12.0, result.floor(0).mean(), 0.1);
+        assertEquals(12.0, result.floor(1).mean(), 0.1);
+        assertEquals(28.5, result.total().mean(), 0.15);
+        assertEquals(100_000, result.samples());
+    }
+
+    @Test
+    void testVolatilityWidensDistribution() {
+        OccupancySimulator simulator =
+                new OccupancySimulator(new int[] {50, 50}, new int[] {0, 0}, 1);
+        OccupancySimulator.Result steady = simulator.simulate(0.6, 0, 100_000, 3, POOL);
+        OccupancySimulator.Result volatile_ = simulator.simulate(0.6, 0.25, 100_000, 3, POOL);
+
+        assertEquals(steady.floor(0).mean(), volatile_.floor(0).mean(), 0.5);
+        assertTrue(volatile_.floor(0).percentile(0.95) > steady.floor(0).percentile(0.95));
+        assertTrue(volatile_.floor(0).percentile(0.05) < steady.floor(0).percentile(0.05));
+    }
+
+    @Test
+    void testLargeGroupsDoNotUnderflow() {
+        OccupancySimulator simulator = new OccupancySimulator(new int[] {5_000}, new int[] {-1}, 0);
+        OccupancySimulator.Result result = simulator.simulate(0.9, 0, 50_000, 4, POOL);
+
+        assertEquals(4_500, result.total().mean(), 1);
+        int p99 = result.total().percentile(0.99);
+        assertTrue(p99 > 4_500 && p99 < 4_600, "p99 was " + p99);
+    }
+
+    @Test
+    void testResultDoesNotDependOnParallelism() {
+        OccupancySimulator simulator =
+                new OccupancySimulator(new int[] {8, 12, 30}, new int[] {0, 1, 1}, 2);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            OccupancySimulator.Result sequential = simulator.simulate(0.4, 0.1, 50_000, 5, single);
+            OccupancySimulator.Result parallel = simulator.simulate(0.4, 0.1, 50_000, 5, POOL);
+            for (double q : new double[] {0.5, 0.9, 0.99}) {
+                assertEquals(sequential.floor(1).percentile(q), parallel.floor(1).percentile(q));
+            }
+            assertEquals(sequential.total().mean(), parallel.total().mean(), 0);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testOneMillionSamples() {
+        // 9 floors of 10 rooms with 8 people each
+        int rooms = 90;
+        int[] staff = new int[rooms];
+        int[] floors = new int[rooms];
+        for (int r = 0; r < rooms; r++) {
+            staff[r] = 8;
+            floors[r] = r / 10;
+        }
+        OccupancySimulator simulator = new OccupancySimulator(staff, floors, 9);
+
+        long start = System.nanoTime();
+        OccupancySimulator.Result result = simulator.simulate(0.55, 0.15, 1_000_000, 6, POOL);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(0.55 * 80, result.floor(4).mean(), 0.5);
+        assertTrue(elapsedMillis < 20_000, "Simulation took " + elapsedMillis + " ms");
+    }
+}
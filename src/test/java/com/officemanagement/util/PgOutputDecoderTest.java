@@ -0,0 +1,229 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.PgOutputDecoder.Begin;
+import com.officemanagement.util.PgOutputDecoder.Change;
+import com.officemanagement.util.PgOutputDecoder.Commit;
+import com.officemanagement.util.PgOutputDecoder.Operation;
+import com.officemanagement.util.PgOutputDecoder.Truncate;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Feeds the decoder messages laid out as PostgreSQL 15 sends them for the office schema. */
+class PgOutputDecoderTest {
+
+    private static final int SEATS = 16401;
+    private static final int ASSIGNMENTS = 16420;
+
+    /** Builds one pgoutput message. */
+    private static final class Message {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        Message(char type) throws IOException {
+            out.writeByte(type);
+        }
+
+        Message int8(int value) throws IOException {
+            out.writeByte(value);
+            return this;
+        }
+
+        Message int16(int value) throws IOException {
+            out.writeShort(value);
+            return this;
+        }
+
+        Message int32(int value) throws IOException {
+            out.writeInt(value);
+            return this;
+        }
+
+        Message int64(long value) throws IOException {
+            out.writeLong(value);
+            return this;
+        }
+
+        Message string(String value) throws IOException {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+            out.writeByte(0);
+            return this;
+        }
+
+        /** A tuple of text columns; {@code null} for a null column. */
+        Message tuple(char kind, String... values) throws IOException {
+            out.writeByte(kind);
+            out.writeShort(values.length);
+            for (String value : values) {
+                if (value == null) {
+                    out.writeByte('n');
+                } else {
+                    byte[] text = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeByte('t');
+                    out.writeInt(text.length);
+                    out.write(text);
+                }
+            }
+            return this;
+        }
+
+        /** Wrapped at an offset, as the replication stream hands out its receive buffer. */
+        ByteBuffer buffer() {
+            byte[] message = bytes.toByteArray();
+            byte[] received = new byte[message.length + 25];
+            System.arraycopy(message, 0, received, 25, message.length);
+            return ByteBuffer.wrap(received, 25, message.length);
+        }
+    }
+
+    private static Message relation(int id, String table, String... columns) throws IOException {
+        Message message = new Message('R').int32(id).string("public").string(table).int8('d');
+        message.int16(columns.length);
+        for (String column : columns) {
+            message.int8(column.equals("id") ? 1 : 0).string(column).int32(20).int32(-1);
+        }
+        return message;
+    }
+
+    private static PgOutputDecoder decoderWithSeats() throws IOException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        assertNull(
+                decoder.decode(
+                        relation(SEATS, "seats", "id", "seat_number", "room_id", "x", "y")
+                                .buffer()));
+        return decoder;
+    }
+
+    @Test
+    void testDecodesTransactionBoundaries() throws IOException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+
+        // 2024-01-01T00:00:00Z, in microseconds since 2000-01-01
+        long commitMicros = 757_382_400_000_000L;
+        Begin begin =
+                (Begin)
+                        decoder.decode(
+                                new Message('B')
+                                        .int64(0x16B3748L)
+                                        .int64(commitMicros)
+                                        .int32(741)
+                                        .buffer());
+        assertEquals(741, begin.xid());
+        assertEquals(0x16B3748L, begin.finalLsn());
+        assertEquals(1_704_067_200_000_000L, begin.commitMicros());
+
+        Commit commit =
+                (Commit)
+                        decoder.decode(
+                                new Message('C')
+                                        .int8(0)
+                                        .int64(0x16B3748L)
+                                        .int64(0x16B3778L)
+                                        .int64(commitMicros)
+                                        .buffer());
+        assertEquals(0x16B3748L, commit.commitLsn());
+        assertEquals(0x16B3778L, commit.endLsn());
+    }
+
+    @Test
+    void testDecodesRowChanges() throws IOException {
+        PgOutputDecoder decoder = decoderWithSeats();
+
+        Change insert =
+                (Change)
+                        decoder.decode(
+                                new Message('I')
+                                        .int32(SEATS)
+                                        .tuple('N', "12", "A-1", "3", "10.5", null)
+                                        .buffer());
+        assertEquals("seats", insert.table());
+        assertEquals("public", insert.schema());
+        assertEquals(Operation.INSERT, insert.operation());
+        assertEquals(Long.valueOf(12), insert.id("id"));
+        assertEquals(Long.valueOf(3), insert.id("room_id"));
+        assertEquals("10.5", insert.values().get("x"));
+        assertTrue(insert.values().containsKey("y"));
+        assertNull(insert.id("y"));
+
+        // The old key is sent when the key itself changed
+        Change update =
+                (Change)
+                        decoder.decode(
+                                new Message('U')
+                                        .int32(SEATS)
+                                        .tuple('K', "12", null, null, null, null)
+                                        .tuple('N', "13", "A-1", "4", "10.5", "0")
+                                        .buffer());
+        assertEquals(Operation.UPDATE, update.operation());
+        assertEquals(Long.valueOf(13), update.id("id"));
+        assertEquals(Long.valueOf(4), update.id("room_id"));
+
+        Change delete =
+                (Change)
+                        decoder.decode(
+                                new Message('D')
+                                        .int32(SEATS)
+                                        .tuple('K', "13", null, null, null, null)
+                                        .buffer());
+        assertEquals(Operation.DELETE, delete.operation());
+        assertEquals(Long.valueOf(13), delete.id("id"));
+        assertNull(delete.id("room_id"));
+    }
+
+    @Test
+    void testDecodesTruncateOfSeveralTables() throws IOException {
+        PgOutputDecoder decoder = decoderWithSeats();
+        decoder.decode(
+                relation(ASSIGNMENTS, "employee_seat_assignments", "employee_id", "seat_id")
+                        .buffer());
+
+        Truncate truncate =
+                (Truncate)
+                        decoder.decode(
+                                new Message('T')
+                                        .int32(2)
+                                        .int8(1)
+                                        .int32(ASSIGNMENTS)
+                                        .int32(SEATS)
+                                        .buffer());
+        Map<String, Operation> tables = new HashMap<>();
+        for (Change change : truncate.tables()) {
+            tables.put(change.table(), change.operation());
+            assertTrue(change.values().isEmpty());
+        }
+        assertEquals(
+                Map.of(
+                        "employee_seat_assignments",
+                        Operation.TRUNCATE,
+                        "seats",
+                        Operation.TRUNCATE),
+                tables);
+    }
+
+    @Test
+    void testSkipsTypeAndOriginMessages() throws IOException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        assertNull(
+                decoder.decode(
+                        new Message('Y').int32(16390).string("public").string("mood").buffer()));
+        assertNull(decoder.decode(new Message('O').int64(42).string("pg_1").buffer()));
+    }
+
+    @Test
+    void testRejectsChangesToUnknownRelations() throws IOException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> decoder.decode(new Message('I').int32(SEATS).tuple('N', "1").buffer()));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> decoder.decode(new Message('Z').buffer()));
+    }
+}
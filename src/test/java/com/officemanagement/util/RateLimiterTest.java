@@ -0,0 +1,59 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.RateLimiter.Budget;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private AtomicLong now;
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000L);
+        limiter = new RateLimiter(4, 60_000, now::get);
+    }
+
+    @Test
+    void testKeysHaveSeparateBuckets() {
+        Budget budget = new Budget(1, 60);
+
+        assertTrue(limiter.tryAcquire("kiosk", budget).allowed());
+        assertFalse(limiter.tryAcquire("kiosk", budget).allowed());
+        assertTrue(limiter.tryAcquire("desk", budget).allowed());
+    }
+
+    @Test
+    void testDropsIdleBucketsOnSweep() {
+        Budget budget = new Budget(10, 10);
+        limiter.tryAcquire("a", budget);
+        limiter.tryAcquire("b", budget);
+        assertEquals(2, limiter.size());
+
+        // Both are full again long before the sweep is due
+        now.addAndGet(60_000);
+        limiter.tryAcquire("c", budget);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testStaysWithinMaxBuckets() {
+        Budget budget = new Budget(10, 3_600);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("client-" + i, budget);
+            assertTrue(limiter.size() <= 4);
+        }
+    }
+
+    @Test
+    void testParsesBudget() {
+        assertEquals(new Budget(100, 10), Budget.parse(" 100 / 10 "));
+        assertThrows(IllegalArgumentException.class, () -> Budget.parse("100"));
+        assertThrows(IllegalArgumentException.class, () -> Budget.parse("many/10"));
+        assertThrows(IllegalArgumentException.class, () -> Budget.parse("0/10"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class SeatPlanOptimizerTest {
+
+    private static final double FLOOR_SEPARATION = 10_000;
+
+    private static void assertValidPlan(int[] seatOfPerson, int seats) {
+        Set<Integer> used = new HashSet<>();
+        for (int seat : seatOfPerson) {
+            assertTrue(seat >= 0 && seat < seats, "Seat index out of range: " + seat);
+            assertTrue(used.add(seat), "Seat assigned twice: " + seat);
+        }
+    }
+
+    @Test
+    void testTeamsEndUpInSeparateClusters() {
+        // Two clusters of four seats far apart, two teams of four interleaved in the input
+        double[] x = {0, 1, 0, 1, 500, 501, 500, 501};
+        double[] y = {0, 0, 1, 1, 0, 0, 1, 1};
+        double[] z = new double[8];
+        int[] teams = {0, 1, 0, 1, 0, 1, 0, 1};
+
+        SeatPlanOptimizer.Plan plan =
+                new SeatPlanOptimizer(4, 200, 42)
+                        .optimize(x, y, z, teams, 2, ForkJoinPool.commonPool());
+
+        assertValidPlan(plan.seatOfPerson(), 8);
+        for (int p = 0; p < teams.length; p++) {
+            boolean left = x[plan.seatOfPerson()[p]] < 100;
+            boolean teamLeft = x[plan.seatOfPerson()[teams[p]]] < 100;
+            assertEquals(teamLeft, left, "Person " + p + " is not with its team");
+        }
+        // Each team occupies a unit square: 4 members at distance^2 0.5 from the centroid
+        assertEquals(4.0, plan.cost(), 1e-9);
+    }
+
+    @Test
+    void testPrefersKeepingTeamOnOneFloor() {
+        // Floor 0 has three seats in a row, floor 1 has three seats right above them
+        double[] x = {0, 10, 20, 0, 10, 20};
+        double[] y = new double[6];
+        double[] z = {0, 0, 0, FLOOR_SEPARATION, FLOOR_SEPARATION, FLOOR_SEPARATION};
+        int[] teams = {0, 1, 0, 1, 0, 1};
+
+        SeatPlanOptimizer.Plan plan =
+                new SeatPlanOptimizer(2, 500, 7)
+                        .optimize(x, y, z, teams, 2, ForkJoinPool.commonPool());
+
+        assertValidPlan(plan.seatOfPerson(), 6);
+        for (int p = 0; p < teams.length; p++) {
+            assertEquals(
+                    z[plan.seatOfPerson()[teams[p]]],
+                    z[plan.seatOfPerson()[p]],
+                    "Team " + teams[p] + " is split across floors");
+        }
+    }
+
+    @Test
+    void testResultDoesNotDependOnParallelism() {
+        SplittableRandom random = new SplittableRandom(1);
+        int seats = 200;
+        double[] x = new double[seats];
+        double[] y = new double[seats];
+        double[] z = new double[seats];
+        for (int s = 0; s < seats; s++) {
+            x[s] = random.nextDouble(1000);
+            y[s] = random.nextDouble(1000);
+        }
+        int[] teams = new int[150];
+        for (int p = 0; p < teams.length; p++) {
+            teams[p] = p % 12;
+        }
+
+        SeatPlanOptimizer optimizer = new SeatPlanOptimizer(4, 100, 99);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            SeatPlanOptimizer.Plan sequential = optimizer.optimize(x, y, z, teams, 12, single);
+            SeatPlanOptimizer.Plan parallel =
+                    optimizer.optimize(x, y, z, teams, 12, ForkJoinPool.commonPool());
+            assertArrayEquals(sequential.seatOfPerson(), parallel.seatOfPerson());
+            assertEquals(
+                    SeatPlanOptimizer.cost(x, y, z, teams, 12, parallel.seatOfPerson()),
+                    parallel.cost(),
+                    1e-6);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testTwoThousandPeopleAcrossNineFloors() {
+        // 9 floors with 16 rooms of 16 seats each, 2,000 people in 80 teams of 25
+        int floors = 9;
+        int seats = floors * 16 * 16;
+        double[] x = new double[seats];
+        double[] y = new double[seats];
+        double[] z = new double[seats];
+        int s = 0;
+        for (int floor = 0; floor < floors; floor++) {
+            for (int room = 0; room < 16; room++) {
+                for (int seat = 0; seat < 16; seat++, s++) {
+                    x[s] = (room % 4) * 400 + (seat % 4) * 60;
+                    y[s] = (room / 4) * 300 + (seat / 4) * 60;
+                    z[s] = floor * FLOOR_SEPARATION;
+                }
+            }
+        }
+        int[] teams = new int[2_000];
+        for (int p = 0; p < teams.length; p++) {
+            teams[p] = p % 80;
+        }
+
+        long start = System.nanoTime();
+        SeatPlanOptimizer.Plan plan =
+                new SeatPlanOptimizer(8, 500, 3)
+                        .optimize(x, y, z, teams, 80, ForkJoinPool.commonPool());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertValidPlan(plan.seatOfPerson(), seats);
+        assertTrue(elapsedMillis < 10_000, "Optimization took " + elapsedMillis + " ms");
+
+        // No team should be spread over more than two floors
+        for (int team = 0; team < 80; team++) {
+            Set<Double> teamFloors = new HashSet<>();
+            for (int p = team; p < teams.length; p += 80) {
+                teamFloors.add(z[plan.seatOfPerson()[p]]);
+            }
+            assertTrue(teamFloors.size() <= 2, "Team " + team + " spans " + teamFloors.size());
+        }
+    }
+}
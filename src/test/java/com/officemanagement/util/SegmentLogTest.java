@@ -0,0 +1,130 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.SegmentLog.Record;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SegmentLogTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("segment-log");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static List<byte[]> payloads(String... values) {
+        List<byte[]> payloads = new ArrayList<>();
+        for (String value : values) {
+            payloads.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+
+    private static List<String> texts(List<Record> records) {
+        return records.stream().map(r -> new String(r.payload(), StandardCharsets.UTF_8)).toList();
+    }
+
+    @Test
+    void testAppendsAndReadsByOffset() throws IOException {
+        try (SegmentLog log = new SegmentLog(directory, 1024, 4)) {
+            assertEquals(0, log.append(payloads("a", "b")));
+            assertEquals(2, log.append(payloads("c")));
+            assertEquals(3, log.nextOffset());
+        }
+
+        try (LogConsumer consumer = new LogConsumer(directory, "test")) {
+            List<Record> records = consumer.poll(10);
+            assertEquals(List.of("a", "b", "c"), texts(records));
+            assertEquals(2, records.get(2).offset());
+            assertTrue(consumer.poll(10).isEmpty());
+
+            consumer.seek(1);
+            assertEquals(List.of("b"), texts(consumer.poll(1)));
+        }
+    }
+
+    @Test
+    void testRotatesAndDropsOldSegments() throws IOException {
+        // Two 16 byte records fit in a segment
+        try (SegmentLog log = new SegmentLog(directory, 40, 2)) {
+            for (int i = 0; i < 7; i++) {
+                log.append(payloads("r" + i));
+            }
+            assertEquals(2, log.segmentCount());
+            assertEquals(4, log.firstOffset());
+            assertEquals(7, log.nextOffset());
+        }
+
+        try (LogConsumer consumer = new LogConsumer(directory, "test")) {
+            assertEquals(List.of("r4", "r5", "r6"), texts(consumer.poll(10)));
+            assertThrows(IllegalStateException.class, () -> consumer.seek(1));
+        }
+    }
+
+    @Test
+    void testCutsOffTornRecordOnOpen() throws IOException {
+        try (SegmentLog log = new SegmentLog(directory, 1024, 4)) {
+            log.append(payloads("kept"));
+        }
+        // A crash halfway through writing a record
+        Files.write(
+                SegmentLog.segmentPath(directory, 0),
+                new byte[] {0, 0, 0, 0, 0, 0, 0, 1, 0, 0},
+                StandardOpenOption.APPEND);
+
+        try (SegmentLog log = new SegmentLog(directory, 1024, 4)) {
+            assertEquals(1, log.nextOffset());
+            log.append(payloads("next"));
+        }
+        try (LogConsumer consumer = new LogConsumer(directory, "test")) {
+            assertEquals(List.of("kept", "next"), texts(consumer.poll(10)));
+        }
+    }
+
+    @Test
+    void testConsumerResumesAfterCommit() throws IOException {
+        try (SegmentLog log = new SegmentLog(directory, 40, 8)) {
+            log.append(payloads("a", "b", "c", "d"));
+
+            try (LogConsumer consumer = new LogConsumer(directory, "warehouse")) {
+                List<Record> records = consumer.poll(3);
+                assertEquals(List.of("a", "b", "c"), texts(records));
+                consumer.commit(records.get(1).offset() + 1);
+            }
+            try (LogConsumer consumer = new LogConsumer(directory, "warehouse")) {
+                assertEquals(2, consumer.offset());
+                assertEquals(List.of("c", "d"), texts(consumer.poll(10)));
+
+                // Follows the writer into new segments
+                log.append(payloads("e"));
+                assertEquals(List.of("e"), texts(consumer.poll(10)));
+            }
+            // Consumers are independent
+            try (LogConsumer consumer = new LogConsumer(directory, "badges")) {
+                assertEquals(0, consumer.offset());
+            }
+        }
+    }
+}
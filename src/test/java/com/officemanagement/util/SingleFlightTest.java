@@ -0,0 +1,144 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.officemanagement.util.SingleFlight.Call;
+import com.officemanagement.util.SingleFlight.Outcome;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private AtomicLong now;
+    private SingleFlight<String, String> flights;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000L);
+        flights = new SingleFlight<>(2_000, now::get);
+    }
+
+    @Test
+    void testFollowersShareLeaderResult() throws Exception {
+        Call<String, String> leader = flights.join("GET /floors/1/svg");
+        assertEquals(Outcome.LEAD, leader.outcome());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Call<String, String>>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> flights.join("GET /floors/1/svg")));
+            }
+            Thread.sleep(100);
+            flights.complete(leader, "<svg/>");
+
+            for (Future<Call<String, String>> follower : followers) {
+                Call<String, String> call = follower.get();
+                assertEquals(Outcome.SHARE, call.outcome());
+                assertEquals("<svg/>", call.result());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    void testResultIsNotKeptAfterCompletion() throws Exception {
+        flights.complete(flights.join("k"), "first");
+
+        Call<String, String> next = flights.join("k");
+        assertEquals(Outcome.LEAD, next.outcome());
+        assertNull(next.result());
+    }
+
+    @Test
+    void testDifferentKeysDoNotShare() throws Exception {
+        assertEquals(Outcome.LEAD, flights.join("a").outcome());
+        assertEquals(Outcome.LEAD, flights.join("b").outcome());
+        assertEquals(2, flights.inFlight());
+    }
+
+    @Test
+    void testAbandonedFlightLetsFollowersExecute() throws Exception {
+        Call<String, String> leader = flights.join("k");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Call<String, String>> follower = executor.submit(() -> flights.join("k"));
+            Thread.sleep(50);
+            flights.abandon(leader);
+
+            Outcome outcome = follower.get().outcome();
+            // A follower that joined after the abandon leads instead
+            assertTrue(outcome == Outcome.BYPASS || outcome == Outcome.LEAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOverdueLeaderIsReplaced() throws Exception {
+        Call<String, String> stuck = flights.join("k");
+        now.addAndGet(2_000);
+
+        Call<String, String> next = flights.join("k");
+        assertEquals(Outcome.LEAD, next.outcome());
+
+        // The stuck leader completing late must not drop the new flight
+        flights.complete(stuck, "late");
+        assertEquals(1, flights.inFlight());
+        flights.complete(next, "fresh");
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    void testFollowerGivesUpAfterWait() throws Exception {
+        SingleFlight<String, String> impatient = new SingleFlight<>(20, System::currentTimeMillis);
+        impatient.join("k");
+
+        assertEquals(Outcome.BYPASS, impatient.join("k").outcome());
+        assertEquals(1, impatient.stats().bypassed());
+    }
+
+    @Test
+    void testCoalescingRatio() throws Exception {
+        assertEquals(0.0, flights.stats().coalescingRatio());
+
+        Call<String, String> leader = flights.join("k");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<Call<String, String>>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> flights.join("k")));
+            }
+            Thread.sleep(100);
+            flights.complete(leader, "v");
+            for (Future<Call<String, String>> follower : followers) {
+                assertEquals(Outcome.SHARE, follower.get().outcome());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SingleFlight.Stats stats = flights.stats();
+        assertEquals(1, stats.led());
+        assertEquals(3, stats.shared());
+        assertEquals(0.75, stats.coalescingRatio());
+    }
+
+    @Test
+    void testOnlyLeaderCanComplete() throws Exception {
+        SingleFlight<String, String> impatient = new SingleFlight<>(20, System::currentTimeMillis);
+        impatient.join("k");
+        Call<String, String> bypass = impatient.join("k");
+
+        assertEquals(Outcome.BYPASS, bypass.outcome());
+        assertThrows(IllegalArgumentException.class, () -> impatient.complete(bypass, "v"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlotCalendarTest {
+    private static final int FULL_DAY = SlotCalendar.MORNING | SlotCalendar.AFTERNOON;
+
+    private SlotCalendar calendar;
+    private final LocalDate tuesday = LocalDate.of(2024, 5, 14);
+
+    @BeforeEach
+    void setUp() {
+        calendar = new SlotCalendar();
+    }
+
+    @Test
+    void testHalfDaysAreIndependent() {
+        assertTrue(calendar.tryBook(7L, tuesday, SlotCalendar.MORNING));
+        assertFalse(calendar.isFree(7L, tuesday, SlotCalendar.MORNING));
+        assertTrue(calendar.isFree(7L, tuesday, SlotCalendar.AFTERNOON));
+        assertTrue(calendar.tryBook(7L, tuesday, SlotCalendar.AFTERNOON));
+        assertFalse(calendar.isFree(7L, tuesday, SlotCalendar.AFTERNOON));
+    }
+
+    @Test
+    void testFullDayConflictsWithEitherHalf() {
+        assertTrue(calendar.tryBook(7L, tuesday, SlotCalendar.AFTERNOON));
+        assertFalse(calendar.tryBook(7L, tuesday, FULL_DAY), "Overlapping booking must fail");
+        assertTrue(calendar.isFree(7L, tuesday, SlotCalendar.MORNING), "Failed booking is a no-op");
+        assertTrue(calendar.tryBook(7L, tuesday.plusDays(1), FULL_DAY));
+    }
+
+    @Test
+    void testRelease() {
+        assertTrue(calendar.tryBook(3L, tuesday, FULL_DAY));
+        calendar.release(3L, tuesday, SlotCalendar.MORNING);
+        assertTrue(calendar.isFree(3L, tuesday, SlotCalendar.MORNING));
+        assertFalse(calendar.isFree(3L, tuesday, SlotCalendar.AFTERNOON));
+        calendar.release(3L, tuesday.plusDays(5), FULL_DAY); // unknown day is ignored
+    }
+
+    @Test
+    void testFreeSeats() {
+        calendar.book(1L, tuesday, SlotCalendar.MORNING);
+        calendar.book(2L, tuesday, SlotCalendar.AFTERNOON);
+        calendar.book(3L, tuesday, FULL_DAY);
+        long[] seats = {1L, 2L, 3L, 4L};
+
+        assertArrayEquals(
+                new long[] {2L, 4L}, calendar.freeSeats(seats, tuesday, SlotCalendar.MORNING));
+        assertArrayEquals(new long[] {4L}, calendar.freeSeats(seats, tuesday, FULL_DAY));
+        assertArrayEquals(seats, calendar.freeSeats(seats, tuesday.minusDays(1), FULL_DAY));
+    }
+
+    @Test
+    void testManyBookings() {
+        int seats = 2_000;
+        int days = 30;
+        for (int day = 0; day < days; day++) {
+            for (int seat = 1; seat <= seats; seat += 2) {
+                assertTrue(calendar.tryBook(seat, tuesday.plusDays(day), SlotCalendar.MORNING));
+            }
+        }
+        long[] floor = new long[seats];
+        for (int i = 0; i < seats; i++) {
+            floor[i] = i + 1;
+        }
+        assertEquals(seats / 2, calendar.freeSeats(floor, tuesday, SlotCalendar.MORNING).length);
+        assertEquals(seats, calendar.freeSeats(floor, tuesday, SlotCalendar.AFTERNOON).length);
+    }
+
+    @Test
+    void testPruneBefore() {
+        calendar.book(1L, tuesday.minusDays(2), FULL_DAY);
+        calendar.book(1L, tuesday.minusDays(1), FULL_DAY);
+        calendar.book(1L, tuesday, FULL_DAY);
+        calendar.book(1L, tuesday.plusDays(1), FULL_DAY);
+
+        assertEquals(2, calendar.pruneBefore(tuesday));
+        assertEquals(2, calendar.size());
+        assertTrue(calendar.isFree(1L, tuesday.minusDays(1), FULL_DAY));
+        assertFalse(calendar.isFree(1L, tuesday, FULL_DAY));
+        assertEquals(0, calendar.pruneBefore(tuesday));
+    }
+
+    @Test
+    void testClear() {
+        calendar.book(5L, tuesday, FULL_DAY);
+        calendar.clear();
+        assertTrue(calendar.isFree(5L, tuesday, FULL_DAY));
+    }
+}
@@ -0,0 +1,95 @@
+package com.officemanagement.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    void testAllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(2, bucket.tryAcquire(0).remaining());
+        assertEquals(1, bucket.tryAcquire(0).remaining());
+        assertEquals(0, bucket.tryAcquire(0).remaining());
+
+        TokenBucket.Decision denied = bucket.tryAcquire(0);
+        assertFalse(denied.allowed());
+        assertEquals(1_000, denied.retryAfterMillis());
+        assertEquals(3_000, denied.resetMillis());
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        assertFalse(bucket.tryAcquire(0).allowed());
+
+        assertFalse(bucket.tryAcquire(499).allowed());
+        assertTrue(bucket.tryAcquire(500).allowed());
+        // Never fills beyond capacity
+        assertEquals(1, bucket.tryAcquire(60_000).remaining());
+    }
+
+    @Test
+    void testSlowRateIsNotLostToFrequentPolling() {
+        // One token every 10 seconds, polled every millisecond
+        TokenBucket bucket = new TokenBucket(1, 0.1, 0);
+        assertTrue(bucket.tryAcquire(0).allowed());
+
+        int allowed = 0;
+        for (long now = 1; now <= 10_000; now++) {
+            if (bucket.tryAcquire(now).allowed()) {
+                allowed++;
+            }
+        }
+        assertEquals(1, allowed);
+    }
+
+    @Test
+    void testSurvivesClockWrapAround() {
+        long beforeWrap = 0xFFFF_FFFFL - 100;
+        TokenBucket bucket = new TokenBucket(1, 1, beforeWrap);
+        assertTrue(bucket.tryAcquire(beforeWrap).allowed());
+        assertFalse(bucket.tryAcquire(beforeWrap + 500).allowed());
+        assertTrue(bucket.tryAcquire(beforeWrap + 1_000).allowed());
+    }
+
+    @Test
+    void testConcurrentAcquiresNeverOverspend() throws Exception {
+        TokenBucket bucket = new TokenBucket(1_000, 0.001, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(
+                        () -> {
+                            for (int i = 0; i < 500; i++) {
+                                if (bucket.tryAcquire(0).allowed()) {
+                                    allowed.incrementAndGet();
+                                }
+                            }
+                        });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1_000, allowed.get());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new TokenBucket(TokenBucket.MAX_CAPACITY + 1, 1, 0));
+    }
+}